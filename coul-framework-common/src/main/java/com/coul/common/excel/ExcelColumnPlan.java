@@ -0,0 +1,549 @@
+package com.coul.common.excel;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.coul.common.utils.Reflections;
+
+/**
+ * @ExcelField注解的列计划，每个（类、类型、分组）只分析一次
+ *
+ * 列的选取和排序、导出的取值方法和单元格写入方式、导入的setter方法和值转换方法在创建时确定，
+ * 规则与原ExportExcel构造函数、setDataList和ImportExcel.getDataList逐行反射时一致。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class ExcelColumnPlan {
+
+	private static Logger log = LoggerFactory.getLogger(ExcelColumnPlan.class);
+
+	/** 导入、导出模板的注解类型 */
+	static final int TYPE_IMPORT = 2;
+
+	/** 单元格写入方式：运行时按值的类型判断 */
+	static final int WRITE_GENERIC = 0;
+	/** 单元格写入方式：字符串 */
+	static final int WRITE_STRING = 1;
+	/** 单元格写入方式：Integer、Long、Double、Float */
+	static final int WRITE_NUMBER = 2;
+	/** 单元格写入方式：日期 */
+	static final int WRITE_DATE = 3;
+
+	/** 按类型和分组缓存的列计划 */
+	private static final ClassValue<ConcurrentMap<String, ExcelColumnPlan>> PLANS = new ClassValue<ConcurrentMap<String, ExcelColumnPlan>>() {
+		@Override
+		protected ConcurrentMap<String, ExcelColumnPlan> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<String, ExcelColumnPlan>();
+		}
+	};
+
+	/** 按值类型缓存的fieldtype.XxxType.setValue方法，找不到时为异常 */
+	private static final ConcurrentMap<Class<?>, Object> EXPORT_CONVERTERS = new ConcurrentHashMap<Class<?>, Object>();
+
+	private final Class<?> type;
+
+	/** 按sort排序的列，下标即Excel列号 */
+	final Column[] columns;
+
+	private ExcelColumnPlan(Class<?> type, List<Column> columns) {
+		this.type = type;
+		this.columns = columns.toArray(new Column[columns.size()]);
+	}
+
+	/**
+	 * 获得导入列计划
+	 *
+	 * @param type 导入对象类型
+	 * @param groups 导入分组
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	static ExcelColumnPlan forImport(Class<?> type, int... groups) {
+		return of(type, TYPE_IMPORT, groups);
+	}
+
+	/**
+	 * 获得列计划
+	 *
+	 * @param type 对象类型
+	 * @param fieldType 注解类型（1：导出数据；2：导入或导出模板），type为0的注解总是包括在内
+	 * @param groups 分组
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	static ExcelColumnPlan of(Class<?> type, int fieldType, int... groups) {
+		ConcurrentMap<String, ExcelColumnPlan> plans = PLANS.get(type);
+		String key = fieldType + (groups == null ? "" : Arrays.toString(groups));
+		ExcelColumnPlan plan = plans.get(key);
+		if (plan == null) {
+			plan = new ExcelColumnPlan(type, columns(type, fieldType, groups));
+			ExcelColumnPlan existing = plans.putIfAbsent(key, plan);
+			if (existing != null) {
+				plan = existing;
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * 将一行单元格值转换为导入对象，第n个导入列取第n列的值，空单元格按空字符串转换
+	 *
+	 * @param row
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	<E> E toBean(ExcelRow row) {
+		Object[] values = new Object[columns.length];
+		for (int column = 0; column < values.length; column++) {
+			values[column] = row.getValue(column);
+		}
+		Object e;
+		try {
+			e = type.newInstance();
+		} catch (Exception ex) {
+			throw Reflections.convertReflectionExceptionToUnchecked(ex);
+		}
+		fill(e, row.getRowNum(), values, null);
+		@SuppressWarnings("unchecked")
+		E bean = (E) e;
+		return bean;
+	}
+
+	/**
+	 * 将单元格值转换后设置到导入对象
+	 *
+	 * @param bean 导入对象
+	 * @param rowNum 行号，用于日志
+	 * @param values 单元格值，null按空字符串转换
+	 * @param debug 不为null时追加转换后的值
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	void fill(Object bean, int rowNum, Object[] values, StringBuilder debug) {
+		for (int column = 0; column < columns.length; column++) {
+			Object val = values[column];
+			Column c = columns[column];
+			val = c.convert(val == null ? "" : val, rowNum, column + 1);
+			c.set(bean, val);
+			if (debug != null) {
+				debug.append(val).append(", ");
+			}
+		}
+	}
+
+	/**
+	 * 按注解列获取对象的导出值，取值失败的列为空字符串（线程安全）
+	 *
+	 * @param bean 数据对象
+	 * @return 各列的值
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	Object[] getValues(Object bean) {
+		Object[] values = new Object[columns.length];
+		for (int column = 0; column < columns.length; column++) {
+			Object val;
+			try {
+				val = columns[column].getValue(bean);
+				// If is dict, get dict label
+				//val = DictUtils.getDictLabel(val==null?"":val.toString(), ef.dictType(), "");
+			} catch (Exception ex) {
+				// Failure to ignore
+				log.info(ex.toString());
+				val = "";
+			}
+			values[column] = val;
+		}
+		return values;
+	}
+
+	/**
+	 * 表头
+	 *
+	 * @param stripComment 是否去掉“**”之后的批注
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	List<String> headers(boolean stripComment) {
+		List<String> headers = new ArrayList<String>(columns.length);
+		for (Column c : columns) {
+			String t = c.ef.title();
+			if (stripComment) {
+				String[] ss = StringUtils.split(t, "**", 2);
+				if (ss.length == 2) {
+					t = ss[0];
+				}
+			}
+			headers.add(t);
+		}
+		return headers;
+	}
+
+	/**
+	 * 导出时其他类型值的转换方法fieldtype.XxxType.setValue(Object)
+	 *
+	 * @param valType 值类型
+	 * @return
+	 * @throws Exception 找不到转换方法
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	static Method exportConverter(Class<?> valType) throws Exception {
+		Object converter = EXPORT_CONVERTERS.get(valType);
+		if (converter == null) {
+			try {
+				converter = Class.forName(ExportExcel.class.getName().replaceAll(ExportExcel.class.getSimpleName(),
+						"fieldtype." + valType.getSimpleName() + "Type")).getMethod("setValue", Object.class);
+			} catch (Exception ex) {
+				converter = ex;
+			}
+			EXPORT_CONVERTERS.putIfAbsent(valType, converter);
+		}
+		if (converter instanceof Exception) {
+			throw (Exception) converter;
+		}
+		return (Method) converter;
+	}
+
+	private static List<Column> columns(Class<?> type, int fieldType, int[] groups) {
+		List<Object[]> annotationList = new ArrayList<Object[]>();
+		for (Field f : type.getDeclaredFields()) {
+			ExcelField ef = f.getAnnotation(ExcelField.class);
+			if (ef != null && (ef.type() == 0 || ef.type() == fieldType) && inGroups(ef, groups)) {
+				annotationList.add(new Object[] {ef, f });
+			}
+		}
+		for (Method m : type.getDeclaredMethods()) {
+			ExcelField ef = m.getAnnotation(ExcelField.class);
+			if (ef != null && (ef.type() == 0 || ef.type() == fieldType) && inGroups(ef, groups)) {
+				annotationList.add(new Object[] {ef, m });
+			}
+		}
+		Collections.sort(annotationList, new Comparator<Object[]>() {
+			public int compare(Object[] o1, Object[] o2) {
+				int s1 = ((ExcelField) o1[0]).sort();
+				int s2 = ((ExcelField) o2[0]).sort();
+				return s1 < s2 ? -1 : (s1 == s2 ? 0 : 1);
+			}
+		});
+		List<Column> columns = new ArrayList<Column>(annotationList.size());
+		for (Object[] os : annotationList) {
+			columns.add(new Column(type, (ExcelField) os[0], os[1]));
+		}
+		return columns;
+	}
+
+	private static boolean inGroups(ExcelField ef, int[] groups) {
+		if (groups == null || groups.length == 0) {
+			return true;
+		}
+		for (int g : groups) {
+			for (int efg : ef.groups()) {
+				if (g == efg) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 按名称查找方法，只匹配方法名，与Reflections.getAccessibleMethodByName一致
+	 */
+	private static Method methodByName(Class<?> type, String name) {
+		for (Class<?> searchType = type; searchType != Object.class; searchType = searchType.getSuperclass()) {
+			for (Method method : searchType.getDeclaredMethods()) {
+				if (method.getName().equals(name)) {
+					Reflections.makeAccessible(method);
+					return method;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 按名称和参数类型查找方法，与Reflections.getAccessibleMethod一致
+	 */
+	private static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+		for (Class<?> searchType = type; searchType != null && searchType != Object.class; searchType = searchType.getSuperclass()) {
+			try {
+				Method method = searchType.getDeclaredMethod(name, parameterTypes);
+				Reflections.makeAccessible(method);
+				return method;
+			} catch (NoSuchMethodException e) {
+				continue;
+			}
+		}
+		return null;
+	}
+
+	private static int writerOf(Class<?> valType) {
+		if (valType == null) {
+			return WRITE_GENERIC;
+		} else if (valType == String.class) {
+			return WRITE_STRING;
+		} else if (valType == Integer.class || valType == Long.class || valType == Double.class || valType == Float.class
+				|| valType == int.class || valType == long.class || valType == double.class || valType == float.class) {
+			return WRITE_NUMBER;
+		} else if (Date.class.isAssignableFrom(valType)) {
+			return WRITE_DATE;
+		}
+		return WRITE_GENERIC;
+	}
+
+	/**
+	 * 注解列
+	 */
+	static final class Column {
+
+		final ExcelField ef;
+
+		/** 导入值类型 */
+		final Class<?> valType;
+
+		/** 导出取值的方法链 */
+		private final Getter[] getters;
+
+		/** 导出单元格写入方式 */
+		final int writer;
+
+		/** 注解指定的导出转换方法fieldType.setValue(Object) */
+		private final Method exportConverter;
+
+		/** 导入setter方法，找不到时为null，设置值时抛出异常 */
+		private final Method setter;
+
+		private final String setterName;
+
+		/** 导入时其他类型的getValue(String)转换方法 */
+		private final Method importConverter;
+
+		/** 查找导入转换方法时的异常，转换时记录日志 */
+		private final Exception importConverterError;
+
+		Column(Class<?> type, ExcelField ef, Object member) {
+			this.ef = ef;
+			Class<?> vt = Class.class;
+			String name;
+			String getterPath;
+			Method m;
+			if (member instanceof Field) {
+				vt = ((Field) member).getType();
+				getterPath = ((Field) member).getName();
+				name = "set" + StringUtils.capitalize(getterPath);
+				m = methodByName(type, name);
+			} else {
+				Method method = (Method) member;
+				name = method.getName();
+				getterPath = null;
+				if (name.startsWith("get")) {
+					vt = method.getReturnType();
+				} else if (name.startsWith("set")) {
+					vt = method.getParameterTypes()[0];
+				}
+				if (name.startsWith("get")) {
+					name = "set" + StringUtils.substringAfter(name, "get");
+				}
+				m = method(type, name, vt);
+			}
+			this.valType = vt;
+			this.setter = m;
+			this.setterName = name;
+
+			// 导出取值：注解value指定的属性路径，或字段的getter，或注解的方法本身
+			if (StringUtils.isNotBlank(ef.value())) {
+				String[] names = StringUtils.split(ef.value(), ".");
+				this.getters = new Getter[names.length];
+				for (int i = 0; i < names.length; i++) {
+					getters[i] = new Getter("get" + StringUtils.capitalize(names[i]));
+				}
+			} else if (getterPath != null) {
+				this.getters = new Getter[] {new Getter("get" + StringUtils.capitalize(getterPath)) };
+			} else {
+				this.getters = new Getter[] {new Getter(((Method) member).getName()) };
+			}
+			this.writer = writerOf(exportType(type));
+			Method converter = null;
+			if (ef.fieldType() != Class.class) {
+				try {
+					converter = ef.fieldType().getMethod("setValue", Object.class);
+				} catch (Exception ex) {
+					// 与原来一样，导出时按toString写入
+				}
+			}
+			this.exportConverter = converter;
+
+			converter = null;
+			Exception error = null;
+			if (!isBuiltinType(vt)) {
+				try {
+					if (ef.fieldType() != Class.class) {
+						converter = ef.fieldType().getMethod("getValue", String.class);
+					} else {
+						converter = Class.forName(ImportExcel.class.getName().replaceAll(ImportExcel.class.getSimpleName(),
+								"fieldtype." + vt.getSimpleName() + "Type")).getMethod("getValue", String.class);
+					}
+				} catch (Exception ex) {
+					error = ex;
+				}
+			}
+			this.importConverter = converter;
+			this.importConverterError = error;
+		}
+
+		/**
+		 * 按声明类型推断导出值的类型，无法确定时返回null
+		 */
+		private Class<?> exportType(Class<?> type) {
+			Class<?> c = type;
+			for (Getter getter : getters) {
+				Method m = method(c, getter.name);
+				if (m == null) {
+					return null;
+				}
+				c = m.getReturnType();
+			}
+			return c;
+		}
+
+		private static boolean isBuiltinType(Class<?> vt) {
+			return vt == String.class || vt == Integer.class || vt == Long.class || vt == Double.class
+					|| vt == Float.class || vt == Date.class;
+		}
+
+		/**
+		 * 导出时获取属性值
+		 */
+		Object getValue(Object bean) {
+			Object object = bean;
+			for (Getter getter : getters) {
+				object = getter.invoke(object);
+			}
+			return object;
+		}
+
+		/**
+		 * 导出时的fieldType转换方法，注解未指定或找不到时为null
+		 */
+		Method getExportConverter() {
+			return exportConverter;
+		}
+
+		/**
+		 * 单元格值转换为属性值，转换失败时返回null
+		 */
+		Object convert(Object val, int rowNum, int column) {
+			try {
+				if (valType == String.class) {
+					String s = val.toString();
+					if (StringUtils.endsWith(s, ".0")) {
+						return StringUtils.substringBefore(s, ".0");
+					}
+					return s;
+				} else if (valType == Integer.class) {
+					return Double.valueOf(val.toString()).intValue();
+				} else if (valType == Long.class) {
+					return Double.valueOf(val.toString()).longValue();
+				} else if (valType == Double.class) {
+					return Double.valueOf(val.toString());
+				} else if (valType == Float.class) {
+					return Float.valueOf(val.toString());
+				} else if (valType == Date.class) {
+					return val instanceof Date ? val : DateUtil.getJavaDate((Double) val);
+				} else if (importConverter != null) {
+					return importConverter.invoke(null, val.toString());
+				}
+				throw importConverterError;
+			} catch (Exception ex) {
+				log.info("Get cell value [" + rowNum + "," + column + "] error: " + ex.toString());
+				return null;
+			}
+		}
+
+		/**
+		 * 导入时设置属性值
+		 */
+		void set(Object bean, Object val) {
+			if (setter == null) {
+				throw new IllegalArgumentException("Could not find method [" + setterName + "] on target [" + bean + "]");
+			}
+			try {
+				setter.invoke(bean, val);
+			} catch (Exception e) {
+				throw Reflections.convertReflectionExceptionToUnchecked(e);
+			}
+		}
+	}
+
+	/**
+	 * 无参取值方法，按对象的实际类型查找，缓存最近一次的结果
+	 */
+	static final class Getter {
+
+		final String name;
+
+		private volatile Resolved resolved;
+
+		Getter(String name) {
+			this.name = name;
+		}
+
+		Object invoke(Object target) {
+			if (target == null) {
+				throw new NullPointerException("object can't be null");
+			}
+			Class<?> c = target.getClass();
+			Resolved r = resolved;
+			if (r == null || r.type != c) {
+				Method m = method(c, name);
+				if (m == null) {
+					throw new IllegalArgumentException("Could not find method [" + name + "] on target [" + target + "]");
+				}
+				r = new Resolved(c, m);
+				resolved = r;
+			}
+			try {
+				return r.method.invoke(target);
+			} catch (Exception e) {
+				throw Reflections.convertReflectionExceptionToUnchecked(e);
+			}
+		}
+	}
+
+	private static final class Resolved {
+		final Class<?> type;
+		final Method method;
+
+		Resolved(Class<?> type, Method method) {
+			this.type = type;
+			this.method = method;
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.coul.common.excel;
+
+import java.util.List;
+
+/**
+ * 分页读取导出数据
+ *
+ * 各页可能在不同线程中并发读取，实现类需要线程安全，且多次读取的排序必须稳定。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public interface ExcelPageSource<E> {
+
+	/**
+	 * 读取从offset开始的最多limit条数据，少于limit条表示没有更多数据
+	 *
+	 * @param offset 起始行，从0开始
+	 * @param limit 每页行数
+	 * @return 数据列表，没有数据时返回空列表
+	 * @throws Exception
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	List<E> getPage(int offset, int limit) throws Exception;
+}
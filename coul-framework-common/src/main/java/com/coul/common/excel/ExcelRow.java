@@ -0,0 +1,65 @@
+package com.coul.common.excel;
+
+import java.util.Arrays;
+
+/**
+ * 流式读取的Excel数据行
+ *
+ * 单元格的值与ImportExcel.getCellValue的类型基本一致：数值为Double，文本为String，布尔为Boolean，空单元格为null。
+ * 不同的是公式单元格取缓存的计算结果而不是公式文本，错误单元格为错误文本（如#DIV/0!）而不是错误码，
+ * XLSX中以ISO 8601格式保存的日期单元格为Date，按数值保存的日期与ImportExcel一样为Double。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class ExcelRow {
+
+	private final int rowNum;
+
+	private final Object[] values;
+
+	ExcelRow(int rowNum, Object[] values) {
+		this.rowNum = rowNum;
+		this.values = values;
+	}
+
+	/**
+	 * 行号，从0开始
+	 */
+	public int getRowNum() {
+		return rowNum;
+	}
+
+	/**
+	 * 到最后一个非空单元格为止的单元格个数
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * 获取单元格值，超出范围时返回null
+	 *
+	 * @param column 列号，从0开始
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public Object getValue(int column) {
+		return column < values.length ? values[column] : null;
+	}
+
+	/**
+	 * 单元格值数组的副本
+	 */
+	public Object[] getValues() {
+		return values.clone();
+	}
+
+	@Override
+	public String toString() {
+		return rowNum + ": " + Arrays.toString(values);
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.coul.common.excel;
+
+/**
+ * Excel流式读取的行回调
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public interface ExcelRowHandler<E> {
+
+	/**
+	 * 处理一行数据
+	 *
+	 * @param rowNum 行号，从0开始
+	 * @param data 行数据
+	 * @return false时停止读取
+	 * @throws Exception 异常时停止读取并抛出
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	boolean handle(int rowNum, E data) throws Exception;
+
+}
@@ -0,0 +1,174 @@
+package com.coul.common.excel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Excel逐行读取
+ *
+ * XLSX使用StAX逐个解析工作表XML中的行，共享字符串由ReadOnlySharedStringsTable读取；
+ * XLS使用RecordFactoryInputStream逐条读取BIFF记录。两者都不创建Workbook、Row、Cell对象，
+ * 内存占用只与当前行和共享字符串表有关，与行数无关。没有单元格的行不返回。
+ * 从输入流读取时先写入临时文件，关闭时删除。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public abstract class ExcelRowReader implements Iterator<ExcelRow>, Closeable {
+
+	/** 当前行的单元格值 */
+	private final List<Object> cells = new ArrayList<Object>();
+
+	/** 从输入流读取时的临时文件 */
+	private File tempFile;
+
+	private ExcelRow next;
+
+	private boolean finished;
+
+	/**
+	 * 按文件名后缀打开输入流，不关闭is
+	 *
+	 * @param fileName 文件名，后缀为xls或xlsx
+	 * @param is
+	 * @param sheetIndex 工作表编号，从0开始
+	 * @return
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static ExcelRowReader open(String fileName, InputStream is, int sheetIndex) throws IOException {
+		boolean xlsx = isXlsx(fileName);
+		File file = File.createTempFile("excel-import", xlsx ? ".xlsx" : ".xls");
+		try {
+			OutputStream os = new FileOutputStream(file);
+			try {
+				byte[] buf = new byte[8192];
+				int n;
+				while ((n = is.read(buf)) != -1) {
+					os.write(buf, 0, n);
+				}
+			} finally {
+				os.close();
+			}
+			ExcelRowReader reader = xlsx ? new XlsxRowReader(file, sheetIndex) : new XlsRowReader(file, sheetIndex);
+			reader.tempFile = file;
+			return reader;
+		} catch (IOException e) {
+			file.delete();
+			throw e;
+		} catch (RuntimeException e) {
+			file.delete();
+			throw e;
+		}
+	}
+
+	/**
+	 * 按文件名后缀打开文件
+	 */
+	public static ExcelRowReader open(File file, int sheetIndex) throws IOException {
+		return isXlsx(file.getName()) ? new XlsxRowReader(file, sheetIndex) : new XlsRowReader(file, sheetIndex);
+	}
+
+	private static boolean isXlsx(String fileName) {
+		if (StringUtils.isBlank(fileName)) {
+			throw new RuntimeException("导入文档为空!");
+		}
+		String name = fileName.toLowerCase();
+		if (name.endsWith("xlsx")) {
+			return true;
+		} else if (name.endsWith("xls")) {
+			return false;
+		}
+		throw new RuntimeException("文档格式不正确!");
+	}
+
+	/**
+	 * 读取下一个有单元格的行，没有更多行时返回null
+	 */
+	protected abstract ExcelRow readRow() throws Exception;
+
+	/**
+	 * 释放文件
+	 */
+	protected abstract void release() throws IOException;
+
+	@Override
+	public boolean hasNext() {
+		if (next == null && !finished) {
+			try {
+				next = readRow();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalStateException("读取Excel失败", e);
+			}
+			finished = next == null;
+		}
+		return next != null;
+	}
+
+	@Override
+	public ExcelRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		ExcelRow row = next;
+		next = null;
+		return row;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() throws IOException {
+		finished = true;
+		next = null;
+		try {
+			release();
+		} finally {
+			if (tempFile != null) {
+				tempFile.delete();
+				tempFile = null;
+			}
+		}
+	}
+
+	/**
+	 * 设置当前行的单元格值
+	 */
+	void setCell(int column, Object value) {
+		while (cells.size() <= column) {
+			cells.add(null);
+		}
+		cells.set(column, value);
+	}
+
+	boolean hasCells() {
+		return !cells.isEmpty();
+	}
+
+	/**
+	 * 结束当前行，返回当前行数据并清空
+	 */
+	ExcelRow endRow(int rowNum) {
+		ExcelRow row = new ExcelRow(rowNum, cells.toArray());
+		cells.clear();
+		return row;
+	}
+
+}
@@ -0,0 +1,433 @@
+package com.coul.common.excel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 导出CSV、TSV文件（UTF-8编码，可选GZip压缩），用于脚本读取的大数据量导出
+ *
+ * 表头和列与ExportExcel相同（@ExcelField注解，导出时去掉“**”之后的批注），不输出标题行。
+ * 字符直接编码为UTF-8写入复用的字节缓冲区，缓冲区满时整体写入输出流，每行不创建中间字符串。
+ * 包含分隔符、双引号或换行的值按RFC 4180加双引号，值中的双引号写两次；行以CRLF结束。
+ * 日期按“yyyy-MM-dd”输出，与ExportExcel的日期格式一致；小数不使用科学记数法；其他类型的转换规则同ExportExcel。
+ * GZip压缩时用完需调用close释放Deflater的本地内存，close不关闭输出流。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class ExportCsv implements Closeable {
+
+	private static Logger log = LoggerFactory.getLogger(ExportCsv.class);
+
+	/** 逗号分隔 */
+	public static final char CSV = ',';
+
+	/** 制表符分隔 */
+	public static final char TSV = '\t';
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** UTF-8单个字符最多4个字节，加上转义的双引号 */
+	private static final int MAX_CHAR_BYTES = 4;
+
+	private static final byte[] TRUE = {'t', 'r', 'u', 'e' };
+
+	private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e' };
+
+	private final OutputStream out;
+
+	/** GZip压缩时为压缩流，finish时写完压缩数据，close时释放Deflater */
+	private final GzipStream gzip;
+
+	private final char delimiter;
+
+	/** 注解列计划，按表头构造时为null */
+	private final ExcelColumnPlan plan;
+
+	private final byte[] buf = new byte[BUFFER_SIZE];
+
+	private int count;
+
+	/** 最近一次输出的日期所在天的起止时间，同一天的日期直接复用dateBytes */
+	private long dayStart = 1;
+
+	private long dayEnd = 0;
+
+	private final byte[] dateBytes = new byte[10];
+
+	private Calendar calendar;
+
+	private int rows;
+
+	/**
+	 * 构造函数，写入表头
+	 * @param os 输出流，finish时不关闭
+	 * @param delimiter 分隔符（ExportCsv.CSV：逗号；ExportCsv.TSV：制表符）
+	 * @param gzip 是否GZip压缩
+	 * @param cls 实体对象，通过annotation.ExportField获取表头
+	 * @param groups 导出分组
+	 */
+	public ExportCsv(OutputStream os, char delimiter, boolean gzip, Class<?> cls, int... groups) throws IOException {
+		this(os, delimiter, gzip, ExcelColumnPlan.of(cls, 1, groups), null);
+	}
+
+	/**
+	 * 构造函数，写入表头
+	 * @param os 输出流，finish时不关闭
+	 * @param delimiter 分隔符（ExportCsv.CSV：逗号；ExportCsv.TSV：制表符）
+	 * @param gzip 是否GZip压缩
+	 * @param headerList 表头列表
+	 */
+	public ExportCsv(OutputStream os, char delimiter, boolean gzip, List<String> headerList) throws IOException {
+		this(os, delimiter, gzip, null, headerList);
+	}
+
+	private ExportCsv(OutputStream os, char delimiter, boolean gzip, ExcelColumnPlan plan, List<String> headerList)
+			throws IOException {
+		if (delimiter >= 0x80 || delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+			throw new IllegalArgumentException("Illegal delimiter: " + delimiter);
+		}
+		this.gzip = gzip ? new GzipStream(os, BUFFER_SIZE) : null;
+		this.out = gzip ? this.gzip : os;
+		this.delimiter = delimiter;
+		this.plan = plan;
+		List<String> headers = plan == null ? headerList : plan.headers(true);
+		if (headers == null) {
+			throw new RuntimeException("headerList not null!");
+		}
+		for (int i = 0; i < headers.size(); i++) {
+			if (i > 0) {
+				writeByte(delimiter);
+			}
+			String[] ss = StringUtils.split(headers.get(i), "**", 2);
+			writeText(ss.length == 2 ? ss[0] : headers.get(i));
+		}
+		endRow();
+	}
+
+	/**
+	 * 添加一行
+	 * @param values 各列的值
+	 */
+	public ExportCsv addRow(Object... values) throws IOException {
+		if (plan != null && values.length > plan.columns.length) {
+			throw new IllegalArgumentException("Row has " + values.length + " values but only " + plan.columns.length
+					+ " columns");
+		}
+		for (int column = 0; column < values.length; column++) {
+			if (column > 0) {
+				writeByte(delimiter);
+			}
+			Object val = values[column];
+			if (val != null) {
+				writeValue(val, column, plan == null ? null : plan.columns[column]);
+			}
+		}
+		endRow();
+		rows++;
+		return this;
+	}
+
+	/**
+	 * 添加数据（通过annotation.ExportField添加数据）
+	 * @return list 数据列表
+	 */
+	public <E> ExportCsv setDataList(List<E> list) throws IOException {
+		ExcelColumnPlan plan = requirePlan();
+		for (E e : list) {
+			addRow(plan.getValues(e));
+		}
+		return this;
+	}
+
+	/**
+	 * 在当前线程中逐页读取并写入全部数据
+	 *
+	 * @param source 分页数据
+	 * @param pageSize 每页行数
+	 * @return 写入行数
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public int write(ExcelPageSource<?> source, int pageSize) throws IOException {
+		return write(source, pageSize, null, 1);
+	}
+
+	/**
+	 * 读取并写入全部数据，各页在线程池中并行读取，按页的顺序写入
+	 *
+	 * @param source 分页数据
+	 * @param pageSize 每页行数
+	 * @param executor 读取数据的线程池，为null时在当前线程中读取
+	 * @param parallelism 并行读取的页数
+	 * @return 写入行数
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public int write(ExcelPageSource<?> source, int pageSize, ExecutorService executor, int parallelism)
+			throws IOException {
+		if (pageSize <= 0 || parallelism <= 0) {
+			throw new IllegalArgumentException("pageSize and parallelism must be positive");
+		}
+		return PagedRows.read(source, pageSize, executor, parallelism, requirePlan(), new ExcelRowHandler<Object[]>() {
+			@Override
+			public boolean handle(int rowNum, Object[] values) throws IOException {
+				addRow(values);
+				return true;
+			}
+		});
+	}
+
+	/**
+	 * 写完缓冲区和压缩数据并刷新输出流，不关闭输出流
+	 */
+	public ExportCsv finish() throws IOException {
+		flushBuffer();
+		if (gzip != null) {
+			gzip.finish();
+		}
+		out.flush();
+		log.debug("Write success: {} rows.", rows);
+		return this;
+	}
+
+	/**
+	 * 释放GZip压缩使用的Deflater，不关闭输出流，未finish时压缩数据不完整
+	 */
+	@Override
+	public void close() {
+		if (gzip != null) {
+			gzip.end();
+		}
+	}
+
+	/**
+	 * 已写入的数据行数（不含表头）
+	 */
+	public int getRowCount() {
+		return rows;
+	}
+
+	private ExcelColumnPlan requirePlan() {
+		if (plan == null) {
+			throw new IllegalStateException("ExportCsv is not created by annotated class");
+		}
+		return plan;
+	}
+
+	private void writeValue(Object val, int column, ExcelColumnPlan.Column c) throws IOException {
+		if (val instanceof String) {
+			writeText((String) val);
+		} else if (val instanceof Integer || val instanceof Long || val instanceof Short || val instanceof Byte) {
+			writeLong(((Number) val).longValue());
+		} else if (val instanceof Double || val instanceof Float) {
+			writeDouble(((Number) val).doubleValue(), val);
+		} else if (val instanceof Date) {
+			writeDate((Date) val);
+		} else if (val instanceof Boolean) {
+			writeBytes((Boolean) val ? TRUE : FALSE);
+		} else if (val instanceof BigDecimal && (c == null || c.getExportConverter() == null)) {
+			writeText(val.toString());
+		} else {
+			String text;
+			try {
+				Method converter = c == null ? null : c.getExportConverter();
+				if (converter == null) {
+					converter = ExcelColumnPlan.exportConverter(val.getClass());
+				}
+				text = (String) converter.invoke(null, val);
+			} catch (Exception ex) {
+				if (log.isInfoEnabled()) {
+					log.info("Set cell value [" + (rows + 1) + "," + column + "] error: " + ex.toString());
+				}
+				text = val.toString();
+			}
+			if (text != null) {
+				writeText(text);
+			}
+		}
+	}
+
+	/**
+	 * 写入文本，必要时加双引号
+	 */
+	private void writeText(String s) throws IOException {
+		int len = s.length();
+		boolean quote = false;
+		for (int i = 0; i < len; i++) {
+			char ch = s.charAt(i);
+			if (ch == delimiter || ch == '"' || ch == '\n' || ch == '\r') {
+				quote = true;
+				break;
+			}
+		}
+		if (quote) {
+			writeByte('"');
+		}
+		for (int i = 0; i < len; i++) {
+			if (count + MAX_CHAR_BYTES > buf.length) {
+				flushBuffer();
+			}
+			char ch = s.charAt(i);
+			if (ch < 0x80) {
+				if (ch == '"') {
+					buf[count++] = '"';
+				}
+				buf[count++] = (byte) ch;
+			} else if (ch < 0x800) {
+				buf[count++] = (byte) (0xc0 | (ch >> 6));
+				buf[count++] = (byte) (0x80 | (ch & 0x3f));
+			} else if (Character.isHighSurrogate(ch) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int cp = Character.toCodePoint(ch, s.charAt(++i));
+				buf[count++] = (byte) (0xf0 | (cp >> 18));
+				buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+				buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+				buf[count++] = (byte) (0x80 | (cp & 0x3f));
+			} else if (Character.isSurrogate(ch)) {
+				// 不成对的代理字符，与String.getBytes一致输出“?”
+				buf[count++] = '?';
+			} else {
+				buf[count++] = (byte) (0xe0 | (ch >> 12));
+				buf[count++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+				buf[count++] = (byte) (0x80 | (ch & 0x3f));
+			}
+		}
+		if (quote) {
+			writeByte('"');
+		}
+	}
+
+	private void writeLong(long v) throws IOException {
+		if (v == Long.MIN_VALUE) {
+			writeText(Long.toString(v));
+			return;
+		}
+		if (count + 20 > buf.length) {
+			flushBuffer();
+		}
+		if (v < 0) {
+			buf[count++] = '-';
+			v = -v;
+		}
+		int digits = 1;
+		for (long n = v; n >= 10; n /= 10) {
+			digits++;
+		}
+		int pos = count + digits;
+		do {
+			buf[--pos] = (byte) ('0' + (v % 10));
+			v /= 10;
+		} while (v != 0);
+		count += digits;
+	}
+
+	/**
+	 * 小数按普通记数法输出，不使用科学记数法
+	 */
+	private void writeDouble(double d, Object val) throws IOException {
+		double abs = Math.abs(d);
+		if (Double.isNaN(d) || Double.isInfinite(d) || abs == 0 || (abs >= 1e-3 && abs < 1e7)) {
+			writeText(val.toString());
+		} else {
+			writeText(new BigDecimal(val.toString()).toPlainString());
+		}
+	}
+
+	private void writeDate(Date date) throws IOException {
+		long time = date.getTime();
+		if (time < dayStart || time >= dayEnd) {
+			if (calendar == null) {
+				calendar = Calendar.getInstance();
+			}
+			calendar.setTimeInMillis(time);
+			int year = calendar.get(Calendar.YEAR);
+			int month = calendar.get(Calendar.MONTH) + 1;
+			int day = calendar.get(Calendar.DAY_OF_MONTH);
+			if (year < 1000 || year > 9999) {
+				dayStart = 1;
+				dayEnd = 0;
+				writeText(String.format("%04d-%02d-%02d", year, month, day));
+				return;
+			}
+			dateBytes[0] = (byte) ('0' + year / 1000);
+			dateBytes[1] = (byte) ('0' + year / 100 % 10);
+			dateBytes[2] = (byte) ('0' + year / 10 % 10);
+			dateBytes[3] = (byte) ('0' + year % 10);
+			dateBytes[4] = '-';
+			dateBytes[5] = (byte) ('0' + month / 10);
+			dateBytes[6] = (byte) ('0' + month % 10);
+			dateBytes[7] = '-';
+			dateBytes[8] = (byte) ('0' + day / 10);
+			dateBytes[9] = (byte) ('0' + day % 10);
+			calendar.set(Calendar.HOUR_OF_DAY, 0);
+			calendar.set(Calendar.MINUTE, 0);
+			calendar.set(Calendar.SECOND, 0);
+			calendar.set(Calendar.MILLISECOND, 0);
+			dayStart = calendar.getTimeInMillis();
+			calendar.add(Calendar.DAY_OF_MONTH, 1);
+			dayEnd = calendar.getTimeInMillis();
+		}
+		writeBytes(dateBytes);
+	}
+
+	private void endRow() throws IOException {
+		if (count + 2 > buf.length) {
+			flushBuffer();
+		}
+		buf[count++] = '\r';
+		buf[count++] = '\n';
+	}
+
+	private void writeByte(char b) throws IOException {
+		if (count == buf.length) {
+			flushBuffer();
+		}
+		buf[count++] = (byte) b;
+	}
+
+	private void writeBytes(byte[] b) throws IOException {
+		if (count + b.length > buf.length) {
+			flushBuffer();
+		}
+		System.arraycopy(b, 0, buf, count, b.length);
+		count += b.length;
+	}
+
+	private void flushBuffer() throws IOException {
+		if (count > 0) {
+			out.write(buf, 0, count);
+			count = 0;
+		}
+	}
+
+	/**
+	 * 可以释放Deflater的GZip压缩流，GZIPOutputStream只在close时释放，而这里不能关闭输出流
+	 */
+	private static final class GzipStream extends GZIPOutputStream {
+
+		GzipStream(OutputStream out, int size) throws IOException {
+			super(out, size);
+		}
+
+		void end() {
+			def.end();
+		}
+	}
+
+}
@@ -9,10 +9,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -21,6 +18,7 @@ import java.util.Map;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Comment;
@@ -38,7 +36,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.coul.common.utils.Encodes;
-import com.coul.common.utils.Reflections;
 import com.google.common.collect.Lists;
 
 /**
@@ -71,9 +68,34 @@ public class ExportExcel {
 	private int rownum;
 	
 	/**
-	 * 注解列表（Object[]{ ExcelField, Field/Method }）
+	 * 表格标题，新建工作表时使用
 	 */
-	List<Object[]> annotationList = Lists.newArrayList();
+	private String title;
+	
+	/**
+	 * 表头列表，新建工作表时使用
+	 */
+	private List<String> headerList;
+	
+	/**
+	 * 每个工作表的最大行数（含标题和表头），超过后新建工作表继续添加
+	 */
+	private int sheetRowLimit = SpreadsheetVersion.EXCEL2007.getMaxRows();
+	
+	/**
+	 * 注解列计划，按类型和分组缓存
+	 */
+	private ExcelColumnPlan plan;
+	
+	/**
+	 * 数据样式（下标为对齐方式：0：默认；1：靠左；2：居中；3：靠右）
+	 */
+	private CellStyle[] dataStyles;
+	
+	/**
+	 * 日期数据样式（下标同dataStyles）
+	 */
+	private CellStyle[] dateStyles;
 	
 	/**
 	 * 构造函数
@@ -92,75 +114,23 @@ public class ExportExcel {
 	 * @param groups 导入分组
 	 */
 	public ExportExcel(String title, Class<?> cls, int type, int... groups){
-		// Get annotation field 
-		Field[] fs = cls.getDeclaredFields();
-		for (Field f : fs){
-			ExcelField ef = f.getAnnotation(ExcelField.class);
-			if (ef != null && (ef.type()==0 || ef.type()==type)){
-				if (groups!=null && groups.length>0){
-					boolean inGroup = false;
-					for (int g : groups){
-						if (inGroup){
-							break;
-						}
-						for (int efg : ef.groups()){
-							if (g == efg){
-								inGroup = true;
-								annotationList.add(new Object[]{ef, f});
-								break;
-							}
-						}
-					}
-				}else{
-					annotationList.add(new Object[]{ef, f});
-				}
-			}
-		}
-		// Get annotation method
-		Method[] ms = cls.getDeclaredMethods();
-		for (Method m : ms){
-			ExcelField ef = m.getAnnotation(ExcelField.class);
-			if (ef != null && (ef.type()==0 || ef.type()==type)){
-				if (groups!=null && groups.length>0){
-					boolean inGroup = false;
-					for (int g : groups){
-						if (inGroup){
-							break;
-						}
-						for (int efg : ef.groups()){
-							if (g == efg){
-								inGroup = true;
-								annotationList.add(new Object[]{ef, m});
-								break;
-							}
-						}
-					}
-				}else{
-					annotationList.add(new Object[]{ef, m});
-				}
-			}
-		}
-		// Field sorting
-		Collections.sort(annotationList, new Comparator<Object[]>() {
-			public int compare(Object[] o1, Object[] o2) {
-				return new Integer(((ExcelField)o1[0]).sort()).compareTo(
-						new Integer(((ExcelField)o2[0]).sort()));
-			};
-		});
+		this(new SXSSFWorkbook(500), title, cls, type, groups);
+	}
+	
+	/**
+	 * 构造函数
+	 * @param wb 工作薄对象（可指定行窗口大小、是否压缩临时文件）
+	 * @param title 表格标题，传“空值”，表示无标题
+	 * @param cls 实体对象，通过annotation.ExportField获取标题
+	 * @param type 导出类型（1:导出数据；2：导出模板）
+	 * @param groups 导入分组
+	 */
+	ExportExcel(SXSSFWorkbook wb, String title, Class<?> cls, int type, int... groups){
+		this.plan = ExcelColumnPlan.of(cls, type, groups);
 		// Initialize
-		List<String> headerList = Lists.newArrayList();
-		for (Object[] os : annotationList){
-			String t = ((ExcelField)os[0]).title();
-			// 如果是导出，则去掉注释
-			if (type==1){
-				String[] ss = StringUtils.split(t, "**", 2);
-				if (ss.length==2){
-					t = ss[0];
-				}
-			}
-			headerList.add(t);
-		}
-		initialize(title, headerList);
+		// 如果是导出，则去掉注释
+		List<String> headerList = plan.headers(type==1);
+		initialize(wb, title, headerList);
 	}
 	
 	/**
@@ -169,7 +139,7 @@ public class ExportExcel {
 	 * @param headers 表头数组
 	 */
 	public ExportExcel(String title, String[] headers) {
-		initialize(title, Lists.newArrayList(headers));
+		initialize(new SXSSFWorkbook(500), title, Lists.newArrayList(headers));
 	}
 	
 	/**
@@ -178,18 +148,45 @@ public class ExportExcel {
 	 * @param headerList 表头列表
 	 */
 	public ExportExcel(String title, List<String> headerList) {
-		initialize(title, headerList);
+		initialize(new SXSSFWorkbook(500), title, headerList);
 	}
 	
 	/**
 	 * 初始化函数
+	 * @param wb 工作薄对象
 	 * @param title 表格标题，传“空值”，表示无标题
 	 * @param headerList 表头列表
 	 */
-	private void initialize(String title, List<String> headerList) {
-		this.wb = new SXSSFWorkbook(500);
-		this.sheet = wb.createSheet("Export");
+	private void initialize(SXSSFWorkbook wb, String title, List<String> headerList) {
+		// Create header
+		if (headerList == null){
+			throw new RuntimeException("headerList not null!");
+		}
+		this.wb = wb;
+		this.title = title;
+		this.headerList = headerList;
 		this.styles = createStyles(wb);
+		this.dataStyles = new CellStyle[]{styles.get("data"), styles.get("data1"), styles.get("data2"), styles.get("data3")};
+		this.dateStyles = new CellStyle[dataStyles.length];
+		DataFormat format = wb.createDataFormat();
+		short dateFormat = format.getFormat("yyyy-MM-dd");
+		for (int i = 0; i < dataStyles.length; i++) {
+			CellStyle style = wb.createCellStyle();
+			style.cloneStyleFrom(dataStyles[i]);
+			style.setDataFormat(dateFormat);
+			dateStyles[i] = style;
+		}
+		createSheet();
+		log.debug("Initialize success.");
+	}
+	
+	/**
+	 * 新建工作表，添加标题和表头（第一个工作表名称为“Export”，之后依次为“Export2”、“Export3”……）
+	 */
+	private void createSheet() {
+		int sheets = wb.getNumberOfSheets();
+		this.sheet = wb.createSheet(sheets == 0 ? "Export" : "Export" + (sheets + 1));
+		this.rownum = 0;
 		// Create title
 		if (StringUtils.isNotBlank(title)){
 			Row titleRow = sheet.createRow(rownum++);
@@ -201,9 +198,6 @@ public class ExportExcel {
 					titleRow.getRowNum(), titleRow.getRowNum(), headerList.size()-1));
 		}
 		// Create header
-		if (headerList == null){
-			throw new RuntimeException("headerList not null!");
-		}
 		Row headerRow = sheet.createRow(rownum++);
 		headerRow.setHeightInPoints(16);
 		for (int i = 0; i < headerList.size(); i++) {
@@ -225,7 +219,6 @@ public class ExportExcel {
 			int colWidth = sheet.getColumnWidth(i)*2;
 	        sheet.setColumnWidth(i, colWidth < 3000 ? 3000 : colWidth);  
 		}
-		log.debug("Initialize success.");
 	}
 	
 	/**
@@ -295,13 +288,29 @@ public class ExportExcel {
 	}
 
 	/**
-	 * 添加一行
+	 * 添加一行，当前工作表达到最大行数时新建工作表
 	 * @return 行对象
 	 */
 	public Row addRow(){
+		if (rownum >= sheetRowLimit){
+			createSheet();
+		}
 		return sheet.createRow(rownum++);
 	}
 	
+	/**
+	 * 设置每个工作表的最大行数（含标题和表头），默认为XLSX格式的最大行数
+	 * @param sheetRowLimit 最大行数
+	 */
+	public ExportExcel setSheetRowLimit(int sheetRowLimit){
+		int maxRows = SpreadsheetVersion.EXCEL2007.getMaxRows();
+		if (sheetRowLimit <= 2 || sheetRowLimit > maxRows){
+			throw new IllegalArgumentException("sheetRowLimit must be between 3 and " + maxRows);
+		}
+		this.sheetRowLimit = sheetRowLimit;
+		return this;
+	}
+	
 
 	/**
 	 * 添加一个单元格
@@ -323,8 +332,24 @@ public class ExportExcel {
 	 * @return 单元格对象
 	 */
 	public Cell addCell(Row row, int column, Object val, int align, Class<?> fieldType){
+		Method converter = null;
+		if (fieldType != Class.class){
+			try {
+				converter = fieldType.getMethod("setValue", Object.class);
+			} catch (Exception ex) {
+				// 转换时按toString写入
+			}
+		}
+		return addCell(row, column, val, align, fieldType, converter);
+	}
+	
+	/**
+	 * 添加一个单元格，其他类型的值使用指定的fieldType转换方法，未指定时按值类型查找fieldtype.XxxType
+	 */
+	private Cell addCell(Row row, int column, Object val, int align, Class<?> fieldType, Method converter){
 		Cell cell = row.createCell(column);
-		CellStyle style = styles.get("data"+(align>=1&&align<=3?align:""));
+		int styleIndex = align>=1&&align<=3?align:0;
+		CellStyle style = dataStyles[styleIndex];
 		try {
 			if (val == null){
 				cell.setCellValue("");
@@ -339,63 +364,105 @@ public class ExportExcel {
 			} else if (val instanceof Float) {
 				cell.setCellValue((Float) val);
 			} else if (val instanceof Date) {
-				DataFormat format = wb.createDataFormat();
-	            style.setDataFormat(format.getFormat("yyyy-MM-dd"));
+				style = dateStyles[styleIndex];
 				cell.setCellValue((Date) val);
 			} else {
 				if (fieldType != Class.class){
-					cell.setCellValue((String)fieldType.getMethod("setValue", Object.class).invoke(null, val));
+					if (converter == null){
+						converter = fieldType.getMethod("setValue", Object.class);
+					}
+					cell.setCellValue((String)converter.invoke(null, val));
 				}else{
-					cell.setCellValue((String)Class.forName(this.getClass().getName().replaceAll(this.getClass().getSimpleName(), 
-						"fieldtype."+val.getClass().getSimpleName()+"Type")).getMethod("setValue", Object.class).invoke(null, val));
+					cell.setCellValue((String)ExcelColumnPlan.exportConverter(val.getClass()).invoke(null, val));
 				}
 			}
 		} catch (Exception ex) {
-			log.info("Set cell value ["+row.getRowNum()+","+column+"] error: " + ex.toString());
+			if (log.isInfoEnabled()){
+				log.info("Set cell value ["+row.getRowNum()+","+column+"] error: " + ex.toString());
+			}
 			cell.setCellValue(val.toString());
 		}
 		cell.setCellStyle(style);
 		return cell;
 	}
 
+	/**
+	 * 按列计划预选的方式添加单元格，值类型与声明类型不符时按addCell的规则处理
+	 */
+	private void addCell(Row row, int column, Object val, ExcelColumnPlan.Column c){
+		if (val != null){
+			int styleIndex = c.ef.align()>=1&&c.ef.align()<=3?c.ef.align():0;
+			switch (c.writer) {
+			case ExcelColumnPlan.WRITE_STRING:
+				if (val instanceof String){
+					Cell cell = row.createCell(column);
+					cell.setCellValue((String) val);
+					cell.setCellStyle(dataStyles[styleIndex]);
+					return;
+				}
+				break;
+			case ExcelColumnPlan.WRITE_NUMBER:
+				if (val instanceof Number){
+					Cell cell = row.createCell(column);
+					cell.setCellValue(((Number) val).doubleValue());
+					cell.setCellStyle(dataStyles[styleIndex]);
+					return;
+				}
+				break;
+			case ExcelColumnPlan.WRITE_DATE:
+				if (val instanceof Date){
+					Cell cell = row.createCell(column);
+					cell.setCellValue((Date) val);
+					cell.setCellStyle(dateStyles[styleIndex]);
+					return;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		addCell(row, column, val, c.ef.align(), c.ef.fieldType(), c.getExportConverter());
+	}
+
 	/**
 	 * 添加数据（通过annotation.ExportField添加数据）
 	 * @return list 数据列表
 	 */
 	public <E> ExportExcel setDataList(List<E> list){
 		for (E e : list){
-			int colunm = 0;
-			Row row = this.addRow();
-			StringBuilder sb = new StringBuilder();
-			for (Object[] os : annotationList){
-				ExcelField ef = (ExcelField)os[0];
-				Object val = null;
-				// Get entity value
-				try{
-					if (StringUtils.isNotBlank(ef.value())){
-						val = Reflections.invokeGetter(e, ef.value());
-					}else{
-						if (os[1] instanceof Field){
-							val = Reflections.invokeGetter(e, ((Field)os[1]).getName());
-						}else if (os[1] instanceof Method){
-							val = Reflections.invokeMethod(e, ((Method)os[1]).getName(), new Class[] {}, new Object[] {});
-						}
-					}
-					// If is dict, get dict label
-					if (StringUtils.isNotBlank(ef.dictType())){
-						//val = DictUtils.getDictLabel(val==null?"":val.toString(), ef.dictType(), "");
-					}
-				}catch(Exception ex) {
-					// Failure to ignore
-					log.info(ex.toString());
-					val = "";
-				}
-				this.addCell(row, colunm++, val, ef.align(), ef.fieldType());
+			addDataRow(plan.getValues(e));
+		}
+		return this;
+	}
+	
+	/**
+	 * 注解列计划，按表头构造时为null
+	 */
+	ExcelColumnPlan getPlan(){
+		return plan;
+	}
+	
+	/**
+	 * 按注解列添加一行数据
+	 * @param values ExcelColumnPlan.getValues获取的各列的值
+	 */
+	void addDataRow(Object[] values){
+		ExcelColumnPlan.Column[] columns = plan.columns;
+		// SXSSFRow.getRowNum需要遍历窗口内的行，行号在此记录
+		Row row = this.addRow();
+		int rowNum = rownum - 1;
+		boolean debug = log.isDebugEnabled();
+		StringBuilder sb = debug ? new StringBuilder() : null;
+		for (int colunm = 0; colunm < columns.length; colunm++){
+			Object val = values[colunm];
+			this.addCell(row, colunm, val, columns[colunm]);
+			if (debug){
 				sb.append(val + ", ");
 			}
-			log.debug("Write success: ["+row.getRowNum()+"] "+sb.toString());
 		}
-		return this;
+		if (debug){
+			log.debug("Write success: ["+rowNum+"] "+sb.toString());
+		}
 	}
 	
 	/**
@@ -0,0 +1,140 @@
+package com.coul.common.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.coul.common.utils.Encodes;
+
+/**
+ * 导出格式，同一个@ExcelField注解类和分页数据可以按请求的格式导出
+ *
+ * XLSX使用ParallelExportExcel，CSV、TSV使用ExportCsv，数据都按页并行读取、按顺序写入，
+ * 表头和列相同（CSV、TSV不输出标题行）。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public enum ExportFormat {
+
+	XLSX("xlsx", "application/octet-stream", (char) 0, false),
+	CSV("csv", "text/csv", ExportCsv.CSV, false),
+	TSV("tsv", "text/tab-separated-values", ExportCsv.TSV, false),
+	CSV_GZIP("csv.gz", "application/gzip", ExportCsv.CSV, true),
+	TSV_GZIP("tsv.gz", "application/gzip", ExportCsv.TSV, true);
+
+	/** 文件扩展名 */
+	private final String extension;
+
+	private final String contentType;
+
+	/** CSV、TSV的分隔符 */
+	private final char delimiter;
+
+	private final boolean gzip;
+
+	private ExportFormat(String extension, String contentType, char delimiter, boolean gzip) {
+		this.extension = extension;
+		this.contentType = contentType;
+		this.delimiter = delimiter;
+		this.gzip = gzip;
+	}
+
+	/**
+	 * 根据名称或扩展名获得导出格式，不区分大小写，为空时返回XLSX
+	 *
+	 * @param name 如：xlsx、csv、tsv、csv.gz、CSV_GZIP
+	 * @return
+	 * @throws IllegalArgumentException 不支持的格式
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static ExportFormat of(String name) {
+		if (StringUtils.isBlank(name)) {
+			return XLSX;
+		}
+		String s = name.trim();
+		for (ExportFormat format : values()) {
+			if (format.extension.equalsIgnoreCase(s) || format.name().equalsIgnoreCase(s)) {
+				return format;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported export format: " + name);
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	/**
+	 * 加上扩展名的文件名
+	 */
+	public String fileName(String baseName) {
+		return baseName + "." + extension;
+	}
+
+	/**
+	 * 导出到输出流，不关闭输出流
+	 *
+	 * @param os 输出流
+	 * @param title 表格标题，传“空值”，表示无标题（只用于XLSX）
+	 * @param cls 实体对象，通过annotation.ExportField获取表头
+	 * @param source 分页数据
+	 * @param threads 读取数据的线程数
+	 * @param groups 导出分组
+	 * @return 导出行数
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public int write(OutputStream os, String title, Class<?> cls, ExcelPageSource<?> source, int threads,
+			int... groups) throws IOException {
+		if (this == XLSX) {
+			return new ParallelExportExcel(title, cls, threads, groups).write(source, os);
+		}
+		ExportCsv csv = new ExportCsv(os, delimiter, gzip, cls, groups);
+		ExecutorService executor = PagedRows.newExecutor(threads);
+		try {
+			csv.write(source, PagedRows.DEFAULT_PAGE_SIZE, executor, threads);
+			csv.finish();
+			return csv.getRowCount();
+		} finally {
+			executor.shutdownNow();
+			csv.close();
+		}
+	}
+
+	/**
+	 * 导出到客户端，文件名加上扩展名，数据直接写入响应输出流
+	 *
+	 * @param response
+	 * @param baseName 不含扩展名的输出文件名
+	 * @return 导出行数
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 * @see #write(OutputStream, String, Class, ExcelPageSource, int, int...)
+	 */
+	public int write(HttpServletResponse response, String baseName, String title, Class<?> cls,
+			ExcelPageSource<?> source, int threads, int... groups) throws IOException {
+		if (this == XLSX) {
+			return new ParallelExportExcel(title, cls, threads, groups).write(source, response, fileName(baseName));
+		}
+		response.reset();
+		response.setContentType(contentType + (gzip ? "" : "; charset=utf-8"));
+		response.setHeader("Content-Disposition", "attachment; filename=" + Encodes.urlEncode(fileName(baseName)));
+		return write(response.getOutputStream(), title, cls, source, threads, groups);
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.coul.common.excel;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按页读取导出数据并按注解列取值，按页的顺序交给处理器
+ *
+ * 指定线程池时各页的读取和取值并行执行，同时处理的页数不超过并行数的两倍；
+ * 未指定线程池时在当前线程中逐页读取。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class PagedRows {
+
+	/** 默认每页行数 */
+	static final int DEFAULT_PAGE_SIZE = 5000;
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	private PagedRows() {
+	}
+
+	/**
+	 * 读取全部数据
+	 *
+	 * @param source 分页数据
+	 * @param pageSize 每页行数
+	 * @param executor 读取数据的线程池，为null时在当前线程中读取
+	 * @param parallelism 并行读取的页数
+	 * @param plan 注解列计划
+	 * @param handler 在当前线程中按顺序处理每行的值，返回false时停止读取
+	 * @return 处理的行数
+	 * @throws IOException 读取数据失败或被中断
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	static int read(ExcelPageSource<?> source, int pageSize, ExecutorService executor, int parallelism,
+			ExcelColumnPlan plan, ExcelRowHandler<Object[]> handler) throws IOException {
+		Deque<Future<List<Object[]>>> pending = new ArrayDeque<Future<List<Object[]>>>();
+		int offset = 0;
+		int rows = 0;
+		try {
+			while (true) {
+				List<Object[]> page;
+				if (executor == null) {
+					page = call(new PageTask(source, offset, pageSize, plan));
+					offset += pageSize;
+				} else {
+					while (pending.size() < parallelism * 2) {
+						pending.add(executor.submit(new PageTask(source, offset, pageSize, plan)));
+						offset += pageSize;
+					}
+					page = get(pending.poll());
+				}
+				for (Object[] values : page) {
+					if (!handle(handler, rows++, values)) {
+						return rows;
+					}
+				}
+				if (page.size() < pageSize) {
+					return rows;
+				}
+			}
+		} finally {
+			for (Future<List<Object[]>> future : pending) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * 创建读取数据的线程池，线程为守护线程，任务超过队列容量时在提交线程中执行
+	 */
+	static ExecutorService newExecutor(int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("threads must be positive");
+		}
+		// 同时提交的页数不超过线程数的两倍，队列不会满
+		return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(threads * 2), new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "excel-export-" + THREAD_NUMBER.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	private static boolean handle(ExcelRowHandler<Object[]> handler, int rowNum, Object[] values) throws IOException {
+		try {
+			return handler.handle(rowNum, values);
+		} catch (Exception e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static List<Object[]> call(PageTask task) throws IOException {
+		try {
+			return task.call();
+		} catch (Exception e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static List<Object[]> get(Future<List<Object[]>> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Export interrupted");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw rethrow((Exception) cause);
+		}
+	}
+
+	private static IOException rethrow(Exception e) throws IOException {
+		if (e instanceof IOException) {
+			throw (IOException) e;
+		} else if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		throw new IOException("Read export data error", e);
+	}
+
+	/**
+	 * 读取一页数据并按注解列取值
+	 */
+	private static final class PageTask implements Callable<List<Object[]>> {
+		private final ExcelPageSource<?> source;
+		private final int offset;
+		private final int limit;
+		private final ExcelColumnPlan plan;
+
+		PageTask(ExcelPageSource<?> source, int offset, int limit, ExcelColumnPlan plan) {
+			this.source = source;
+			this.offset = offset;
+			this.limit = limit;
+			this.plan = plan;
+		}
+
+		@Override
+		public List<Object[]> call() throws Exception {
+			List<?> page = source.getPage(offset, limit);
+			if (page == null) {
+				return new ArrayList<Object[]>(0);
+			}
+			List<Object[]> rows = new ArrayList<Object[]>(page.size());
+			for (Object e : page) {
+				rows.add(plan.getValues(e));
+			}
+			return rows;
+		}
+	}
+
+}
@@ -0,0 +1,180 @@
+package com.coul.common.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 并行导出Excel文件
+ *
+ * 按页从ExcelPageSource读取数据，读取和按注解取值在有界线程池中并行执行，
+ * 当前线程按页的顺序写入工作表，超过最大行数时自动新建工作表。同时处理的页数不超过并行数的两倍，
+ * 已写入的行按SXSSF的行窗口刷新到压缩的临时文件，内存占用与总行数无关。
+ * write方法结束时（包括异常）总是清理临时文件。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class ParallelExportExcel {
+
+	private static Logger log = LoggerFactory.getLogger(ParallelExportExcel.class);
+
+	/** 默认每页行数 */
+	public static final int DEFAULT_PAGE_SIZE = PagedRows.DEFAULT_PAGE_SIZE;
+
+	/** SXSSF行窗口大小 */
+	private static final int ROW_ACCESS_WINDOW = 500;
+
+	private final ExportExcel exportExcel;
+
+	private final ExecutorService executor;
+
+	/** 线程池是否由当前对象创建，清理时关闭 */
+	private final boolean ownExecutor;
+
+	/** 并行读取的页数 */
+	private final int parallelism;
+
+	private int pageSize = DEFAULT_PAGE_SIZE;
+
+	/**
+	 * 构造函数，使用新建的线程池，清理时关闭
+	 * @param title 表格标题，传“空值”，表示无标题
+	 * @param cls 实体对象，通过annotation.ExportField获取标题
+	 * @param threads 读取数据的线程数
+	 * @param groups 导出分组
+	 */
+	public ParallelExportExcel(String title, Class<?> cls, int threads, int... groups) {
+		this(title, cls, PagedRows.newExecutor(threads), threads, true, groups);
+	}
+
+	/**
+	 * 构造函数，使用指定的线程池，清理时不关闭
+	 * @param title 表格标题，传“空值”，表示无标题
+	 * @param cls 实体对象，通过annotation.ExportField获取标题
+	 * @param executor 读取数据的线程池
+	 * @param parallelism 并行读取的页数
+	 * @param groups 导出分组
+	 */
+	public ParallelExportExcel(String title, Class<?> cls, ExecutorService executor, int parallelism, int... groups) {
+		this(title, cls, executor, parallelism, false, groups);
+	}
+
+	private ParallelExportExcel(String title, Class<?> cls, ExecutorService executor, int parallelism,
+			boolean ownExecutor, int... groups) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		this.executor = executor;
+		this.ownExecutor = ownExecutor;
+		this.parallelism = parallelism;
+		// 临时文件压缩，减少磁盘占用
+		this.exportExcel = new ExportExcel(new SXSSFWorkbook(null, ROW_ACCESS_WINDOW, true), title, cls, 1, groups);
+	}
+
+	/**
+	 * 设置每页行数，默认5000
+	 */
+	public ParallelExportExcel setPageSize(int pageSize) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("pageSize must be positive");
+		}
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	/**
+	 * 设置每个工作表的最大行数（含标题和表头），默认为XLSX格式的最大行数
+	 */
+	public ParallelExportExcel setSheetRowLimit(int sheetRowLimit) {
+		exportExcel.setSheetRowLimit(sheetRowLimit);
+		return this;
+	}
+
+	/**
+	 * 读取全部数据并写入工作表
+	 *
+	 * @param source 分页数据
+	 * @return 导出行数
+	 * @throws IOException 读取数据失败或被中断
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public int export(ExcelPageSource<?> source) throws IOException {
+		int rows = PagedRows.read(source, pageSize, executor, parallelism, exportExcel.getPlan(),
+				new ExcelRowHandler<Object[]>() {
+					@Override
+					public boolean handle(int rowNum, Object[] values) {
+						exportExcel.addDataRow(values);
+						return true;
+					}
+				});
+		log.debug("Export success: {} rows.", rows);
+		return rows;
+	}
+
+	/**
+	 * 导出到输出流，结束后清理临时文件
+	 *
+	 * @param source 分页数据
+	 * @param os 输出流
+	 * @return 导出行数
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public int write(ExcelPageSource<?> source, OutputStream os) throws IOException {
+		try {
+			int rows = export(source);
+			exportExcel.write(os);
+			return rows;
+		} finally {
+			dispose();
+		}
+	}
+
+	/**
+	 * 导出到客户端，工作薄直接写入响应输出流，结束后清理临时文件
+	 *
+	 * @param source 分页数据
+	 * @param response
+	 * @param fileName 输出文件名
+	 * @return 导出行数
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public int write(ExcelPageSource<?> source, HttpServletResponse response, String fileName) throws IOException {
+		try {
+			int rows = export(source);
+			exportExcel.write(response, fileName);
+			return rows;
+		} finally {
+			dispose();
+		}
+	}
+
+	/**
+	 * 清理临时文件，关闭自建的线程池
+	 */
+	public ParallelExportExcel dispose() {
+		try {
+			exportExcel.dispose();
+		} finally {
+			if (ownExecutor) {
+				executor.shutdownNow();
+			}
+		}
+		return this;
+	}
+
+}
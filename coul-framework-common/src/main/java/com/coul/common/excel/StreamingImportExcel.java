@@ -0,0 +1,223 @@
+package com.coul.common.excel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 流式导入Excel文件（支持“XLS”和“XLSX”格式）
+ *
+ * 与ImportExcel的用法相同，但不加载整个工作簿：数据行逐行读取，通过回调或迭代器交给调用方，
+ * 内存占用与行数无关，适合大文件和并发上传。导入列的规则与ImportExcel.getDataList一致，
+ * 区别是公式单元格取缓存的计算结果，没有单元格的空行被跳过。
+ * 使用后需要调用close()释放文件。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class StreamingImportExcel implements Closeable {
+
+	private final ExcelRowReader reader;
+
+	/** 标题行号 */
+	private final int headerNum;
+
+	/** 标题行 */
+	private ExcelRow header;
+
+	/** 已读到的第一个数据行 */
+	private ExcelRow pending;
+
+	/** 是否已跳过标题行 */
+	private boolean headerSkipped;
+
+	/**
+	 * 构造函数
+	 * @param file 导入文件对象
+	 * @param headerNum 标题行号，数据行号=标题行号+1
+	 * @param sheetIndex 工作表编号
+	 * @throws IOException
+	 */
+	public StreamingImportExcel(File file, int headerNum, int sheetIndex) throws IOException {
+		this(ExcelRowReader.open(file, sheetIndex), headerNum);
+	}
+
+	/**
+	 * 构造函数
+	 * @param multipartFile 导入文件对象
+	 * @param headerNum 标题行号，数据行号=标题行号+1
+	 * @param sheetIndex 工作表编号
+	 * @throws IOException
+	 */
+	public StreamingImportExcel(MultipartFile multipartFile, int headerNum, int sheetIndex) throws IOException {
+		this(multipartFile.getOriginalFilename(), multipartFile.getInputStream(), headerNum, sheetIndex);
+	}
+
+	/**
+	 * 构造函数，读取并关闭输入流
+	 * @param fileName 文件名，按后缀区分格式
+	 * @param is 文件输入流
+	 * @param headerNum 标题行号，数据行号=标题行号+1
+	 * @param sheetIndex 工作表编号
+	 * @throws IOException
+	 */
+	public StreamingImportExcel(String fileName, InputStream is, int headerNum, int sheetIndex) throws IOException {
+		this(open(fileName, is, sheetIndex), headerNum);
+	}
+
+	private StreamingImportExcel(ExcelRowReader reader, int headerNum) {
+		this.reader = reader;
+		this.headerNum = headerNum;
+	}
+
+	private static ExcelRowReader open(String fileName, InputStream is, int sheetIndex) throws IOException {
+		try {
+			return ExcelRowReader.open(fileName, is, sheetIndex);
+		} finally {
+			is.close();
+		}
+	}
+
+	/**
+	 * 获取数据行号
+	 * @return
+	 */
+	public int getDataRowNum() {
+		return headerNum + 1;
+	}
+
+	/**
+	 * 获取标题行，没有标题行或尚未读到时返回null
+	 */
+	public ExcelRow getHeader() {
+		skipHeader();
+		return header;
+	}
+
+	/**
+	 * 数据行迭代器，只能遍历一次
+	 */
+	public Iterator<ExcelRow> rows() {
+		skipHeader();
+		return new Iterator<ExcelRow>() {
+			@Override
+			public boolean hasNext() {
+				return pending != null || reader.hasNext();
+			}
+
+			@Override
+			public ExcelRow next() {
+				if (pending != null) {
+					ExcelRow row = pending;
+					pending = null;
+					return row;
+				}
+				return reader.next();
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * 导入对象迭代器，只能遍历一次
+	 * @param cls 导入对象类型
+	 * @param groups 导入分组
+	 */
+	public <E> Iterator<E> iterator(Class<E> cls, int... groups) {
+		final ExcelColumnPlan plan = ExcelColumnPlan.forImport(cls, groups);
+		final Iterator<ExcelRow> rows = rows();
+		return new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				return rows.hasNext();
+			}
+
+			@Override
+			public E next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return plan.toBean(rows.next());
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * 逐行读取数据行
+	 * @param handler 行回调，返回false时停止
+	 * @return 处理的行数
+	 */
+	public int readRows(ExcelRowHandler<ExcelRow> handler) throws Exception {
+		int count = 0;
+		Iterator<ExcelRow> rows = rows();
+		while (rows.hasNext()) {
+			ExcelRow row = rows.next();
+			count++;
+			if (!handler.handle(row.getRowNum(), row)) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 逐行读取并转换为导入对象
+	 * @param cls 导入对象类型
+	 * @param handler 行回调，返回false时停止
+	 * @param groups 导入分组
+	 * @return 处理的行数
+	 */
+	public <E> int read(Class<E> cls, ExcelRowHandler<E> handler, int... groups) throws Exception {
+		ExcelColumnPlan plan = ExcelColumnPlan.forImport(cls, groups);
+		int count = 0;
+		Iterator<ExcelRow> rows = rows();
+		while (rows.hasNext()) {
+			ExcelRow row = rows.next();
+			count++;
+			E e = plan.toBean(row);
+			if (!handler.handle(row.getRowNum(), e)) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 跳过标题行及之前的行
+	 */
+	private void skipHeader() {
+		if (headerSkipped) {
+			return;
+		}
+		headerSkipped = true;
+		while (reader.hasNext()) {
+			ExcelRow row = reader.next();
+			if (row.getRowNum() == headerNum) {
+				header = row;
+			} else if (row.getRowNum() > headerNum) {
+				pending = row;
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+}
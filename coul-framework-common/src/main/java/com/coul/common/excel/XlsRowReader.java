@@ -0,0 +1,180 @@
+package com.coul.common.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * XLS逐行读取，使用RecordFactoryInputStream逐条读取BIFF记录
+ *
+ * 同一工作表中的单元格记录按行号递增排列，行号变化时返回上一行；
+ * 读完目标工作表后不再读取后面的记录。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class XlsRowReader extends ExcelRowReader {
+
+	/** 工作簿流的名称，依次尝试 */
+	private static final String[] WORKBOOK_NAMES = {"Workbook", "WORKBOOK", "BOOK", "Book" };
+
+	private final int sheetIndex;
+
+	private final NPOIFSFileSystem fs;
+
+	private final InputStream in;
+
+	private final RecordFactoryInputStream records;
+
+	private SSTRecord sst;
+
+	/** BOF、EOF的嵌套层次 */
+	private int depth;
+
+	/** 已读到的工作表编号，工作簿全局记录为-1 */
+	private int sheet = -2;
+
+	/** 当前行号 */
+	private int rowNum = -1;
+
+	/** 缓存结果为字符串的公式单元格所在列，值在随后的StringRecord中 */
+	private int formulaColumn = -1;
+
+	private boolean done;
+
+	XlsRowReader(File file, int sheetIndex) throws IOException {
+		this.sheetIndex = sheetIndex;
+		this.fs = new NPOIFSFileSystem(file, true);
+		try {
+			this.in = fs.createDocumentInputStream(workbookName(fs.getRoot()));
+			this.records = new RecordFactoryInputStream(in, false);
+		} catch (IOException e) {
+			fs.close();
+			throw e;
+		} catch (RuntimeException e) {
+			fs.close();
+			throw e;
+		}
+	}
+
+	private static String workbookName(DirectoryNode root) {
+		for (String name : WORKBOOK_NAMES) {
+			if (root.hasEntry(name)) {
+				return name;
+			}
+		}
+		throw new RuntimeException("文档格式不正确!");
+	}
+
+	@Override
+	protected ExcelRow readRow() {
+		while (!done) {
+			Record record = records.nextRecord();
+			if (record == null) {
+				done = true;
+				break;
+			}
+			if (record instanceof BOFRecord) {
+				if (depth++ == 0) {
+					sheet++;
+					if (sheet > sheetIndex) {
+						done = true;
+						break;
+					}
+				}
+			} else if (record instanceof EOFRecord) {
+				if (--depth == 0 && sheet == sheetIndex) {
+					done = true;
+					break;
+				}
+			} else if (record instanceof SSTRecord) {
+				sst = (SSTRecord) record;
+			} else if (depth == 1 && sheet == sheetIndex) {
+				if (record instanceof StringRecord) {
+					if (formulaColumn >= 0) {
+						setCell(formulaColumn, ((StringRecord) record).getString());
+						formulaColumn = -1;
+					}
+				} else if (record instanceof CellValueRecordInterface) {
+					CellValueRecordInterface cell = (CellValueRecordInterface) record;
+					ExcelRow row = null;
+					if (cell.getRow() != rowNum) {
+						if (hasCells()) {
+							row = endRow(rowNum);
+						}
+						rowNum = cell.getRow();
+					}
+					setValue(cell);
+					if (row != null) {
+						return row;
+					}
+				}
+			}
+		}
+		return hasCells() ? endRow(rowNum) : null;
+	}
+
+	private void setValue(CellValueRecordInterface cell) {
+		int column = cell.getColumn();
+		Object value = null;
+		if (cell instanceof NumberRecord) {
+			value = ((NumberRecord) cell).getValue();
+		} else if (cell instanceof LabelSSTRecord) {
+			value = sst.getString(((LabelSSTRecord) cell).getSSTIndex()).getString();
+		} else if (cell instanceof LabelRecord) {
+			value = ((LabelRecord) cell).getValue();
+		} else if (cell instanceof BoolErrRecord) {
+			BoolErrRecord boolErr = (BoolErrRecord) cell;
+			value = boolErr.isBoolean() ? (Object) boolErr.getBooleanValue() : ErrorEval.getText(boolErr.getErrorValue());
+		} else if (cell instanceof FormulaRecord) {
+			FormulaRecord formula = (FormulaRecord) cell;
+			switch (formula.getCachedResultType()) {
+			case Cell.CELL_TYPE_STRING:
+				if (formula.hasCachedResultString()) {
+					formulaColumn = column;
+				} else {
+					value = "";
+				}
+				break;
+			case Cell.CELL_TYPE_BOOLEAN:
+				value = formula.getCachedBooleanValue();
+				break;
+			case Cell.CELL_TYPE_ERROR:
+				value = ErrorEval.getText(formula.getCachedErrorValue());
+				break;
+			default:
+				value = formula.getValue();
+			}
+		}
+		if (value != null) {
+			setCell(column, value);
+		}
+	}
+
+	@Override
+	protected void release() throws IOException {
+		try {
+			in.close();
+		} finally {
+			fs.close();
+		}
+	}
+
+}
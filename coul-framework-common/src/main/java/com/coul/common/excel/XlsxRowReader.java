@@ -0,0 +1,228 @@
+package com.coul.common.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.xml.bind.DatatypeConverter;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+/**
+ * XLSX逐行读取，使用StAX解析工作表XML
+ * 以ISO 8601格式保存的日期单元格（t="d"）解析为Date，按本地时区处理不带时区的时间
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class XlsxRowReader extends ExcelRowReader {
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+	static {
+		XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+	}
+
+	private final OPCPackage pkg;
+
+	private final ReadOnlySharedStringsTable strings;
+
+	private final InputStream sheet;
+
+	private final XMLStreamReader xml;
+
+	/** 当前行号 */
+	private int rowNum = -1;
+
+	/** 当前列号 */
+	private int column = -1;
+
+	/** 当前单元格类型 */
+	private String cellType;
+
+	/** 当前单元格的v元素 */
+	private String cellValue;
+
+	/** inlineStr单元格的文本 */
+	private final StringBuilder inlineText = new StringBuilder();
+
+	XlsxRowReader(File file, int sheetIndex) throws IOException {
+		OPCPackage opened = null;
+		InputStream in = null;
+		try {
+			opened = OPCPackage.open(file.getPath(), PackageAccess.READ);
+			XSSFReader reader = new XSSFReader(opened);
+			this.strings = new ReadOnlySharedStringsTable(opened);
+			Iterator<InputStream> sheets = reader.getSheetsData();
+			for (int i = 0; sheets.hasNext(); i++) {
+				InputStream data = sheets.next();
+				if (i == sheetIndex) {
+					in = data;
+					break;
+				}
+				data.close();
+			}
+			if (in == null) {
+				throw new RuntimeException("文档中没有工作表!");
+			}
+			this.xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			this.pkg = opened;
+			this.sheet = in;
+		} catch (IOException e) {
+			revert(opened, in);
+			throw e;
+		} catch (RuntimeException e) {
+			revert(opened, in);
+			throw e;
+		} catch (Exception e) {
+			revert(opened, in);
+			throw new IOException("打开Excel文件失败: " + file.getName(), e);
+		}
+	}
+
+	private static void revert(OPCPackage pkg, InputStream in) {
+		if (in != null) {
+			try {
+				in.close();
+			} catch (IOException e) {
+				// 忽略
+			}
+		}
+		if (pkg != null) {
+			pkg.revert();
+		}
+	}
+
+	@Override
+	protected ExcelRow readRow() throws XMLStreamException {
+		boolean inline = false;
+		while (xml.hasNext()) {
+			int event = xml.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = xml.getLocalName();
+				if ("row".equals(name)) {
+					String r = xml.getAttributeValue(null, "r");
+					rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+					column = -1;
+				} else if ("c".equals(name)) {
+					String r = xml.getAttributeValue(null, "r");
+					column = r != null ? columnIndex(r) : column + 1;
+					cellType = xml.getAttributeValue(null, "t");
+					cellValue = null;
+					inlineText.setLength(0);
+				} else if ("v".equals(name)) {
+					cellValue = xml.getElementText();
+				} else if ("is".equals(name)) {
+					inline = true;
+				} else if ("t".equals(name) && inline) {
+					inlineText.append(xml.getElementText());
+				} else if ("rPh".equals(name)) {
+					// 注音文本不属于单元格内容
+					skipElement();
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				String name = xml.getLocalName();
+				if ("c".equals(name)) {
+					Object value = cellValue();
+					if (value != null) {
+						setCell(column, value);
+					}
+				} else if ("is".equals(name)) {
+					inline = false;
+				} else if ("row".equals(name)) {
+					if (hasCells()) {
+						return endRow(rowNum);
+					}
+				} else if ("sheetData".equals(name)) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
+	private Object cellValue() {
+		if ("inlineStr".equals(cellType)) {
+			return inlineText.toString();
+		}
+		if (cellValue == null) {
+			return null;
+		}
+		if ("s".equals(cellType)) {
+			return strings.getEntryAt(Integer.parseInt(cellValue.trim()));
+		} else if ("str".equals(cellType) || "e".equals(cellType)) {
+			return cellValue;
+		} else if ("d".equals(cellType)) {
+			return parseDate(cellValue);
+		} else if ("b".equals(cellType)) {
+			return "1".equals(cellValue.trim()) ? Boolean.TRUE : Boolean.FALSE;
+		} else if (cellValue.length() == 0) {
+			return null;
+		}
+		return Double.valueOf(cellValue);
+	}
+
+	/**
+	 * 解析ISO 8601格式的日期、日期时间，无法解析时返回原文本
+	 */
+	static Object parseDate(String text) {
+		String value = text.trim();
+		if (value.length() == 0) {
+			return null;
+		}
+		try {
+			return value.indexOf('T') > 0 ? DatatypeConverter.parseDateTime(value).getTime()
+					: DatatypeConverter.parseDate(value).getTime();
+		} catch (IllegalArgumentException e) {
+			return text;
+		}
+	}
+
+	private void skipElement() throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = xml.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * 单元格引用（如AB12）中的列号，从0开始
+	 */
+	static int columnIndex(String ref) {
+		int column = 0;
+		for (int i = 0; i < ref.length(); i++) {
+			char c = ref.charAt(i);
+			if (c < 'A' || c > 'Z') {
+				break;
+			}
+			column = column * 26 + (c - 'A' + 1);
+		}
+		return column - 1;
+	}
+
+	@Override
+	protected void release() throws IOException {
+		try {
+			xml.close();
+		} catch (XMLStreamException e) {
+			// 忽略
+		}
+		revert(pkg, sheet);
+	}
+
+}
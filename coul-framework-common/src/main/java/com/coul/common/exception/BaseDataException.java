@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.coul.common.exception.BaseRuntimeException;
+import com.coul.common.utils.MessageTemplate;
 
 
 /**
@@ -34,13 +35,14 @@ public class BaseDataException extends BaseRuntimeException {
 
 	/**
 	 * 构造方法，初始化errorCode和message，当没有指定message时message初始化成ErrorMessage，下同
+	 * 错误码配置为不记录堆栈时（见StackTracePolicy）不填充堆栈，下同
 	 * @param errorCode  错误代码
 	 * 创建日期：2012-11-9
 	 * 修改说明：
 	 * @author wangk
 	 */
 	public BaseDataException(int errorCode) {
-		super(CODE_MESSAGE_MAPPING.get(errorCode));
+		super(CODE_MESSAGE_MAPPING.get(errorCode), null, null, StackTracePolicy.isStackTraceEnabled(errorCode));
 		this.errorCode = errorCode;
 	}
 	
@@ -75,7 +77,7 @@ public class BaseDataException extends BaseRuntimeException {
 	 * @author wangk
 	 */
 	public BaseDataException(int errorCode, String message) {
-		super(message);
+		super(message, null, null, StackTracePolicy.isStackTraceEnabled(errorCode));
 		this.errorCode = errorCode;
 	}
 
@@ -117,7 +119,7 @@ public class BaseDataException extends BaseRuntimeException {
 	 * @author wangk
 	 */
 	public BaseDataException(int errorCode, String message, Throwable cause) {
-		super(message, cause);
+		super(message, cause, StackTracePolicy.isStackTraceEnabled(errorCode));
 		this.errorCode = errorCode;
 	}
 
@@ -141,6 +143,22 @@ public class BaseDataException extends BaseRuntimeException {
 	    return CODE_MESSAGE_MAPPING.get(errorCode);
 	}
 
+	/**
+	 * 获得用异常参数替换{参数名}后的错误信息，错误码对应的信息模板只解析一次
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public String getFormattedErrorMessage() {
+		String message = getErrorMessage();
+		if(message == null || getExpMap() == null) {
+			return message;
+		}
+		return MessageTemplate.compileNamed(message).format(getExpMap());
+	}
+
 	/**
 	 * 初始化错误代码和错误信息映射集合，由spring静态注入
 	 *
@@ -4,6 +4,7 @@ import org.apache.log4j.Logger;
 
 /**
  * 受检查异常基类
+ * 按异常日志级别配置为不记录堆栈时（见StackTracePolicy）不填充堆栈
  *
  * 创建日期：2012-12-18
  * @author wangk
@@ -22,6 +23,7 @@ public class BaseException extends Exception implements IExceptionLogger {
 	 * @author wangk
 	 */
 	public BaseException() {
+		fillInStackTrace(level);
 	}
 
 	/**
@@ -33,6 +35,7 @@ public class BaseException extends Exception implements IExceptionLogger {
 	 */
 	public BaseException(ExceptionLevel level) {
 		this.level = level;
+		fillInStackTrace(level);
 	}
 	
 	/**
@@ -44,6 +47,7 @@ public class BaseException extends Exception implements IExceptionLogger {
 	 */
 	public BaseException(String message) {
 		super(message);
+		fillInStackTrace(level);
 	}
 
 	/**
@@ -55,6 +59,7 @@ public class BaseException extends Exception implements IExceptionLogger {
 	 */
 	public BaseException(Throwable cause) {
 		super(cause);
+		fillInStackTrace(level);
 	}
 	
 	/**
@@ -68,6 +73,7 @@ public class BaseException extends Exception implements IExceptionLogger {
 	public BaseException(ExceptionLevel level, String message) {
 		super(message);
 		this.level = level;
+		fillInStackTrace(level);
 	}
 
 	/**
@@ -81,6 +87,7 @@ public class BaseException extends Exception implements IExceptionLogger {
 	public BaseException(ExceptionLevel level, Throwable cause) {
 		super(cause);
 		this.level = level;
+		fillInStackTrace(level);
 	}
 	
 	/**
@@ -93,6 +100,7 @@ public class BaseException extends Exception implements IExceptionLogger {
 	 */
 	public BaseException(String message, Throwable cause) {
 		super(message, cause);
+		fillInStackTrace(level);
 	}
 
 	/**
@@ -107,9 +115,31 @@ public class BaseException extends Exception implements IExceptionLogger {
 	public BaseException(ExceptionLevel level, String message, Throwable cause) {
 		super(message, cause);
 		this.level = level;
+		fillInStackTrace(level);
 	}
 
 
+	/**
+	 * 构造过程中level尚未初始化，此时不填充堆栈，由构造方法按StackTracePolicy填充
+	 * 修改说明：2026-10-18 agent 按StackTracePolicy跳过堆栈填充
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if(level == null) {
+			return this;
+		}
+		return super.fillInStackTrace();
+	}
+
+	/**
+	 * 按日志级别决定是否填充堆栈，与fillInStackTrace同名，JVM填充堆栈时会跳过这一帧和构造方法
+	 */
+	private void fillInStackTrace(ExceptionLevel level) {
+		if(StackTracePolicy.isStackTraceEnabled(level)) {
+			super.fillInStackTrace();
+		}
+	}
+
 	public void setLevel(ExceptionLevel level) {
 		this.level = level;
 	}
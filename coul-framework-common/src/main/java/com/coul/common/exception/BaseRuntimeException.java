@@ -5,6 +5,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import com.coul.common.model.MapBean;
+import com.coul.common.utils.MessageTemplate;
 import com.coul.common.utils.type.ObjectUtils;
 
 /**
@@ -21,6 +22,9 @@ public abstract class BaseRuntimeException extends RuntimeException implements I
      */
     private static final long serialVersionUID = -331225421320749430L;
     
+    /** toString模板 */
+    private static final MessageTemplate TO_STRING = MessageTemplate.compile("[异常类型是：{}；异常编码是：{}；异常提示是：{}]");
+    
     private String            expCode          = null;                // 异常编码
                                                                        
     private String            expDesc          = null;                // 异常描述
@@ -43,6 +47,18 @@ public abstract class BaseRuntimeException extends RuntimeException implements I
 		super(message, cause);
 	}
     
+    /**
+     * 构造，可以不记录堆栈，用于频繁抛出的预期内异常
+     * 
+     * @param message
+     * @param cause
+     * @param writableStackTrace
+     *            是否记录堆栈
+     */
+    protected BaseRuntimeException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
+    }
+    
     /**
      * 构造
      * 
@@ -74,16 +90,32 @@ public abstract class BaseRuntimeException extends RuntimeException implements I
      */
     public BaseRuntimeException(String expCode, String expDesc, Throwable cause) {
         
+        this(expCode, expDesc, cause, StackTracePolicy.isStackTraceEnabled(expCode));
+    }
+    
+    /**
+     * 构造，可以不记录堆栈，用于频繁抛出的预期内异常，见StackTracePolicy
+     * 
+     * @param expCode
+     * @param expDesc
+     * @param cause
+     * @param writableStackTrace
+     *            是否记录堆栈
+     */
+    protected BaseRuntimeException(String expCode, String expDesc, Throwable cause, boolean writableStackTrace) {
+        
         super(expDesc == null ? ""
-            : expDesc, cause);
+            : expDesc, cause, true, writableStackTrace);
         
         this.expCode = expCode;
         this.expDesc = expDesc;
         
         this.expMap = new MapBean();
         
-        // 默认参数
-        this.expMap.put("$errorCode", expCode);
+        // 默认参数，MapBean不能存放null
+        if (expCode != null) {
+            this.expMap.put("$errorCode", expCode);
+        }
         this.expMap.put("$message", getMessage());
     }
     
@@ -170,7 +202,7 @@ public abstract class BaseRuntimeException extends RuntimeException implements I
             for (Iterator<Throwable> i = tList.iterator(); i.hasNext(); index++) {
                 Throwable t = i.next();
                 
-                sb.append(String.format(" Caused by[%d]{ ", index));
+                sb.append(" Caused by[").append(index).append("]{ ");
                 getNestedMessage(t, sb);
                 sb.append(" } ");
             }
@@ -214,7 +246,7 @@ public abstract class BaseRuntimeException extends RuntimeException implements I
             for (Iterator<Throwable> i = tList.iterator(); i.hasNext(); index++) {
                 Throwable t = i.next();
                 
-                sb.append(String.format("Caused by[%d]{ ", index));
+                sb.append("Caused by[").append(index).append("]{ ");
                 toNestedString(t, sb);
                 sb.append(" }");
             }
@@ -260,8 +292,19 @@ public abstract class BaseRuntimeException extends RuntimeException implements I
     }
     
     public String toString() {
-        return String.format("[异常类型是：%s；异常编码是：%s；异常提示是：%s]", this.getClass().getName(), expCode,
-            expDesc);
+        return TO_STRING.format(this.getClass().getName(), expCode, expDesc);
+    }
+    
+    /**
+     * 获取用异常参数替换{参数名}后的异常描述，如“所选择的号码{accNbr}在系统中已经存在”
+     * 
+     * @return 格式化后的异常描述
+     */
+    public String getFormattedDesc() {
+        if (expDesc == null || expMap == null) {
+            return expDesc;
+        }
+        return MessageTemplate.compileNamed(expDesc).format(expMap);
     }
     
     /**
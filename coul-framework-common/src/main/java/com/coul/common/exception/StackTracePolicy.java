@@ -0,0 +1,167 @@
+package com.coul.common.exception;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * 异常堆栈记录策略
+ *
+ * 未找到记录、数据校验等预期内的业务异常可能在高负载下频繁抛出，填充堆栈占用了主要的CPU和内存开销，
+ * 而这类异常的堆栈通常不会被查看。按错误码或异常日志级别配置后，对应的异常在创建时不再填充堆栈，
+ * getStackTrace()返回空数组，其他行为不变。默认所有异常都记录堆栈。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class StackTracePolicy {
+	/** 不记录堆栈的错误码 */
+	private static final Set<String> SUPPRESSED_CODES =
+			Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	/** 不记录堆栈的异常日志级别 */
+	private static final Set<ExceptionLevel> SUPPRESSED_LEVELS =
+			Collections.newSetFromMap(new ConcurrentHashMap<ExceptionLevel, Boolean>());
+
+	private StackTracePolicy() {
+	}
+
+	/**
+	 * 指定错误码的异常不记录堆栈
+	 *
+	 * @param errorCodes
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static void suppress(int... errorCodes) {
+		for (int errorCode : errorCodes) {
+			SUPPRESSED_CODES.add(String.valueOf(errorCode));
+		}
+	}
+
+	/**
+	 * 指定异常编码的异常不记录堆栈
+	 *
+	 * @param expCodes
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static void suppress(String... expCodes) {
+		for (String expCode : expCodes) {
+			if(expCode != null) {
+				SUPPRESSED_CODES.add(expCode);
+			}
+		}
+	}
+
+	/**
+	 * 指定日志级别的受检查异常不记录堆栈
+	 *
+	 * @param levels
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static void suppress(ExceptionLevel... levels) {
+		for (ExceptionLevel level : levels) {
+			if(level != null) {
+				SUPPRESSED_LEVELS.add(level);
+			}
+		}
+	}
+
+	/**
+	 * 恢复指定错误码或异常编码的异常记录堆栈
+	 */
+	public static void restore(String... expCodes) {
+		for (String expCode : expCodes) {
+			if(expCode != null) {
+				SUPPRESSED_CODES.remove(expCode);
+			}
+		}
+	}
+
+	/**
+	 * 恢复指定错误码的异常记录堆栈
+	 */
+	public static void restore(int... errorCodes) {
+		for (int errorCode : errorCodes) {
+			SUPPRESSED_CODES.remove(String.valueOf(errorCode));
+		}
+	}
+
+	/**
+	 * 恢复指定日志级别的受检查异常记录堆栈
+	 */
+	public static void restore(ExceptionLevel... levels) {
+		for (ExceptionLevel level : levels) {
+			if(level != null) {
+				SUPPRESSED_LEVELS.remove(level);
+			}
+		}
+	}
+
+	/**
+	 * 恢复所有异常记录堆栈
+	 */
+	public static void reset() {
+		SUPPRESSED_CODES.clear();
+		SUPPRESSED_LEVELS.clear();
+	}
+
+	/**
+	 * 根据配置初始化，key为错误码或异常日志级别编码（warn、error、fatal），value为false时不记录堆栈
+	 *
+	 * @param stackTraceMapping
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static void initStackTraceMapping(Map<String, String> stackTraceMapping) {
+		if(stackTraceMapping == null) {
+			return;
+		}
+		for (Map.Entry<String, String> entry : stackTraceMapping.entrySet()) {
+			if(!"false".equalsIgnoreCase(StringUtils.trim(entry.getValue()))) {
+				continue;
+			}
+			String key = StringUtils.trim(entry.getKey());
+			boolean level = false;
+			for (ExceptionLevel exceptionLevel : ExceptionLevel.values()) {
+				if(exceptionLevel.getCode().equalsIgnoreCase(key)) {
+					SUPPRESSED_LEVELS.add(exceptionLevel);
+					level = true;
+				}
+			}
+			if(!level) {
+				suppress(key);
+			}
+		}
+	}
+
+	/**
+	 * 错误码对应的异常是否记录堆栈
+	 */
+	public static boolean isStackTraceEnabled(int errorCode) {
+		return SUPPRESSED_CODES.isEmpty() || !SUPPRESSED_CODES.contains(String.valueOf(errorCode));
+	}
+
+	/**
+	 * 异常编码对应的异常是否记录堆栈
+	 */
+	public static boolean isStackTraceEnabled(String expCode) {
+		return expCode == null || SUPPRESSED_CODES.isEmpty() || !SUPPRESSED_CODES.contains(expCode);
+	}
+
+	/**
+	 * 日志级别对应的受检查异常是否记录堆栈
+	 */
+	public static boolean isStackTraceEnabled(ExceptionLevel level) {
+		return level == null || SUPPRESSED_LEVELS.isEmpty() || !SUPPRESSED_LEVELS.contains(level);
+	}
+
+}
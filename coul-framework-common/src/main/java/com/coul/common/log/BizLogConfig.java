@@ -0,0 +1,169 @@
+package com.coul.common.log;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * 业务日志配置
+ * 
+ * 默认从classpath下的bizlog.properties读取，同名的系统属性优先，文件不存在时使用默认值：
+ * <pre>
+ * bizlog.file           日志文件，默认为${user.dir}/logs/biz.log
+ * bizlog.level          日志级别，默认INFO
+ * bizlog.bufferSize     队列容量，默认8192
+ * bizlog.overflow       队列满时的处理：DROP丢弃（默认），BLOCK等待
+ * bizlog.maxFileSize    单个文件的最大字节数，默认10MB，超过后滚动
+ * bizlog.maxBackupIndex 保留的历史文件个数，默认10
+ * bizlog.batchSize      后台线程每批写入的最大条数，默认512
+ * </pre>
+ * 
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class BizLogConfig {
+    
+    /** 配置文件 */
+    public static final String CONFIG_FILE = "bizlog.properties";
+    
+    /**
+     * 队列满时的处理方式
+     */
+    public enum OverflowPolicy {
+        /** 丢弃新的日志，记录丢弃数量 */
+        DROP,
+        /** 调用线程等待队列有空位 */
+        BLOCK
+    }
+    
+    private String         file           = System.getProperty("user.dir") + File.separator + "logs" + File.separator
+                                              + "biz.log";
+    
+    private BizLogLevel    level          = BizLogLevel.INFO;
+    
+    private int            bufferSize     = 8192;
+    
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    
+    private long           maxFileSize    = 10L * 1024 * 1024;
+    
+    private int            maxBackupIndex = 10;
+    
+    private int            batchSize      = 512;
+    
+    /**
+     * 读取bizlog.properties和系统属性
+     * 
+     * @return
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public static BizLogConfig load() {
+        Properties properties = new Properties();
+        InputStream in = BizLogConfig.class.getResourceAsStream("/" + CONFIG_FILE);
+        if (in != null) {
+            try {
+                properties.load(in);
+            } catch (Exception e) {
+                System.err.println("Load " + CONFIG_FILE + " error: " + e);
+            } finally {
+                try {
+                    in.close();
+                } catch (Exception e) {
+                    // ignore it
+                }
+            }
+        }
+        BizLogConfig config = new BizLogConfig();
+        String file = property(properties, "bizlog.file");
+        if (file != null) {
+            config.setFile(file);
+        }
+        config.setLevel(BizLogLevel.of(property(properties, "bizlog.level"), config.getLevel()));
+        String overflow = property(properties, "bizlog.overflow");
+        if ("BLOCK".equalsIgnoreCase(overflow)) {
+            config.setOverflowPolicy(OverflowPolicy.BLOCK);
+        }
+        config.setBufferSize((int) number(properties, "bizlog.bufferSize", config.getBufferSize()));
+        config.setMaxFileSize(number(properties, "bizlog.maxFileSize", config.getMaxFileSize()));
+        config.setMaxBackupIndex((int) number(properties, "bizlog.maxBackupIndex", config.getMaxBackupIndex()));
+        config.setBatchSize((int) number(properties, "bizlog.batchSize", config.getBatchSize()));
+        return config;
+    }
+    
+    private static String property(Properties properties, String key) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        return value == null || value.trim().length() == 0 ? null : value.trim();
+    }
+    
+    private static long number(Properties properties, String key, long defaultValue) {
+        String value = property(properties, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Illegal " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+    
+    public String getFile() {
+        return file;
+    }
+    
+    public void setFile(String file) {
+        this.file = file;
+    }
+    
+    public BizLogLevel getLevel() {
+        return level;
+    }
+    
+    public void setLevel(BizLogLevel level) {
+        this.level = level;
+    }
+    
+    public int getBufferSize() {
+        return bufferSize;
+    }
+    
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+    
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+    
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+    
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+    
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+    
+    public int getMaxBackupIndex() {
+        return maxBackupIndex;
+    }
+    
+    public void setMaxBackupIndex(int maxBackupIndex) {
+        this.maxBackupIndex = maxBackupIndex;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+}
@@ -0,0 +1,243 @@
+package com.coul.common.log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步写入业务日志
+ * 
+ * 调用线程只把日志放入无锁环形队列，由一个后台守护线程成批取出并写入滚动文件，请求线程不再等待文件IO。
+ * 队列满时按配置丢弃（记录丢弃数量并在日志中提示）或等待。
+ * 默认实例按bizlog.properties配置，在第一次获取业务日志时创建，JVM退出时写完队列中的日志。
+ * 
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class BizLogDispatcher {
+    
+    /** 后台线程空闲时的最长等待时间，到时刷新缓冲区 */
+    private static final long                    IDLE_NANOS = 100L * 1000 * 1000;
+    
+    private static volatile BizLogDispatcher     defaultDispatcher;
+    
+    private final BizLogRingBuffer<BizLogEvent> queue;
+    
+    private final BizLogConfig.OverflowPolicy   overflowPolicy;
+    
+    private final int                            batchSize;
+    
+    private final BizLogFileWriter               writer;
+    
+    private final Thread                         worker;
+    
+    private final AtomicLong                     dropped    = new AtomicLong();
+    
+    /** 已经在日志中提示过的丢弃数量 */
+    private long                                 reportedDropped;
+    
+    /** 已写入文件的队列位置 */
+    private volatile long                        written;
+    
+    private volatile BizLogLevel                 level;
+    
+    private volatile boolean                     running    = true;
+    
+    private volatile boolean                     sleeping;
+    
+    /** 是否已输出过写文件错误，只输出一次 */
+    private boolean                              errorReported;
+    
+    public BizLogDispatcher(BizLogConfig config) throws IOException {
+        this.queue = new BizLogRingBuffer<BizLogEvent>(config.getBufferSize());
+        this.overflowPolicy = config.getOverflowPolicy();
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.level = config.getLevel();
+        this.writer = new BizLogFileWriter(config.getFile(), config.getMaxFileSize(), config.getMaxBackupIndex());
+        this.worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dispatch();
+            }
+        }, "biz-logger");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    /**
+     * 获得按bizlog.properties配置的默认实例，日志文件无法打开时返回null
+     * 
+     * @return
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public static BizLogDispatcher getDefault() {
+        BizLogDispatcher dispatcher = defaultDispatcher;
+        if (dispatcher == null) {
+            synchronized (BizLogDispatcher.class) {
+                dispatcher = defaultDispatcher;
+                if (dispatcher == null) {
+                    BizLogConfig config = BizLogConfig.load();
+                    try {
+                        dispatcher = new BizLogDispatcher(config);
+                    } catch (IOException e) {
+                        System.err.println("Open business log " + config.getFile() + " error: " + e);
+                        return null;
+                    }
+                    final BizLogDispatcher shutdown = dispatcher;
+                    Runtime.getRuntime().addShutdownHook(new Thread("biz-logger-shutdown") {
+                        @Override
+                        public void run() {
+                            shutdown.close();
+                        }
+                    });
+                    defaultDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+    
+    public boolean isEnabled(BizLogLevel level) {
+        return level.ordinal() >= this.level.ordinal();
+    }
+    
+    public BizLogLevel getLevel() {
+        return level;
+    }
+    
+    public void setLevel(BizLogLevel level) {
+        this.level = level;
+    }
+    
+    /**
+     * 丢弃的日志条数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    void append(BizLogEvent event) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (!queue.offer(event)) {
+            if (overflowPolicy == BizLogConfig.OverflowPolicy.DROP) {
+                dropped.incrementAndGet();
+                return;
+            }
+            while (!queue.offer(event)) {
+                if (!running) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(worker);
+                LockSupport.parkNanos(this, 100L * 1000);
+            }
+        }
+        if (sleeping) {
+            LockSupport.unpark(worker);
+        }
+    }
+    
+    /**
+     * 等待调用前放入队列的日志都写入文件
+     * 
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public void flush() {
+        long target = queue.tailPosition();
+        while (written < target && worker.isAlive()) {
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(this, 1000L * 1000);
+        }
+    }
+    
+    /**
+     * 写完队列中的日志后关闭文件，之后的日志被丢弃
+     * 
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void dispatch() {
+        List<BizLogEvent> batch = new ArrayList<BizLogEvent>(batchSize);
+        while (true) {
+            int count = queue.drainTo(batch, batchSize);
+            if (count > 0) {
+                for (int i = 0; i < count; i++) {
+                    write(batch.get(i));
+                }
+                batch.clear();
+                continue;
+            }
+            reportDropped();
+            flushWriter();
+            written = queue.headPosition();
+            if (!running && queue.isEmpty()) {
+                break;
+            }
+            sleeping = true;
+            if (queue.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+            sleeping = false;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            reportError(e);
+        }
+    }
+    
+    private void write(BizLogEvent event) {
+        try {
+            writer.append(event);
+        } catch (IOException e) {
+            reportError(e);
+        }
+    }
+    
+    private void flushWriter() {
+        if (writer.hasPending()) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                reportError(e);
+            }
+        }
+    }
+    
+    private void reportDropped() {
+        long count = dropped.get();
+        if (count > reportedDropped) {
+            write(new BizLogEvent(BizLogLevel.WARN, BizLogDispatcher.class.getName(), (count - reportedDropped)
+                + " business log events dropped, queue capacity " + queue.capacity(), null));
+            reportedDropped = count;
+        }
+    }
+    
+    private void reportError(IOException e) {
+        if (!errorReported) {
+            errorReported = true;
+            System.err.println("Write business log error: " + e);
+        }
+    }
+    
+}
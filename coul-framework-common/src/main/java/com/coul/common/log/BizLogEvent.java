@@ -0,0 +1,32 @@
+package com.coul.common.log;
+
+/**
+ * 业务日志事件，消息在调用线程格式化，写入在后台线程
+ * 
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class BizLogEvent {
+    
+    final long        timestamp;
+    
+    final BizLogLevel level;
+    
+    final String      loggerName;
+    
+    final String      threadName;
+    
+    final String      message;
+    
+    final Throwable   throwable;
+    
+    BizLogEvent(BizLogLevel level, String loggerName, String message, Throwable throwable) {
+        this.timestamp = System.currentTimeMillis();
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = Thread.currentThread().getName();
+        this.message = message;
+        this.throwable = throwable;
+    }
+    
+}
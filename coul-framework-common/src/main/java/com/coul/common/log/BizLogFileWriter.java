@@ -0,0 +1,208 @@
+package com.coul.common.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * 按大小滚动的业务日志文件，只在后台线程使用
+ * 
+ * 日志行直接按UTF-8编码到堆外缓冲区，缓冲区满或一批日志写完时通过FileChannel写入文件，
+ * 文件超过maxFileSize后依次重命名为file.1、file.2……，最多保留maxBackupIndex个，与log4j的RollingFileAppender一致：
+ * 重命名失败时继续追加到当前文件，再写入maxFileSize后重试滚动；打开文件失败时在下次写入时重新打开。
+ * 行格式：yyyy-MM-dd HH:mm:ss,SSS LEVEL [线程] [日志名] - 消息
+ * 
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class BizLogFileWriter {
+    
+    private static final Charset        UTF_8        = Charset.forName("UTF-8");
+    
+    private static final FastDateFormat SECOND_FORMAT = FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss");
+    
+    private static final String         LINE_SEPARATOR = System.getProperty("line.separator");
+    
+    private final File                  file;
+    
+    private final long                  maxFileSize;
+    
+    private final int                   maxBackupIndex;
+    
+    private final ByteBuffer            buffer       = ByteBuffer.allocateDirect(256 * 1024);
+    
+    private final CharsetEncoder        encoder      = UTF_8.newEncoder()
+                                                         .onMalformedInput(CodingErrorAction.REPLACE)
+                                                         .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    
+    private final StringBuilder         line         = new StringBuilder(512);
+    
+    /** 打开失败时为null，下次写入时重新打开 */
+    private FileChannel                 channel;
+    
+    /** 文件已写入的字节数 */
+    private long                        size;
+    
+    /** 文件达到这个大小时滚动 */
+    private long                        nextRollOver;
+    
+    /** 缓存的秒级时间 */
+    private long                        cachedSecond = -1;
+    
+    private String                      cachedTime;
+    
+    BizLogFileWriter(String file, long maxFileSize, int maxBackupIndex) throws IOException {
+        this.file = new File(file).getAbsoluteFile();
+        this.maxFileSize = maxFileSize;
+        this.maxBackupIndex = maxBackupIndex;
+        this.nextRollOver = maxFileSize;
+        open();
+    }
+    
+    /**
+     * 格式化日志并放入缓冲区，缓冲区满时写入文件
+     */
+    void append(BizLogEvent event) throws IOException {
+        StringBuilder sb = line;
+        sb.setLength(0);
+        appendTime(sb, event.timestamp);
+        sb.append(' ').append(event.level.name());
+        if (event.level.name().length() == 4) {
+            sb.append(' ');
+        }
+        sb.append(" [").append(event.threadName).append("] [").append(event.loggerName).append("] - ")
+            .append(event.message).append(LINE_SEPARATOR);
+        if (event.throwable != null) {
+            StringWriter writer = new StringWriter();
+            event.throwable.printStackTrace(new PrintWriter(writer));
+            sb.append(writer.getBuffer());
+        }
+        encode(sb);
+        if (maxFileSize > 0 && size + buffer.position() >= nextRollOver) {
+            flush();
+            rollOver();
+        }
+    }
+    
+    /**
+     * 缓冲区写入文件
+     */
+    void flush() throws IOException {
+        if (channel == null) {
+            open();
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    boolean hasPending() {
+        return buffer.position() > 0;
+    }
+    
+    void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+    
+    private void appendTime(StringBuilder sb, long timestamp) {
+        long second = timestamp / 1000;
+        if (second != cachedSecond) {
+            cachedTime = SECOND_FORMAT.format(timestamp);
+            cachedSecond = second;
+        }
+        int millis = (int) (timestamp % 1000);
+        sb.append(cachedTime).append(',');
+        if (millis < 100) {
+            sb.append('0');
+        }
+        if (millis < 10) {
+            sb.append('0');
+        }
+        sb.append(millis);
+    }
+    
+    private void encode(CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                flush();
+                continue;
+            }
+            break;
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            flush();
+        }
+    }
+    
+    private void open() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs() && !parent.exists()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+    
+    /**
+     * 当前文件重命名为file.1，原有的历史文件序号加1，超过maxBackupIndex的删除
+     */
+    private void rollOver() throws IOException {
+        channel.close();
+        channel = null;
+        boolean renamed = true;
+        if (maxBackupIndex > 0) {
+            File last = new File(file.getPath() + "." + maxBackupIndex);
+            if (last.exists() && !last.delete()) {
+                System.err.println("Could not delete " + last);
+            }
+            for (int i = maxBackupIndex - 1; i >= 1; i--) {
+                File source = new File(file.getPath() + "." + i);
+                if (source.exists()) {
+                    source.renameTo(new File(file.getPath() + "." + (i + 1)));
+                }
+            }
+            renamed = file.renameTo(new File(file.getPath() + ".1"));
+            if (!renamed) {
+                System.err.println("Could not rename " + file);
+            }
+        } else if (!file.delete()) {
+            System.err.println("Could not delete " + file);
+        }
+        open();
+        if (!renamed) {
+            // 重命名失败时继续追加，不丢弃当前文件中的日志
+            nextRollOver = size + maxFileSize;
+            return;
+        }
+        nextRollOver = maxFileSize;
+        if (size > 0) {
+            // 不保留历史文件而删除失败时截断，与RollingFileAppender一致
+            channel.truncate(0);
+            size = 0;
+        }
+    }
+    
+}
@@ -0,0 +1,25 @@
+package com.coul.common.log;
+
+/**
+ * 业务日志级别
+ * 
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public enum BizLogLevel {
+    DEBUG, INFO, WARN, ERROR;
+    
+    /**
+     * 按名称取得级别，不区分大小写，无法识别时返回defaultLevel
+     */
+    public static BizLogLevel of(String name, BizLogLevel defaultLevel) {
+        if (name != null) {
+            for (BizLogLevel level : values()) {
+                if (level.name().equalsIgnoreCase(name.trim())) {
+                    return level;
+                }
+            }
+        }
+        return defaultLevel;
+    }
+}
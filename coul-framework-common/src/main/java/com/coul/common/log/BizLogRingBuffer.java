@@ -0,0 +1,107 @@
+package com.coul.common.log;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 有界无锁环形队列，多个线程写入，一个线程读取
+ * 
+ * 每个槽位带一个序号：序号等于写入位置时可以写，等于写入位置+1时可以读。
+ * 写入线程通过CAS抢占写入位置，写完后设置序号发布，读取线程按序号判断槽位是否可读，全程不加锁。
+ * 
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class BizLogRingBuffer<E> {
+    
+    private final Object[]       slots;
+    
+    private final AtomicLongArray sequences;
+    
+    private final int            mask;
+    
+    /** 下一个写入位置 */
+    private final AtomicLong     tail = new AtomicLong();
+    
+    /** 下一个读取位置，只有读取线程修改 */
+    private volatile long        head;
+    
+    /**
+     * @param capacity 容量，向上取整为2的幂
+     */
+    BizLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+    
+    /**
+     * 写入，队列已满时返回false
+     */
+    boolean offer(E e) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = e;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+    
+    /**
+     * 读取最多max个元素放到list，返回读取的个数，只能在读取线程调用
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<? super E> list, int max) {
+        long position = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            list.add((E) slots[index]);
+            slots[index] = null;
+            sequences.lazySet(index, position + slots.length);
+            position++;
+            count++;
+        }
+        head = position;
+        return count;
+    }
+    
+    /** 已写入的位置，即写入过的元素个数 */
+    long tailPosition() {
+        return tail.get();
+    }
+    
+    /** 已读取的位置，即读取过的元素个数 */
+    long headPosition() {
+        return head;
+    }
+    
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+    
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+    
+    int capacity() {
+        return slots.length;
+    }
+    
+}
@@ -1,61 +1,134 @@
 package com.coul.common.log;
 
+import com.coul.common.utils.MessageTemplate;
+
+/**
+ * 业务日志，异步写入BizLogDispatcher配置的滚动文件.
+ * 
+ * 级别未开启时直接返回；带参数的方法在级别开启后才格式化消息，最后一个多余的参数为Throwable时作为异常输出.
+ * 
+ * @author zhanghr
+ * 修改说明：2026-10-18 agent 实现异步批量写入
+ */
 public class BizLoggerAppender implements ILogger {
+    
+    private final String           name;
+    
+    private final BizLogDispatcher dispatcher;
+    
     public BizLoggerAppender(Class<?> name) {
+        this(name, BizLogDispatcher.getDefault());
+    }
+    
+    /**
+     * @param name
+     * @param dispatcher 为null时不输出日志
+     */
+    public BizLoggerAppender(Class<?> name, BizLogDispatcher dispatcher) {
+        this.name = name.getName();
+        this.dispatcher = dispatcher;
     }
     
     @Override
     public void info(String message) {
-        // TODO Auto-generated method stub
-        
+        log(BizLogLevel.INFO, message, null);
     }
     
     @Override
     public void info(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        log(BizLogLevel.INFO, message, t);
     }
     
     @Override
     public void debug(String message) {
-        // TODO Auto-generated method stub
-        
+        log(BizLogLevel.DEBUG, message, null);
     }
     
     @Override
     public void debug(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        log(BizLogLevel.DEBUG, message, t);
     }
     
     @Override
     public void warn(String message) {
-        // TODO Auto-generated method stub
-        
+        log(BizLogLevel.WARN, message, null);
     }
     
     @Override
     public void warn(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        log(BizLogLevel.WARN, message, t);
     }
     
     @Override
     public void error(String message) {
-        // TODO Auto-generated method stub
-        
+        log(BizLogLevel.ERROR, message, null);
     }
     
     @Override
     public void error(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        log(BizLogLevel.ERROR, message, t);
     }
     
     @Override
     public void error(String format, Object arg) {
-        // TODO Auto-generated method stub
-        
+        format(BizLogLevel.ERROR, format, new Object[] {arg});
+    }
+    
+    @Override
+    public boolean isDebugEnabled() {
+        return isEnabled(BizLogLevel.DEBUG);
+    }
+    
+    @Override
+    public boolean isInfoEnabled() {
+        return isEnabled(BizLogLevel.INFO);
+    }
+    
+    @Override
+    public void debug(String format, Object... args) {
+        format(BizLogLevel.DEBUG, format, args);
+    }
+    
+    @Override
+    public void info(String format, Object... args) {
+        format(BizLogLevel.INFO, format, args);
+    }
+    
+    @Override
+    public void warn(String format, Object... args) {
+        format(BizLogLevel.WARN, format, args);
+    }
+    
+    @Override
+    public void error(String format, Object... args) {
+        format(BizLogLevel.ERROR, format, args);
+    }
+    
+    private boolean isEnabled(BizLogLevel level) {
+        return dispatcher != null && dispatcher.isEnabled(level);
+    }
+    
+    private void log(BizLogLevel level, String message, Throwable t) {
+        if (isEnabled(level)) {
+            dispatcher.append(new BizLogEvent(level, name, message, t));
+        }
+    }
+    
+    private void format(BizLogLevel level, String format, Object[] args) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        if (format == null || args == null || args.length == 0) {
+            dispatcher.append(new BizLogEvent(level, name, format, null));
+            return;
+        }
+        MessageTemplate template = MessageTemplate.compile(format);
+        Throwable t = null;
+        Object last = args[args.length - 1];
+        if (last instanceof Throwable && template.getPlaceholderCount() < args.length) {
+            t = (Throwable) last;
+        }
+        dispatcher.append(new BizLogEvent(level, name, template.format(args), t));
     }
     
 }
@@ -65,4 +65,44 @@ public interface ILogger {
      * @param arg
      */
     void error(String format, Object arg);
+    
+    /**
+     * 是否输出debug信息.
+     * @return
+     */
+    boolean isDebugEnabled();
+    
+    /**
+     * 是否输出info信息.
+     * @return
+     */
+    boolean isInfoEnabled();
+    
+    /**
+     * 输出debug信息，{}按顺序替换为参数，级别未开启时不格式化.
+     * @param format
+     * @param args
+     */
+    void debug(String format, Object... args);
+    
+    /**
+     * 输出info信息，{}按顺序替换为参数，级别未开启时不格式化.
+     * @param format
+     * @param args
+     */
+    void info(String format, Object... args);
+    
+    /**
+     * 输出warn信息，{}按顺序替换为参数，级别未开启时不格式化.
+     * @param format
+     * @param args
+     */
+    void warn(String format, Object... args);
+    
+    /**
+     * 输出error信息，{}按顺序替换为参数.
+     * @param format
+     * @param args
+     */
+    void error(String format, Object... args);
 }
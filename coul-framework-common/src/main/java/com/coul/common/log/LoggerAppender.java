@@ -66,4 +66,34 @@ public class LoggerAppender implements ILogger {
     public void error(String format, Object arg) {
         log.error(format, arg);
     }
+    
+    @Override
+    public boolean isDebugEnabled() {
+        return log.isDebugEnabled();
+    }
+    
+    @Override
+    public boolean isInfoEnabled() {
+        return log.isInfoEnabled();
+    }
+    
+    @Override
+    public void debug(String format, Object... args) {
+        log.debug(format, args);
+    }
+    
+    @Override
+    public void info(String format, Object... args) {
+        log.info(format, args);
+    }
+    
+    @Override
+    public void warn(String format, Object... args) {
+        log.warn(format, args);
+    }
+    
+    @Override
+    public void error(String format, Object... args) {
+        log.error(format, args);
+    }
 }
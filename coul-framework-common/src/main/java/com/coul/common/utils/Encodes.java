@@ -10,11 +10,11 @@ import java.net.URLDecoder;
 import java.net.URLEncoder;
 
 import org.apache.commons.codec.DecoderException;
-import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.lang3.StringEscapeUtils;
 
 import com.coul.common.exception.Exceptions;
+import com.coul.common.utils.crypt.Base64Codec;
 
 /**
  * 封装各种格式的编码解码工具类.
@@ -52,21 +52,21 @@ public class Encodes {
 	 * Base64编码.
 	 */
 	public static String encodeBase64(byte[] input) {
-		return Base64.encodeBase64String(input);
+		return Base64Codec.STANDARD.encodeToString(input);
 	}
 
 	/**
 	 * Base64编码, URL安全(将Base64中的URL非法字符'+'和'/'转为'-'和'_', 见RFC3548).
 	 */
 	public static String encodeUrlSafeBase64(byte[] input) {
-		return Base64.encodeBase64URLSafeString(input);
+		return Base64Codec.URL_SAFE.encodeToString(input);
 	}
 
 	/**
-	 * Base64解码.
+	 * Base64解码, 标准和URL安全的Base64都可以解码.
 	 */
 	public static byte[] decodeBase64(String input) {
-		return Base64.decodeBase64(input);
+		return Base64Codec.STANDARD.decode(input);
 	}
 
 	/**
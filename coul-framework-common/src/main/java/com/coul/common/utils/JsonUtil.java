@@ -21,6 +21,8 @@ import org.codehaus.jackson.map.type.TypeFactory;
 import org.codehaus.jackson.node.ArrayNode;
 import org.codehaus.jackson.util.TokenBuffer;
 
+import com.coul.common.utils.reflect.BeanConverter;
+
 /**
  * Date: 13-6-3
  * <p>
@@ -266,6 +268,10 @@ public class JsonUtil {
 	 * @return T
 	 */
 	public static <T> T convert(Object bean, Class<T> descClass) {
+		if(!(bean instanceof CharSequence)) {
+			//Bean和Map直接按编译后的复制计划转换，不再经过JSON往返
+			return BeanConverter.convert(bean, descClass);
+		}
 		try {
 			Map<String, Object> map = parseMap(obj2json(bean));
 			List<String> fieldNames = ObjectUtil.getAllFieldNames(descClass);
@@ -71,61 +71,11 @@ public class MessageFormatter {
         if (messagePattern == null) {
             return null;
         }
-        int i = 0;
-        int len = messagePattern.length();
-        int j = messagePattern.indexOf(DELIM_START);
-        
         if (argArray == null) {
             return messagePattern;
         }
-        
-        StringBuffer sbuf = new StringBuffer(messagePattern.length() + 50);
-        
-        for (int L = 0; L < argArray.length; L++) {
-            
-            j = messagePattern.indexOf(DELIM_START, i);
-            
-            if (j == -1 || (j + 1 == len)) {
-                // no more variables
-                if (i == 0) { // this is a simple string
-                    return messagePattern;
-                } else { // add the tail string which contains no variables and return
-                    // the result.
-                    sbuf.append(messagePattern.substring(i, messagePattern.length()));
-                    return sbuf.toString();
-                }
-            } else {
-                char delimStop = messagePattern.charAt(j + 1);
-                
-                if (isEscapedDelimeter(messagePattern, j)) {
-                    if (!isDoubleEscaped(messagePattern, j)) {
-                        L--; // DELIM_START was escaped, thus should not be incremented
-                        sbuf.append(messagePattern.substring(i, j - 1));
-                        sbuf.append(DELIM_START);
-                        i = j + 1;
-                    } else {
-                        // The escape character preceding the delemiter start is
-                        // itself escaped: "abc x:\\{}"
-                        // we have to consume one backward slash
-                        sbuf.append(messagePattern.substring(i, j - 1));
-                        sbuf.append(argArray[L]);
-                        i = j + 2;
-                    }
-                } else if ((delimStop != DELIM_STOP)) {
-                    // invalid DELIM_START/DELIM_STOP pair
-                    sbuf.append(messagePattern.substring(i, messagePattern.length()));
-                    return sbuf.toString();
-                } else {
-                    // normal case
-                    sbuf.append(messagePattern.substring(i, j));
-                    sbuf.append(argArray[L]);
-                    i = j + 2;
-                }
-            }
-        }
-        // append the characters following the last {} pair.
-        sbuf.append(messagePattern.substring(i, messagePattern.length()));
-        return sbuf.toString();
+        // 模板只解析一次，见MessageTemplate
+        return MessageTemplate.compile(messagePattern).format(argArray);
     }
     
     static boolean isEscapedDelimeter(String messagePattern, int delimeterStartIndex) {
@@ -0,0 +1,310 @@
+package com.coul.common.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.coul.common.utils.type.StringUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * 预编译的消息模板
+ *
+ * 模板只解析一次，拆分为文本片段和占位符，按模板缓存，格式化时直接拼接到线程内复用的StringBuilder。
+ * 支持两种占位符：
+ * 1、匿名占位符{}，按参数顺序替换，与MessageFormatter的规则一致（\{}转义，\\{}保留一个反斜杠）；
+ * 2、命名占位符{name}，按名称从Map中取值，与FormatUtils的规则一致。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class MessageTemplate {
+
+	/** 缓存的模板数量上限，超过后淘汰最近最少使用的模板，避免动态拼接的消息撑满内存 */
+	private static final int MAX_CACHED_TEMPLATES = 1024;
+
+	/** 复用的StringBuilder容量上限，超过后丢弃重建 */
+	private static final int MAX_BUFFER_CAPACITY = 8192;
+
+	/** 匿名占位符模板缓存 */
+	private static final Cache<String, MessageTemplate> INDEXED = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_TEMPLATES).build();
+
+	/** 命名占位符模板缓存 */
+	private static final Cache<String, MessageTemplate> NAMED = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_TEMPLATES).build();
+
+	private static final ThreadLocal<Buffer> BUFFERS = new ThreadLocal<Buffer>() {
+		@Override
+		protected Buffer initialValue() {
+			return new Buffer();
+		}
+	};
+
+	private final String pattern;
+
+	/** 占位符之间的文本，比占位符多一个 */
+	private final String[] literals;
+
+	/** 命名占位符的名称，匿名模板为null */
+	private final String[] names;
+
+	/** 匿名模板参数不足时，原样输出的剩余模板起始位置，下标为已替换的参数个数 */
+	private final int[] tails;
+
+	/** 文本片段总长度 */
+	private final int literalLength;
+
+	private MessageTemplate(String pattern, List<String> literals, List<String> names, List<Integer> tails) {
+		this.pattern = pattern;
+		this.literals = literals.toArray(new String[literals.size()]);
+		this.names = names == null ? null : names.toArray(new String[names.size()]);
+		if(tails == null) {
+			this.tails = null;
+		} else {
+			this.tails = new int[tails.size()];
+			for (int i = 0; i < this.tails.length; i++) {
+				this.tails[i] = tails.get(i);
+			}
+		}
+		int length = 0;
+		for (String literal : this.literals) {
+			length += literal.length();
+		}
+		this.literalLength = length;
+	}
+
+	/**
+	 * 获得匿名占位符{}模板
+	 *
+	 * @param pattern
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static MessageTemplate compile(String pattern) {
+		MessageTemplate template = INDEXED.getIfPresent(pattern);
+		if(template == null) {
+			template = parseIndexed(pattern);
+			INDEXED.put(pattern, template);
+		}
+		return template;
+	}
+
+	/**
+	 * 获得命名占位符{name}模板
+	 *
+	 * @param pattern
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static MessageTemplate compileNamed(String pattern) {
+		MessageTemplate template = NAMED.getIfPresent(pattern);
+		if(template == null) {
+			template = parseNamed(pattern);
+			NAMED.put(pattern, template);
+		}
+		return template;
+	}
+
+	/**
+	 * 按顺序替换匿名占位符，参数多于占位符时忽略多余参数，少于占位符时剩余部分原样输出
+	 *
+	 * @param args
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public String format(Object... args) {
+		if(names != null) {
+			throw new IllegalStateException("命名占位符模板需要使用Map参数格式化: " + pattern);
+		}
+		if(args == null || args.length == 0) {
+			return pattern;
+		}
+		Buffer buffer = BUFFERS.get();
+		if(buffer.busy) {
+			// 参数的toString中再次格式化消息，不能复用当前线程的StringBuilder
+			StringBuilder builder = new StringBuilder(literalLength + 16 * args.length);
+			appendTo(builder, args);
+			return builder.toString();
+		}
+		StringBuilder builder = buffer.acquire();
+		try {
+			appendTo(builder, args);
+			return builder.toString();
+		} finally {
+			buffer.release();
+		}
+	}
+
+	/**
+	 * 按名称替换命名占位符，Map中不存在的名称输出null
+	 *
+	 * @param params
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public String format(Map<String, ?> params) {
+		if(names == null) {
+			throw new IllegalStateException("匿名占位符模板需要使用数组参数格式化: " + pattern);
+		}
+		if(names.length == 0) {
+			return literals[0];
+		}
+		Buffer buffer = BUFFERS.get();
+		if(buffer.busy) {
+			StringBuilder builder = new StringBuilder(literalLength + 16 * names.length);
+			appendTo(builder, params);
+			return builder.toString();
+		}
+		StringBuilder builder = buffer.acquire();
+		try {
+			appendTo(builder, params);
+			return builder.toString();
+		} finally {
+			buffer.release();
+		}
+	}
+
+	/**
+	 * 匿名占位符个数或命名占位符个数
+	 */
+	public int getPlaceholderCount() {
+		return literals.length - 1;
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	private void appendTo(StringBuilder builder, Object[] args) {
+		int slots = literals.length - 1;
+		int count = Math.min(args.length, slots);
+		for (int i = 0; i < count; i++) {
+			builder.append(literals[i]).append(args[i]);
+		}
+		if(args.length > slots) {
+			builder.append(literals[slots]);
+		} else {
+			builder.append(pattern, tails[count], pattern.length());
+		}
+	}
+
+	private void appendTo(StringBuilder builder, Map<String, ?> params) {
+		for (int i = 0; i < names.length; i++) {
+			builder.append(literals[i]).append(params.get(names[i]));
+		}
+		builder.append(literals[names.length]);
+	}
+
+	/**
+	 * 解析匿名占位符，与MessageFormatter原有的逐个参数扫描结果一致
+	 */
+	private static MessageTemplate parseIndexed(String pattern) {
+		List<String> literals = new ArrayList<String>();
+		List<Integer> tails = new ArrayList<Integer>();
+		tails.add(0);
+		StringBuilder literal = new StringBuilder();
+		int len = pattern.length();
+		int i = 0;
+		while (true) {
+			int j = pattern.indexOf(MessageFormatter.DELIM_START, i);
+			if(j == -1 || j + 1 == len) {
+				literal.append(pattern, i, len);
+				break;
+			}
+			if(MessageFormatter.isEscapedDelimeter(pattern, j)) {
+				literal.append(pattern, i, Math.max(i, j - 1));
+				if(!MessageFormatter.isDoubleEscaped(pattern, j)) {
+					// \{ 输出{，不占用参数
+					literal.append(MessageFormatter.DELIM_START);
+					i = j + 1;
+					continue;
+				}
+				// \\{ 去掉一个反斜杠后作为占位符
+			} else if(pattern.charAt(j + 1) != MessageFormatter.DELIM_STOP) {
+				literal.append(pattern, i, len);
+				break;
+			} else {
+				literal.append(pattern, i, j);
+			}
+			literals.add(literal.toString());
+			literal.setLength(0);
+			i = j + 2;
+			tails.add(i);
+		}
+		literals.add(literal.toString());
+		return new MessageTemplate(pattern, literals, null, tails);
+	}
+
+	/**
+	 * 解析命名占位符，与FormatUtils原有的逐字符扫描结果一致：
+	 * 连续两个{时前一个作为文本，缺少{的}作为文本，缺少}的{被忽略，空名称的占位符不输出
+	 */
+	private static MessageTemplate parseNamed(String pattern) {
+		List<String> literals = new ArrayList<String>();
+		List<String> names = new ArrayList<String>();
+		StringBuilder literal = new StringBuilder();
+		StringBuilder param = null;
+		for (int i = 0, len = pattern.length(); i < len; i++) {
+			char c = pattern.charAt(i);
+			if(c == '{') {
+				if(param != null) {
+					literal.append('{').append(param);
+				}
+				param = new StringBuilder();
+			} else if(c == '}') {
+				if(param == null) {
+					literal.append('}');
+					continue;
+				}
+				String name = StringUtils.trimMore(param.toString());
+				if(StringUtils.isNotEmpty(name)) {
+					literals.add(literal.toString());
+					names.add(name);
+					literal.setLength(0);
+				}
+				param = null;
+			} else if(param != null) {
+				param.append(c);
+			} else {
+				literal.append(c);
+			}
+		}
+		if(param != null) {
+			literal.append(param);
+		}
+		literals.add(literal.toString());
+		return new MessageTemplate(pattern, literals, names, null);
+	}
+
+	/**
+	 * 线程内复用的StringBuilder
+	 */
+	private static final class Buffer {
+		StringBuilder builder = new StringBuilder(256);
+		boolean busy;
+
+		StringBuilder acquire() {
+			busy = true;
+			builder.setLength(0);
+			return builder;
+		}
+
+		void release() {
+			busy = false;
+			if(builder.capacity() > MAX_BUFFER_CAPACITY) {
+				builder = new StringBuilder(256);
+			}
+		}
+	}
+
+}
@@ -18,7 +18,9 @@ import java.util.Set;
 
 import org.springframework.core.convert.converter.Converter;
 
-import com.coul.common.utils.type.StringToDateConverter;
+import com.coul.common.utils.reflect.BeanConverter;
+import com.coul.common.utils.serialize.DeepCloner;
+import com.coul.common.utils.type.ConversionRegistry;
 
 
 /**
@@ -28,16 +30,8 @@ import com.coul.common.utils.type.StringToDateConverter;
  * @create 2012-7-2 上午10:56:57
  */
 public class ObjectUtil {
-	/** 类型转换器集合 */
-	public static final List<Converter<String, ? extends Object>> CONVERTERS = 
-			new ArrayList<Converter<String, ? extends Object>>();
-
-	/**
-	 * 初始化类型转换器集合
-	 */
-	static {
-		CONVERTERS.add(new StringToDateConverter());
-	}
+	/** 类型转换器集合，与ConversionRegistry.CONVERTERS为同一个集合 */
+	public static final List<Converter<String, ? extends Object>> CONVERTERS = ConversionRegistry.CONVERTERS;
 
 	/**
 	 * 判断clazz是否是superClass或其子类
@@ -219,7 +213,7 @@ public class ObjectUtil {
 	 * @create 2012-7-2 上午10:54:57
 	 */
 	public static <T> T toBean(Map<String, Object> map, Class<T> clazz) {
-		return JsonUtil.convert(map, clazz);
+		return BeanConverter.convert(map, clazz);
 	}
 	
 	/**
@@ -276,7 +270,19 @@ public class ObjectUtil {
 	}
 
 	/**
-	 * 获得指定类型的转换器，不存在返回null
+	 * @description 按字段的深层复制，不经过序列化，见DeepCloner。与clone不同：
+	 * 不要求实现序列化接口，transient字段保持构造方法设置的值而不是被重置
+	 * @author agent
+	 * @param obj
+	 * @return T
+	 * @create 2026-10-18
+	 */
+	public static <T> T deepCopy(T obj) {
+		return DeepCloner.clone(obj);
+	}
+
+	/**
+	 * 获得注册的转换器中指定类型的转换器，不存在返回null
 	 *
 	 * @param type
 	 * @return
@@ -285,17 +291,7 @@ public class ObjectUtil {
 	 * @author zengshl
 	 */
 	public static Converter<String, ? extends Object> getConverter(Class<? extends Object> type) {
-		for (Converter<String, ? extends Object> converter : CONVERTERS) {
-			ParameterizedType parameterizedType = 
-				(ParameterizedType)converter.getClass().getGenericInterfaces()[0];
-			Type[] params = parameterizedType.getActualTypeArguments();
-			@SuppressWarnings("unchecked")
-			Class<? extends Object> _type = (Class<? extends Object>)params[1];
-			if(isExtends(type, _type)) {
-				return converter;
-			}
-		}
-		return null;
+		return ConversionRegistry.getRegisteredConverter(type);
 	}
 
 	/**
@@ -320,15 +316,10 @@ public class ObjectUtil {
 		}
 		if(_value != null) {
 			if(!_type.isInstance(_value)) {
-				if(getConverter(_type) != null) {
-					_value = getConverter(_type).convert(_value.toString());
-				} else if(_value instanceof Map) {
+				if(_value instanceof Map && ConversionRegistry.getRegisteredConverter(_type) == null) {
 					_value = parse((Map<String, Object>)_value, _type);
 				} else {
-					try {
-						_value = _type.getConstructor(String.class).newInstance(_value.toString());
-					} catch (Exception e) {
-					}
+					_value = ConversionRegistry.convert(_value, _type);
 				}
 			} else {
 				if(_value instanceof List) {
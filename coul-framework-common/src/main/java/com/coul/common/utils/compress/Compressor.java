@@ -0,0 +1,717 @@
+package com.coul.common.utils.compress;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * ZLib、GZip压缩
+ *
+ * 每个Deflater、Inflater都持有一块本地zlib内存，创建和释放的开销在小数据量时超过压缩本身，
+ * 这里按实例池化复用，用完reset后放回，池满时end释放，流式GZip压缩、解压同样使用池中的实例。
+ * 字节数组和ByteBuffer接口直接在结果数组上压缩、解压，不经过ByteArrayOutputStream复制；
+ * 数据格式错误或不完整时抛出ZipException或EOFException，不再返回原数据。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class Compressor {
+
+    /** 默认缓冲区大小 */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /** 默认池大小 */
+    public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private static final byte[] GZIP_HEADER = {(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0,
+            0, 0, 0, 0 };
+
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    /** GZip头部标记 */
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    /** 按压缩级别共享的实例，下标为级别+1 */
+    private static final AtomicReferenceArray<Compressor> INSTANCES = new AtomicReferenceArray<Compressor>(11);
+
+    private final int level;
+
+    private final int bufferSize;
+
+    private final BlockingQueue<Deflater> deflaters;
+
+    private final BlockingQueue<Deflater> gzipDeflaters;
+
+    private final BlockingQueue<Inflater> inflaters;
+
+    private final BlockingQueue<Inflater> gzipInflaters;
+
+    public Compressor() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public Compressor(int level) {
+        this(level, DEFAULT_BUFFER_SIZE, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * @param level 压缩级别，-1（默认）或0～9
+     * @param bufferSize 流式压缩的缓冲区大小，不超过这个大小的数据压缩时结果数组一次分配
+     * @param poolSize 每种Deflater、Inflater最多缓存的个数
+     */
+    public Compressor(int level, int bufferSize, int poolSize) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("无效的压缩级别: " + level);
+        }
+        if (bufferSize <= 0 || poolSize <= 0) {
+            throw new IllegalArgumentException("bufferSize和poolSize必须大于0");
+        }
+        this.level = level;
+        this.bufferSize = bufferSize;
+        this.deflaters = new ArrayBlockingQueue<Deflater>(poolSize);
+        this.gzipDeflaters = new ArrayBlockingQueue<Deflater>(poolSize);
+        this.inflaters = new ArrayBlockingQueue<Inflater>(poolSize);
+        this.gzipInflaters = new ArrayBlockingQueue<Inflater>(poolSize);
+    }
+
+    /**
+     * 默认压缩级别的共享实例
+     */
+    public static Compressor getDefault() {
+        return getInstance(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 指定压缩级别的共享实例
+     *
+     * @param level
+     * @return
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public static Compressor getInstance(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("无效的压缩级别: " + level);
+        }
+        Compressor compressor = INSTANCES.get(level + 1);
+        if (compressor == null) {
+            INSTANCES.compareAndSet(level + 1, null, new Compressor(level));
+            compressor = INSTANCES.get(level + 1);
+        }
+        return compressor;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * ZLib压缩
+     */
+    public byte[] compress(byte[] data) {
+        return compress(data, 0, data.length);
+    }
+
+    public byte[] compress(byte[] data, int off, int len) {
+        return deflate(data, off, len, false).toByteArray();
+    }
+
+    /**
+     * ZLib压缩src中剩余的数据，src的position移到limit
+     *
+     * @param src
+     * @return 压缩后的数据，position为0
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public ByteBuffer compress(ByteBuffer src) {
+        int len = src.remaining();
+        Output output;
+        if (src.hasArray()) {
+            output = deflate(src.array(), src.arrayOffset() + src.position(), len, false);
+            src.position(src.limit());
+        } else {
+            byte[] data = new byte[len];
+            src.get(data);
+            output = deflate(data, 0, len, false);
+        }
+        return ByteBuffer.wrap(output.buf, 0, output.count);
+    }
+
+    /**
+     * ZLib解压
+     *
+     * @param data
+     * @return
+     * @throws IOException 数据格式错误或不完整
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public byte[] decompress(byte[] data) throws IOException {
+        return decompress(data, 0, data.length);
+    }
+
+    public byte[] decompress(byte[] data, int off, int len) throws IOException {
+        Inflater inflater = borrowInflater(false);
+        try {
+            inflater.setInput(data, off, len);
+            Output output = new Output(initialInflateSize(len));
+            inflate(inflater, output);
+            return output.toByteArray();
+        } finally {
+            release(inflaters, inflater);
+        }
+    }
+
+    /**
+     * ZLib解压src中剩余的数据，src的position移到limit
+     */
+    public ByteBuffer decompress(ByteBuffer src) throws IOException {
+        int len = src.remaining();
+        byte[] data;
+        int off;
+        if (src.hasArray()) {
+            data = src.array();
+            off = src.arrayOffset() + src.position();
+        } else {
+            data = new byte[len];
+            src.duplicate().get(data);
+            off = 0;
+        }
+        Inflater inflater = borrowInflater(false);
+        try {
+            inflater.setInput(data, off, len);
+            Output output = new Output(initialInflateSize(len));
+            inflate(inflater, output);
+            src.position(src.limit());
+            return ByteBuffer.wrap(output.buf, 0, output.count);
+        } finally {
+            release(inflaters, inflater);
+        }
+    }
+
+    /**
+     * 从in读取全部数据ZLib压缩后写入out，不关闭in和out
+     *
+     * @param in
+     * @param out
+     * @throws IOException
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public void compress(InputStream in, OutputStream out) throws IOException {
+        PooledDeflaterOutputStream dos = new PooledDeflaterOutputStream(out, false);
+        try {
+            copy(in, dos);
+            dos.finish();
+            dos.flush();
+        } finally {
+            dos.release();
+        }
+    }
+
+    /**
+     * 从in读取ZLib压缩数据，解压后写入out，不关闭in和out
+     */
+    public void decompress(InputStream in, OutputStream out) throws IOException {
+        PooledInflaterInputStream iis = new PooledInflaterInputStream(in);
+        try {
+            copy(iis, out);
+        } finally {
+            iis.release();
+        }
+    }
+
+    /**
+     * 写入时ZLib压缩的输出流，关闭时写完压缩数据、关闭out并归还Deflater
+     */
+    public OutputStream newCompressStream(OutputStream out) {
+        return new PooledDeflaterOutputStream(out, false);
+    }
+
+    /**
+     * 读取时ZLib解压的输入流，关闭时关闭in并归还Inflater
+     */
+    public InputStream newDecompressStream(InputStream in) {
+        return new PooledInflaterInputStream(in);
+    }
+
+    /**
+     * GZip压缩，与GZIPOutputStream的输出格式相同
+     *
+     * @param data
+     * @return
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public byte[] gzip(byte[] data) {
+        return gzip(data, 0, data.length);
+    }
+
+    public byte[] gzip(byte[] data, int off, int len) {
+        Output output = deflate(data, off, len, true);
+        CRC32 crc = new CRC32();
+        crc.update(data, off, len);
+        output.ensure(GZIP_TRAILER_SIZE);
+        writeIntLE(output, (int) crc.getValue());
+        writeIntLE(output, len);
+        return output.toByteArray();
+    }
+
+    /**
+     * GZip解压，支持多个GZip数据首尾相连，校验CRC和长度
+     *
+     * @param data
+     * @return
+     * @throws IOException 数据格式错误、不完整或校验失败
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public byte[] ungzip(byte[] data) throws IOException {
+        Output output = new Output(initialInflateSize(data.length));
+        Inflater inflater = borrowInflater(true);
+        try {
+            int pos = 0;
+            do {
+                int start = output.count;
+                pos = skipGzipHeader(data, pos);
+                inflater.reset();
+                inflater.setInput(data, pos, data.length - pos);
+                inflate(inflater, output);
+                pos = data.length - inflater.getRemaining();
+                if (data.length - pos < GZIP_TRAILER_SIZE) {
+                    throw new EOFException("GZip数据不完整");
+                }
+                CRC32 crc = new CRC32();
+                crc.update(output.buf, start, output.count - start);
+                if (readIntLE(data, pos) != (int) crc.getValue()) {
+                    throw new ZipException("GZip数据CRC校验失败");
+                }
+                if (readIntLE(data, pos + 4) != output.count - start) {
+                    throw new ZipException("GZip数据长度校验失败");
+                }
+                pos += GZIP_TRAILER_SIZE;
+            } while (data.length - pos > 2 && readShortLE(data, pos) == GZIP_MAGIC);
+            return output.toByteArray();
+        } finally {
+            release(gzipInflaters, inflater);
+        }
+    }
+
+    /**
+     * 从in读取全部数据GZip压缩后写入out，不关闭in和out
+     */
+    public void gzip(InputStream in, OutputStream out) throws IOException {
+        CheckedInputStream cis = new CheckedInputStream(in, new CRC32());
+        out.write(GZIP_HEADER);
+        PooledDeflaterOutputStream dos = new PooledDeflaterOutputStream(out, true);
+        try {
+            long len = copy(cis, dos);
+            dos.finish();
+            Output trailer = new Output(GZIP_TRAILER_SIZE);
+            writeIntLE(trailer, (int) cis.getChecksum().getValue());
+            writeIntLE(trailer, (int) len);
+            out.write(trailer.buf);
+            out.flush();
+        } finally {
+            dos.release();
+        }
+    }
+
+    /**
+     * 从in读取GZip压缩数据，解压后写入out，不关闭in和out
+     *
+     * 与ungzip(byte[])相同，支持多个GZip数据首尾相连，校验CRC和长度，最后一个GZip数据之后的内容被忽略
+     *
+     * @param in
+     * @param out
+     * @throws IOException 数据格式错误、不完整或校验失败
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public void ungzip(InputStream in, OutputStream out) throws IOException {
+        PushbackInputStream pin = new PushbackInputStream(in, bufferSize);
+        Inflater inflater = borrowInflater(true);
+        try {
+            byte[] input = new byte[bufferSize];
+            byte[] result = new byte[bufferSize];
+            do {
+                skipGzipHeader(pin);
+                inflater.reset();
+                CRC32 crc = new CRC32();
+                int read = 0;
+                while (!inflater.finished()) {
+                    if (inflater.needsInput()) {
+                        read = pin.read(input);
+                        if (read == -1) {
+                            throw new EOFException("GZip数据不完整");
+                        }
+                        inflater.setInput(input, 0, read);
+                    }
+                    int n = inflater.inflate(result);
+                    if (n == 0 && inflater.needsDictionary()) {
+                        throw new ZipException("压缩数据需要预设字典");
+                    }
+                    crc.update(result, 0, n);
+                    out.write(result, 0, n);
+                }
+                // 压缩数据之后读多的部分放回，从中读取校验和下一个GZip数据
+                pin.unread(input, read - inflater.getRemaining(), inflater.getRemaining());
+                byte[] trailer = new byte[GZIP_TRAILER_SIZE];
+                readFully(pin, trailer, trailer.length);
+                if (readIntLE(trailer, 0) != (int) crc.getValue()) {
+                    throw new ZipException("GZip数据CRC校验失败");
+                }
+                if (readIntLE(trailer, 4) != (int) inflater.getBytesWritten()) {
+                    throw new ZipException("GZip数据长度校验失败");
+                }
+            } while (hasGzipMagic(pin));
+        } catch (DataFormatException e) {
+            ZipException ex = new ZipException(e.getMessage() == null ? "压缩数据格式错误" : e.getMessage());
+            ex.initCause(e);
+            throw ex;
+        } finally {
+            release(gzipInflaters, inflater);
+        }
+    }
+
+    private Output deflate(byte[] data, int off, int len, boolean gzip) {
+        Deflater deflater = borrowDeflater(gzip);
+        try {
+            // 小数据按上限一次分配，大数据从一半开始按需扩容
+            Output output = new Output(len <= bufferSize ? deflateBound(len) + GZIP_HEADER.length + GZIP_TRAILER_SIZE
+                    : Math.max(bufferSize, len / 2));
+            if (gzip) {
+                output.ensure(GZIP_HEADER.length);
+                System.arraycopy(GZIP_HEADER, 0, output.buf, 0, GZIP_HEADER.length);
+                output.count = GZIP_HEADER.length;
+            }
+            deflater.setInput(data, off, len);
+            deflater.finish();
+            while (!deflater.finished()) {
+                output.ensure(1);
+                output.count += deflater.deflate(output.buf, output.count, output.buf.length - output.count);
+            }
+            return output;
+        } finally {
+            release(gzip ? gzipDeflaters : deflaters, deflater);
+        }
+    }
+
+    private static void inflate(Inflater inflater, Output output) throws IOException {
+        try {
+            while (!inflater.finished()) {
+                output.ensure(1);
+                int n = inflater.inflate(output.buf, output.count, output.buf.length - output.count);
+                output.count += n;
+                if (n == 0 && !inflater.finished()) {
+                    if (inflater.needsDictionary()) {
+                        throw new ZipException("压缩数据需要预设字典");
+                    }
+                    if (inflater.needsInput()) {
+                        throw new EOFException("压缩数据不完整");
+                    }
+                }
+            }
+        } catch (DataFormatException e) {
+            ZipException ex = new ZipException(e.getMessage() == null ? "压缩数据格式错误" : e.getMessage());
+            ex.initCause(e);
+            throw ex;
+        }
+    }
+
+    private Deflater borrowDeflater(boolean gzip) {
+        Deflater deflater = (gzip ? gzipDeflaters : deflaters).poll();
+        return deflater != null ? deflater : new Deflater(level, gzip);
+    }
+
+    private Inflater borrowInflater(boolean gzip) {
+        Inflater inflater = (gzip ? gzipInflaters : inflaters).poll();
+        return inflater != null ? inflater : new Inflater(gzip);
+    }
+
+    private static void release(BlockingQueue<Deflater> pool, Deflater deflater) {
+        deflater.reset();
+        if (!pool.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private static void release(BlockingQueue<Inflater> pool, Inflater inflater) {
+        inflater.reset();
+        if (!pool.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * zlib的deflateBound，加上ZLib头和校验
+     */
+    private static int deflateBound(int len) {
+        return len + (len >> 12) + (len >> 14) + (len >> 25) + 13 + 6;
+    }
+
+    private int initialInflateSize(int len) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(256L, len * 4L));
+    }
+
+    private static int skipGzipHeader(byte[] data, int pos) throws IOException {
+        if (data.length - pos < GZIP_HEADER.length) {
+            throw new EOFException("GZip数据不完整");
+        }
+        checkGzipHeader(data, pos);
+        int flags = data[pos + 3] & 0xff;
+        int i = pos + GZIP_HEADER.length;
+        if ((flags & FEXTRA) != 0) {
+            checkAvailable(data, i, 2);
+            i += 2 + readShortLE(data, i);
+        }
+        if ((flags & FNAME) != 0) {
+            i = skipZeroTerminated(data, i);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            i = skipZeroTerminated(data, i);
+        }
+        if ((flags & FHCRC) != 0) {
+            i += 2;
+        }
+        checkAvailable(data, i, 0);
+        return i;
+    }
+
+    private static void checkGzipHeader(byte[] data, int pos) throws IOException {
+        if (readShortLE(data, pos) != GZIP_MAGIC) {
+            throw new ZipException("不是GZip格式");
+        }
+        if (data[pos + 2] != Deflater.DEFLATED) {
+            throw new ZipException("不支持的GZip压缩方式: " + data[pos + 2]);
+        }
+    }
+
+    private static void skipGzipHeader(InputStream in) throws IOException {
+        byte[] header = new byte[GZIP_HEADER.length];
+        readFully(in, header, header.length);
+        checkGzipHeader(header, 0);
+        int flags = header[3] & 0xff;
+        if ((flags & FEXTRA) != 0) {
+            readFully(in, header, 2);
+            skipBytes(in, readShortLE(header, 0));
+        }
+        if ((flags & FNAME) != 0) {
+            skipZeroTerminated(in);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipZeroTerminated(in);
+        }
+        if ((flags & FHCRC) != 0) {
+            skipBytes(in, 2);
+        }
+    }
+
+    /**
+     * 后面是否还有GZip数据，读取的内容放回
+     */
+    private static boolean hasGzipMagic(PushbackInputStream in) throws IOException {
+        byte[] magic = new byte[2];
+        int n = 0;
+        int b;
+        while (n < magic.length && (b = in.read()) != -1) {
+            magic[n++] = (byte) b;
+        }
+        in.unread(magic, 0, n);
+        return n == magic.length && readShortLE(magic, 0) == GZIP_MAGIC;
+    }
+
+    private static void readFully(InputStream in, byte[] buf, int len) throws IOException {
+        int n = 0;
+        while (n < len) {
+            int count = in.read(buf, n, len - n);
+            if (count == -1) {
+                throw new EOFException("GZip数据不完整");
+            }
+            n += count;
+        }
+    }
+
+    private static void skipBytes(InputStream in, int len) throws IOException {
+        for (int i = 0; i < len; i++) {
+            readByte(in);
+        }
+    }
+
+    private static void skipZeroTerminated(InputStream in) throws IOException {
+        while (readByte(in) != 0) {
+            // 跳过文件名、注释
+        }
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("GZip数据不完整");
+        }
+        return b;
+    }
+
+    private static int skipZeroTerminated(byte[] data, int i) throws IOException {
+        while (true) {
+            checkAvailable(data, i, 1);
+            if (data[i++] == 0) {
+                return i;
+            }
+        }
+    }
+
+    private static void checkAvailable(byte[] data, int i, int n) throws IOException {
+        if (i + n > data.length) {
+            throw new EOFException("GZip数据不完整");
+        }
+    }
+
+    private static int readShortLE(byte[] data, int i) {
+        return (data[i] & 0xff) | ((data[i + 1] & 0xff) << 8);
+    }
+
+    private static int readIntLE(byte[] data, int i) {
+        return readShortLE(data, i) | (readShortLE(data, i + 2) << 16);
+    }
+
+    private static void writeIntLE(Output output, int v) {
+        byte[] buf = output.buf;
+        int i = output.count;
+        buf[i] = (byte) v;
+        buf[i + 1] = (byte) (v >> 8);
+        buf[i + 2] = (byte) (v >> 16);
+        buf[i + 3] = (byte) (v >> 24);
+        output.count = i + 4;
+    }
+
+    private long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buf = new byte[bufferSize];
+        long total = 0;
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * 可扩容的结果数组
+     */
+    private static final class Output {
+        byte[] buf;
+        int count;
+
+        Output(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void ensure(int n) {
+            if (buf.length - count < n) {
+                long capacity = Math.max((long) buf.length * 2, (long) count + n);
+                if (capacity > Integer.MAX_VALUE - 8) {
+                    if (count + n > Integer.MAX_VALUE - 8 || count + n < 0) {
+                        throw new OutOfMemoryError("压缩结果超过数组最大长度");
+                    }
+                    capacity = Integer.MAX_VALUE - 8;
+                }
+                buf = Arrays.copyOf(buf, (int) capacity);
+            }
+        }
+
+        byte[] toByteArray() {
+            return count == buf.length ? buf : Arrays.copyOf(buf, count);
+        }
+    }
+
+    /**
+     * 使用池中Deflater的输出流，gzip为true时使用不带ZLib头的Deflater
+     */
+    private final class PooledDeflaterOutputStream extends DeflaterOutputStream {
+        private final boolean gzip;
+
+        private boolean released;
+
+        PooledDeflaterOutputStream(OutputStream out, boolean gzip) {
+            super(out, borrowDeflater(gzip), bufferSize);
+            this.gzip = gzip;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        void release() {
+            if (!released) {
+                released = true;
+                Compressor.release(gzip ? gzipDeflaters : deflaters, def);
+            }
+        }
+    }
+
+    /**
+     * 使用池中Inflater的输入流
+     */
+    private final class PooledInflaterInputStream extends InflaterInputStream {
+        private boolean released;
+
+        PooledInflaterInputStream(InputStream in) {
+            super(in, borrowInflater(false), bufferSize);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        void release() {
+            if (!released) {
+                released = true;
+                Compressor.release(inflaters, inf);
+            }
+        }
+    }
+
+}
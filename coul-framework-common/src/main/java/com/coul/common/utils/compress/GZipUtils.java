@@ -2,17 +2,14 @@
 
 package com.coul.common.utils.compress;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
-
-import com.coul.common.utils.FileUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
 
  * @ClassName: GZipUtils
- * @Description: TODO(这里用一句话描述这个类的作用)
+ * @Description: GZip压缩解压，使用Compressor.getDefault()中池化的Deflater、Inflater
  * @author linhz
  * @date 2014-8-11 下午04:55:24
  *
@@ -22,7 +19,7 @@ public abstract class GZipUtils {
     
     /** 
     * @Title: gzip
-    * @Description: TODO 
+    * @Description: gzip压缩 
     * @param @param bs
     * @param @return
     * @param @throws Exception    
@@ -30,26 +27,7 @@ public abstract class GZipUtils {
     * @throws
      */
     public static byte[] gzip(byte[] bs) throws Exception {
-        ByteArrayOutputStream bout = new ByteArrayOutputStream(1000);
-        GZIPOutputStream gzout = null;
-        try {
-            gzout = new GZIPOutputStream(bout);
-            gzout.write(bs);
-            gzout.flush();
-        } catch (Exception e) {
-            throw e;
-            
-        } finally {
-            if (gzout != null) {
-                try {
-                    gzout.close();
-                } catch (Exception ex) {
-                }
-            }
-        }
-        
-        return bout.toByteArray();
-        
+        return Compressor.getDefault().gzip(bs);
     }
     
     /**
@@ -62,18 +40,33 @@ public abstract class GZipUtils {
     * @return byte[]     
     *  
      */
-//    public static byte[] ungzip(byte[] bs) throws Exception {
-//        GZIPInputStream gzin = null;
-//        try {
-//            ByteArrayInputStream bin = new ByteArrayInputStream(bs);
-//            gzin = new GZIPInputStream(bin);
-//            return FileUtils.readBytes(gzin);
-//        } catch (Exception e) {
-//            throw e;
-//            
-//        } finally {
-//            //在FileUtils中会关闭gzin
-//        }
-//        
-//    }
+    public static byte[] ungzip(byte[] bs) throws Exception {
+        return Compressor.getDefault().ungzip(bs);
+    }
+    
+    /**
+     * 
+    * @Title: gzip
+    * @Description: 从is读取全部数据gzip压缩后写入os，不关闭is和os
+    * @param @param is
+    * @param @param os
+    * @throws IOException     
+    *  
+     */
+    public static void gzip(InputStream is, OutputStream os) throws IOException {
+        Compressor.getDefault().gzip(is, os);
+    }
+    
+    /**
+     * 
+    * @Title: ungzip
+    * @Description: 从is读取gzip数据解压后写入os，不关闭os
+    * @param @param is
+    * @param @param os
+    * @throws IOException     
+    *  
+     */
+    public static void ungzip(InputStream is, OutputStream os) throws IOException {
+        Compressor.getDefault().ungzip(is, os);
+    }
 }
@@ -6,10 +6,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
+import java.nio.ByteBuffer;
 
 /**
 
@@ -22,40 +19,43 @@ import java.util.zip.InflaterInputStream;
 public abstract class ZLibUtils {
     
     /**
-     * 压缩
+     * 压缩，使用Compressor.getDefault()中池化的Deflater
      * 
      * @param data
      *            待压缩数据
      * @return byte[] 压缩后的数据
      */
     public static byte[] compress(byte[] data) {
-        byte[] output = null;
-        
-        Deflater compresser = new Deflater();
-        
-        compresser.reset();
-        compresser.setInput(data);
-        compresser.finish();
-        ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length);
         try {
-            byte[] buf = new byte[1024];
-            while (!compresser.finished()) {
-                int i = compresser.deflate(buf);
-                bos.write(buf, 0, i);
-            }
-            output = bos.toByteArray();
+            return Compressor.getDefault().compress(data);
         } catch (Exception e) {
-            output = data;
             e.printStackTrace();
-        } finally {
-            try {
-                bos.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            return data;
         }
-        compresser.end();
-        return output;
+    }
+    
+    /**
+     * 按指定级别压缩
+     * 
+     * @param data
+     *            待压缩数据
+     * @param level
+     *            压缩级别，-1（默认）或0～9
+     * @return byte[] 压缩后的数据
+     */
+    public static byte[] compress(byte[] data, int level) {
+        return Compressor.getInstance(level).compress(data);
+    }
+    
+    /**
+     * 压缩
+     * 
+     * @param src
+     *            待压缩数据，position移到limit
+     * @return ByteBuffer 压缩后的数据
+     */
+    public static ByteBuffer compress(ByteBuffer src) {
+        return Compressor.getDefault().compress(src);
     }
     
     /**
@@ -68,54 +68,53 @@ public abstract class ZLibUtils {
      *            输出流
      */
     public static void compress(byte[] data, OutputStream os) {
-        DeflaterOutputStream dos = new DeflaterOutputStream(os);
-        
         try {
-            dos.write(data, 0, data.length);
-            
-            dos.finish();
-            
-            dos.flush();
+            os.write(Compressor.getDefault().compress(data));
+            os.flush();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
     
+    /**
+     * 压缩
+     * 
+     * @param is
+     *            输入流，读取全部数据
+     * @param os
+     *            输出流
+     */
+    public static void compress(InputStream is, OutputStream os) throws IOException {
+        Compressor.getDefault().compress(is, os);
+    }
+    
     /**
      * 解压缩
      * 
      * @param data
      *            待压缩的数据
-     * @return byte[] 解压缩后的数据
+     * @return byte[] 解压缩后的数据，数据格式错误时返回原数据
      */
     public static byte[] decompress(byte[] data) {
-        byte[] output = null;
-        
-        Inflater decompresser = new Inflater();
-        decompresser.reset();
-        decompresser.setInput(data);
-        
-        ByteArrayOutputStream o = new ByteArrayOutputStream(data.length);
         try {
-            byte[] buf = new byte[1024];
-            while (!decompresser.finished()) {
-                int i = decompresser.inflate(buf);
-                o.write(buf, 0, i);
-            }
-            output = o.toByteArray();
+            return Compressor.getDefault().decompress(data);
         } catch (Exception e) {
-            output = data;
             e.printStackTrace();
-        } finally {
-            try {
-                o.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            return data;
         }
-        
-        decompresser.end();
-        return output;
+    }
+    
+    /**
+     * 解压缩
+     * 
+     * @param src
+     *            待解压的数据，position移到limit
+     * @return ByteBuffer 解压缩后的数据
+     * @throws IOException
+     *            数据格式错误或不完整
+     */
+    public static ByteBuffer decompress(ByteBuffer src) throws IOException {
+        return Compressor.getDefault().decompress(src);
     }
     
     /**
@@ -126,19 +125,24 @@ public abstract class ZLibUtils {
      * @return byte[] 解压缩后的数据
      */
     public static byte[] decompress(InputStream is) {
-        InflaterInputStream iis = new InflaterInputStream(is);
         ByteArrayOutputStream o = new ByteArrayOutputStream(1024);
         try {
-            int i = 1024;
-            byte[] buf = new byte[i];
-            
-            while ((i = iis.read(buf, 0, i)) > 0) {
-                o.write(buf, 0, i);
-            }
-            
+            Compressor.getDefault().decompress(is, o);
         } catch (IOException e) {
             e.printStackTrace();
         }
         return o.toByteArray();
     }
+    
+    /**
+     * 解压缩
+     * 
+     * @param is
+     *            输入流
+     * @param os
+     *            输出流
+     */
+    public static void decompress(InputStream is, OutputStream os) throws IOException {
+        Compressor.getDefault().decompress(is, os);
+    }
 }
@@ -0,0 +1,708 @@
+package com.coul.common.utils.crypt;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Base64编码解码
+ *
+ * 编码和解码都按查表处理，每次处理3个字节或4个字符，直接在byte[]、char[]、ByteBuffer之间转换，
+ * 不经过中间的String和字符集查找。实例不可变，可以在多个线程中共用。
+ *
+ * 1、STANDARD：RFC4648标准字母表，补齐=，不换行；
+ * 2、URL_SAFE：RFC4648 URL安全字母表（-和_），不补齐=；
+ * 3、MIME：RFC2045，每76个字符换行，换行符为\r\n，最后一行后面没有换行符。
+ *
+ * 解码时两种字母表都可以识别，补齐的=可有可无，空格、制表符和换行被忽略，其他非法字符抛出IllegalArgumentException。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class Base64Codec {
+
+    private static final byte[] STANDARD_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(
+        Charset.forName("US-ASCII"));
+
+    private static final byte[] URL_SAFE_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(
+        Charset.forName("US-ASCII"));
+
+    /** 解码表中的空白字符 */
+    private static final int WHITESPACE = -2;
+
+    /** 解码表中的补齐字符= */
+    private static final int PADDING = -3;
+
+    /** 解码表中的非法字符 */
+    private static final int INVALID = -1;
+
+    /** 字符到6位值的解码表，两种字母表都可以识别 */
+    private static final int[] DECODE_TABLE = new int[256];
+
+    static {
+        Arrays.fill(DECODE_TABLE, INVALID);
+        for (int i = 0; i < 64; i++) {
+            DECODE_TABLE[STANDARD_ALPHABET[i]] = i;
+            DECODE_TABLE[URL_SAFE_ALPHABET[i]] = i;
+        }
+        DECODE_TABLE['='] = PADDING;
+        DECODE_TABLE[' '] = WHITESPACE;
+        DECODE_TABLE['\t'] = WHITESPACE;
+        DECODE_TABLE['\r'] = WHITESPACE;
+        DECODE_TABLE['\n'] = WHITESPACE;
+    }
+
+    /** 标准Base64，补齐=，不换行 */
+    public static final Base64Codec STANDARD = new Base64Codec(false, true, 0, null);
+
+    /** URL安全的Base64，+和/替换为-和_，不补齐= */
+    public static final Base64Codec URL_SAFE = new Base64Codec(true, false, 0, null);
+
+    /** MIME格式的Base64，每76个字符换行 */
+    public static final Base64Codec MIME = new Base64Codec(false, true, 76, "\r\n");
+
+    private final byte[] alphabet;
+
+    private final char[] charAlphabet;
+
+    private final boolean padding;
+
+    /** 每行的字符数，0表示不换行 */
+    private final int lineLength;
+
+    private final byte[] lineSeparator;
+
+    private Base64Codec(boolean urlSafe, boolean padding, int lineLength, String lineSeparator) {
+        this.alphabet = urlSafe ? URL_SAFE_ALPHABET : STANDARD_ALPHABET;
+        this.charAlphabet = new char[64];
+        for (int i = 0; i < 64; i++) {
+            charAlphabet[i] = (char) alphabet[i];
+        }
+        this.padding = padding;
+        this.lineLength = lineLength / 4 * 4;
+        this.lineSeparator = new byte[lineSeparator == null ? 0 : lineSeparator.length()];
+        for (int i = 0; i < this.lineSeparator.length; i++) {
+            char c = lineSeparator.charAt(i);
+            if (c > 0x7F || DECODE_TABLE[c] != WHITESPACE) {
+                throw new IllegalArgumentException("Illegal base64 line separator: " + lineSeparator);
+            }
+            this.lineSeparator[i] = (byte) c;
+        }
+    }
+
+    /**
+     * 自定义换行的MIME格式Base64
+     *
+     * @param lineLength
+     *            每行的字符数，向下取整为4的倍数，小于4时不换行
+     * @param lineSeparator
+     *            换行符，只能由空格、制表符、\r、\n组成
+     * @return
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public static Base64Codec mime(int lineLength, String lineSeparator) {
+        return new Base64Codec(false, true, lineLength, lineSeparator);
+    }
+
+    /* ******** 编码 ******** */
+
+    /**
+     * 编码len个字节后的字符数
+     */
+    public int encodedLength(int len) {
+        int chars = len / 3 * 4;
+        int rem = len % 3;
+        if (rem > 0) {
+            chars += padding ? 4 : rem + 1;
+        }
+        if (lineLength > 0 && chars > 0) {
+            chars += (chars - 1) / lineLength * lineSeparator.length;
+        }
+        return chars;
+    }
+
+    public byte[] encode(byte[] src) {
+        byte[] dst = new byte[encodedLength(src.length)];
+        encode(src, 0, src.length, dst, 0);
+        return dst;
+    }
+
+    public String encodeToString(byte[] src) {
+        return encodeToString(src, 0, src.length);
+    }
+
+    public String encodeToString(byte[] src, int off, int len) {
+        char[] dst = new char[encodedLength(len)];
+        encode(src, off, len, dst, 0);
+        return new String(dst);
+    }
+
+    /**
+     * 编码src剩余的字节，src的位置移动到末尾
+     *
+     * @param src
+     * @return 编码结果，位置为0，limit为编码后的长度
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public ByteBuffer encode(ByteBuffer src) {
+        int len = src.remaining();
+        byte[] dst = new byte[encodedLength(len)];
+        if (src.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.position(), len, dst, 0);
+            src.position(src.limit());
+        } else {
+            byte[] bytes = new byte[len];
+            src.get(bytes);
+            encode(bytes, 0, len, dst, 0);
+        }
+        return ByteBuffer.wrap(dst);
+    }
+
+    /**
+     * 编码到指定的字节数组，dst需要有encodedLength(len)的空间
+     *
+     * @return 写入的字节数
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public int encode(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        byte[] a = alphabet;
+        int end = off + len;
+        int full = off + len / 3 * 3;
+        int bytesPerLine = lineLength / 4 * 3;
+        int i = off;
+        int d = dstOff;
+        while (i < full) {
+            int lineEnd = bytesPerLine == 0 ? full : Math.min(i + bytesPerLine, full);
+            int lineStart = i;
+            for (; i < lineEnd; i += 3) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+                dst[d++] = a[bits >>> 18];
+                dst[d++] = a[(bits >>> 12) & 0x3F];
+                dst[d++] = a[(bits >>> 6) & 0x3F];
+                dst[d++] = a[bits & 0x3F];
+            }
+            if (bytesPerLine > 0 && i - lineStart == bytesPerLine && i < end) {
+                for (byte b : lineSeparator) {
+                    dst[d++] = b;
+                }
+            }
+        }
+        int rem = end - full;
+        if (rem > 0) {
+            int bits = (src[i] & 0xFF) << 16 | (rem == 2 ? (src[i + 1] & 0xFF) << 8 : 0);
+            dst[d++] = a[bits >>> 18];
+            dst[d++] = a[(bits >>> 12) & 0x3F];
+            if (rem == 2) {
+                dst[d++] = a[(bits >>> 6) & 0x3F];
+            } else if (padding) {
+                dst[d++] = '=';
+            }
+            if (padding) {
+                dst[d++] = '=';
+            }
+        }
+        return d - dstOff;
+    }
+
+    /**
+     * 编码到指定的字符数组，dst需要有encodedLength(len)的空间
+     *
+     * @return 写入的字符数
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public int encode(byte[] src, int off, int len, char[] dst, int dstOff) {
+        char[] a = charAlphabet;
+        int end = off + len;
+        int full = off + len / 3 * 3;
+        int bytesPerLine = lineLength / 4 * 3;
+        int i = off;
+        int d = dstOff;
+        while (i < full) {
+            int lineEnd = bytesPerLine == 0 ? full : Math.min(i + bytesPerLine, full);
+            int lineStart = i;
+            for (; i < lineEnd; i += 3) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+                dst[d++] = a[bits >>> 18];
+                dst[d++] = a[(bits >>> 12) & 0x3F];
+                dst[d++] = a[(bits >>> 6) & 0x3F];
+                dst[d++] = a[bits & 0x3F];
+            }
+            if (bytesPerLine > 0 && i - lineStart == bytesPerLine && i < end) {
+                for (byte b : lineSeparator) {
+                    dst[d++] = (char) b;
+                }
+            }
+        }
+        int rem = end - full;
+        if (rem > 0) {
+            int bits = (src[i] & 0xFF) << 16 | (rem == 2 ? (src[i + 1] & 0xFF) << 8 : 0);
+            dst[d++] = a[bits >>> 18];
+            dst[d++] = a[(bits >>> 12) & 0x3F];
+            if (rem == 2) {
+                dst[d++] = a[(bits >>> 6) & 0x3F];
+            } else if (padding) {
+                dst[d++] = '=';
+            }
+            if (padding) {
+                dst[d++] = '=';
+            }
+        }
+        return d - dstOff;
+    }
+
+    /* ******** 解码 ******** */
+
+    /**
+     * 解码len个字符后最多的字节数
+     */
+    public static int maxDecodedLength(int len) {
+        return len / 4 * 3 + (len % 4) * 3 / 4;
+    }
+
+    public byte[] decode(byte[] src) {
+        return decode(src, 0, src.length);
+    }
+
+    public byte[] decode(byte[] src, int off, int len) {
+        byte[] dst = new byte[maxDecodedLength(len)];
+        return trim(dst, decode(src, off, len, dst, 0));
+    }
+
+    public byte[] decode(String src) {
+        return decode(src.toCharArray());
+    }
+
+    public byte[] decode(char[] src) {
+        return decode(src, 0, src.length);
+    }
+
+    public byte[] decode(char[] src, int off, int len) {
+        byte[] dst = new byte[maxDecodedLength(len)];
+        Decoder decoder = new Decoder();
+        int n = decoder.update(src, off, len, dst, 0);
+        n += decoder.finish(dst, n);
+        return trim(dst, n);
+    }
+
+    /**
+     * 解码src剩余的字符，src的位置移动到末尾
+     *
+     * @param src
+     * @return 解码结果，位置为0，limit为解码后的长度
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public ByteBuffer decode(ByteBuffer src) {
+        int len = src.remaining();
+        byte[] dst = new byte[maxDecodedLength(len)];
+        int n;
+        if (src.hasArray()) {
+            n = decode(src.array(), src.arrayOffset() + src.position(), len, dst, 0);
+            src.position(src.limit());
+        } else {
+            byte[] bytes = new byte[len];
+            src.get(bytes);
+            n = decode(bytes, 0, len, dst, 0);
+        }
+        return ByteBuffer.wrap(dst, 0, n);
+    }
+
+    /**
+     * 解码到指定的字节数组，dst需要有maxDecodedLength(len)的空间
+     *
+     * @return 写入的字节数
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public int decode(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        Decoder decoder = new Decoder();
+        int n = decoder.update(src, off, len, dst, dstOff);
+        return n + decoder.finish(dst, dstOff + n);
+    }
+
+    private static byte[] trim(byte[] bytes, int len) {
+        return len == bytes.length ? bytes : Arrays.copyOf(bytes, len);
+    }
+
+    /* ******** 流 ******** */
+
+    /**
+     * 写入时编码的输出流，关闭时写出最后不足3个字节的部分并关闭out
+     *
+     * @param out
+     * @return
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public OutputStream wrap(OutputStream out) {
+        return new EncodingOutputStream(out);
+    }
+
+    /**
+     * 读取时解码的输入流
+     *
+     * @param in
+     * @return
+     * 创建日期：2026-10-18
+     * 修改说明：
+     * @author agent
+     */
+    public InputStream wrap(InputStream in) {
+        return new DecodingInputStream(in);
+    }
+
+    /**
+     * 解码状态，输入可以分多次提供
+     */
+    private static final class Decoder {
+        /** 还没有输出的6位值 */
+        private int bits;
+
+        /** 当前4个字符中已读取的有效字符数 */
+        private int count;
+
+        /** 已读取的补齐字符数 */
+        private int pads;
+
+        int update(byte[] src, int off, int len, byte[] dst, int dstOff) {
+            int[] table = DECODE_TABLE;
+            int end = off + len;
+            int d = dstOff;
+            int i = off;
+            while (i < end) {
+                if (count == 0 && pads == 0) {
+                    // 4个字符都是有效字符时一次处理
+                    int last = end - 4;
+                    while (i <= last) {
+                        int b0 = table[src[i] & 0xFF];
+                        int b1 = table[src[i + 1] & 0xFF];
+                        int b2 = table[src[i + 2] & 0xFF];
+                        int b3 = table[src[i + 3] & 0xFF];
+                        if ((b0 | b1 | b2 | b3) < 0) {
+                            break;
+                        }
+                        int v = b0 << 18 | b1 << 12 | b2 << 6 | b3;
+                        dst[d++] = (byte) (v >> 16);
+                        dst[d++] = (byte) (v >> 8);
+                        dst[d++] = (byte) v;
+                        i += 4;
+                    }
+                    if (i == end) {
+                        break;
+                    }
+                }
+                d = step(table[src[i] & 0xFF], src[i] & 0xFF, i, dst, d);
+                i++;
+            }
+            return d - dstOff;
+        }
+
+        int update(char[] src, int off, int len, byte[] dst, int dstOff) {
+            int[] table = DECODE_TABLE;
+            int end = off + len;
+            int d = dstOff;
+            int i = off;
+            while (i < end) {
+                if (count == 0 && pads == 0) {
+                    int last = end - 4;
+                    while (i <= last) {
+                        char c0 = src[i], c1 = src[i + 1], c2 = src[i + 2], c3 = src[i + 3];
+                        if ((c0 | c1 | c2 | c3) > 0xFF) {
+                            break;
+                        }
+                        int b0 = table[c0];
+                        int b1 = table[c1];
+                        int b2 = table[c2];
+                        int b3 = table[c3];
+                        if ((b0 | b1 | b2 | b3) < 0) {
+                            break;
+                        }
+                        int v = b0 << 18 | b1 << 12 | b2 << 6 | b3;
+                        dst[d++] = (byte) (v >> 16);
+                        dst[d++] = (byte) (v >> 8);
+                        dst[d++] = (byte) v;
+                        i += 4;
+                    }
+                    if (i == end) {
+                        break;
+                    }
+                }
+                char c = src[i];
+                d = step(c > 0xFF ? INVALID : table[c], c, i, dst, d);
+                i++;
+            }
+            return d - dstOff;
+        }
+
+        /**
+         * 处理一个字符，返回新的写入位置
+         */
+        private int step(int value, int c, int index, byte[] dst, int d) {
+            if (value >= 0) {
+                if (pads > 0) {
+                    throw new IllegalArgumentException("Illegal base64 character after padding at " + index);
+                }
+                bits = bits << 6 | value;
+                if (++count == 4) {
+                    dst[d++] = (byte) (bits >> 16);
+                    dst[d++] = (byte) (bits >> 8);
+                    dst[d++] = (byte) bits;
+                    bits = 0;
+                    count = 0;
+                }
+            } else if (value == PADDING) {
+                if (count < 2 || count + ++pads > 4) {
+                    throw new IllegalArgumentException("Illegal base64 padding at " + index);
+                }
+                if (count + pads == 4) {
+                    d = flush(dst, d);
+                }
+            } else if (value != WHITESPACE) {
+                throw new IllegalArgumentException("Illegal base64 character " + Integer.toHexString(c) + " at "
+                    + index);
+            }
+            return d;
+        }
+
+        /**
+         * 输出不足4个字符的最后一组，补齐完成后只能出现空白字符
+         */
+        private int flush(byte[] dst, int d) {
+            if (count == 2) {
+                dst[d++] = (byte) (bits >> 4);
+            } else if (count == 3) {
+                dst[d++] = (byte) (bits >> 10);
+                dst[d++] = (byte) (bits >> 2);
+            }
+            bits = 0;
+            count = 0;
+            pads = pads == 0 ? 0 : 4;
+            return d;
+        }
+
+        /**
+         * 输入结束，返回写入的字节数
+         */
+        int finish(byte[] dst, int dstOff) {
+            if (count == 1) {
+                throw new IllegalArgumentException("Last unit does not have enough valid base64 bits");
+            }
+            if (pads > 0 && pads < 4) {
+                throw new IllegalArgumentException("Incomplete base64 padding");
+            }
+            return flush(dst, dstOff) - dstOff;
+        }
+    }
+
+    /**
+     * 写入时编码的输出流，按整行缓冲输入，每次编码整行
+     */
+    private final class EncodingOutputStream extends FilterOutputStream {
+        private final byte[] buffer;
+
+        private final byte[] encoded;
+
+        private int position;
+
+        /** 已写出编码内容，换行时下一块前面需要换行符 */
+        private boolean written;
+
+        private boolean closed;
+
+        EncodingOutputStream(OutputStream out) {
+            super(out);
+            int bytesPerLine = lineLength / 4 * 3;
+            this.buffer = new byte[bytesPerLine > 0 ? bytesPerLine * Math.max(1, 3072 / bytesPerLine) : 3072];
+            this.encoded = new byte[encodedLength(buffer.length)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (position == buffer.length) {
+                encodeBuffer();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            if (off < 0 || len < 0 || off + len > b.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            while (len > 0) {
+                if (position == buffer.length) {
+                    encodeBuffer();
+                }
+                int n = Math.min(len, buffer.length - position);
+                System.arraycopy(b, off, buffer, position, n);
+                position += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * 缓冲区的长度是3和每行字节数的倍数，不会产生补齐字符，也不会跨行
+         */
+        private void encodeBuffer() throws IOException {
+            writeSeparator();
+            out.write(encoded, 0, encode(buffer, 0, position, encoded, 0));
+            position = 0;
+        }
+
+        private void writeSeparator() throws IOException {
+            if (written && lineLength > 0) {
+                out.write(lineSeparator);
+            }
+            written = true;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // 不足一块的部分需要等到后续数据才能编码，只刷新底层流
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (position > 0) {
+                    encodeBuffer();
+                }
+                out.flush();
+            } finally {
+                out.close();
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+
+    /**
+     * 读取时解码的输入流
+     */
+    private static final class DecodingInputStream extends FilterInputStream {
+        private final Decoder decoder = new Decoder();
+
+        private final byte[] raw = new byte[4096];
+
+        private final byte[] decoded = new byte[maxDecodedLength(4096) + 3];
+
+        private int position;
+
+        private int limit;
+
+        private boolean eof;
+
+        DecodingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return decoded[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || off + len > b.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            int n = Math.min(len, limit - position);
+            System.arraycopy(decoded, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return limit - position;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && (position < limit || fill())) {
+                int step = (int) Math.min(n - skipped, limit - position);
+                position += step;
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            throw new IOException("mark/reset not supported");
+        }
+
+        /**
+         * 读取并解码下一块，没有更多数据时返回false
+         */
+        private boolean fill() throws IOException {
+            position = 0;
+            limit = 0;
+            while (limit == 0) {
+                if (eof) {
+                    return false;
+                }
+                int n = in.read(raw, 0, raw.length);
+                try {
+                    if (n < 0) {
+                        eof = true;
+                        limit = decoder.finish(decoded, 0);
+                    } else {
+                        limit = decoder.update(raw, 0, n, decoded, 0);
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+            return true;
+        }
+    }
+
+}
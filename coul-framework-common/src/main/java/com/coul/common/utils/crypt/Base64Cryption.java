@@ -4,7 +4,11 @@ package com.coul.common.utils.crypt;
 /**
  * Base64Cryption加解密
  * 
+ * 修改说明：2026-10-18 agent 字节数组和字符串的编码解码改由Base64Codec处理，输出与原来一致；
+ * 新代码直接使用Base64Codec。
+ * 
  * @author linhz
+ * @see Base64Codec
  */
 public class Base64Cryption {
     
@@ -87,6 +91,9 @@ public class Base64Cryption {
                                                                
     // encoding
     
+    /** 与原实现一致：每76个字符换行，换行符为\n */
+    private final static Base64Codec LINES = Base64Codec.mime(MAX_LINE_LENGTH, "\n");
+    
     /** Defeats instantiation. */
     private Base64Cryption() {
     }
@@ -267,7 +274,7 @@ public class Base64Cryption {
      *            The data to convert
      * @since 1.4
      */
-    public static String encodeBytes(byte[] source) throws Exception {
+    public static String encodeBytes(byte[] source) {
         return encodeBytes(source, true);
     } // end encodeBytes
     
@@ -281,7 +288,7 @@ public class Base64Cryption {
      *            Break lines at 80 characters or less.
      * @since 1.4
      */
-    private static String encodeBytes(byte[] source, boolean breakLines) throws Exception {
+    private static String encodeBytes(byte[] source, boolean breakLines) {
         return encodeBytes(source, 0, source.length, breakLines);
     } // end encodeBytes
     
@@ -296,7 +303,7 @@ public class Base64Cryption {
      *            Length of data to convert
      * @since 1.4
      */
-    public static String encodeBytes(byte[] source, int off, int len) throws Exception {
+    public static String encodeBytes(byte[] source, int off, int len) {
         return encodeBytes(source, off, len, true);
     } // end encodeBytes
     
@@ -313,35 +320,13 @@ public class Base64Cryption {
      *            Break lines at 80 characters or less.
      * @since 1.4
      */
-    public static String encodeBytes(byte[] source, int off, int len, boolean breakLines)
-        throws Exception {
-        int len43 = len * 4 / 3;
-        byte[] outBuff = new byte[(len43) // Main 4:3
-            + ((len % 3) > 0 ? 4
-                : 0) // Account for padding
-            + (breakLines ? (len43 / MAX_LINE_LENGTH)
-                : 0)]; // New lines
-        int d = 0;
-        int e = 0;
-        int len2 = len - 2;
-        int lineLength = 0;
-        for (; d < len2; d += 3, e += 4) {
-            encode3to4(source, d + off, 3, outBuff, e);
-            
-            lineLength += 4;
-            if (breakLines && lineLength == MAX_LINE_LENGTH) {
-                outBuff[e + 4] = NEW_LINE;
-                e++;
-                lineLength = 0;
-            } // end if: end of line
-        } // en dfor: each piece of array
-        
-        if (d < len) {
-            encode3to4(source, d + off, len - d, outBuff, e);
-            e += 4;
-        } // end if: some padding needed
-        
-        return new String(outBuff, 0, e, "iso-8859-1");
+    public static String encodeBytes(byte[] source, int off, int len, boolean breakLines) {
+        if (!breakLines) {
+            return Base64Codec.STANDARD.encodeToString(source, off, len);
+        }
+        String encoded = LINES.encodeToString(source, off, len);
+        // 原实现在每个整行后面都输出换行符，最后一行是整行时也以换行符结尾
+        return len > 0 && len % (MAX_LINE_LENGTH / 4 * 3) == 0 ? encoded + (char) NEW_LINE : encoded;
     } // end encodeBytes
     
     /**
@@ -481,9 +466,12 @@ public class Base64Cryption {
      * @return the decoded data
      * @since 1.4
      */
-    public static byte[] decode(String s) throws Exception {
-        byte[] bytes = s.getBytes("iso-8859-1");
-        return decode(bytes, 0, bytes.length);
+    public static byte[] decode(String s) {
+        try {
+            return Base64Codec.STANDARD.decode(s);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     } // end decode
     
     /**
@@ -542,59 +530,6 @@ public class Base64Cryption {
         } // end finally
     } // end decodeObject
     
-    /**
-     * Decodes Base64Cryption content in byte array format and returns the
-     * decoded byte array.
-     * 
-     * @param source
-     *            The Base64Cryption encoded data
-     * @param off
-     *            The offset of where to begin decoding
-     * @param len
-     *            The length of characters to decode
-     * @return decoded data
-     * @since 1.3
-     */
-    private static byte[] decode(byte[] source, int off, int len) {
-        int len34 = len * 3 / 4;
-        byte[] outBuff = new byte[len34]; // Upper limit on size of output
-        int outBuffPosn = 0;
-        
-        byte[] b4 = new byte[4];
-        int b4Posn = 0;
-        int i = 0;
-        byte sbiCrop = 0;
-        byte sbiDecode = 0;
-        for (i = 0; i < len; i++) {
-            sbiCrop = (byte) (source[i] & 0x7f); // Only the low seven bits
-            sbiDecode = DECODABET[sbiCrop];
-            
-            if (sbiDecode >= WHITE_SPACE_ENC) // White space, Equals sign or
-            // better
-            {
-                if (sbiDecode >= EQUALS_SIGN_ENC) {
-                    b4[b4Posn++] = sbiCrop;
-                    if (b4Posn > 3) {
-                        outBuffPosn += decode4to3(b4, 0, outBuff, outBuffPosn);
-                        b4Posn = 0;
-                        
-                        // If that was the equals sign, break out of 'for' loop
-                        if (sbiCrop == EQUALS_SIGN)
-                            break;
-                    } // end if: quartet built
-                    
-                } // end if: equals sign or better
-                
-            } // end if: white space, equals sign or better
-            else {
-                return null;
-            } // end else:
-        } // each input character
-        
-        byte[] out = new byte[outBuffPosn];
-        System.arraycopy(outBuff, 0, out, 0, outBuffPosn);
-        return out;
-    } // end decode
     
     /* ******** I N N E R C L A S S I N P U T S T R E A M ******** */
     
@@ -1,10 +1,6 @@
 
 package com.coul.common.utils.crypt;
 
-import java.security.NoSuchAlgorithmException;
-
-import com.coul.common.exception.ApplictionRuntimeException;
-import com.coul.common.exception.IException;
 import com.coul.common.utils.type.StringUtils;
 
 /**
@@ -34,11 +30,6 @@ public class Md5Cryption {
      * @return byte[] 16 bit digest
      */
     public static byte[] md5Digest(byte[] src) {
-        try {
-            java.security.MessageDigest alg = java.security.MessageDigest.getInstance("MD5");
-            return alg.digest(src);
-        } catch (NoSuchAlgorithmException e) {
-            throw new ApplictionRuntimeException(IException.CRYPT_ERROR, "MD5加密失败", e);
-        }
+        return ThreadLocalDigest.MD5.get().digest(src);
     }
 }
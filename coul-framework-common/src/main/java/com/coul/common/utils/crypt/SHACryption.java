@@ -41,7 +41,7 @@ public class SHACryption {
      */
     public static String encrypt(String apcIn, byte[] shaKeyBytes) {
         try {
-            java.security.MessageDigest alga = java.security.MessageDigest.getInstance("SHA-1");
+            java.security.MessageDigest alga = ThreadLocalDigest.SHA1.get();
             alga.update(shaKeyBytes);
             alga.update(apcIn.getBytes());
             alga.update(shaKeyBytes);
@@ -64,13 +64,13 @@ public class SHACryption {
      */
     public static String encrypt(String apcIn, String shaKeyStr) {
         try {
-            java.security.MessageDigest alga = java.security.MessageDigest.getInstance("SHA-1");
+            java.security.MessageDigest alga = ThreadLocalDigest.SHA1.get();
             byte[] shaKeyBytes = shaKeyStr.getBytes();
             alga.update(shaKeyBytes);
             alga.update(apcIn.getBytes());
             alga.update(shaKeyBytes);
             byte[] digesta = alga.digest();
-            return Base64Cryption.encodeBytes(digesta);
+            return Base64Codec.STANDARD.encodeToString(digesta);
         } catch (Exception e) {
             throw new ApplictionRuntimeException(IException.CRYPT_ERROR, "SHA加密失败", e);
         }
@@ -0,0 +1,49 @@
+package com.coul.common.utils.crypt;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.coul.common.exception.ApplictionRuntimeException;
+import com.coul.common.exception.IException;
+
+/**
+ * 线程内复用的MessageDigest
+ * 
+ * MessageDigest.getInstance每次都要查找Provider并创建对象，登录、令牌校验等频繁计算摘要的地方开销明显，
+ * MessageDigest又不是线程安全的，所以每个线程缓存一个实例，取出时重置状态。
+ * 
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class ThreadLocalDigest extends ThreadLocal<MessageDigest> {
+    
+    static final ThreadLocalDigest MD5 = new ThreadLocalDigest("MD5");
+    
+    static final ThreadLocalDigest SHA1 = new ThreadLocalDigest("SHA-1");
+    
+    private final String algorithm;
+    
+    private ThreadLocalDigest(String algorithm) {
+        this.algorithm = algorithm;
+    }
+    
+    @Override
+    protected MessageDigest initialValue() {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ApplictionRuntimeException(IException.CRYPT_ERROR, algorithm + "加密失败", e);
+        }
+    }
+    
+    /**
+     * 获得当前线程的实例，上次计算中途出现异常时残留的数据被清除
+     */
+    @Override
+    public MessageDigest get() {
+        MessageDigest digest = super.get();
+        digest.reset();
+        return digest;
+    }
+    
+}
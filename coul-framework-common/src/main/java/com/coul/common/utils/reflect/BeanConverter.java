@@ -0,0 +1,675 @@
+package com.coul.common.utils.reflect;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.converter.Converter;
+
+import com.coul.common.log.ILogger;
+import com.coul.common.log.LoggerFactory;
+import com.coul.common.utils.ObjectUtil;
+import com.coul.common.utils.type.ConversionRegistry;
+
+/**
+ * Bean/Map到Bean的直接转换引擎
+ *
+ * 每个目标类型只分析一次可写属性，每个（源类型，目标类型）组合只编译一次复制计划：
+ * 属性名忽略大小写的匹配、读写方法和值的目标类型都在编译时确定，转换时不再经过JSON。
+ * 字符串到目标类型的转换复用ObjectUtil.CONVERTERS中的转换器。
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+public final class BeanConverter {
+
+	private static ILogger logger = LoggerFactory.getLogger(BeanConverter.class);
+
+	/** Map源按键名缓存解析结果的上限，防止任意键名撑大缓存 */
+	private static final int MAX_CACHED_KEYS = 512;
+
+	/** 目标类型分析结果缓存 */
+	private static final ConcurrentMap<Class<?>, TargetPlan> TARGETS = new ConcurrentHashMap<Class<?>, TargetPlan>();
+
+	/** Bean到Bean复制计划缓存 */
+	private static final ConcurrentMap<PlanKey, CopyPlan> PLANS = new ConcurrentHashMap<PlanKey, CopyPlan>();
+
+	private BeanConverter() {
+	}
+
+	/**
+	 * 把Map或Bean转换成targetClass类型的新对象，属性名忽略大小写匹配
+	 *
+	 * @param source
+	 *            源对象，Map的键为属性名
+	 * @param targetClass
+	 *            目标类型
+	 * @return source为null时返回null
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T convert(Object source, Class<T> targetClass) {
+		if (source == null) {
+			return null;
+		}
+		TargetPlan target = targetPlan(targetClass);
+		Object instance = target.newInstance();
+		fill(source, instance, target);
+		return (T) instance;
+	}
+
+	/**
+	 * 把Map或Bean的属性复制到已有的target对象上
+	 *
+	 * @param source
+	 *            源对象
+	 * @param target
+	 *            目标对象
+	 */
+	public static void copy(Object source, Object target) {
+		if (source == null || target == null) {
+			return;
+		}
+		fill(source, target, targetPlan(target.getClass()));
+	}
+
+	private static void fill(Object source, Object instance, TargetPlan target) {
+		if (source instanceof Map) {
+			target.fillFromMap((Map<?, ?>) source, instance);
+		} else {
+			copyPlan(source.getClass(), target).copy(source, instance);
+		}
+	}
+
+	private static TargetPlan targetPlan(Class<?> targetClass) {
+		TargetPlan plan = TARGETS.get(targetClass);
+		if (plan == null) {
+			plan = new TargetPlan(targetClass);
+			TargetPlan existing = TARGETS.putIfAbsent(targetClass, plan);
+			if (existing != null) {
+				plan = existing;
+			}
+		}
+		return plan;
+	}
+
+	private static CopyPlan copyPlan(Class<?> sourceClass, TargetPlan target) {
+		PlanKey key = new PlanKey(sourceClass, target.type);
+		CopyPlan plan = PLANS.get(key);
+		if (plan == null) {
+			plan = new CopyPlan(sourceClass, target);
+			CopyPlan existing = PLANS.putIfAbsent(key, plan);
+			if (existing != null) {
+				plan = existing;
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * 目标类型的可写属性，及按名称（精确或忽略大小写）查找属性的索引
+	 */
+	private static final class TargetPlan {
+
+		final Class<?> type;
+
+		final Constructor<?> constructor;
+
+		final Map<String, TargetProperty> exact = new HashMap<String, TargetProperty>();
+
+		final Map<String, TargetProperty> lowerCase = new HashMap<String, TargetProperty>();
+
+		/** Map源的键名解析缓存，未匹配的键对应NONE */
+		final ConcurrentMap<String, TargetProperty> resolved = new ConcurrentHashMap<String, TargetProperty>();
+
+		TargetPlan(Class<?> type) {
+			this.type = type;
+			Constructor<?> ctor = null;
+			if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+				try {
+					ctor = type.getDeclaredConstructor();
+				} catch (NoSuchMethodException e) {
+					ctor = null;
+				}
+			}
+			this.constructor = ctor;
+			for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(type)) {
+				Method writeMethod = pd.getWriteMethod();
+				if (writeMethod == null) {
+					continue;
+				}
+				TargetProperty property = new TargetProperty(pd.getName(), writeMethod);
+				exact.put(property.name, property);
+				lowerCase.put(property.name.toLowerCase(Locale.ENGLISH), property);
+			}
+		}
+
+		Object newInstance() {
+			if (constructor == null) {
+				throw new IllegalArgumentException(type.getName() + "没有无参构造方法，不能作为转换目标");
+			}
+			return BeanUtils.instantiateClass(constructor);
+		}
+
+		TargetProperty find(String name) {
+			TargetProperty property = exact.get(name);
+			return property != null ? property : lowerCase.get(name.toLowerCase(Locale.ENGLISH));
+		}
+
+		void fillFromMap(Map<?, ?> source, Object instance) {
+			for (Map.Entry<?, ?> entry : source.entrySet()) {
+				if (!(entry.getKey() instanceof String)) {
+					continue;
+				}
+				String key = (String) entry.getKey();
+				TargetProperty property = resolved.get(key);
+				if (property == null) {
+					property = find(key);
+					if (property == null) {
+						property = TargetProperty.NONE;
+					}
+					if (resolved.size() < MAX_CACHED_KEYS) {
+						resolved.putIfAbsent(key, property);
+					}
+				}
+				if (property != TargetProperty.NONE) {
+					property.set(instance, entry.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * 编译后的Bean到Bean复制计划
+	 */
+	private static final class CopyPlan {
+
+		final Method[] readMethods;
+
+		final TargetProperty[] targets;
+
+		CopyPlan(Class<?> sourceClass, TargetPlan target) {
+			List<Method> reads = new ArrayList<Method>();
+			List<TargetProperty> writes = new ArrayList<TargetProperty>();
+			Set<TargetProperty> assigned = new LinkedHashSet<TargetProperty>();
+			PropertyDescriptor[] pds = BeanUtils.getPropertyDescriptors(sourceClass);
+			// 精确匹配优先，其次忽略大小写匹配
+			for (int pass = 0; pass < 2; pass++) {
+				for (PropertyDescriptor pd : pds) {
+					Method readMethod = pd.getReadMethod();
+					if (readMethod == null || "class".equals(pd.getName())) {
+						continue;
+					}
+					TargetProperty property = pass == 0 ? target.exact.get(pd.getName()) : target.lowerCase
+							.get(pd.getName().toLowerCase(Locale.ENGLISH));
+					if (property == null || !assigned.add(property)) {
+						continue;
+					}
+					ReflectUtil.makeAccessible(readMethod);
+					reads.add(readMethod);
+					writes.add(property);
+				}
+			}
+			this.readMethods = reads.toArray(new Method[reads.size()]);
+			this.targets = writes.toArray(new TargetProperty[writes.size()]);
+		}
+
+		void copy(Object source, Object instance) {
+			for (int i = 0; i < readMethods.length; i++) {
+				Object value;
+				try {
+					value = readMethods[i].invoke(source);
+				} catch (Exception e) {
+					throw ReflectUtil.convertReflectionExceptionToUnchecked(e);
+				}
+				targets[i].set(instance, value);
+			}
+		}
+	}
+
+	/**
+	 * 目标对象的一个可写属性
+	 */
+	private static final class TargetProperty {
+
+		static final TargetProperty NONE = new TargetProperty();
+
+		final String name;
+
+		final Method writeMethod;
+
+		/** 注册的转换器变化后替换为重新确定的值类型 */
+		private volatile ValueType valueType;
+
+		private TargetProperty() {
+			this.name = null;
+			this.writeMethod = null;
+			this.valueType = null;
+		}
+
+		TargetProperty(String name, Method writeMethod) {
+			this.name = name;
+			this.writeMethod = writeMethod;
+			ReflectUtil.makeAccessible(writeMethod);
+			this.valueType = ValueType.of(writeMethod.getGenericParameterTypes()[0]);
+		}
+
+		void set(Object instance, Object value) {
+			ValueType valueType = this.valueType.current();
+			if (valueType != this.valueType) {
+				this.valueType = valueType;
+			}
+			Object converted;
+			try {
+				converted = valueType.convert(value);
+			} catch (RuntimeException e) {
+				logger.warn("属性" + name + "的值[" + value + "]不能转换为" + valueType.raw.getName(), e);
+				return;
+			}
+			if (converted == null && valueType.raw.isPrimitive()) {
+				return;
+			}
+			try {
+				writeMethod.invoke(instance, converted);
+			} catch (Exception e) {
+				throw ReflectUtil.convertReflectionExceptionToUnchecked(e);
+			}
+		}
+	}
+
+	/**
+	 * 编译时确定的值目标类型及其转换方式
+	 *
+	 * 转换器和BEAN/OTHER分类取决于ConversionRegistry中注册的转换器，记录确定时的注册表版本，
+	 * 版本变化后通过current()重新确定。
+	 */
+	private static final class ValueType {
+
+		private static final int OBJECT = 0, STRING = 1, NUMBER = 2, BOOLEAN = 3, CHAR = 4, ENUM = 5, DATE = 6,
+				COLLECTION = 7, ARRAY = 8, MAP = 9, BEAN = 10, OTHER = 11;
+
+		private static final ConcurrentMap<Type, ValueType> CACHE = new ConcurrentHashMap<Type, ValueType>();
+
+		final Type type;
+
+		/** 确定转换器时ConversionRegistry的版本 */
+		final int version;
+
+		final Class<?> raw;
+
+		final Class<?> boxed;
+
+		final int kind;
+
+		final Type elementType;
+
+		final Converter<String, ? extends Object> converter;
+
+		final Constructor<?> valueConstructor;
+
+		private volatile ValueType element;
+
+		static ValueType of(Type type) {
+			ValueType valueType = CACHE.get(type);
+			if (valueType == null || valueType.version != ConversionRegistry.getVersion()) {
+				valueType = new ValueType(type);
+				CACHE.put(type, valueType);
+			}
+			return valueType;
+		}
+
+		/**
+		 * 注册的转换器没有变化时返回自身，否则返回重新确定的值类型
+		 */
+		ValueType current() {
+			return version == ConversionRegistry.getVersion() ? this : of(type);
+		}
+
+		private ValueType(Type type) {
+			this.type = type;
+			// 先取版本再取转换器，并发修改时最多多确定一次
+			this.version = ConversionRegistry.getVersion();
+			this.raw = rawClass(type);
+			this.boxed = raw.isPrimitive() ? boxedType(raw) : raw;
+			this.converter = ObjectUtil.getConverter(boxed);
+			Type elemType = null;
+			Constructor<?> ctor = null;
+			if (boxed == Object.class) {
+				kind = OBJECT;
+			} else if (boxed == String.class) {
+				kind = STRING;
+			} else if (Number.class.isAssignableFrom(boxed) && boxed.getName().startsWith("java.")) {
+				kind = NUMBER;
+			} else if (boxed == Boolean.class) {
+				kind = BOOLEAN;
+			} else if (boxed == Character.class) {
+				kind = CHAR;
+			} else if (boxed.isEnum()) {
+				kind = ENUM;
+			} else if (Date.class.isAssignableFrom(boxed)) {
+				kind = DATE;
+				ctor = constructor(boxed, long.class);
+			} else if (boxed.isArray()) {
+				kind = ARRAY;
+				elemType = boxed.getComponentType();
+			} else if (Collection.class.isAssignableFrom(boxed)) {
+				kind = COLLECTION;
+				elemType = typeArgument(type, 0);
+			} else if (Map.class.isAssignableFrom(boxed)) {
+				kind = MAP;
+			} else if (converter == null && !boxed.getName().startsWith("java.") && !boxed.isInterface()
+					&& !Modifier.isAbstract(boxed.getModifiers())
+					&& constructor(boxed, String.class) == null) {
+				kind = BEAN;
+			} else {
+				kind = OTHER;
+				ctor = constructor(boxed, String.class);
+			}
+			this.elementType = elemType;
+			this.valueConstructor = ctor;
+		}
+
+		Object convert(Object value) {
+			if (value == null) {
+				return null;
+			}
+			switch (kind) {
+			case OBJECT:
+				return value;
+			case STRING:
+				if (value instanceof Date) {
+					return String.valueOf(((Date) value).getTime());
+				}
+				return value.toString();
+			case NUMBER:
+				return toNumber(value);
+			case BOOLEAN:
+				return toBoolean(value);
+			case CHAR:
+				if (value instanceof Character) {
+					return value;
+				}
+				String chars = value.toString();
+				return chars.length() == 0 ? null : Character.valueOf(chars.charAt(0));
+			case ENUM:
+				return toEnum(value);
+			case DATE:
+				return toDate(value);
+			case ARRAY:
+			case COLLECTION:
+				return toCollection(value);
+			case MAP:
+				if (value instanceof Map) {
+					return new LinkedHashMap<Object, Object>((Map<?, ?>) value);
+				}
+				return null;
+			case BEAN:
+				if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+					return null;
+				}
+				return BeanConverter.convert(value, raw);
+			default:
+				return toOther(value);
+			}
+		}
+
+		private Object toNumber(Object value) {
+			if (boxed.isInstance(value)) {
+				return value;
+			}
+			if (value instanceof Number) {
+				Number number = (Number) value;
+				if (boxed == Integer.class) {
+					return number.intValue();
+				} else if (boxed == Long.class) {
+					return number.longValue();
+				} else if (boxed == Double.class) {
+					return number.doubleValue();
+				} else if (boxed == Float.class) {
+					return number.floatValue();
+				} else if (boxed == Short.class) {
+					return number.shortValue();
+				} else if (boxed == Byte.class) {
+					return number.byteValue();
+				} else if (boxed == BigDecimal.class) {
+					return number instanceof BigInteger ? new BigDecimal((BigInteger) number) : new BigDecimal(
+							number.toString());
+				} else if (boxed == BigInteger.class) {
+					return number instanceof BigDecimal ? ((BigDecimal) number).toBigInteger() : BigInteger
+							.valueOf(number.longValue());
+				}
+			}
+			if (value instanceof Boolean) {
+				return toNumber(((Boolean) value).booleanValue() ? 1 : 0);
+			}
+			String text = value.toString().trim();
+			if (text.length() == 0) {
+				return null;
+			}
+			if (boxed == Integer.class) {
+				return Integer.valueOf(text);
+			} else if (boxed == Long.class) {
+				return Long.valueOf(text);
+			} else if (boxed == Double.class) {
+				return Double.valueOf(text);
+			} else if (boxed == Float.class) {
+				return Float.valueOf(text);
+			} else if (boxed == Short.class) {
+				return Short.valueOf(text);
+			} else if (boxed == Byte.class) {
+				return Byte.valueOf(text);
+			} else if (boxed == BigDecimal.class) {
+				return new BigDecimal(text);
+			} else if (boxed == BigInteger.class) {
+				return new BigInteger(text);
+			}
+			return toOther(text);
+		}
+
+		private Object toBoolean(Object value) {
+			if (value instanceof Boolean) {
+				return value;
+			}
+			if (value instanceof Number) {
+				return ((Number) value).intValue() != 0;
+			}
+			String text = value.toString().trim();
+			if (text.length() == 0) {
+				return null;
+			}
+			return "true".equalsIgnoreCase(text) || "1".equals(text);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object toEnum(Object value) {
+			if (boxed.isInstance(value)) {
+				return value;
+			}
+			if (value instanceof Number) {
+				return boxed.getEnumConstants()[((Number) value).intValue()];
+			}
+			String text = value instanceof Enum ? ((Enum<?>) value).name() : value.toString().trim();
+			if (text.length() == 0) {
+				return null;
+			}
+			return Enum.valueOf((Class<? extends Enum>) boxed, text);
+		}
+
+		private Object toDate(Object value) {
+			long time;
+			if (value instanceof Date) {
+				time = ((Date) value).getTime();
+			} else if (value instanceof Number) {
+				time = ((Number) value).longValue();
+			} else if (converter != null) {
+				Object converted = converter.convert(value.toString());
+				if (converted == null || boxed.isInstance(converted)) {
+					return converted;
+				}
+				time = ((Date) converted).getTime();
+			} else {
+				return null;
+			}
+			if (boxed == Date.class) {
+				return new Date(time);
+			}
+			return valueConstructor == null ? null : BeanUtils.instantiateClass(valueConstructor, time);
+		}
+
+		private Object toCollection(Object value) {
+			ValueType itemType = element;
+			if (itemType == null || itemType.version != version) {
+				itemType = of(elementType == null ? Object.class : elementType);
+				element = itemType;
+			}
+			List<Object> items = new ArrayList<Object>();
+			if (value instanceof Collection) {
+				for (Object item : (Collection<?>) value) {
+					items.add(itemType.convert(item));
+				}
+			} else if (value.getClass().isArray()) {
+				int length = Array.getLength(value);
+				for (int i = 0; i < length; i++) {
+					items.add(itemType.convert(Array.get(value, i)));
+				}
+			} else {
+				items.add(itemType.convert(value));
+			}
+			if (kind == ARRAY) {
+				Object array = Array.newInstance(raw.getComponentType(), items.size());
+				for (int i = 0; i < items.size(); i++) {
+					Object item = items.get(i);
+					if (item != null || !raw.getComponentType().isPrimitive()) {
+						Array.set(array, i, item);
+					}
+				}
+				return array;
+			}
+			if (raw.isAssignableFrom(ArrayList.class)) {
+				return items;
+			}
+			if (raw.isAssignableFrom(LinkedHashSet.class)) {
+				return new LinkedHashSet<Object>(items);
+			}
+			@SuppressWarnings("unchecked")
+			Collection<Object> collection = (Collection<Object>) BeanUtils.instantiate(raw);
+			collection.addAll(items);
+			return collection;
+		}
+
+		private Object toOther(Object value) {
+			if (boxed.isInstance(value)) {
+				return value;
+			}
+			if (converter != null) {
+				return converter.convert(value.toString());
+			}
+			if (valueConstructor != null) {
+				return BeanUtils.instantiateClass(valueConstructor, value.toString());
+			}
+			return null;
+		}
+
+		private static Constructor<?> constructor(Class<?> type, Class<?> parameterType) {
+			try {
+				return type.getConstructor(parameterType);
+			} catch (NoSuchMethodException e) {
+				return null;
+			}
+		}
+
+		private static Type typeArgument(Type type, int index) {
+			if (type instanceof ParameterizedType) {
+				Type argument = ((ParameterizedType) type).getActualTypeArguments()[index];
+				if (argument instanceof WildcardType) {
+					return ((WildcardType) argument).getUpperBounds()[0];
+				}
+				return argument;
+			}
+			return Object.class;
+		}
+
+		private static Class<?> rawClass(Type type) {
+			if (type instanceof Class) {
+				return (Class<?>) type;
+			}
+			if (type instanceof ParameterizedType) {
+				return (Class<?>) ((ParameterizedType) type).getRawType();
+			}
+			if (type instanceof WildcardType) {
+				return rawClass(((WildcardType) type).getUpperBounds()[0]);
+			}
+			return Object.class;
+		}
+
+		private static Class<?> boxedType(Class<?> primitive) {
+			if (primitive == int.class) {
+				return Integer.class;
+			} else if (primitive == long.class) {
+				return Long.class;
+			} else if (primitive == boolean.class) {
+				return Boolean.class;
+			} else if (primitive == double.class) {
+				return Double.class;
+			} else if (primitive == float.class) {
+				return Float.class;
+			} else if (primitive == short.class) {
+				return Short.class;
+			} else if (primitive == byte.class) {
+				return Byte.class;
+			} else if (primitive == char.class) {
+				return Character.class;
+			}
+			return primitive;
+		}
+	}
+
+	/**
+	 * 复制计划的缓存键
+	 */
+	private static final class PlanKey {
+
+		final Class<?> source;
+
+		final Class<?> target;
+
+		PlanKey(Class<?> source, Class<?> target) {
+			this.source = source;
+			this.target = target;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof PlanKey)) {
+				return false;
+			}
+			PlanKey other = (PlanKey) obj;
+			return source == other.source && target == other.target;
+		}
+
+		@Override
+		public int hashCode() {
+			return source.hashCode() * 31 + target.hashCode();
+		}
+	}
+
+}
@@ -0,0 +1,713 @@
+package com.coul.common.utils.serialize;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按字段读写的紧凑二进制序列化实现
+ *
+ * 普通类（如BaseDomain、Entity的子类）按字段写入，类型描述在同一个字节流中只写一次，
+ * 注册到ClassRegistry的类只写编号；整数使用变长编码。
+ * 启用schemaEvolution（默认）时每个类第一次出现时写入字段名，读取时按名称对应字段：
+ * 新增的字段保持构造方法设置的值，已删除的字段被忽略；关闭时只写字段数量，读写双方的类必须一致。
+ * 无法按字段处理的类型（见ClassPlan）以Java序列化的字节嵌入。
+ * 反序列化时按类名指定的类必须在ClassRegistry允许的包中，未注册的类还必须实现Serializable，
+ * 嵌入的Java序列化字节同样只解析允许的类。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class BinaryObjectSerializer implements ObjectSerializer {
+
+	public static final String NAME = "binary";
+
+	/** 格式标识，最低位表示是否包含字段名 */
+	private static final int HEADER = 0xC0;
+	private static final int HEADER_SCHEMA = 0x01;
+
+	private static final int T_NULL = 0;
+	private static final int T_REF = 1;
+	private static final int T_STRING = 2;
+	private static final int T_INT = 3;
+	private static final int T_LONG = 4;
+	private static final int T_TRUE = 5;
+	private static final int T_FALSE = 6;
+	private static final int T_BYTE = 7;
+	private static final int T_SHORT = 8;
+	private static final int T_CHAR = 9;
+	private static final int T_FLOAT = 10;
+	private static final int T_DOUBLE = 11;
+	private static final int T_BIG_DECIMAL = 12;
+	private static final int T_BIG_INTEGER = 13;
+	private static final int T_DATE = 14;
+	private static final int T_ENUM = 15;
+	private static final int T_BYTES = 16;
+	private static final int T_ARRAY = 17;
+	private static final int T_COLLECTION = 18;
+	private static final int T_MAP = 19;
+	private static final int T_OBJECT = 20;
+	private static final int T_JAVA = 21;
+
+	private static final int DATE_UTIL = 0;
+	private static final int DATE_SQL = 1;
+	private static final int DATE_TIME = 2;
+	private static final int DATE_TIMESTAMP = 3;
+
+	private static final Map<String, Class<?>> PRIMITIVES = new HashMap<String, Class<?>>();
+
+	static {
+		for (Class<?> type : Arrays.<Class<?>> asList(int.class, long.class, boolean.class, double.class, float.class,
+				short.class, byte.class, char.class)) {
+			PRIMITIVES.put(type.getName(), type);
+		}
+	}
+
+	private JavaObjectSerializer java;
+
+	private ClassRegistry classRegistry;
+
+	private boolean schemaEvolution = true;
+
+	public BinaryObjectSerializer() {
+		this(new ClassRegistry());
+	}
+
+	public BinaryObjectSerializer(ClassRegistry classRegistry) {
+		setClassRegistry(classRegistry);
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public byte[] serialize(Object obj) throws IOException {
+		Writer writer = new Writer();
+		writer.out.writeByte(schemaEvolution ? HEADER | HEADER_SCHEMA : HEADER);
+		writer.writeValue(obj);
+		return writer.out.toByteArray();
+	}
+
+	@Override
+	public Object deserialize(byte[] data) throws IOException {
+		Input in = new Input(data);
+		try {
+			int header = in.readByte();
+			if((header & ~HEADER_SCHEMA) != HEADER) {
+				throw new IOException("不是二进制序列化格式: " + Integer.toHexString(header));
+			}
+			return new Reader(in, (header & HEADER_SCHEMA) != 0).readValue();
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IOException("数据不完整", e);
+		}
+	}
+
+	public void setClassRegistry(ClassRegistry classRegistry) {
+		this.classRegistry = classRegistry;
+		this.java = new JavaObjectSerializer(classRegistry);
+	}
+
+	public ClassRegistry getClassRegistry() {
+		return classRegistry;
+	}
+
+	/**
+	 * 是否写入字段名以支持类结构变化，默认true
+	 */
+	public void setSchemaEvolution(boolean schemaEvolution) {
+		this.schemaEvolution = schemaEvolution;
+	}
+
+	private static ClassLoader classLoader() {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return loader != null ? loader : BinaryObjectSerializer.class.getClassLoader();
+	}
+
+	/**
+	 * 一次序列化过程的状态
+	 */
+	private final class Writer {
+		final Output out = new Output();
+		/** 已写入的对象及其编号 */
+		final Map<Object, Integer> references = new IdentityHashMap<Object, Integer>();
+		/** 已写入的类型及其编号 */
+		final Map<Class<?>, Integer> classes = new HashMap<Class<?>, Integer>();
+		/** 已写入字段描述的类型 */
+		final Map<Class<?>, Boolean> schemas = new HashMap<Class<?>, Boolean>();
+
+		void writeValue(Object value) throws IOException {
+			if(value == null) {
+				out.writeByte(T_NULL);
+				return;
+			}
+			ClassPlan plan = ClassPlan.of(value.getClass());
+			if(plan.kind == ClassPlan.IMMUTABLE) {
+				writeImmutable(value);
+				return;
+			}
+			if(plan.kind == ClassPlan.ENUM) {
+				out.writeByte(T_ENUM);
+				writeClass(((Enum<?>) value).getDeclaringClass());
+				out.writeString(((Enum<?>) value).name());
+				return;
+			}
+			Integer reference = references.get(value);
+			if(reference != null) {
+				out.writeByte(T_REF);
+				out.writeVarInt(reference);
+				return;
+			}
+			references.put(value, references.size());
+			switch (plan.kind) {
+			case ClassPlan.DATE:
+				writeDate((Date) value);
+				break;
+			case ClassPlan.ARRAY:
+				writeArray(value);
+				break;
+			case ClassPlan.COLLECTION:
+				if(ClassPlan.comparator(value) != null) {
+					writeJava(value);
+				} else {
+					out.writeByte(T_COLLECTION);
+					writeClass(value.getClass());
+					Collection<?> collection = (Collection<?>) value;
+					out.writeVarInt(collection.size());
+					for (Object item : collection) {
+						writeValue(item);
+					}
+				}
+				break;
+			case ClassPlan.MAP:
+				if(ClassPlan.comparator(value) != null) {
+					writeJava(value);
+				} else {
+					out.writeByte(T_MAP);
+					writeClass(value.getClass());
+					Map<?, ?> map = (Map<?, ?>) value;
+					out.writeVarInt(map.size());
+					for (Map.Entry<?, ?> entry : map.entrySet()) {
+						writeValue(entry.getKey());
+						writeValue(entry.getValue());
+					}
+				}
+				break;
+			case ClassPlan.OBJECT:
+				writeObject(plan, value);
+				break;
+			default:
+				writeJava(value);
+			}
+		}
+
+		private void writeImmutable(Object value) {
+			Class<?> type = value.getClass();
+			if(type == String.class) {
+				out.writeByte(T_STRING);
+				out.writeString((String) value);
+			} else if(type == Integer.class) {
+				out.writeByte(T_INT);
+				out.writeVarInt(zigzag((Integer) value));
+			} else if(type == Long.class) {
+				out.writeByte(T_LONG);
+				out.writeVarLong(zigzag((Long) value));
+			} else if(type == Boolean.class) {
+				out.writeByte((Boolean) value ? T_TRUE : T_FALSE);
+			} else if(type == Double.class) {
+				out.writeByte(T_DOUBLE);
+				out.writeLong64(Double.doubleToLongBits((Double) value));
+			} else if(type == Float.class) {
+				out.writeByte(T_FLOAT);
+				out.writeVarInt(Float.floatToIntBits((Float) value));
+			} else if(type == Short.class) {
+				out.writeByte(T_SHORT);
+				out.writeVarInt(zigzag((Short) value));
+			} else if(type == Byte.class) {
+				out.writeByte(T_BYTE);
+				out.writeByte((Byte) value);
+			} else if(type == Character.class) {
+				out.writeByte(T_CHAR);
+				out.writeVarInt((Character) value);
+			} else if(type == BigDecimal.class) {
+				out.writeByte(T_BIG_DECIMAL);
+				out.writeString(value.toString());
+			} else {
+				out.writeByte(T_BIG_INTEGER);
+				out.writeString(value.toString());
+			}
+		}
+
+		private void writeDate(Date date) {
+			out.writeByte(T_DATE);
+			if(date instanceof Timestamp) {
+				out.writeByte(DATE_TIMESTAMP);
+				out.writeVarLong(zigzag(date.getTime()));
+				out.writeVarInt(((Timestamp) date).getNanos());
+				return;
+			}
+			out.writeByte(date instanceof java.sql.Date ? DATE_SQL : date instanceof Time ? DATE_TIME : DATE_UTIL);
+			out.writeVarLong(zigzag(date.getTime()));
+		}
+
+		private void writeArray(Object array) throws IOException {
+			if(array instanceof byte[]) {
+				byte[] bytes = (byte[]) array;
+				out.writeByte(T_BYTES);
+				out.writeVarInt(bytes.length);
+				out.writeBytes(bytes);
+				return;
+			}
+			out.writeByte(T_ARRAY);
+			writeClass(array.getClass().getComponentType());
+			int length = Array.getLength(array);
+			out.writeVarInt(length);
+			if(array instanceof Object[]) {
+				for (Object item : (Object[]) array) {
+					writeValue(item);
+				}
+			} else {
+				for (int i = 0; i < length; i++) {
+					writeValue(Array.get(array, i));
+				}
+			}
+		}
+
+		private void writeObject(ClassPlan plan, Object value) throws IOException {
+			out.writeByte(T_OBJECT);
+			writeClass(plan.type);
+			FieldAccessor[] fields = plan.fields;
+			if(schemas.put(plan.type, Boolean.TRUE) == null) {
+				out.writeVarInt(fields.length);
+				if(schemaEvolution) {
+					for (FieldAccessor field : fields) {
+						out.writeString(field.name);
+					}
+				}
+			}
+			for (FieldAccessor field : fields) {
+				writeValue(field.get(value));
+			}
+		}
+
+		private void writeJava(Object value) throws IOException {
+			byte[] bytes = java.serialize(value);
+			out.writeByte(T_JAVA);
+			out.writeVarInt(bytes.length);
+			out.writeBytes(bytes);
+		}
+
+		private void writeClass(Class<?> type) {
+			Integer index = classes.get(type);
+			if(index != null) {
+				out.writeVarInt(index + 1);
+				return;
+			}
+			classes.put(type, classes.size());
+			out.writeVarInt(0);
+			int id = classRegistry.getId(type);
+			out.writeVarInt(id);
+			if(id == 0) {
+				out.writeString(type.getName());
+			}
+		}
+	}
+
+	/**
+	 * 一次反序列化过程的状态
+	 */
+	private final class Reader {
+		final Input in;
+		final boolean schema;
+		final List<Object> references = new ArrayList<Object>();
+		final List<Class<?>> classes = new ArrayList<Class<?>>();
+		/** 字节流中各类型的字段对应的本地字段，找不到的为null */
+		final Map<Class<?>, FieldAccessor[]> schemas = new HashMap<Class<?>, FieldAccessor[]>();
+
+		Reader(Input in, boolean schema) {
+			this.in = in;
+			this.schema = schema;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Object readValue() throws IOException {
+			int tag = in.readByte();
+			switch (tag) {
+			case T_NULL:
+				return null;
+			case T_REF:
+				return references.get(in.readVarInt());
+			case T_STRING:
+				return in.readString();
+			case T_INT:
+				return unzigzag(in.readVarInt());
+			case T_LONG:
+				return unzigzag(in.readVarLong());
+			case T_TRUE:
+				return Boolean.TRUE;
+			case T_FALSE:
+				return Boolean.FALSE;
+			case T_BYTE:
+				return (byte) in.readByte();
+			case T_SHORT:
+				return (short) unzigzag(in.readVarInt());
+			case T_CHAR:
+				return (char) in.readVarInt();
+			case T_FLOAT:
+				return Float.intBitsToFloat(in.readVarInt());
+			case T_DOUBLE:
+				return Double.longBitsToDouble(in.readLong64());
+			case T_BIG_DECIMAL:
+				return new BigDecimal(in.readString());
+			case T_BIG_INTEGER:
+				return new BigInteger(in.readString());
+			case T_DATE:
+				return readDate();
+			case T_ENUM: {
+				Class<? extends Enum> type = (Class<? extends Enum>) readClass();
+				return Enum.valueOf(type, in.readString());
+			}
+			case T_BYTES: {
+				byte[] bytes = in.readBytes(in.readVarInt());
+				references.add(bytes);
+				return bytes;
+			}
+			case T_ARRAY:
+				return readArray();
+			case T_COLLECTION: {
+				Collection<Object> collection = (Collection<Object>) newInstance(readClass(), Collection.class);
+				references.add(collection);
+				int size = in.readVarInt();
+				for (int i = 0; i < size; i++) {
+					collection.add(readValue());
+				}
+				return collection;
+			}
+			case T_MAP: {
+				Map<Object, Object> map = (Map<Object, Object>) newInstance(readClass(), Map.class);
+				references.add(map);
+				int size = in.readVarInt();
+				for (int i = 0; i < size; i++) {
+					Object key = readValue();
+					map.put(key, readValue());
+				}
+				return map;
+			}
+			case T_OBJECT:
+				return readObject();
+			case T_JAVA: {
+				Object value = java.deserialize(in.readBytes(in.readVarInt()));
+				references.add(value);
+				return value;
+			}
+			default:
+				throw new IOException("未知的数据类型标记: " + tag);
+			}
+		}
+
+		private Date readDate() throws IOException {
+			int type = in.readByte();
+			long time = unzigzag(in.readVarLong());
+			Date date;
+			if(type == DATE_TIMESTAMP) {
+				Timestamp timestamp = new Timestamp(time);
+				timestamp.setNanos(in.readVarInt());
+				date = timestamp;
+			} else if(type == DATE_SQL) {
+				date = new java.sql.Date(time);
+			} else if(type == DATE_TIME) {
+				date = new Time(time);
+			} else {
+				date = new Date(time);
+			}
+			references.add(date);
+			return date;
+		}
+
+		private Object readArray() throws IOException {
+			Class<?> componentType = readClass();
+			int length = in.readVarInt();
+			Object array = Array.newInstance(componentType, length);
+			references.add(array);
+			if(array instanceof Object[]) {
+				Object[] items = (Object[]) array;
+				for (int i = 0; i < length; i++) {
+					items[i] = readValue();
+				}
+			} else {
+				for (int i = 0; i < length; i++) {
+					Array.set(array, i, readValue());
+				}
+			}
+			return array;
+		}
+
+		private Object readObject() throws IOException {
+			Class<?> type = readClass();
+			checkSerializable(type);
+			ClassPlan plan = ClassPlan.of(type);
+			FieldAccessor[] fields = schemas.get(type);
+			if(fields == null) {
+				fields = readSchema(plan);
+				schemas.put(type, fields);
+			}
+			if(plan.kind != ClassPlan.OBJECT) {
+				throw new IOException(type.getName() + "不能按字段反序列化");
+			}
+			Object value = plan.newInstance();
+			references.add(value);
+			for (FieldAccessor field : fields) {
+				Object fieldValue = readValue();
+				if(field == null) {
+					continue;
+				}
+				try {
+					field.set(value, fieldValue);
+				} catch (IllegalArgumentException e) {
+					throw new IOException(type.getName() + "." + field.name + "的类型与数据不一致", e);
+				}
+			}
+			return value;
+		}
+
+		private FieldAccessor[] readSchema(ClassPlan plan) throws IOException {
+			int count = in.readVarInt();
+			if(!schema) {
+				if(plan.fields == null || plan.fields.length != count) {
+					throw new IOException(plan.type.getName() + "的字段与数据不一致，需要启用schemaEvolution");
+				}
+				return plan.fields;
+			}
+			FieldAccessor[] fields = new FieldAccessor[count];
+			for (int i = 0; i < count; i++) {
+				String name = in.readString();
+				fields[i] = plan.fieldsByName == null ? null : plan.fieldsByName.get(name);
+			}
+			return fields;
+		}
+
+		private Class<?> readClass() throws IOException {
+			int index = in.readVarInt();
+			if(index > 0) {
+				return classes.get(index - 1);
+			}
+			int id = in.readVarInt();
+			Class<?> type;
+			if(id > 0) {
+				type = classRegistry.getRegisteredClass(id);
+				if(type == null) {
+					throw new IOException("未注册的类型编号: " + id);
+				}
+			} else {
+				String name = in.readString();
+				type = PRIMITIVES.get(name);
+				if(type == null) {
+					if(!classRegistry.isAllowed(name)) {
+						throw new IOException("不允许反序列化的类型: " + name);
+					}
+					try {
+						type = Class.forName(name, false, classLoader());
+					} catch (ClassNotFoundException e) {
+						throw new IOException("找不到类型: " + name, e);
+					}
+				}
+			}
+			classes.add(type);
+			return type;
+		}
+
+		/**
+		 * 未注册的类必须实现Serializable，避免字节流实例化任意类
+		 */
+		private void checkSerializable(Class<?> type) throws IOException {
+			if(classRegistry.getId(type) == 0 && !Serializable.class.isAssignableFrom(type)) {
+				throw new IOException(type.getName() + "未实现Serializable且未注册");
+			}
+		}
+
+		private Object newInstance(Class<?> type, Class<?> expected) throws IOException {
+			if(!expected.isAssignableFrom(type)) {
+				throw new IOException(type.getName() + "不是" + expected.getName());
+			}
+			checkSerializable(type);
+			try {
+				return type.newInstance();
+			} catch (Exception e) {
+				throw new IOException("创建" + type.getName() + "实例失败", e);
+			}
+		}
+	}
+
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * 自动扩容的字节缓冲区
+	 */
+	private static final class Output {
+		private byte[] buffer = new byte[256];
+		private int position;
+
+		private void ensure(int length) {
+			if(position + length > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+			}
+		}
+
+		void writeByte(int value) {
+			ensure(1);
+			buffer[position++] = (byte) value;
+		}
+
+		void writeBytes(byte[] bytes) {
+			ensure(bytes.length);
+			System.arraycopy(bytes, 0, buffer, position, bytes.length);
+			position += bytes.length;
+		}
+
+		void writeVarInt(int value) {
+			ensure(5);
+			while ((value & ~0x7F) != 0) {
+				buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		void writeVarLong(long value) {
+			ensure(10);
+			while ((value & ~0x7FL) != 0) {
+				buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		void writeLong64(long value) {
+			ensure(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				buffer[position++] = (byte) (value >>> shift);
+			}
+		}
+
+		/**
+		 * 写入字符数和每个字符的变长编码，ASCII字符占一个字节，常用汉字占三个字节
+		 */
+		void writeString(String value) {
+			int length = value.length();
+			writeVarInt(length);
+			ensure(length * 3);
+			for (int i = 0; i < length; i++) {
+				char c = value.charAt(i);
+				if(c < 0x80) {
+					buffer[position++] = (byte) c;
+				} else {
+					writeVarInt(c);
+				}
+			}
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer, position);
+		}
+	}
+
+	/**
+	 * 字节数组读取器
+	 */
+	private static final class Input {
+		private final byte[] buffer;
+		private int position;
+
+		Input(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+		int readByte() {
+			return buffer[position++] & 0xFF;
+		}
+
+		byte[] readBytes(int length) {
+			if(position + length > buffer.length) {
+				throw new ArrayIndexOutOfBoundsException(position + length);
+			}
+			byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+			position += length;
+			return bytes;
+		}
+
+		int readVarInt() {
+			int value = 0;
+			for (int shift = 0; shift < 32; shift += 7) {
+				int b = buffer[position++];
+				value |= (b & 0x7F) << shift;
+				if((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			return value;
+		}
+
+		long readVarLong() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				int b = buffer[position++];
+				value |= (long) (b & 0x7F) << shift;
+				if((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			return value;
+		}
+
+		long readLong64() {
+			long value = 0;
+			for (int i = 0; i < 8; i++) {
+				value = (value << 8) | (buffer[position++] & 0xFF);
+			}
+			return value;
+		}
+
+		String readString() {
+			int length = readVarInt();
+			char[] chars = new char[length];
+			for (int i = 0; i < length; i++) {
+				int b = buffer[position];
+				if(b >= 0) {
+					chars[i] = (char) b;
+					position++;
+				} else {
+					chars[i] = (char) readVarInt();
+				}
+			}
+			return new String(chars);
+		}
+	}
+
+}
@@ -0,0 +1,233 @@
+package com.coul.common.utils.serialize;
+
+import java.io.Externalizable;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类型的复制和序列化方式，每个类型只分析一次
+ *
+ * 普通类按字段逐个处理；JDK中的不可变类型、日期、数组和常用集合有专门的处理；
+ * 自定义了writeObject、readObject、writeReplace、readResolve，实现了Externalizable，
+ * 没有无参构造方法的类以及其他JDK类型使用Java序列化，保持其原有语义。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class ClassPlan {
+	/** String、包装类型、BigDecimal、BigInteger等不可变类型 */
+	static final int IMMUTABLE = 0;
+	/** 枚举 */
+	static final int ENUM = 1;
+	/** Date、java.sql.Date、Time、Timestamp */
+	static final int DATE = 2;
+	/** 数组 */
+	static final int ARRAY = 3;
+	/** 常用的List、Set实现 */
+	static final int COLLECTION = 4;
+	/** 常用的Map实现 */
+	static final int MAP = 5;
+	/** 按字段处理的普通类 */
+	static final int OBJECT = 6;
+	/** 使用Java序列化 */
+	static final int JAVA = 7;
+
+	private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>> asList(
+			String.class, Integer.class, Long.class, Short.class, Byte.class, Character.class, Boolean.class,
+			Float.class, Double.class, BigDecimal.class, BigInteger.class));
+
+	private static final Set<Class<?>> DATE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>> asList(
+			Date.class, java.sql.Date.class, Time.class, Timestamp.class));
+
+	private static final Set<Class<?>> COLLECTION_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>> asList(
+			ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, TreeSet.class));
+
+	private static final Set<Class<?>> MAP_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>> asList(
+			HashMap.class, LinkedHashMap.class, TreeMap.class, ConcurrentHashMap.class));
+
+	private static final ClassValue<ClassPlan> PLANS = new ClassValue<ClassPlan>() {
+		@Override
+		protected ClassPlan computeValue(Class<?> type) {
+			return new ClassPlan(type);
+		}
+	};
+
+	final Class<?> type;
+
+	final int kind;
+
+	/** OBJECT类型的无参构造方法 */
+	final Constructor<?> constructor;
+
+	/** OBJECT类型的字段，父类字段在前 */
+	final FieldAccessor[] fields;
+
+	/** 字段名到字段的映射 */
+	final Map<String, FieldAccessor> fieldsByName;
+
+	static ClassPlan of(Class<?> type) {
+		return PLANS.get(type);
+	}
+
+	private ClassPlan(Class<?> type) {
+		this.type = type;
+		Constructor<?> ctor = null;
+		FieldAccessor[] accessors = null;
+		Map<String, FieldAccessor> byName = null;
+		int k;
+		if(IMMUTABLE_TYPES.contains(type)) {
+			k = IMMUTABLE;
+		} else if(type.isEnum() || (type.getSuperclass() != null && type.getSuperclass().isEnum())) {
+			k = ENUM;
+		} else if(DATE_TYPES.contains(type)) {
+			k = DATE;
+		} else if(type.isArray()) {
+			k = ARRAY;
+		} else if(COLLECTION_TYPES.contains(type)) {
+			k = COLLECTION;
+		} else if(MAP_TYPES.contains(type)) {
+			k = MAP;
+		} else if(isJdkType(type) || Externalizable.class.isAssignableFrom(type) || hasSerializationHook(type)
+				|| type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			k = JAVA;
+		} else {
+			ctor = noArgConstructor(type);
+			if(ctor == null) {
+				k = JAVA;
+			} else {
+				k = OBJECT;
+				accessors = fieldsOf(type);
+				byName = new HashMap<String, FieldAccessor>();
+				for (FieldAccessor accessor : accessors) {
+					byName.put(accessor.name, accessor);
+				}
+			}
+		}
+		this.kind = k;
+		this.constructor = ctor;
+		this.fields = accessors;
+		this.fieldsByName = byName;
+	}
+
+	/**
+	 * 使用无参构造方法创建实例
+	 */
+	Object newInstance() {
+		try {
+			return constructor.newInstance();
+		} catch (Exception e) {
+			throw new IllegalStateException("创建" + type.getName() + "实例失败", e);
+		}
+	}
+
+	/**
+	 * TreeSet、TreeMap的比较器
+	 */
+	static Comparator<?> comparator(Object sorted) {
+		if(sorted instanceof TreeMap) {
+			return ((TreeMap<?, ?>) sorted).comparator();
+		}
+		if(sorted instanceof TreeSet) {
+			return ((TreeSet<?>) sorted).comparator();
+		}
+		return null;
+	}
+
+	private static boolean isJdkType(Class<?> type) {
+		String name = type.getName();
+		return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.")
+				|| name.startsWith("com.sun.");
+	}
+
+	private static boolean hasSerializationHook(Class<?> type) {
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			if(declares(c, "writeObject", ObjectOutputStream.class) || declares(c, "readObject", ObjectInputStream.class)
+					|| declares(c, "readObjectNoData") || declares(c, "writeReplace") || declares(c, "readResolve")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean declares(Class<?> type, String name, Class<?>... parameterTypes) {
+		try {
+			type.getDeclaredMethod(name, parameterTypes);
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static Constructor<?> noArgConstructor(Class<?> type) {
+		if(type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers())) {
+			return null;
+		}
+		try {
+			Constructor<?> ctor = type.getDeclaredConstructor();
+			ctor.setAccessible(true);
+			return ctor;
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (SecurityException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 获得类及其父类的非static、非transient字段，父类字段在前，同一个类中按名称排序；
+	 * 与父类字段同名的字段名称前加上类名
+	 */
+	private static FieldAccessor[] fieldsOf(Class<?> type) {
+		List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			hierarchy.add(0, c);
+		}
+		List<FieldAccessor> accessors = new ArrayList<FieldAccessor>();
+		Set<String> names = new HashSet<String>();
+		for (Class<?> c : hierarchy) {
+			Field[] declared = c.getDeclaredFields();
+			Arrays.sort(declared, new Comparator<Field>() {
+				@Override
+				public int compare(Field o1, Field o2) {
+					return o1.getName().compareTo(o2.getName());
+				}
+			});
+			for (Field field : declared) {
+				int modifiers = field.getModifiers();
+				if(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+					continue;
+				}
+				field.setAccessible(true);
+				String name = field.getName();
+				if(!names.add(name)) {
+					name = c.getSimpleName() + "." + name;
+				}
+				accessors.add(new FieldAccessor(field, name));
+			}
+		}
+		return accessors.toArray(new FieldAccessor[accessors.size()]);
+	}
+
+}
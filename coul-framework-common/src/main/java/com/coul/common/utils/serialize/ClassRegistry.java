@@ -0,0 +1,121 @@
+package com.coul.common.utils.serialize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 序列化类注册表，注册过的类在二进制格式中只写入整数编号，不写类名
+ *
+ * 读写双方必须使用相同的注册编号，编号从1开始。
+ * 反序列化时字节流按类名指定的类必须在allowedPackages中，注册过的类不受此限制。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class ClassRegistry {
+	/** 默认允许按类名反序列化的类所在的包 */
+	public static final String DEFAULT_ALLOWED_PACKAGES = "java.lang.,java.util.,java.math.,java.sql.,com.coul.";
+
+	/** 类型到编号的映射 */
+	private final Map<Class<?>, Integer> ids = new ConcurrentHashMap<Class<?>, Integer>();
+	/** 编号到类型的映射 */
+	private final Map<Integer, Class<?>> classes = new ConcurrentHashMap<Integer, Class<?>>();
+	/** 允许按类名反序列化的包 */
+	private volatile List<String> allowedPackages = parsePackages(DEFAULT_ALLOWED_PACKAGES);
+
+	/**
+	 * 注册类型
+	 *
+	 * @param clazz
+	 * @param id 大于0的编号
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public synchronized ClassRegistry register(Class<?> clazz, int id) {
+		if(id <= 0) {
+			throw new IllegalArgumentException("类型编号必须大于0: " + id);
+		}
+		Class<?> registered = classes.get(id);
+		if(registered != null && registered != clazz) {
+			throw new IllegalArgumentException("类型编号" + id + "已注册为" + registered.getName());
+		}
+		Integer oldId = ids.get(clazz);
+		if(oldId != null && oldId.intValue() != id) {
+			throw new IllegalArgumentException(clazz.getName() + "已注册为编号" + oldId);
+		}
+		ids.put(clazz, id);
+		classes.put(id, clazz);
+		return this;
+	}
+
+	/**
+	 * 获得类型的编号，未注册返回0
+	 */
+	public int getId(Class<?> clazz) {
+		Integer id = ids.get(clazz);
+		return id == null ? 0 : id.intValue();
+	}
+
+	/**
+	 * 获得编号对应的类型，未注册返回null
+	 */
+	public Class<?> getRegisteredClass(int id) {
+		return classes.get(id);
+	}
+
+	/**
+	 * 设置允许按类名反序列化的类所在的包，多个包以逗号分隔，需以.结尾，例如com.coul.
+	 */
+	public void setAllowedPackages(String packages) {
+		this.allowedPackages = parsePackages(packages);
+	}
+
+	/**
+	 * 类名是否允许反序列化，数组按元素类型判断，基本类型总是允许
+	 */
+	public boolean isAllowed(String className) {
+		String name = StringUtils.stripStart(className, "[");
+		if(name.length() < className.length()) {
+			// 数组类型[Lcom.coul.Foo;，基本类型数组[I
+			if(name.length() == 1) {
+				return true;
+			}
+			name = StringUtils.removeEnd(StringUtils.removeStart(name, "L"), ";");
+		}
+		for (String prefix : allowedPackages) {
+			if(name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 类型是否注册过或在允许的包中，数组按元素类型判断
+	 */
+	public boolean isAllowed(Class<?> clazz) {
+		Class<?> type = clazz;
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		return type.isPrimitive() || ids.containsKey(type) || isAllowed(type.getName());
+	}
+
+	private static List<String> parsePackages(String packages) {
+		List<String> result = new ArrayList<String>();
+		for (String name : StringUtils.split(StringUtils.defaultString(packages), ',')) {
+			if(StringUtils.isNotBlank(name)) {
+				result.add(name.trim());
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+}
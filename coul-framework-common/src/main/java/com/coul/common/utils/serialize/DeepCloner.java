@@ -0,0 +1,177 @@
+package com.coul.common.utils.serialize;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 不经过序列化的深层复制
+ *
+ * 普通类通过无参构造方法创建实例后逐个复制字段，transient字段保持构造方法设置的值；
+ * 不可变类型和枚举直接共享，日期、数组、常用集合创建新实例后复制元素；
+ * 同一个对象被多次引用或循环引用时复制结果保持相同的引用关系。
+ * 无法按字段复制的类型（见ClassPlan）仍然使用Java序列化复制。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class DeepCloner {
+
+	private static final JavaObjectSerializer JAVA = new JavaObjectSerializer();
+
+	/** 原对象到复制对象的映射 */
+	private final Map<Object, Object> copies = new IdentityHashMap<Object, Object>();
+
+	private DeepCloner() {
+	}
+
+	/**
+	 * 深层复制对象
+	 *
+	 * @param obj
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T clone(T obj) {
+		if(obj == null) {
+			return null;
+		}
+		return (T) new DeepCloner().copy(obj);
+	}
+
+	private Object copy(Object source) {
+		if(source == null) {
+			return null;
+		}
+		ClassPlan plan = ClassPlan.of(source.getClass());
+		if(plan.kind == ClassPlan.IMMUTABLE || plan.kind == ClassPlan.ENUM) {
+			return source;
+		}
+		Object copied = copies.get(source);
+		if(copied != null) {
+			return copied;
+		}
+		switch (plan.kind) {
+		case ClassPlan.DATE:
+			return copyDate(source);
+		case ClassPlan.ARRAY:
+			return copyArray(source);
+		case ClassPlan.COLLECTION:
+			return copyCollection(plan, source);
+		case ClassPlan.MAP:
+			return copyMap(plan, source);
+		case ClassPlan.OBJECT:
+			return copyObject(plan, source);
+		default:
+			return copyBySerialization(source);
+		}
+	}
+
+	private Object copyDate(Object source) {
+		Date date = (Date) source;
+		Date copied;
+		if(source instanceof Timestamp) {
+			Timestamp timestamp = new Timestamp(date.getTime());
+			timestamp.setNanos(((Timestamp) source).getNanos());
+			copied = timestamp;
+		} else if(source instanceof java.sql.Date) {
+			copied = new java.sql.Date(date.getTime());
+		} else if(source instanceof Time) {
+			copied = new Time(date.getTime());
+		} else {
+			copied = new Date(date.getTime());
+		}
+		copies.put(source, copied);
+		return copied;
+	}
+
+	private Object copyArray(Object source) {
+		Class<?> componentType = source.getClass().getComponentType();
+		int length = Array.getLength(source);
+		Object copied = Array.newInstance(componentType, length);
+		copies.put(source, copied);
+		if(componentType.isPrimitive()) {
+			System.arraycopy(source, 0, copied, 0, length);
+		} else {
+			Object[] from = (Object[]) source;
+			Object[] to = (Object[]) copied;
+			for (int i = 0; i < length; i++) {
+				to[i] = copy(from[i]);
+			}
+		}
+		return copied;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object copyCollection(ClassPlan plan, Object source) {
+		Collection<Object> copied;
+		if(source instanceof TreeSet) {
+			copied = new TreeSet<Object>((Comparator) ClassPlan.comparator(source));
+		} else {
+			copied = (Collection<Object>) newInstance(plan);
+		}
+		copies.put(source, copied);
+		for (Object item : (Collection<?>) source) {
+			copied.add(copy(item));
+		}
+		return copied;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object copyMap(ClassPlan plan, Object source) {
+		Map<Object, Object> copied;
+		if(source instanceof TreeMap) {
+			copied = new TreeMap<Object, Object>((Comparator) ClassPlan.comparator(source));
+		} else {
+			copied = (Map<Object, Object>) newInstance(plan);
+		}
+		copies.put(source, copied);
+		for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet()) {
+			copied.put(copy(entry.getKey()), copy(entry.getValue()));
+		}
+		return copied;
+	}
+
+	private Object copyObject(ClassPlan plan, Object source) {
+		Object copied = plan.newInstance();
+		copies.put(source, copied);
+		for (FieldAccessor field : plan.fields) {
+			if(field.kind == FieldAccessor.REFERENCE) {
+				field.set(copied, copy(field.get(source)));
+			} else {
+				field.copyPrimitive(source, copied);
+			}
+		}
+		return copied;
+	}
+
+	private Object copyBySerialization(Object source) {
+		try {
+			Object copied = JAVA.deserialize(JAVA.serialize(source));
+			copies.put(source, copied);
+			return copied;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("复制" + source.getClass().getName() + "失败", e);
+		}
+	}
+
+	private static Object newInstance(ClassPlan plan) {
+		try {
+			return plan.type.newInstance();
+		} catch (Exception e) {
+			throw new IllegalStateException("创建" + plan.type.getName() + "实例失败", e);
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.coul.common.utils.serialize;
+
+import java.lang.reflect.Field;
+
+/**
+ * 字段读写器，基本类型字段使用对应的getXxx/setXxx方法，避免装箱
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class FieldAccessor {
+	static final int REFERENCE = 0;
+	static final int INT = 1;
+	static final int LONG = 2;
+	static final int BOOLEAN = 3;
+	static final int DOUBLE = 4;
+	static final int FLOAT = 5;
+	static final int SHORT = 6;
+	static final int BYTE = 7;
+	static final int CHAR = 8;
+
+	final Field field;
+
+	/** 序列化使用的字段名 */
+	final String name;
+
+	final int kind;
+
+	FieldAccessor(Field field, String name) {
+		this.field = field;
+		this.name = name;
+		this.kind = kindOf(field.getType());
+	}
+
+	Object get(Object target) {
+		try {
+			return field.get(target);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	void set(Object target, Object value) {
+		try {
+			field.set(target, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 复制基本类型字段的值
+	 */
+	void copyPrimitive(Object source, Object target) {
+		try {
+			switch (kind) {
+			case INT:
+				field.setInt(target, field.getInt(source));
+				break;
+			case LONG:
+				field.setLong(target, field.getLong(source));
+				break;
+			case BOOLEAN:
+				field.setBoolean(target, field.getBoolean(source));
+				break;
+			case DOUBLE:
+				field.setDouble(target, field.getDouble(source));
+				break;
+			case FLOAT:
+				field.setFloat(target, field.getFloat(source));
+				break;
+			case SHORT:
+				field.setShort(target, field.getShort(source));
+				break;
+			case BYTE:
+				field.setByte(target, field.getByte(source));
+				break;
+			default:
+				field.setChar(target, field.getChar(source));
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int kindOf(Class<?> type) {
+		if(!type.isPrimitive()) {
+			return REFERENCE;
+		} else if(type == int.class) {
+			return INT;
+		} else if(type == long.class) {
+			return LONG;
+		} else if(type == boolean.class) {
+			return BOOLEAN;
+		} else if(type == double.class) {
+			return DOUBLE;
+		} else if(type == float.class) {
+			return FLOAT;
+		} else if(type == short.class) {
+			return SHORT;
+		} else if(type == byte.class) {
+			return BYTE;
+		}
+		return CHAR;
+	}
+
+}
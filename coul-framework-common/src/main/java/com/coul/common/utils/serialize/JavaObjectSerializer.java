@@ -0,0 +1,92 @@
+package com.coul.common.utils.serialize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+
+/**
+ * 基于Java序列化的实现，对象必须实现Serializable
+ *
+ * 指定ClassRegistry时，反序列化只加载其允许的类，用于处理来源不可信的数据；
+ * 未指定时不做限制，只能用于可信来源。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class JavaObjectSerializer implements ObjectSerializer {
+
+	public static final String NAME = "java";
+
+	private final ClassRegistry classRegistry;
+
+	public JavaObjectSerializer() {
+		this(null);
+	}
+
+	public JavaObjectSerializer(ClassRegistry classRegistry) {
+		this.classRegistry = classRegistry;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public byte[] serialize(Object obj) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(512);
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		try {
+			oos.writeObject(obj);
+		} finally {
+			oos.close();
+		}
+		return bos.toByteArray();
+	}
+
+	@Override
+	public Object deserialize(byte[] data) throws IOException {
+		ObjectInputStream ois = classRegistry == null ? new ObjectInputStream(new ByteArrayInputStream(data))
+				: new FilteringObjectInputStream(new ByteArrayInputStream(data), classRegistry);
+		try {
+			return ois.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e.getMessage(), e);
+		} finally {
+			ois.close();
+		}
+	}
+
+	/**
+	 * 只解析ClassRegistry允许的类的ObjectInputStream
+	 */
+	private static final class FilteringObjectInputStream extends ObjectInputStream {
+		private final ClassRegistry classRegistry;
+
+		FilteringObjectInputStream(InputStream in, ClassRegistry classRegistry) throws IOException {
+			super(in);
+			this.classRegistry = classRegistry;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			// resolveClass不初始化类，检查在静态代码执行之前
+			Class<?> type = super.resolveClass(desc);
+			if(!classRegistry.isAllowed(type)) {
+				throw new InvalidClassException(desc.getName(), "不允许反序列化的类型");
+			}
+			return type;
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			throw new InvalidClassException("不允许反序列化动态代理类");
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.coul.common.utils.serialize;
+
+import java.io.IOException;
+
+/**
+ * 对象序列化接口，缓存、消息等需要把对象转换为字节的地方通过此接口选择具体实现
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public interface ObjectSerializer {
+
+	/**
+	 * 序列化格式标识
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	String getName();
+
+	/**
+	 * 把对象序列化为字节数组
+	 *
+	 * @param obj 可以为null
+	 * @return
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	byte[] serialize(Object obj) throws IOException;
+
+	/**
+	 * 把字节数组还原为对象
+	 *
+	 * @param data
+	 * @return
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	Object deserialize(byte[] data) throws IOException;
+
+}
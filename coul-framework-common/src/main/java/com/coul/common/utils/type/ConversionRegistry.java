@@ -0,0 +1,488 @@
+package com.coul.common.utils.type;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * 字符串到目标类型的转换器注册表
+ *
+ * 每个目标类型的转换器只在第一次使用时确定一次，结果缓存在ClassValue中，之后按类型直接取得；
+ * 注册的转换器优先，其次是基本类型及其包装类型、BigDecimal、BigInteger、Character、枚举的内置转换器，
+ * 最后是目标类型的String参数构造方法。注册的转换器集合有任何修改后已缓存的结果自动失效。
+ * 数值、布尔、枚举的内置转换器会去掉首尾空白，空串转换为null。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class ConversionRegistry {
+	/** 注册的类型转换器集合，ObjectUtil.CONVERTERS与此为同一个集合 */
+	public static final List<Converter<String, ? extends Object>> CONVERTERS = new ConverterList();
+
+	/** 类型对应的转换器缓存 */
+	private static final ClassValue<Slot> RESOLVED = new ClassValue<Slot>() {
+		@Override
+		protected Slot computeValue(Class<?> type) {
+			return new Slot();
+		}
+	};
+
+	/**
+	 * 初始化类型转换器集合
+	 */
+	static {
+		CONVERTERS.add(new StringToDateConverter());
+	}
+
+	private ConversionRegistry() {
+	}
+
+	/**
+	 * 获得注册的转换器集合的版本号，集合每次修改加一，
+	 * 缓存了转换器或按转换器分类结果的调用方据此判断是否需要重新确定
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static int getVersion() {
+		return ((ConverterList) CONVERTERS).version.get();
+	}
+
+	/**
+	 * 获得注册的转换器中能转换为type类型的转换器，不存在返回null
+	 *
+	 * @param type
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Converter<String, ? extends Object> getRegisteredConverter(Class<?> type) {
+		Resolved resolved = resolve(type);
+		return resolved.registered ? resolved.converter : null;
+	}
+
+	/**
+	 * 获得type类型的转换器，包括注册的转换器和内置转换器，不存在返回null
+	 *
+	 * @param type
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Converter<String, ? extends Object> getConverter(Class<?> type) {
+		return resolve(type).converter;
+	}
+
+	/**
+	 * 把字符串转换为type类型，不能转换时抛出IllegalArgumentException
+	 *
+	 * @param value
+	 * @param type
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T parse(String value, Class<T> type) {
+		if(value == null) {
+			return null;
+		}
+		Converter<String, ? extends Object> converter = resolve(type).converter;
+		if(converter == null) {
+			throw new IllegalArgumentException("不支持转换为" + type.getName() + "类型: " + value);
+		}
+		return (T) converter.convert(value);
+	}
+
+	/**
+	 * 把值转换为type类型，已经是该类型或没有对应的转换器时原样返回；
+	 * 内置转换器转换失败时也原样返回，与原来调用String参数构造方法的处理一致
+	 *
+	 * @param value
+	 * @param type
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Object convert(Object value, Class<?> type) {
+		if(value == null) {
+			return null;
+		}
+		Resolved resolved = resolve(type);
+		if(resolved.boxed.isInstance(value) || resolved.converter == null) {
+			return value;
+		}
+		if(resolved.registered) {
+			return resolved.converter.convert(value.toString());
+		}
+		try {
+			return resolved.converter.convert(value.toString());
+		} catch (RuntimeException e) {
+			return value;
+		}
+	}
+
+	/**
+	 * 基本类型转换为包装类型，其他类型原样返回
+	 *
+	 * @param type
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Class<?> wrap(Class<?> type) {
+		if(!type.isPrimitive()) {
+			return type;
+		}
+		if(type == int.class) {
+			return Integer.class;
+		} else if(type == long.class) {
+			return Long.class;
+		} else if(type == boolean.class) {
+			return Boolean.class;
+		} else if(type == double.class) {
+			return Double.class;
+		} else if(type == float.class) {
+			return Float.class;
+		} else if(type == short.class) {
+			return Short.class;
+		} else if(type == byte.class) {
+			return Byte.class;
+		} else if(type == char.class) {
+			return Character.class;
+		}
+		return Void.class;
+	}
+
+	private static Resolved resolve(Class<?> type) {
+		Class<?> boxed = wrap(type);
+		Slot slot = RESOLVED.get(boxed);
+		Resolved resolved = slot.resolved;
+		int version = getVersion();
+		if(resolved == null || resolved.version != version) {
+			// 首次使用或注册的转换器有变化，重新确定
+			resolved = new Resolved(boxed, version);
+			slot.resolved = resolved;
+		}
+		return resolved;
+	}
+
+	/**
+	 * 从注册的转换器中查找能转换为type类型的转换器
+	 */
+	private static Converter<String, ? extends Object> findRegistered(Class<?> type) {
+		for (Converter<String, ? extends Object> converter : CONVERTERS) {
+			Class<?> target = targetType(converter.getClass());
+			if(target != null && target.isAssignableFrom(type) && !target.isInterface()) {
+				return converter;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 转换器实现的Converter接口的目标类型
+	 */
+	private static Class<?> targetType(Class<?> converterClass) {
+		for (Type type : converterClass.getGenericInterfaces()) {
+			if(type instanceof ParameterizedType
+					&& ((ParameterizedType) type).getRawType() == Converter.class) {
+				Type target = ((ParameterizedType) type).getActualTypeArguments()[1];
+				return target instanceof Class ? (Class<?>) target : null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 类型对应的转换器缓存位置
+	 */
+	private static final class Slot {
+		volatile Resolved resolved;
+	}
+
+	/**
+	 * 类型对应的转换器
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private static final class Resolved {
+		/** 确定转换器时注册的转换器集合版本 */
+		final int version;
+		/** 目标类型，基本类型使用包装类型 */
+		final Class<?> boxed;
+		/** 转换器，不存在为null */
+		final Converter<String, ? extends Object> converter;
+		/** 是否注册的转换器 */
+		final boolean registered;
+
+		Resolved(Class<?> type, int version) {
+			this.version = version;
+			this.boxed = type;
+			Converter<String, ? extends Object> found = findRegistered(boxed);
+			this.registered = found != null;
+			this.converter = found != null ? found : builtIn(boxed);
+		}
+	}
+
+	private static Converter<String, ? extends Object> builtIn(Class<?> type) {
+		if(type == String.class || type == Object.class) {
+			return new BuiltInConverter(BuiltInConverter.STRING, type, null);
+		} else if(type == Integer.class) {
+			return new BuiltInConverter(BuiltInConverter.INTEGER, type, null);
+		} else if(type == Long.class) {
+			return new BuiltInConverter(BuiltInConverter.LONG, type, null);
+		} else if(type == Boolean.class) {
+			return new BuiltInConverter(BuiltInConverter.BOOLEAN, type, null);
+		} else if(type == Double.class) {
+			return new BuiltInConverter(BuiltInConverter.DOUBLE, type, null);
+		} else if(type == Float.class) {
+			return new BuiltInConverter(BuiltInConverter.FLOAT, type, null);
+		} else if(type == Short.class) {
+			return new BuiltInConverter(BuiltInConverter.SHORT, type, null);
+		} else if(type == Byte.class) {
+			return new BuiltInConverter(BuiltInConverter.BYTE, type, null);
+		} else if(type == Character.class) {
+			return new BuiltInConverter(BuiltInConverter.CHARACTER, type, null);
+		} else if(type == BigDecimal.class) {
+			return new BuiltInConverter(BuiltInConverter.BIG_DECIMAL, type, null);
+		} else if(type == BigInteger.class) {
+			return new BuiltInConverter(BuiltInConverter.BIG_INTEGER, type, null);
+		} else if(type.isEnum()) {
+			return new BuiltInConverter(BuiltInConverter.ENUM, type, null);
+		}
+		if(type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			return null;
+		}
+		try {
+			return new BuiltInConverter(BuiltInConverter.CONSTRUCTOR, type, type.getConstructor(String.class));
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 内置转换器，按类型种类直接调用对应的解析方法
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private static final class BuiltInConverter implements Converter<String, Object> {
+		static final int STRING = 0;
+		static final int INTEGER = 1;
+		static final int LONG = 2;
+		static final int BOOLEAN = 3;
+		static final int DOUBLE = 4;
+		static final int FLOAT = 5;
+		static final int SHORT = 6;
+		static final int BYTE = 7;
+		static final int CHARACTER = 8;
+		static final int BIG_DECIMAL = 9;
+		static final int BIG_INTEGER = 10;
+		static final int ENUM = 11;
+		static final int CONSTRUCTOR = 12;
+
+		private final int kind;
+		private final Class<?> type;
+		private final Constructor<?> constructor;
+
+		BuiltInConverter(int kind, Class<?> type, Constructor<?> constructor) {
+			this.kind = kind;
+			this.type = type;
+			this.constructor = constructor;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		@Override
+		public Object convert(String source) {
+			if(kind == STRING) {
+				return source;
+			} else if(kind == CONSTRUCTOR) {
+				return newInstance(source);
+			} else if(kind == CHARACTER) {
+				return source.length() == 0 ? null : Character.valueOf(source.charAt(0));
+			}
+			String value = source.trim();
+			if(value.length() == 0) {
+				return null;
+			}
+			switch (kind) {
+			case INTEGER:
+				return Integer.valueOf(value);
+			case LONG:
+				return Long.valueOf(value);
+			case BOOLEAN:
+				return Boolean.valueOf(value);
+			case DOUBLE:
+				return Double.valueOf(value);
+			case FLOAT:
+				return Float.valueOf(value);
+			case SHORT:
+				return Short.valueOf(value);
+			case BYTE:
+				return Byte.valueOf(value);
+			case BIG_DECIMAL:
+				return new BigDecimal(value);
+			case BIG_INTEGER:
+				return new BigInteger(value);
+			default:
+				return Enum.valueOf((Class<? extends Enum>) type, value);
+			}
+		}
+
+		private Object newInstance(String value) {
+			try {
+				return constructor.newInstance(value);
+			} catch (InvocationTargetException e) {
+				Throwable cause = e.getTargetException();
+				if(cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IllegalArgumentException("转换为" + type.getName() + "类型失败: " + value, cause);
+			} catch (Exception e) {
+				throw new IllegalArgumentException("转换为" + type.getName() + "类型失败: " + value, e);
+			}
+		}
+	}
+
+	/**
+	 * 注册的转换器集合，每次修改增加版本号，使已缓存的转换器失效
+	 *
+	 * 包装CopyOnWriteArrayList而不是继承，subList、listIterator等视图的修改都经过set、add、remove，
+	 * 不会绕过版本号。iterator返回快照，只用于读取。
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private static final class ConverterList extends AbstractList<Converter<String, ? extends Object>> {
+		private final CopyOnWriteArrayList<Converter<String, ? extends Object>> converters =
+				new CopyOnWriteArrayList<Converter<String, ? extends Object>>();
+		final AtomicInteger version = new AtomicInteger();
+
+		@Override
+		public Converter<String, ? extends Object> get(int index) {
+			return converters.get(index);
+		}
+
+		@Override
+		public int size() {
+			return converters.size();
+		}
+
+		@Override
+		public Iterator<Converter<String, ? extends Object>> iterator() {
+			return converters.iterator();
+		}
+
+		@Override
+		public Converter<String, ? extends Object> set(int index, Converter<String, ? extends Object> element) {
+			try {
+				return converters.set(index, element);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public boolean add(Converter<String, ? extends Object> e) {
+			try {
+				return converters.add(e);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public void add(int index, Converter<String, ? extends Object> element) {
+			try {
+				converters.add(index, element);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public Converter<String, ? extends Object> remove(int index) {
+			try {
+				return converters.remove(index);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			try {
+				return converters.remove(o);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			try {
+				return converters.removeAll(c);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			try {
+				return converters.retainAll(c);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public void clear() {
+			try {
+				converters.clear();
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends Converter<String, ? extends Object>> c) {
+			try {
+				return converters.addAll(c);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends Converter<String, ? extends Object>> c) {
+			try {
+				return converters.addAll(index, c);
+			} finally {
+				version.incrementAndGet();
+			}
+		}
+	}
+
+}
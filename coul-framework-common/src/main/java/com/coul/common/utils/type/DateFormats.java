@@ -0,0 +1,264 @@
+package com.coul.common.utils.type;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+/**
+ * 日期格式化和解析的统一入口
+ *
+ * 格式化使用按格式串缓存的FastDateFormat，实例不可变、线程安全，可以全局共享；
+ * 解析时"yyyy-MM"、"yyyy-MM-dd"、"yyyy-MM-dd HH:mm"、"yyyy-MM-dd HH:mm:ss"
+ * 以及ISO格式"yyyy-MM-ddTHH:mm:ss[.SSS]Z"这几种定长格式直接按字符位置解析，
+ * 其他格式使用每个线程按格式串缓存的SimpleDateFormat，结果与宽松模式的SimpleDateFormat一致。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class DateFormats {
+	/** 格式化器缓存，key：格式串 */
+	private static final ConcurrentMap<String, FastDateFormat> FORMATTERS = new ConcurrentHashMap<String, FastDateFormat>();
+
+	/** 每个线程的解析器缓存 */
+	private static final ThreadLocal<Parsers> PARSERS = new ThreadLocal<Parsers>() {
+		@Override
+		protected Parsers initialValue() {
+			return new Parsers();
+		}
+	};
+
+	private DateFormats() {
+	}
+
+	/**
+	 * 取得格式串对应的格式化器
+	 *
+	 * @param pattern
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static FastDateFormat formatter(String pattern) {
+		FastDateFormat formatter = FORMATTERS.get(pattern);
+		if(formatter == null) {
+			formatter = FastDateFormat.getInstance(pattern);
+			FastDateFormat existing = FORMATTERS.putIfAbsent(pattern, formatter);
+			if(existing != null) {
+				formatter = existing;
+			}
+		}
+		return formatter;
+	}
+
+	/**
+	 * 按格式串格式化日期
+	 *
+	 * @param date
+	 * @param pattern
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static String format(Date date, String pattern) {
+		return formatter(pattern).format(date);
+	}
+
+	/**
+	 * 按格式串解析日期，与SimpleDateFormat.parse(String)一样允许字符串末尾有多余字符
+	 *
+	 * @param text
+	 * @param pattern
+	 * @return
+	 * @throws ParseException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Date parse(String text, String pattern) throws ParseException {
+		Date date = parseFixed(text, pattern);
+		if(date != null) {
+			return date;
+		}
+		return PARSERS.get().parser(pattern).parse(text);
+	}
+
+	/**
+	 * 依次尝试各个格式串，返回第一个能完整解析字符串的结果，与commons-lang的DateUtils.parseDate一致
+	 *
+	 * @param text
+	 * @param patterns
+	 * @return
+	 * @throws ParseException 所有格式都不能解析时抛出
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Date parse(String text, String... patterns) throws ParseException {
+		if(text == null || patterns == null) {
+			throw new IllegalArgumentException("Date and Patterns must not be null");
+		}
+		// 格式串都是定长格式时，字符串只可能被长度相同的格式完整解析，先按字符位置尝试
+		boolean fixed = true;
+		for (String pattern : patterns) {
+			fixed = fixed && isFixedPattern(pattern);
+		}
+		if(fixed) {
+			for (String pattern : patterns) {
+				Date date = parseFixed(text, pattern);
+				if(date != null) {
+					return date;
+				}
+			}
+		}
+		Parsers parsers = PARSERS.get();
+		ParsePosition position = parsers.position;
+		for (String pattern : patterns) {
+			Date date = parseFixed(text, pattern);
+			if(date != null) {
+				return date;
+			}
+			position.setIndex(0);
+			position.setErrorIndex(-1);
+			date = parsers.parser(pattern).parse(text, position);
+			if(date != null && position.getIndex() == text.length()) {
+				return date;
+			}
+		}
+		throw new ParseException("Unable to parse the date: " + text, -1);
+	}
+
+	/**
+	 * 解析ISO格式"yyyy-MM-ddTHH:mm:ss[.SSS]Z"的字符串，各字段按本地时间计算，不是该格式时返回null
+	 *
+	 * @param text
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Date parseIsoLocal(String text) {
+		int length = text.length();
+		if((length != 20 && length != 24) || text.charAt(10) != 'T' || text.charAt(length - 1) != 'Z') {
+			return null;
+		}
+		if(!isDateTime(text) || (length == 24 && (text.charAt(19) != '.' || !isDigits(text, 20, 23)))) {
+			return null;
+		}
+		return toDate(text, 19, length == 24 ? digits(text, 20, 23) : 0);
+	}
+
+	/**
+	 * 按字符位置解析定长格式，字符串与格式不完全匹配时返回null，交给SimpleDateFormat处理
+	 */
+	private static Date parseFixed(String text, String pattern) {
+		if(text == null || text.length() != pattern.length() || !isFixedPattern(pattern) || !isFixed(text, text.length())) {
+			return null;
+		}
+		return toDate(text, text.length(), 0);
+	}
+
+	/**
+	 * 是否"yyyy-MM"、"yyyy-MM-dd"、"yyyy-MM-dd HH:mm"、"yyyy-MM-dd HH:mm:ss"之一
+	 */
+	private static boolean isFixedPattern(String pattern) {
+		int length = pattern.length();
+		return (length == 7 || length == 10 || length == 16 || length == 19)
+				&& DateUtils.YYYYMMDDHHMMSS.startsWith(pattern);
+	}
+
+	/**
+	 * 检查字符串是否符合"yyyy-MM-dd HH:mm:ss"前length个字符的格式
+	 */
+	private static boolean isFixed(String text, int length) {
+		if(!isDigits(text, 0, 4) || text.charAt(4) != '-' || !isDigits(text, 5, 7)) {
+			return false;
+		}
+		if(length > 7 && (text.charAt(7) != '-' || !isDigits(text, 8, 10))) {
+			return false;
+		}
+		if(length > 10 && (text.charAt(10) != ' ' || !isDigits(text, 11, 13) || text.charAt(13) != ':'
+				|| !isDigits(text, 14, 16))) {
+			return false;
+		}
+		return length <= 16 || (text.charAt(16) == ':' && isDigits(text, 17, 19));
+	}
+
+	/**
+	 * 检查字符串前19个字符是否符合"yyyy-MM-dd?HH:mm:ss"，第11个字符不检查
+	 */
+	private static boolean isDateTime(String text) {
+		return isDigits(text, 0, 4) && text.charAt(4) == '-' && isDigits(text, 5, 7) && text.charAt(7) == '-'
+				&& isDigits(text, 8, 10) && isDigits(text, 11, 13) && text.charAt(13) == ':'
+				&& isDigits(text, 14, 16) && text.charAt(16) == ':' && isDigits(text, 17, 19);
+	}
+
+	/**
+	 * 按"yyyy-MM-dd HH:mm:ss"的字符位置取前length个字符对应的字段，使用宽松模式的日历计算日期
+	 */
+	private static Date toDate(String text, int length, int millis) {
+		Calendar calendar = PARSERS.get().calendar;
+		calendar.clear();
+		calendar.set(Calendar.YEAR, digits(text, 0, 4));
+		calendar.set(Calendar.MONTH, digits(text, 5, 7) - 1);
+		calendar.set(Calendar.DAY_OF_MONTH, length > 7 ? digits(text, 8, 10) : 1);
+		if(length > 10) {
+			calendar.set(Calendar.HOUR_OF_DAY, digits(text, 11, 13));
+			calendar.set(Calendar.MINUTE, digits(text, 14, 16));
+		}
+		if(length > 16) {
+			calendar.set(Calendar.SECOND, digits(text, 17, 19));
+		}
+		calendar.set(Calendar.MILLISECOND, millis);
+		return calendar.getTime();
+	}
+
+	private static boolean isDigits(String text, int begin, int end) {
+		for (int i = begin; i < end; i++) {
+			char c = text.charAt(i);
+			if(c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int digits(String text, int begin, int end) {
+		int value = 0;
+		for (int i = begin; i < end; i++) {
+			value = value * 10 + (text.charAt(i) - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * 线程内的解析器缓存，SimpleDateFormat和Calendar都不是线程安全的，只在本线程使用
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private static final class Parsers {
+		final Map<String, SimpleDateFormat> parsers = new HashMap<String, SimpleDateFormat>();
+		final Calendar calendar = Calendar.getInstance();
+		final ParsePosition position = new ParsePosition(0);
+
+		SimpleDateFormat parser(String pattern) {
+			SimpleDateFormat parser = parsers.get(pattern);
+			if(parser == null) {
+				parser = new SimpleDateFormat(pattern);
+				parsers.put(pattern, parser);
+			}
+			return parser;
+		}
+	}
+
+}
@@ -16,7 +16,6 @@ package com.coul.common.utils.type;
 import java.sql.Timestamp;
 import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -63,7 +62,6 @@ public class DateUtils {
      */
     public static Date getfirstDayOfMonth() {
         Date date = new Date();
-        SimpleDateFormat format = new SimpleDateFormat(YYYYMMDD);
         //		String sdate = format.format(date);
         Calendar sCal = Calendar.getInstance();
         sCal.setTime(date);
@@ -71,7 +69,7 @@ public class DateUtils {
         sCal.add(Calendar.DAY_OF_MONTH, -(sCal.get(Calendar.DAY_OF_MONTH) - 1));
         
         try {
-            date = format.parse(format.format(sCal.getTime()));
+            date = DateFormats.parse(DateFormats.format(sCal.getTime(), YYYYMMDD), YYYYMMDD);
         } catch (ParseException e) {
             // TODO Auto-generated catch block
             e.printStackTrace();
@@ -84,7 +82,6 @@ public class DateUtils {
      */
     public static Date getlastDayOfMonth() {
         Date date = new Date();
-        SimpleDateFormat format = new SimpleDateFormat(YYYYMMDDHHMMSS);
         // String sdate = format.format(date);
         
         Calendar eCal = Calendar.getInstance();
@@ -95,7 +92,7 @@ public class DateUtils {
         eCal.add(Calendar.DATE, -1);
         
         try {
-            date = format.parse(format.format(eCal.getTime()));
+            date = DateFormats.parse(DateFormats.format(eCal.getTime(), YYYYMMDDHHMMSS), YYYYMMDDHHMMSS);
         } catch (ParseException e) {
             // TODO Auto-generated catch block
             e.printStackTrace();
@@ -108,9 +105,8 @@ public class DateUtils {
      */
     public static int getMonthSpace(Date date) {
         
-        SimpleDateFormat df = new SimpleDateFormat(YYYYMMDDHHMMSS);
-        String sysTime = df.format(new Date());
-        String creTime = df.format(date);
+        String sysTime = DateFormats.format(new Date(), YYYYMMDDHHMMSS);
+        String creTime = DateFormats.format(date, YYYYMMDDHHMMSS);
         ;
         int inum = 0;
         int sysYear = Integer.parseInt(sysTime.substring(0, 4));
@@ -346,10 +342,8 @@ public class DateUtils {
         if (date == null) {
             date = new Date();
         }
-        SimpleDateFormat sdf = new SimpleDateFormat("yy-MM-dd HH:mm");
-        String strCurDate = sdf.format(date);
         try {
-            curDate = sdf.parse(strCurDate);
+            curDate = DateFormats.parse(DateFormats.format(date, "yyyy-MM-dd HH:mm"), "yyyy-MM-dd HH:mm");
         } catch (ParseException e) {
             log.warn("解释日期失败", e);
         }
@@ -368,10 +362,8 @@ public class DateUtils {
         if (date == null) {
             date = new Date();
         }
-        SimpleDateFormat sdf = new SimpleDateFormat("yy-MM-dd HH");
-        String strCurDate = sdf.format(date);
         try {
-            curDate = sdf.parse(strCurDate);
+            curDate = DateFormats.parse(DateFormats.format(date, "yyyy-MM-dd HH"), "yyyy-MM-dd HH");
         } catch (ParseException e) {
             log.warn("解释日期失败", e);
         }
@@ -389,10 +381,8 @@ public class DateUtils {
         if (date == null) {
             date = new Date();
         }
-        SimpleDateFormat sdf = new SimpleDateFormat("yy-MM-dd");
-        String strCurDate = String.format("%1$tY-%1$tm-%1$td", date);
         try {
-            curDate = sdf.parse(strCurDate);
+            curDate = DateFormats.parse(DateFormats.format(date, YYYYMMDD), YYYYMMDD);
         } catch (ParseException e) {
             log.warn("解释日期失败", e);
         }
@@ -410,10 +400,8 @@ public class DateUtils {
         if (date == null) {
             date = new Date();
         }
-        SimpleDateFormat sdf = new SimpleDateFormat("yy-MM");
-        String strCurDate = String.format("%1$tY-%1$tm", date);
         try {
-            curMonth = sdf.parse(strCurDate);
+            curMonth = DateFormats.parse(DateFormats.format(date, "yyyy-MM"), "yyyy-MM");
         } catch (ParseException e) {
             log.warn("解释日期失败", e);
         }
@@ -523,9 +511,8 @@ public class DateUtils {
      * @return
      */
     public static Date convertStrToDate(String s, String format) {
-        SimpleDateFormat simpledateformat = new SimpleDateFormat(format);
         try {
-            Date date = simpledateformat.parse(s);
+            Date date = DateFormats.parse(s, format);
             return date;
         } catch (Exception exception) {
             exception.printStackTrace();
@@ -543,10 +530,9 @@ public class DateUtils {
      * @return
      */
     public static String convertDateToStr(Date d, String format) {
-        SimpleDateFormat simpledateformat = new SimpleDateFormat(format);
         String s;
         try {
-            s = simpledateformat.format(d).toString();
+            s = DateFormats.format(d, format);
             return s;
         } catch (Exception e) {
             s = "1900-01-01";
@@ -801,9 +787,8 @@ public class DateUtils {
             return null;
         }
         
-        SimpleDateFormat df = new SimpleDateFormat(dateFormat);
         try {
-            return df.parse(dateStr);
+            return DateFormats.parse(dateStr, dateFormat);
         } catch (Exception ex) {
             return null;
         }
@@ -833,8 +818,7 @@ public class DateUtils {
         if (date == null) {
             return null;
         }
-        SimpleDateFormat df = new SimpleDateFormat(dateFormat);
-        return df.format(date);
+        return DateFormats.format(date, dateFormat);
     }
     
     /**
@@ -1076,8 +1060,7 @@ public class DateUtils {
         String result = "";
         if (date != null) {
             try {
-                SimpleDateFormat sdf = new SimpleDateFormat(format);
-                result = sdf.format(date);
+                result = DateFormats.format(date, format);
             } catch (Exception ex) {
                 log.info("date:" + date);
             }
@@ -1109,9 +1092,8 @@ public class DateUtils {
      */
     public static Date stringToDate(String str, String format) {
         if (str != null) {
-            DateFormat dateFormat = new SimpleDateFormat(format);
             try {
-                return dateFormat.parse(str);
+                return DateFormats.parse(str, format);
             } catch (ParseException e) {
                 return null;
             }
@@ -1,10 +1,8 @@
 
 package com.coul.common.utils.type;
 
-import java.io.IOException;
-import java.io.StringReader;
-
 import com.coul.common.model.MapBean;
+import com.coul.common.utils.MessageTemplate;
 
 /**
  * 格式化工具类
@@ -12,9 +10,6 @@ import com.coul.common.model.MapBean;
  * @author chillming
  */
 public class FormatUtils {
-    private final static char prefix = '{'; // 变量前缀
-    private final static char suffix = '}'; // 变量后缀
-                                            
     /**
      * 格式化错误描述
      * 
@@ -29,53 +24,7 @@ public class FormatUtils {
             return input;
         }
         
-        StringBuilder message = new StringBuilder(input.length() + 128);
-        StringReader reader = new StringReader(input);
-        try {
-            int b = -1;
-            StringBuffer param = null;
-            while ((b = reader.read()) != -1) {
-                if (b == prefix) {
-                    if (param != null) {
-                        // 出现连续两个{，忽略前面那个
-                        message.append(prefix);
-                        message.append(param);
-                    }
-                    param = new StringBuffer();
-                    continue;
-                } else if (b == suffix) {
-                    if (param == null) {
-                        // 缺少{,忽略
-                        message.append(suffix);
-                        continue;
-                    }
-                    
-                    String paramCode = StringUtils.trimMore(param.toString());
-                    if (StringUtils.isNotEmpty(paramCode)) {
-                        message.append(argMap.get(paramCode));
-                    }
-                    param = null;
-                    continue;
-                }
-                
-                char c = (char) b;
-                if (param != null) {
-                    param.append(c);
-                } else {
-                    message.append(c);
-                }
-            }
-            
-            if (param != null) {
-                // 缺少{,忽略
-                message.append(param);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("格式化错误描述失败", e);
-        } finally {
-            reader.close();
-        }
-        
-        return message.toString();
+        // 模板只解析一次，见MessageTemplate
+        return MessageTemplate.compileNamed(input).format(argMap);
     }
 }
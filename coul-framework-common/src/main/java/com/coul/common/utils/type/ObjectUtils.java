@@ -169,7 +169,7 @@ public class ObjectUtils {
             if (value != null) {
                 byte[] b = value.getBytes("iso-8859-1");
                 if (isCompress) {
-                    //b = GZipUtils.ungzip(b);
+                    b = GZipUtils.ungzip(b);
                 }
                 // Object
                 // result=deSerializeObject(ZipUtils.ungzip(value.getBytes("iso-8859-1")));
@@ -2,20 +2,35 @@ package com.coul.common.utils.type;
 
 import java.rmi.server.UID;
 import java.util.LinkedHashSet;
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
-import com.coul.common.utils.crypt.Base64Cryption;
+import com.coul.common.utils.crypt.Base64Codec;
 
+/**
+ * 随机数工具
+ * 
+ * 随机数由ThreadLocalRandom生成，各线程互不竞争，原来共用一个java.util.Random时多线程会在种子的CAS上争用。
+ * ThreadLocalRandom与java.util.Random一样不是密码学安全的随机数。
+ * 
+ * 修改说明：2026-10-18 agent 使用ThreadLocalRandom，随机字符串直接填充字符数组
+ */
 public class RandomUtils {
     
-    private static Random random = new Random();
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    
+    private static final char[] NUMBER_CHARS = "0123456789".toCharArray();
+    
+    private static final char[] ALPHA_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    
+    private static final char[] MIX_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890".toCharArray();
     
     public static Integer[] getRandomArray(int n) {
         if (n <= 0) {
             return null;
         }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         Set<Integer> r = new LinkedHashSet<Integer>();
         int count = n * 10;
         int i = 0;
@@ -33,9 +48,27 @@ public class RandomUtils {
         return r.toArray(t);
     }
     
+    /**
+     * 不带分隔符的32位小写UUID
+     * 
+     * @return
+     */
     public static String genUUID() {
         UUID uuid = UUID.randomUUID();
-        return uuid.toString().replaceAll("-", "");
+        char[] chars = new char[32];
+        toHex(uuid.getMostSignificantBits(), chars, 0);
+        toHex(uuid.getLeastSignificantBits(), chars, 16);
+        return new String(chars);
+    }
+    
+    /**
+     * long值按16个十六进制字符写入数组
+     */
+    private static void toHex(long value, char[] chars, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) value & 0x0F];
+            value >>>= 4;
+        }
     }
     
     public static String genUID() {
@@ -45,43 +78,21 @@ public class RandomUtils {
     
     public static String genRandomString(int strLen) {
         byte[] bytes = new byte[strLen];
-        random.nextBytes(bytes);
-        try {
-            return Base64Cryption.encodeBytes(bytes).substring(0, strLen);
-            
-        } catch (Exception e) {
-            // TODO Auto-generated catch block
-        }
-        return "";
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return Base64Codec.STANDARD.encodeToString(bytes).substring(0, strLen);
         // return RandomStringUtils.random(strLen);
     }
     
     public static String getRandomNumberString(int strLen) {
-        String ss = "0123456789";
-        String s = "";
-        for (int i = 0; i < strLen; i++) {
-            int n = random.nextInt(ss.length());
-            char r = ss.charAt(n);
-            s = s + r;
-        }
-        
-        return s;
+        return randomString(NUMBER_CHARS, strLen);
     }
     
     public static void main(String[] args) {
-        String ss = "0123456789";
-        System.out.println(random.nextInt(ss.length()));
+        System.out.println(nextInt(NUMBER_CHARS.length));
     }
     
     public static String getRandomAlphaString(int strLen) {
-        String ss = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        String s = "";
-        for (int i = 0; i < strLen; i++) {
-            int n = random.nextInt(ss.length());
-            char r = ss.charAt(n);
-            s = s + r;
-        }
-        return s;
+        return randomString(ALPHA_CHARS, strLen);
     }
     
     // public static String getRandom(int x)
@@ -101,18 +112,26 @@ public class RandomUtils {
     // return n;
     // }
     public static String getRandomMixString(int strLen) {
-        String ss = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890";
-        String s = "";
+        return randomString(MIX_CHARS, strLen);
+    }
+    
+    /**
+     * 从指定字符中随机取strLen个字符，strLen小于等于0时返回空字符串
+     */
+    private static String randomString(char[] source, int strLen) {
+        if (strLen <= 0) {
+            return "";
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[strLen];
         for (int i = 0; i < strLen; i++) {
-            int n = random.nextInt(ss.length());
-            char r = ss.charAt(n);
-            s = s + r;
+            chars[i] = source[random.nextInt(source.length)];
         }
-        return s;
+        return new String(chars);
     }
     
     public static boolean nextBoolean() {
-        return random.nextBoolean();
+        return ThreadLocalRandom.current().nextBoolean();
     }
     
     /**
@@ -122,7 +141,7 @@ public class RandomUtils {
      * @return
      */
     public static double nextDouble() {
-        return random.nextDouble();
+        return ThreadLocalRandom.current().nextDouble();
     }
     
     /**
@@ -132,11 +151,11 @@ public class RandomUtils {
      * @return
      */
     public static float nextFloat() {
-        return random.nextFloat();
+        return ThreadLocalRandom.current().nextFloat();
     }
     
     public static int nextInt() {
-        return random.nextInt();
+        return ThreadLocalRandom.current().nextInt();
     }
     
     /**
@@ -148,11 +167,11 @@ public class RandomUtils {
      * @return
      */
     public static int nextInt(int n) {
-        return random.nextInt(n);
+        return ThreadLocalRandom.current().nextInt(n);
     }
     
     public static long nextLong() {
-        return random.nextLong();
+        return ThreadLocalRandom.current().nextLong();
     }
     
     /*public static void main(String[] args) throws Exception {
@@ -1,11 +1,9 @@
 package com.coul.common.utils.type;
 
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang.time.DateUtils;
 import org.apache.log4j.Logger;
 import org.springframework.core.convert.converter.Converter;
 
@@ -21,6 +19,8 @@ import com.coul.common.utils.JsonUtil;
 public class StringToDateConverter implements Converter<String, Date> {
 	/** log4j对象 */
 	private static final Logger log = Logger.getLogger(StringToDateConverter.class);
+	/** 依次尝试的日期格式 */
+	private static final String[] PATTERNS = { "yyyy-MM", "yyyy-MM-dd", "yyyy-MM-dd HH:mm", "yyyy-MM-dd HH:mm:ss" };
 
 	@Override
 	public Date convert(String value) {
@@ -28,30 +28,34 @@ public class StringToDateConverter implements Converter<String, Date> {
 			return null;
 		}
 		try {
-			if (value.matches("^\\d{4}\\-\\d{2}\\-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d{3})?Z$")) {
-				String fmt = null;
-				if (value.matches("^.+\\.\\d{3}Z$")) {
-					fmt = "yyyyMMddHHmmssSSS";
-				} else {
-					fmt = "yyyyMMddHHmmss";
-				}
+			Date date = DateFormats.parseIsoLocal(value);
+			if (date != null) {
 				Calendar calendar = Calendar.getInstance();
-				calendar.setTime(new SimpleDateFormat(fmt).parse(value.replaceAll("\\D", "")));
-				calendar.add(Calendar.MILLISECOND, Calendar.getInstance().getTimeZone().getRawOffset());
+				calendar.setTime(date);
+				calendar.add(Calendar.MILLISECOND, calendar.getTimeZone().getRawOffset());
 				return calendar.getTime();
 			}
-			if(value.matches("^\\d+$")) {
+			if(isDigits(value)) {
 				return new Date(Long.valueOf(value));
 			}
 			if(JsonUtil.isJsonObjectString(value)) {
 				return JsonUtil.convert(value, Date.class);
 			}
-			return DateUtils.parseDate(value, new String[] { "yyyy-MM", "yyyy-MM-dd",
-					"yyyy-MM-dd HH:mm", "yyyy-MM-dd HH:mm:ss" });
+			return DateFormats.parse(value, PATTERNS);
 		} catch (Exception e) {
 			log.warn(e);
 			return null;
 		}
 	}
 
+	private static boolean isDigits(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if(c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 }
@@ -22,7 +22,7 @@ public class StringToStringURLConverter implements Converter<String, String> {
 			return null;
 		}
 		try {
-			if(string.matches("^(.*(%[A-Fa-f\\d]{2})+.*)+$")) {
+			if(containsEscape(string)) {
 				string = URLDecoder.decode(string, "UTF-8");
 			}
 		} catch (Exception e) {
@@ -31,4 +31,28 @@ public class StringToStringURLConverter implements Converter<String, String> {
 		return string;
 	}
 
+	/**
+	 * 判断字符串中是否含有%XX形式的转义序列，逐字符扫描代替正则匹配
+	 *
+	 * @param string
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private static boolean containsEscape(String string) {
+		int index = string.indexOf('%');
+		while (index >= 0 && index + 2 < string.length()) {
+			if(isHex(string.charAt(index + 1)) && isHex(string.charAt(index + 2))) {
+				return true;
+			}
+			index = string.indexOf('%', index + 1);
+		}
+		return false;
+	}
+
+	private static boolean isHex(char c) {
+		return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
 }
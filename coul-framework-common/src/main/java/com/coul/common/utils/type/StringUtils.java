@@ -25,6 +25,9 @@ public class StringUtils {
      */
     public static final String EMPTY = "";
     
+    /** 大写十六进制字符 */
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+    
     // private static final String FOLDER_SEPARATOR = "/";
     // private static final char EXTENSION_SEPARATOR = '.';
     
@@ -176,18 +179,13 @@ public class StringUtils {
         if (buff == null || buff.length <= 0) {
             return EMPTY;
         }
-        
-        String tmpStr = null;
-        StringBuilder hexStr = new StringBuilder();
-        
-        for (int n = 0; n < buff.length; n++) {
-            tmpStr = (java.lang.Integer.toHexString(buff[n] & 0XFF));
-            if (tmpStr.length() == 1) {
-                hexStr.append("0");
-            }
-            hexStr.append(tmpStr);
+        char[] chars = new char[buff.length << 1];
+        for (int i = 0, j = 0; i < buff.length; i++) {
+            int b = buff[i];
+            chars[j++] = HEX_UPPER[(b >> 4) & 0x0F];
+            chars[j++] = HEX_UPPER[b & 0x0F];
         }
-        return hexStr.toString().toUpperCase();
+        return new String(chars);
     }
     
     /**
@@ -0,0 +1,134 @@
+package com.coul.common.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ExportExcel.setDataList和ExportCsv按注解导出大数据量的耗时.
+ *
+ * 参数为行数，默认1000000，输出写入空流。直接运行main方法，不参与单元测试.
+ */
+public class ExcelExportBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		List<Order> list = new ArrayList<Order>(rows);
+		Date now = new Date();
+		for (int i = 0; i < rows; i++) {
+			list.add(new Order("NO" + i, "customer" + (i % 1000), i % 90, i * 0.25, now, new Customer("area" + (i % 10))));
+		}
+		for (int round = 0; round < 2; round++) {
+			long start = System.nanoTime();
+			ExportExcel ee = new ExportExcel("订单", Order.class);
+			try {
+				long fill = System.nanoTime();
+				ee.setDataList(list);
+				fill = System.nanoTime() - fill;
+				ee.write(new NullOutputStream());
+				System.out.printf("%d rows: setDataList %6d ms, total %6d ms%n", rows, fill / 1000000,
+						(System.nanoTime() - start) / 1000000);
+			} finally {
+				ee.dispose();
+			}
+		}
+		for (ExportFormat format : new ExportFormat[] {ExportFormat.CSV, ExportFormat.CSV_GZIP }) {
+			for (int round = 0; round < 2; round++) {
+				long start = System.nanoTime();
+				CountingOutputStream os = new CountingOutputStream();
+				ExportCsv csv = new ExportCsv(os, ExportCsv.CSV, format == ExportFormat.CSV_GZIP, Order.class);
+				csv.setDataList(list).finish();
+				csv.close();
+				System.out.printf("%d rows: %-8s total %6d ms, %d bytes%n", rows, format.getExtension(),
+						(System.nanoTime() - start) / 1000000, os.count);
+			}
+		}
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+		long count;
+
+		@Override
+		public void write(int b) throws IOException {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			count += len;
+		}
+	}
+
+	private static final class NullOutputStream extends OutputStream {
+		@Override
+		public void write(int b) throws IOException {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+		}
+	}
+
+	public static class Customer {
+		private String area;
+
+		public Customer(String area) {
+			this.area = area;
+		}
+
+		public String getArea() {
+			return area;
+		}
+	}
+
+	public static class Order {
+		@ExcelField(title = "订单号", sort = 1)
+		private String orderNo;
+		@ExcelField(title = "客户", sort = 2)
+		private String customerName;
+		@ExcelField(title = "数量", sort = 3, align = 3)
+		private Integer quantity;
+		@ExcelField(title = "金额", sort = 4, align = 3)
+		private Double amount;
+		@ExcelField(title = "日期", sort = 5, align = 2)
+		private Date created;
+		@ExcelField(title = "地区", value = "customer.area", sort = 6)
+		private Customer customer;
+
+		public Order(String orderNo, String customerName, Integer quantity, Double amount, Date created, Customer customer) {
+			this.orderNo = orderNo;
+			this.customerName = customerName;
+			this.quantity = quantity;
+			this.amount = amount;
+			this.created = created;
+			this.customer = customer;
+		}
+
+		public String getOrderNo() {
+			return orderNo;
+		}
+
+		public String getCustomerName() {
+			return customerName;
+		}
+
+		public Integer getQuantity() {
+			return quantity;
+		}
+
+		public Double getAmount() {
+			return amount;
+		}
+
+		public Date getCreated() {
+			return created;
+		}
+
+		public Customer getCustomer() {
+			return customer;
+		}
+	}
+
+}
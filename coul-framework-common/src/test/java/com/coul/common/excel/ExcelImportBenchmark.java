@@ -0,0 +1,115 @@
+package com.coul.common.excel;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Date;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import com.coul.common.excel.StreamingImportExcelTest.Item;
+
+/**
+ * 对比ImportExcel与StreamingImportExcel导入大文件的耗时和堆内存.
+ *
+ * 参数为行数，默认200000。直接运行main方法，不参与单元测试.
+ */
+public class ExcelImportBenchmark {
+
+	private static long maxUsed;
+
+	public static void main(String[] args) throws Exception {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		File file = File.createTempFile("excel-benchmark", ".xlsx");
+		try {
+			write(file, rows);
+			System.out.printf("file: %d rows, %.1f MB%n", rows, file.length() / 1024.0 / 1024);
+			streaming(file);
+			legacy(file);
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static void streaming(File file) throws Exception {
+		resetUsed();
+		long start = System.nanoTime();
+		StreamingImportExcel ei = new StreamingImportExcel(file, 1, 0);
+		final int[] count = new int[1];
+		try {
+			ei.read(Item.class, new ExcelRowHandler<Item>() {
+				@Override
+				public boolean handle(int rowNum, Item data) {
+					if (++count[0] % 10000 == 0) {
+						sampleUsed();
+					}
+					return true;
+				}
+			});
+		} finally {
+			ei.close();
+		}
+		report("streaming", count[0], start);
+	}
+
+	private static void legacy(File file) throws Exception {
+		resetUsed();
+		long start = System.nanoTime();
+		int count;
+		try {
+			ImportExcel ei = new ImportExcel(file, 1);
+			sampleUsed();
+			count = ei.getDataList(Item.class).size();
+			sampleUsed();
+		} catch (OutOfMemoryError e) {
+			System.out.println("ImportExcel: " + e);
+			return;
+		}
+		report("ImportExcel", count, start);
+	}
+
+	private static void write(File file, int rows) throws Exception {
+		SXSSFWorkbook wb = new SXSSFWorkbook(500);
+		Sheet sheet = wb.createSheet();
+		sheet.createRow(0).createCell(0).setCellValue("Items");
+		Row header = sheet.createRow(1);
+		String[] titles = {"code", "name", "age", "amount", "birthday" };
+		for (int i = 0; i < titles.length; i++) {
+			header.createCell(i).setCellValue(titles[i]);
+		}
+		Date now = new Date();
+		for (int i = 0; i < rows; i++) {
+			Row row = sheet.createRow(i + 2);
+			row.createCell(0).setCellValue("C" + i);
+			row.createCell(1).setCellValue("name" + (i % 1000));
+			row.createCell(2).setCellValue(i % 90);
+			row.createCell(3).setCellValue(i * 0.25);
+			row.createCell(4).setCellValue(now);
+		}
+		OutputStream os = new FileOutputStream(file);
+		try {
+			wb.write(os);
+		} finally {
+			os.close();
+			wb.dispose();
+		}
+	}
+
+	private static void resetUsed() {
+		System.gc();
+		maxUsed = 0;
+	}
+
+	private static void sampleUsed() {
+		Runtime runtime = Runtime.getRuntime();
+		maxUsed = Math.max(maxUsed, runtime.totalMemory() - runtime.freeMemory());
+	}
+
+	private static void report(String name, int count, long start) {
+		System.out.printf("%-12s %d rows, %6d ms, max used heap %5d MB%n", name, count, (System.nanoTime() - start) / 1000000,
+				maxUsed / 1024 / 1024);
+	}
+
+}
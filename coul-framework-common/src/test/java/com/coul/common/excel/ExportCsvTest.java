@@ -0,0 +1,96 @@
+package com.coul.common.excel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.coul.common.excel.ExportExcelTest.Customer;
+import com.coul.common.excel.ExportExcelTest.Order;
+import com.coul.common.utils.IOUtils;
+
+/**
+ * CSV、TSV导出测试
+ */
+public class ExportCsvTest {
+
+	@Test
+	public void testCsv() throws Exception {
+		Calendar c = Calendar.getInstance();
+		c.clear();
+		c.set(2014, 3, 4, 23, 59);
+		List<Order> list = Arrays.asList(
+				new Order("A,1", 3, new BigDecimal("1E+3"), c.getTime(), new Customer("华东 \"east\"\n😀")),
+				new Order("A2", -12, null, null, null));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		new ExportCsv(bos, ExportCsv.CSV, false, Order.class).setDataList(list).finish();
+		assertEquals("订单号,数量,金额,日期,地区\r\n"
+				+ "\"A,1\",3,1E+3,2014-04-04,\"华东 \"\"east\"\"\n😀\"\r\n"
+				+ "A2,-12,,,\r\n", new String(bos.toByteArray(), "UTF-8"));
+		try {
+			new ExportCsv(bos, ExportCsv.CSV, false, Order.class).addRow("A3", 1, null, null, null, "extra");
+			fail();
+		} catch (IllegalArgumentException e) {
+			// 值多于列
+		}
+	}
+
+	@Test
+	public void testGzipTsvPages() throws Exception {
+		final List<Order> orders = new ArrayList<Order>();
+		StringBuilder expected = new StringBuilder("订单号\t数量\t金额\t日期\t地区\r\n");
+		for (int i = 0; i < 20000; i++) {
+			orders.add(new Order("编号" + i + (i % 7 == 0 ? "\t" : ""), i * 1000003, null, null, null));
+			expected.append(i % 7 == 0 ? "\"编号" + i + "\t\"" : "编号" + i).append('\t').append(i * 1000003)
+					.append("\t\t\t\r\n");
+		}
+		ExcelPageSource<Order> source = new ExcelPageSource<Order>() {
+			@Override
+			public List<Order> getPage(int offset, int limit) {
+				return offset >= orders.size() ? Collections.<Order> emptyList()
+						: orders.subList(offset, Math.min(orders.size(), offset + limit));
+			}
+		};
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ExportCsv csv = new ExportCsv(bos, ExportCsv.TSV, true, Order.class);
+		ExecutorService executor = PagedRows.newExecutor(3);
+		try {
+			assertEquals(20000, csv.write(source, 700, executor, 3));
+		} finally {
+			executor.shutdown();
+		}
+		csv.finish();
+		csv.close();
+		byte[] text = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(bos.toByteArray())), true);
+		assertEquals(expected.toString(), new String(text, "UTF-8"));
+	}
+
+	@Test
+	public void testExportFormat() throws Exception {
+		assertEquals(ExportFormat.XLSX, ExportFormat.of(null));
+		assertEquals(ExportFormat.CSV_GZIP, ExportFormat.of("csv.GZ"));
+		assertEquals(ExportFormat.TSV, ExportFormat.of("tsv"));
+		assertEquals("orders.tsv.gz", ExportFormat.TSV_GZIP.fileName("orders"));
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ExcelPageSource<Order> source = new ExcelPageSource<Order>() {
+			@Override
+			public List<Order> getPage(int offset, int limit) {
+				return offset > 0 ? null : Arrays.asList(new Order("A1", 1, null, null, null));
+			}
+		};
+		assertEquals(1, ExportFormat.CSV.write(bos, "订单", Order.class, source, 2));
+		assertEquals("订单号,数量,金额,日期,地区\r\nA1,1,,,\r\n", new String(bos.toByteArray(), "UTF-8"));
+	}
+}
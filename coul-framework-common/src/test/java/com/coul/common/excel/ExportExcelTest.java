@@ -0,0 +1,139 @@
+package com.coul.common.excel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * 按注解列计划导出、导入测试
+ */
+public class ExportExcelTest {
+
+	@Test
+	public void testExportCells() throws Exception {
+		Date created = new Date(1396569600000L);
+		List<Order> list = Arrays.asList(new Order("A1", 3, new BigDecimal("1.50"), created, new Customer("east")),
+				new Order("A2", null, null, null, null));
+		ExportExcel ee = new ExportExcel("订单", Order.class);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try {
+			ee.setDataList(list).write(bos);
+		} finally {
+			ee.dispose();
+		}
+
+		Sheet sheet = new XSSFWorkbook(new ByteArrayInputStream(bos.toByteArray())).getSheetAt(0);
+		Row header = sheet.getRow(1);
+		assertEquals("订单号", header.getCell(0).getStringCellValue());
+		assertEquals("金额", header.getCell(2).getStringCellValue());
+		assertEquals(5, header.getLastCellNum());
+
+		Row row = sheet.getRow(2);
+		assertEquals("A1", row.getCell(0).getStringCellValue());
+		assertEquals(3.0, row.getCell(1).getNumericCellValue(), 0);
+		assertEquals(CellStyle.ALIGN_RIGHT, row.getCell(1).getCellStyle().getAlignment());
+		assertFalse(DateUtil.isCellDateFormatted(row.getCell(1)));
+		assertEquals("1.50", row.getCell(2).getStringCellValue());
+		assertTrue(DateUtil.isCellDateFormatted(row.getCell(3)));
+		assertEquals(CellStyle.ALIGN_CENTER, row.getCell(3).getCellStyle().getAlignment());
+		assertEquals(created, row.getCell(3).getDateCellValue());
+		assertEquals("east", row.getCell(4).getStringCellValue());
+
+		row = sheet.getRow(3);
+		assertEquals(Cell.CELL_TYPE_STRING, row.getCell(1).getCellType());
+		assertEquals("", row.getCell(1).getStringCellValue());
+		assertEquals("", row.getCell(3).getStringCellValue());
+		// 属性路径中间为null时写入空字符串
+		assertEquals("", row.getCell(4).getStringCellValue());
+
+		List<Order> imported = new ImportExcel("orders.xlsx", new ByteArrayInputStream(bos.toByteArray()), 1, 0)
+				.getDataList(Order.class);
+		assertEquals(2, imported.size());
+		assertEquals("A1", imported.get(0).getOrderNo());
+		assertEquals(Integer.valueOf(3), imported.get(0).getQuantity());
+		assertEquals(null, imported.get(1).getQuantity());
+	}
+
+	public static class Customer {
+		private String area;
+
+		public Customer(String area) {
+			this.area = area;
+		}
+
+		public String getArea() {
+			return area;
+		}
+	}
+
+	public static class Order {
+		@ExcelField(title = "订单号", sort = 1)
+		private String orderNo;
+		@ExcelField(title = "数量", sort = 2, align = 3)
+		private Integer quantity;
+		@ExcelField(title = "金额**保留两位小数", sort = 3, type = 1)
+		private BigDecimal amount;
+		@ExcelField(title = "日期", sort = 4, align = 2)
+		private Date created;
+		@ExcelField(title = "地区", value = "customer.area", sort = 5, type = 1)
+		private Customer customer;
+
+		public Order() {
+		}
+
+		public Order(String orderNo, Integer quantity, BigDecimal amount, Date created, Customer customer) {
+			this.orderNo = orderNo;
+			this.quantity = quantity;
+			this.amount = amount;
+			this.created = created;
+			this.customer = customer;
+		}
+
+		public String getOrderNo() {
+			return orderNo;
+		}
+
+		public void setOrderNo(String orderNo) {
+			this.orderNo = orderNo;
+		}
+
+		public Integer getQuantity() {
+			return quantity;
+		}
+
+		public void setQuantity(Integer quantity) {
+			this.quantity = quantity;
+		}
+
+		public BigDecimal getAmount() {
+			return amount;
+		}
+
+		public Date getCreated() {
+			return created;
+		}
+
+		public void setCreated(Date created) {
+			this.created = created;
+		}
+
+		public Customer getCustomer() {
+			return customer;
+		}
+	}
+}
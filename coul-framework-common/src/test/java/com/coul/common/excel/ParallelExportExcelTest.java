@@ -0,0 +1,82 @@
+package com.coul.common.excel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.coul.common.excel.ExportExcelTest.Order;
+
+/**
+ * 并行导出测试
+ */
+public class ParallelExportExcelTest {
+
+	@Test
+	public void testSplitSheetsInOrder() throws Exception {
+		final List<Order> orders = new ArrayList<Order>();
+		for (int i = 0; i < 2500; i++) {
+			orders.add(new Order("NO" + i, i, null, null, null));
+		}
+		ExcelPageSource<Order> source = new ExcelPageSource<Order>() {
+			@Override
+			public List<Order> getPage(int offset, int limit) throws Exception {
+				// 后面的页先返回，验证写入顺序
+				Thread.sleep(offset % 300 == 0 ? 20 : 0);
+				return offset >= orders.size() ? Collections.<Order> emptyList()
+						: orders.subList(offset, Math.min(orders.size(), offset + limit));
+			}
+		};
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		int rows = new ParallelExportExcel("订单", Order.class, 3).setPageSize(100).setSheetRowLimit(1000)
+				.write(source, bos);
+		assertEquals(2500, rows);
+
+		XSSFWorkbook wb = new XSSFWorkbook(new ByteArrayInputStream(bos.toByteArray()));
+		assertEquals(3, wb.getNumberOfSheets());
+		assertEquals("Export2", wb.getSheetName(1));
+		int n = 0;
+		for (int s = 0; s < wb.getNumberOfSheets(); s++) {
+			Sheet sheet = wb.getSheetAt(s);
+			assertEquals("订单号", sheet.getRow(1).getCell(0).getStringCellValue());
+			for (int r = 2; r <= sheet.getLastRowNum(); r++) {
+				assertEquals("NO" + n, sheet.getRow(r).getCell(0).getStringCellValue());
+				assertEquals(n, sheet.getRow(r).getCell(1).getNumericCellValue(), 0);
+				n++;
+			}
+		}
+		assertEquals(2500, n);
+		assertEquals(999, wb.getSheetAt(0).getLastRowNum());
+	}
+
+	@Test
+	public void testSourceError() throws Exception {
+		ExcelPageSource<Order> source = new ExcelPageSource<Order>() {
+			@Override
+			public List<Order> getPage(int offset, int limit) throws Exception {
+				if (offset >= 200) {
+					throw new IllegalStateException("query failed");
+				}
+				List<Order> page = new ArrayList<Order>();
+				for (int i = 0; i < limit; i++) {
+					page.add(new Order("NO" + (offset + i), null, null, null, null));
+				}
+				return page;
+			}
+		};
+		try {
+			new ParallelExportExcel(null, Order.class, 2).setPageSize(100).write(source, new ByteArrayOutputStream());
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("query failed", e.getMessage());
+		}
+	}
+}
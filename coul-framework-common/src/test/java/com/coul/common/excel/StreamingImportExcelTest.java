@@ -0,0 +1,268 @@
+package com.coul.common.excel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * 流式导入与ImportExcel导入结果一致性测试
+ */
+public class StreamingImportExcelTest {
+
+	@Test
+	public void testXlsxSameAsImportExcel() throws Exception {
+		assertSameAsImportExcel("data.xlsx", build(new XSSFWorkbook()));
+	}
+
+	@Test
+	public void testXlsSameAsImportExcel() throws Exception {
+		assertSameAsImportExcel("data.xls", build(new HSSFWorkbook()));
+	}
+
+	@Test
+	public void testRowsAndStop() throws Exception {
+		for (Workbook wb : new Workbook[] {new XSSFWorkbook(), new HSSFWorkbook() }) {
+			Sheet sheet = wb.createSheet("first");
+			sheet.createRow(0).createCell(0).setCellValue("title");
+			sheet.createRow(3).createCell(2).setCellValue(1.5);
+			Row row = sheet.createRow(4);
+			row.createCell(0).setCellValue(true);
+			row.createCell(1).setCellFormula("\"a\"&\"b\"");
+			row.createCell(2).setCellFormula("1/0");
+			wb.setForceFormulaRecalculation(true);
+			wb.getCreationHelper().createFormulaEvaluator().evaluateAll();
+			wb.createSheet("second").createRow(0).createCell(0).setCellValue("other");
+			String name = wb instanceof HSSFWorkbook ? "rows.xls" : "rows.xlsx";
+			byte[] bytes = toBytes(wb);
+
+			StreamingImportExcel ei = new StreamingImportExcel(name, new ByteArrayInputStream(bytes), 0, 0);
+			try {
+				assertEquals("title", ei.getHeader().getValue(0));
+				Iterator<ExcelRow> rows = ei.rows();
+				ExcelRow gap = rows.next();
+				assertEquals(3, gap.getRowNum());
+				assertNull(gap.getValue(0));
+				assertEquals(1.5, gap.getValue(2));
+				ExcelRow last = rows.next();
+				assertEquals(Boolean.TRUE, last.getValue(0));
+				assertEquals("ab", last.getValue(1));
+				assertEquals("#DIV/0!", last.getValue(2));
+				assertEquals(false, rows.hasNext());
+			} finally {
+				ei.close();
+			}
+
+			ei = new StreamingImportExcel(name, new ByteArrayInputStream(bytes), -1, 1);
+			try {
+				final List<Object> values = new ArrayList<Object>();
+				ei.readRows(new ExcelRowHandler<ExcelRow>() {
+					@Override
+					public boolean handle(int rowNum, ExcelRow data) {
+						values.add(data.getValue(0));
+						return false;
+					}
+				});
+				assertEquals(1, values.size());
+				assertEquals("other", values.get(0));
+			} finally {
+				ei.close();
+			}
+		}
+	}
+
+	@Test
+	public void testXlsxIsoDateCells() throws Exception {
+		XSSFWorkbook wb = new XSSFWorkbook();
+		Sheet sheet = wb.createSheet();
+		sheet.createRow(0).createCell(0).setCellValue("Items");
+		sheet.createRow(1).createCell(4).setCellValue("birthday");
+		Row row = sheet.createRow(2);
+		row.createCell(1).setCellValue("Li");
+		row.createCell(4).setCellValue(12345);
+		sheet.createRow(3).createCell(4).setCellValue(23456);
+		// POI不能写入t="d"的单元格，直接替换工作表XML
+		byte[] bytes = replaceSheetXml(toBytes(wb), "<c r=\"E3\" t=\"n\"><v>12345.0</v></c>",
+				"<c r=\"E3\" t=\"d\"><v>2014-03-05T10:30:00</v></c>", "<c r=\"E4\" t=\"n\"><v>23456.0</v></c>",
+				"<c r=\"E4\" t=\"d\"><v>2014-03-06</v></c>");
+		Calendar c = Calendar.getInstance();
+		c.setTime(date(2014, 3, 5));
+		c.set(Calendar.HOUR_OF_DAY, 10);
+		c.set(Calendar.MINUTE, 30);
+
+		final List<Item> items = new ArrayList<Item>();
+		StreamingImportExcel ei = new StreamingImportExcel("dates.xlsx", new ByteArrayInputStream(bytes), 1, 0);
+		try {
+			ei.read(Item.class, new ExcelRowHandler<Item>() {
+				@Override
+				public boolean handle(int rowNum, Item data) {
+					items.add(data);
+					return true;
+				}
+			});
+		} finally {
+			ei.close();
+		}
+		assertEquals(2, items.size());
+		assertEquals(c.getTime(), items.get(0).birthday);
+		assertEquals(date(2014, 3, 6), items.get(1).birthday);
+	}
+
+	private static byte[] replaceSheetXml(byte[] xlsx, String... replacements) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(xlsx));
+		ZipOutputStream out = new ZipOutputStream(bos);
+		for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			byte[] buf = new byte[4096];
+			for (int n = in.read(buf); n != -1; n = in.read(buf)) {
+				content.write(buf, 0, n);
+			}
+			byte[] data = content.toByteArray();
+			if (entry.getName().startsWith("xl/worksheets/")) {
+				String xml = new String(data, "UTF-8");
+				for (int i = 0; i < replacements.length; i += 2) {
+					assertEquals(true, xml.contains(replacements[i]));
+					xml = xml.replace(replacements[i], replacements[i + 1]);
+				}
+				data = xml.getBytes("UTF-8");
+			}
+			out.putNextEntry(new ZipEntry(entry.getName()));
+			out.write(data);
+			out.closeEntry();
+		}
+		out.close();
+		return bos.toByteArray();
+	}
+
+	private static void assertSameAsImportExcel(String name, byte[] bytes) throws Exception {
+		List<Item> expected = new ImportExcel(name, new ByteArrayInputStream(bytes), 1, 0).getDataList(Item.class);
+		final List<Item> actual = new ArrayList<Item>();
+		StreamingImportExcel ei = new StreamingImportExcel(name, new ByteArrayInputStream(bytes), 1, 0);
+		try {
+			ei.read(Item.class, new ExcelRowHandler<Item>() {
+				@Override
+				public boolean handle(int rowNum, Item data) {
+					actual.add(data);
+					return true;
+				}
+			});
+		} finally {
+			ei.close();
+		}
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).toString(), actual.get(i).toString());
+		}
+		assertEquals("0012|Li|40|1.25|" + date(2014, 3, 4).getTime() + "|null", actual.get(1).toString());
+	}
+
+	private static byte[] build(Workbook wb) throws Exception {
+		Sheet sheet = wb.createSheet();
+		sheet.createRow(0).createCell(0).setCellValue("Items");
+		Row header = sheet.createRow(1);
+		String[] titles = {"code", "name", "age", "amount", "birthday", "ignored" };
+		for (int i = 0; i < titles.length; i++) {
+			header.createCell(i).setCellValue(titles[i]);
+		}
+		for (int i = 0; i < 20; i++) {
+			Row row = sheet.createRow(i + 2);
+			if (i == 1) {
+				row.createCell(0).setCellValue("0012");
+			} else if (i % 3 != 0) {
+				row.createCell(0).setCellValue(100 + i);
+			}
+			row.createCell(1).setCellValue(i == 1 ? "Li" : "n" + i);
+			if (i % 5 != 0) {
+				row.createCell(2).setCellValue(39 + i);
+			}
+			row.createCell(3).setCellValue(i == 1 ? 1.25 : i * 0.5);
+			if (i % 4 != 0) {
+				row.createCell(4).setCellValue(date(2014, 3, 3 + i));
+			} else {
+				row.createCell(4).setCellValue("not a date");
+			}
+			row.createCell(5).setCellValue("x");
+		}
+		return toBytes(wb);
+	}
+
+	private static byte[] toBytes(Workbook wb) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		wb.write(bos);
+		return bos.toByteArray();
+	}
+
+	private static Date date(int year, int month, int day) {
+		Calendar c = Calendar.getInstance();
+		c.clear();
+		c.set(year, month - 1, day);
+		return c.getTime();
+	}
+
+	public static class Item {
+		@ExcelField(title = "code", sort = 1)
+		private String code;
+		@ExcelField(title = "name", sort = 2)
+		private String name;
+		private Integer age;
+		@ExcelField(title = "amount", sort = 4)
+		private Double amount;
+		@ExcelField(title = "birthday", sort = 5)
+		private Date birthday;
+		@ExcelField(title = "export only", type = 1, sort = 6)
+		private String exportOnly;
+
+		public void setCode(String code) {
+			this.code = code;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		@ExcelField(title = "age", sort = 3)
+		public Integer getAge() {
+			return age;
+		}
+
+		public void setAge(Integer age) {
+			this.age = age;
+		}
+
+		public void setAmount(Double amount) {
+			this.amount = amount;
+		}
+
+		public void setBirthday(Date birthday) {
+			this.birthday = birthday;
+		}
+
+		public void setExportOnly(String exportOnly) {
+			this.exportOnly = exportOnly;
+		}
+
+		@Override
+		public String toString() {
+			return code + "|" + name + "|" + age + "|" + amount + "|" + (birthday == null ? null : birthday.getTime())
+					+ "|" + exportOnly;
+		}
+	}
+
+}
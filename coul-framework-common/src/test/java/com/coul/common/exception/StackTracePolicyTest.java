@@ -0,0 +1,72 @@
+package com.coul.common.exception;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * 异常堆栈记录策略测试，测试方法并行执行，各方法使用不同的错误码和日志级别
+ */
+public class StackTracePolicyTest {
+
+	@Test
+	public void testDefaultKeepsStackTrace() {
+		assertTrue(new PagingSqlBuilderException(ErrorCode.PAGING_SQL_BUILDER_AS_UNKNOWN_DB_TYPE).getStackTrace().length > 0);
+		assertTrue(new LogicException("E00", "desc").getStackTrace().length > 0);
+		assertTrue(new DaoAccessException(ExceptionLevel.FATAL, "desc").getStackTrace().length > 0);
+	}
+
+	@Test
+	public void testCheckedExceptionKeepsThrowableContract() {
+		DaoAccessException e = new DaoAccessException(ExceptionLevel.FATAL, "desc");
+		IllegalStateException cause = new IllegalStateException("cause");
+		e.initCause(cause);
+		assertSame(cause, e.getCause());
+		assertEquals("testCheckedExceptionKeepsThrowableContract", e.getStackTrace()[0].getMethodName());
+		assertEquals(cause.toString(), new DataAccessException(cause).getMessage());
+	}
+
+	@Test
+	public void testSuppressByErrorCode() {
+		StackTracePolicy.suppress(ErrorCode.DUPLICATE_RECORDE_AS_GET_ENTITY);
+		StackTracePolicy.suppress("E01");
+		try {
+			DuplicateRecordException e = new DuplicateRecordException(ErrorCode.DUPLICATE_RECORDE_AS_GET_ENTITY, "dup");
+			assertEquals(0, e.getStackTrace().length);
+			assertEquals(ErrorCode.DUPLICATE_RECORDE_AS_GET_ENTITY, e.getErrorCode());
+			assertEquals(0, new LogicException("E01", "desc").getStackTrace().length);
+			assertTrue(new LogicException("E02", "desc").getStackTrace().length > 0);
+			assertTrue(new IllegalRecordException(ErrorCode.ILLEGAL_RECORD_AS_NULL_VALUE_ERROR, "x").getStackTrace().length > 0);
+		} finally {
+			StackTracePolicy.restore(ErrorCode.DUPLICATE_RECORDE_AS_GET_ENTITY);
+			StackTracePolicy.restore("E01");
+		}
+		assertTrue(new LogicException("E01", "desc").getStackTrace().length > 0);
+	}
+
+	@Test
+	public void testSuppressByLevel() {
+		Map<String, String> mapping = new HashMap<String, String>();
+		mapping.put("warn", "false");
+		mapping.put("100502", "false");
+		StackTracePolicy.initStackTraceMapping(mapping);
+		try {
+			IllegalStateException cause = new IllegalStateException("cause");
+			DaoAccessException warn = new DaoAccessException(ExceptionLevel.WARN, cause);
+			assertEquals(0, warn.getStackTrace().length);
+			assertSame(cause, warn.getCause());
+			assertEquals(cause.toString(), warn.getMessage());
+			assertTrue(new DaoAccessException(ExceptionLevel.ERROR, cause).getStackTrace().length > 0);
+			assertEquals(0, new IllegalRecordException(ErrorCode.ILLEGAL_RECORD_AS_UPDATE_TRANSIENT, "x").getStackTrace().length);
+		} finally {
+			StackTracePolicy.restore(ExceptionLevel.WARN);
+			StackTracePolicy.restore(ErrorCode.ILLEGAL_RECORD_AS_UPDATE_TRANSIENT);
+		}
+	}
+
+}
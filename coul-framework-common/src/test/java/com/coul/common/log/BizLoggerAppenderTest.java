@@ -0,0 +1,169 @@
+package com.coul.common.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * 异步业务日志测试
+ */
+public class BizLoggerAppenderTest {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	@Test
+	public void testRingBuffer() throws Exception {
+		final BizLogRingBuffer<Integer> queue = new BizLogRingBuffer<Integer>(1000);
+		assertEquals(1024, queue.capacity());
+		final int threads = 4;
+		final int perThread = 20000;
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			final int base = t * perThread;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < perThread; i++) {
+						while (!queue.offer(base + i)) {
+							Thread.yield();
+						}
+					}
+					done.countDown();
+				}
+			}).start();
+		}
+		Set<Integer> received = new HashSet<Integer>();
+		List<Integer> batch = new ArrayList<Integer>();
+		while (received.size() < threads * perThread) {
+			if (queue.drainTo(batch, 100) == 0) {
+				Thread.yield();
+			}
+			received.addAll(batch);
+			batch.clear();
+		}
+		done.await();
+		assertTrue(queue.isEmpty());
+		assertEquals(threads * perThread, received.size());
+	}
+
+	@Test
+	public void testWriteAndRoll() throws Exception {
+		File dir = Files.createTempDirectory("bizlog").toFile();
+		BizLogConfig config = new BizLogConfig();
+		config.setFile(new File(dir, "biz.log").getPath());
+		config.setMaxFileSize(64 * 1024);
+		config.setMaxBackupIndex(3);
+		BizLogDispatcher dispatcher = new BizLogDispatcher(config);
+		final ILogger logger = new BizLoggerAppender(BizLoggerAppenderTest.class, dispatcher);
+		final int threads = 4;
+		final int perThread = 500;
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			final int thread = t;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < perThread; i++) {
+						logger.info("order {} paid by customer {}", thread * perThread + i, "客户" + thread);
+					}
+					done.countDown();
+				}
+			}).start();
+		}
+		done.await();
+		logger.error("failed", new IllegalStateException("boom"));
+		dispatcher.close();
+
+		assertTrue(new File(dir, "biz.log.1").exists());
+		assertFalse(new File(dir, "biz.log.4").exists());
+		int lines = 0;
+		for (File file : dir.listFiles()) {
+			// 超过大小的那条日志写完后才滚动
+			assertTrue(file.length() < 64 * 1024 + 1024);
+			for (String line : Files.readAllLines(file.toPath(), UTF_8)) {
+				if (line.contains(" - order ")) {
+					lines++;
+					assertTrue(line, line.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2},\\d{3} INFO  \\[.*\\] \\["
+							+ BizLoggerAppenderTest.class.getName() + "\\] - order \\d+ paid by customer 客户\\d"));
+				}
+			}
+		}
+		// 只保留3个历史文件，早期的日志被删除
+		assertTrue(lines > 0 && lines <= threads * perThread);
+		String last = new String(Files.readAllBytes(new File(dir, "biz.log").toPath()), UTF_8);
+		assertTrue(last.contains("ERROR [" + Thread.currentThread().getName() + "] [" + BizLoggerAppenderTest.class.getName() + "] - failed"));
+		assertTrue(last.contains("java.lang.IllegalStateException: boom"));
+	}
+
+	@Test
+	public void testRenameFailureKeepsAppending() throws Exception {
+		File dir = Files.createTempDirectory("bizlog").toFile();
+		// 非空目录占用biz.log.1，删除和重命名都会失败
+		File blocker = new File(dir, "biz.log.1");
+		assertTrue(blocker.mkdir());
+		assertTrue(new File(blocker, "x").createNewFile());
+		BizLogFileWriter writer = new BizLogFileWriter(new File(dir, "biz.log").getPath(), 1024, 1);
+		for (int i = 0; i < 100; i++) {
+			writer.append(new BizLogEvent(BizLogLevel.INFO, "test", "record " + i, null));
+		}
+		writer.close();
+		String content = new String(Files.readAllBytes(new File(dir, "biz.log").toPath()), UTF_8);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(content.contains(" - record " + i + System.getProperty("line.separator")));
+		}
+	}
+
+	@Test
+	public void testLazyFormatAndDrop() throws Exception {
+		File dir = Files.createTempDirectory("bizlog").toFile();
+		BizLogConfig config = new BizLogConfig();
+		config.setFile(new File(dir, "biz.log").getPath());
+		config.setLevel(BizLogLevel.WARN);
+		config.setBufferSize(4);
+		BizLogDispatcher dispatcher = new BizLogDispatcher(config);
+		ILogger logger = new BizLoggerAppender(BizLoggerAppenderTest.class, dispatcher);
+		final AtomicInteger formatted = new AtomicInteger();
+		Object arg = new Object() {
+			@Override
+			public String toString() {
+				formatted.incrementAndGet();
+				return "arg";
+			}
+		};
+		assertFalse(logger.isInfoEnabled());
+		logger.info("value {}", arg);
+		logger.debug("value {}", arg);
+		assertEquals(0, formatted.get());
+		logger.warn("value {}", arg, new RuntimeException("cause"));
+		assertEquals(1, formatted.get());
+		dispatcher.flush();
+
+		for (int i = 0; i < 10000; i++) {
+			logger.error("burst " + i);
+		}
+		dispatcher.close();
+		long dropped = dispatcher.getDroppedCount();
+		String content = new String(Files.readAllBytes(new File(dir, "biz.log").toPath()), UTF_8);
+		assertTrue(content.contains("WARN  [" + Thread.currentThread().getName() + "] [" + BizLoggerAppenderTest.class.getName() + "] - value arg"
+				+ System.getProperty("line.separator")));
+		assertTrue(content.contains("java.lang.RuntimeException: cause"));
+		int written = content.split("burst ", -1).length - 1;
+		assertEquals(10000, written + dropped);
+		if (dropped > 0) {
+			assertTrue(content.contains("business log events dropped"));
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.coul.common.utils;
+
+import com.coul.common.model.MapBean;
+
+/**
+ * 对比逐字符扫描与预编译模板的格式化耗时.
+ *
+ * 直接运行main方法，不参与单元测试.
+ */
+public class MessageTemplateBenchmark {
+
+	private static final int ITERATIONS = 2000000;
+
+	/** 防止JIT消除无用计算 */
+	private static long sink;
+
+	public static void main(String[] args) {
+		final String indexed = "用户{}在{}办理业务{}失败，错误码{}";
+		final Object[] values = { "zhangsan", "营业厅", 1024, "E0001" };
+		final String named = "所选择的号码{accNbr}在系统{system}中已经存在";
+		final MapBean params = new MapBean();
+		params.put("accNbr", "13800000000");
+		params.put("system", "CRM");
+		for (int round = 0; round < 2; round++) {
+			run("String.format      ", new Task() {
+				public String run() {
+					return String.format("用户%s在%s办理业务%s失败，错误码%s", values);
+				}
+			});
+			run("MessageTemplate {} ", new Task() {
+				public String run() {
+					return MessageTemplate.compile(indexed).format(values);
+				}
+			});
+			run("MessageTemplate map", new Task() {
+				public String run() {
+					return MessageTemplate.compileNamed(named).format(params);
+				}
+			});
+			System.out.println();
+		}
+		System.out.println(sink);
+	}
+
+	private static void run(String name, Task task) {
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			sink += task.run().length();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink += task.run().length();
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%s: %8.1f ns/op%n", name, (double) nanos / ITERATIONS);
+	}
+
+	private interface Task {
+		String run();
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.coul.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.coul.common.exception.LogicException;
+import com.coul.common.model.MapBean;
+import com.coul.common.utils.type.FormatUtils;
+
+/**
+ * 消息模板测试，结果与原有的MessageFormatter、FormatUtils逐字符扫描一致
+ */
+public class MessageTemplateTest {
+
+	@Test
+	public void testIndexed() {
+		assertSame(MessageTemplate.compile("Hi {}."), MessageTemplate.compile("Hi {}."));
+		assertEquals("Hi there.", MessageFormatter.format("Hi {}.", "there"));
+		assertEquals("Hi Alice. My name is Bob.", MessageFormatter.format("Hi {}. My name is {}.", "Alice", "Bob"));
+		assertEquals("a null b", MessageFormatter.arrayFormat("a {} b", new Object[] { null }));
+		// 参数不足时剩余部分原样输出，参数多余时忽略
+		assertEquals("1 {} \\{}", MessageFormatter.arrayFormat("{} {} \\{}", new Object[] { 1 }));
+		assertEquals("1 2", MessageFormatter.arrayFormat("{} {}", new Object[] { 1, 2, 3 }));
+		// 转义
+		assertEquals("{} 1", MessageFormatter.arrayFormat("\\{} {}", new Object[] { 1 }));
+		assertEquals("\\1", MessageFormatter.arrayFormat("\\\\{}", new Object[] { 1 }));
+		// 不成对的{之后不再替换
+		assertEquals("{x} {}", MessageFormatter.arrayFormat("{x} {}", new Object[] { 1 }));
+		assertEquals("no args", MessageFormatter.arrayFormat("no args", new Object[0]));
+		assertEquals(null, MessageFormatter.arrayFormat(null, new Object[] { 1 }));
+	}
+
+	@Test
+	public void testNamed() {
+		MapBean params = new MapBean();
+		params.put("accNbr", "13800000000");
+		assertEquals("所选择的号码13800000000在系统中已经存在",
+				FormatUtils.format("所选择的号码{ accNbr }在系统中已经存在", params));
+		assertEquals("a{b13800000000}c", FormatUtils.format("a{b{accNbr}}c", params));
+		assertEquals("ab null", FormatUtils.format("a{}b {missing}", params));
+		assertEquals("xunclosed", FormatUtils.format("x{unclosed", params));
+	}
+
+	@Test
+	public void testExceptionMessage() {
+		LogicException e = new LogicException("E01", "号码{}已存在", "13800000000");
+		assertEquals("号码13800000000已存在", e.getExpDesc());
+		assertEquals("[异常类型是：" + LogicException.class.getName() + "；异常编码是：E01；异常提示是：号码13800000000已存在]",
+				e.toString());
+		LogicException named = new LogicException("E02", "号码{accNbr}已存在");
+		named.addParam("accNbr", "13900000000");
+		assertEquals("号码13900000000已存在", named.getFormattedDesc());
+	}
+
+	@Test
+	public void testNestedFormat() {
+		Object nested = new Object() {
+			@Override
+			public String toString() {
+				return MessageFormatter.format("<{}>", "inner");
+			}
+		};
+		assertEquals("outer <inner> end", MessageFormatter.format("outer {} {}", nested, "end"));
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.coul.common.utils.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 不同压缩级别、数据大小下，每次新建Deflater/Inflater与池化Compressor的吞吐量对比.
+ *
+ * 数据为消息中常见的JSON文本，大小取512B、4KB、64KB。直接运行main方法，不参与单元测试.
+ */
+public class CompressionBenchmark {
+
+	private static final int[] SIZES = { 512, 4 * 1024, 64 * 1024 };
+
+	private static final int[] LEVELS = { 1, 6, 9 };
+
+	/** 每轮处理的数据总量 */
+	private static final long BYTES_PER_ROUND = 64L * 1024 * 1024;
+
+	/** 防止JIT消除无用计算 */
+	private static long sink;
+
+	public static void main(String[] args) throws Exception {
+		for (int round = 0; round < 2; round++) {
+			for (int size : SIZES) {
+				final byte[] data = payload(size);
+				for (final int level : LEVELS) {
+					final Compressor compressor = new Compressor(level);
+					final byte[] compressed = compressor.compress(data);
+					String name = String.format("%6dB level %d ratio %.2f", size, level, compressed.length / (double) size);
+					run(name + " legacy compress  ", size, new Task() {
+						public int run() throws Exception {
+							return legacyCompress(data, level).length;
+						}
+					});
+					run(name + " pooled compress  ", size, new Task() {
+						public int run() throws Exception {
+							return compressor.compress(data).length;
+						}
+					});
+					run(name + " legacy decompress", size, new Task() {
+						public int run() throws Exception {
+							return legacyDecompress(compressed).length;
+						}
+					});
+					run(name + " pooled decompress", size, new Task() {
+						public int run() throws Exception {
+							return compressor.decompress(compressed).length;
+						}
+					});
+				}
+			}
+			System.out.println();
+		}
+		System.out.println(sink);
+	}
+
+	private static void run(String name, int size, Task task) throws Exception {
+		int iterations = (int) (BYTES_PER_ROUND / size);
+		for (int i = 0; i < iterations / 10; i++) {
+			sink += task.run();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += task.run();
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%s: %8.1f MB/s, %8.2f us/op%n", name, BYTES_PER_ROUND * 1e9 / nanos / 1024 / 1024,
+				nanos / 1000.0 / iterations);
+	}
+
+	private static byte[] payload(int size) throws Exception {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; sb.length() < size; i++) {
+			sb.append("{\"orderId\":").append(100000 + i * 37).append(",\"status\":\"").append(i % 3 == 0 ? "PAID" : "NEW")
+					.append("\",\"amount\":").append(i * 13 % 1000).append(".50,\"customer\":\"客户").append(i % 11).append("\"},");
+		}
+		byte[] bytes = sb.toString().getBytes("UTF-8");
+		byte[] data = new byte[size];
+		System.arraycopy(bytes, 0, data, 0, size);
+		return data;
+	}
+
+	/**
+	 * 原ZLibUtils的实现
+	 */
+	private static byte[] legacyCompress(byte[] data, int level) {
+		Deflater compresser = new Deflater(level);
+		compresser.setInput(data);
+		compresser.finish();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length);
+		byte[] buf = new byte[1024];
+		while (!compresser.finished()) {
+			bos.write(buf, 0, compresser.deflate(buf));
+		}
+		compresser.end();
+		return bos.toByteArray();
+	}
+
+	private static byte[] legacyDecompress(byte[] data) throws Exception {
+		Inflater decompresser = new Inflater();
+		decompresser.setInput(data);
+		ByteArrayOutputStream o = new ByteArrayOutputStream(data.length);
+		byte[] buf = new byte[1024];
+		while (!decompresser.finished()) {
+			o.write(buf, 0, decompresser.inflate(buf));
+		}
+		decompresser.end();
+		return o.toByteArray();
+	}
+
+	private interface Task {
+		int run() throws Exception;
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.coul.common.utils.compress;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import org.junit.Test;
+
+/**
+ * 池化压缩解压测试
+ */
+public class CompressorTest {
+
+	@Test
+	public void testZLibRoundTrip() throws Exception {
+		Compressor compressor = new Compressor(6, 64, 2);
+		for (byte[] data : samples()) {
+			byte[] compressed = compressor.compress(data);
+			assertArrayEquals(data, compressor.decompress(compressed));
+			// 与JDK的InflaterInputStream兼容
+			assertArrayEquals(data, readAll(new InflaterInputStream(new ByteArrayInputStream(compressed))));
+			assertArrayEquals(data, ZLibUtils.decompress(ZLibUtils.compress(data)));
+		}
+	}
+
+	@Test
+	public void testGZipCompatible() throws Exception {
+		Compressor compressor = Compressor.getDefault();
+		for (byte[] data : samples()) {
+			byte[] gzipped = compressor.gzip(data);
+			assertArrayEquals(data, readAll(new GZIPInputStream(new ByteArrayInputStream(gzipped))));
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			GZIPOutputStream gos = new GZIPOutputStream(bos);
+			gos.write(data);
+			gos.close();
+			assertArrayEquals(data, GZipUtils.ungzip(bos.toByteArray()));
+		}
+		// 首尾相连的多个GZip数据
+		byte[] first = compressor.gzip("abc".getBytes("UTF-8"));
+		byte[] second = compressor.gzip("def".getBytes("UTF-8"));
+		byte[] joined = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, joined, first.length, second.length);
+		assertEquals("abcdef", new String(compressor.ungzip(joined), "UTF-8"));
+	}
+
+	@Test
+	public void testByteBufferAndStream() throws Exception {
+		Compressor compressor = new Compressor(1, 128, 1);
+		byte[] data = samples()[2];
+		ByteBuffer heap = ByteBuffer.allocate(data.length + 10);
+		heap.position(10);
+		heap.put(data).position(10);
+		ByteBuffer compressed = compressor.compress(heap.slice());
+		ByteBuffer direct = ByteBuffer.allocateDirect(compressed.remaining());
+		direct.put(compressed).flip();
+		ByteBuffer restored = compressor.decompress(direct);
+		assertEquals(0, direct.remaining());
+		byte[] bytes = new byte[restored.remaining()];
+		restored.get(bytes);
+		assertArrayEquals(data, bytes);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		OutputStream os = compressor.newCompressStream(bos);
+		os.write(data);
+		os.close();
+		assertArrayEquals(data, readAll(compressor.newDecompressStream(new ByteArrayInputStream(bos.toByteArray()))));
+
+		ByteArrayOutputStream gz = new ByteArrayOutputStream();
+		GZipUtils.gzip(new ByteArrayInputStream(data), gz);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GZipUtils.ungzip(new ByteArrayInputStream(gz.toByteArray()), out);
+		assertArrayEquals(data, out.toByteArray());
+	}
+
+	@Test
+	public void testGZipStream() throws Exception {
+		Compressor compressor = new Compressor(6, 64, 2);
+		for (byte[] data : samples()) {
+			ByteArrayOutputStream gz = new ByteArrayOutputStream();
+			compressor.gzip(new ByteArrayInputStream(data), gz);
+			assertArrayEquals(data, readAll(new GZIPInputStream(new ByteArrayInputStream(gz.toByteArray()))));
+			assertArrayEquals(gz.toByteArray(), compressor.gzip(data));
+
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			GZIPOutputStream gos = new GZIPOutputStream(bos);
+			gos.write(data);
+			gos.close();
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			compressor.ungzip(new ByteArrayInputStream(bos.toByteArray()), out);
+			assertArrayEquals(data, out.toByteArray());
+		}
+		// 首尾相连的多个GZip数据，之后的内容忽略
+		byte[] first = compressor.gzip(samples()[2]);
+		byte[] second = compressor.gzip("def".getBytes("UTF-8"));
+		byte[] joined = Arrays.copyOf(first, first.length + second.length + 1);
+		System.arraycopy(second, 0, joined, first.length, second.length);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		compressor.ungzip(new ByteArrayInputStream(joined), out);
+		assertEquals(new String(samples()[2], "UTF-8") + "def", new String(out.toByteArray(), "UTF-8"));
+
+		second[second.length - 8] ^= 1;
+		try {
+			compressor.ungzip(new ByteArrayInputStream(second), new ByteArrayOutputStream());
+			fail();
+		} catch (ZipException e) {
+			assertTrue(e.getMessage().contains("CRC"));
+		}
+		try {
+			compressor.ungzip(new ByteArrayInputStream(Arrays.copyOf(first, first.length - 3)), new ByteArrayOutputStream());
+			fail();
+		} catch (EOFException e) {
+			// 数据不完整
+		}
+	}
+
+	@Test
+	public void testCorruptedData() throws Exception {
+		Compressor compressor = Compressor.getDefault();
+		byte[] data = samples()[3];
+		byte[] compressed = compressor.compress(data);
+		try {
+			compressor.decompress(Arrays.copyOf(compressed, compressed.length / 2));
+			fail();
+		} catch (IOException e) {
+			// 数据不完整
+		}
+		byte[] gzipped = compressor.gzip(data);
+		gzipped[gzipped.length - 8] ^= 1;
+		try {
+			compressor.ungzip(gzipped);
+			fail();
+		} catch (ZipException e) {
+			assertTrue(e.getMessage().contains("CRC"));
+		}
+		// ZLibUtils保持原有行为，解压失败时返回原数据
+		byte[] plain = "not compressed".getBytes("UTF-8");
+		assertArrayEquals(plain, ZLibUtils.decompress(plain));
+	}
+
+	private static byte[][] samples() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			sb.append("{\"id\":").append(i).append(",\"name\":\"订单").append(i % 7).append("\"}");
+		}
+		byte[] random = new byte[100000];
+		new Random(1).nextBytes(random);
+		return new byte[][] { new byte[0], "a".getBytes("UTF-8"), sb.toString().getBytes("UTF-8"), random };
+	}
+
+	private static byte[] readAll(InputStream is) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		byte[] buf = new byte[100];
+		int n;
+		while ((n = is.read(buf)) != -1) {
+			bos.write(buf, 0, n);
+		}
+		is.close();
+		return bos.toByteArray();
+	}
+
+}
@@ -0,0 +1,178 @@
+package com.coul.common.utils.crypt;
+
+import org.apache.commons.codec.binary.Base64;
+
+/**
+ * 原Base64Cryption实现、commons-codec与Base64Codec的编码解码吞吐量对比.
+ *
+ * 原实现的编码解码逻辑复制在本类中。数据大小取20B（摘要）、1KB、64KB，直接运行main方法，不参与单元测试.
+ */
+public class Base64Benchmark {
+
+	private static final int[] SIZES = { 20, 1024, 64 * 1024 };
+
+	/** 每轮处理的数据总量 */
+	private static final long BYTES_PER_ROUND = 64L * 1024 * 1024;
+
+	private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes();
+
+	private static final byte[] DECODABET = new byte[128];
+
+	static {
+		java.util.Arrays.fill(DECODABET, (byte) -9);
+		for (int i = 0; i < 64; i++) {
+			DECODABET[ALPHABET[i]] = (byte) i;
+		}
+		DECODABET['='] = -1;
+		DECODABET['\n'] = -5;
+		DECODABET['\r'] = -5;
+		DECODABET[' '] = -5;
+		DECODABET['\t'] = -5;
+	}
+
+	/** 防止JIT消除无用计算 */
+	private static long sink;
+
+	public static void main(String[] args) throws Exception {
+		for (int round = 0; round < 2; round++) {
+			for (int size : SIZES) {
+				final byte[] data = new byte[size];
+				new java.util.Random(size).nextBytes(data);
+				final String encoded = Base64Codec.STANDARD.encodeToString(data);
+				String name = String.format("%6dB", size);
+				run(name + " legacy encode ", size, new Task() {
+					public int run() throws Exception {
+						return legacyEncode(data).length();
+					}
+				});
+				run(name + " commons encode", size, new Task() {
+					public int run() throws Exception {
+						return Base64.encodeBase64String(data).length();
+					}
+				});
+				run(name + " codec encode  ", size, new Task() {
+					public int run() throws Exception {
+						return Base64Codec.STANDARD.encodeToString(data).length();
+					}
+				});
+				run(name + " legacy decode ", size, new Task() {
+					public int run() throws Exception {
+						return legacyDecode(encoded).length;
+					}
+				});
+				run(name + " commons decode", size, new Task() {
+					public int run() throws Exception {
+						return Base64.decodeBase64(encoded).length;
+					}
+				});
+				run(name + " codec decode  ", size, new Task() {
+					public int run() throws Exception {
+						return Base64Codec.STANDARD.decode(encoded).length;
+					}
+				});
+			}
+			System.out.println();
+		}
+		System.out.println(sink);
+	}
+
+	private static void run(String name, int size, Task task) throws Exception {
+		int iterations = (int) (BYTES_PER_ROUND / size);
+		for (int i = 0; i < iterations / 10; i++) {
+			sink += task.run();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += task.run();
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%s: %8.1f MB/s, %8.3f us/op%n", name, BYTES_PER_ROUND * 1e9 / nanos / 1024 / 1024,
+				nanos / 1000.0 / iterations);
+	}
+
+	/**
+	 * 原Base64Cryption.encodeBytes，不换行
+	 */
+	private static String legacyEncode(byte[] source) throws Exception {
+		int len = source.length;
+		byte[] outBuff = new byte[len * 4 / 3 + (len % 3 > 0 ? 4 : 0)];
+		int d = 0;
+		int e = 0;
+		for (; d < len - 2; d += 3, e += 4) {
+			encode3to4(source, d, 3, outBuff, e);
+		}
+		if (d < len) {
+			encode3to4(source, d, len - d, outBuff, e);
+			e += 4;
+		}
+		return new String(outBuff, 0, e, "iso-8859-1");
+	}
+
+	private static void encode3to4(byte[] source, int srcOffset, int numSigBytes, byte[] destination, int destOffset) {
+		int inBuff = (numSigBytes > 0 ? ((source[srcOffset] << 24) >>> 8) : 0)
+				| (numSigBytes > 1 ? ((source[srcOffset + 1] << 24) >>> 16) : 0)
+				| (numSigBytes > 2 ? ((source[srcOffset + 2] << 24) >>> 24) : 0);
+		destination[destOffset] = ALPHABET[(inBuff >>> 18)];
+		destination[destOffset + 1] = ALPHABET[(inBuff >>> 12) & 0x3f];
+		destination[destOffset + 2] = numSigBytes > 1 ? ALPHABET[(inBuff >>> 6) & 0x3f] : (byte) '=';
+		destination[destOffset + 3] = numSigBytes > 2 ? ALPHABET[(inBuff) & 0x3f] : (byte) '=';
+	}
+
+	/**
+	 * 原Base64Cryption.decode
+	 */
+	private static byte[] legacyDecode(String s) throws Exception {
+		byte[] source = s.getBytes("iso-8859-1");
+		int len = source.length;
+		byte[] outBuff = new byte[len * 3 / 4];
+		int outBuffPosn = 0;
+		byte[] b4 = new byte[4];
+		int b4Posn = 0;
+		for (int i = 0; i < len; i++) {
+			byte sbiCrop = (byte) (source[i] & 0x7f);
+			byte sbiDecode = DECODABET[sbiCrop];
+			if (sbiDecode >= -5) {
+				if (sbiDecode >= -1) {
+					b4[b4Posn++] = sbiCrop;
+					if (b4Posn > 3) {
+						outBuffPosn += decode4to3(b4, outBuff, outBuffPosn);
+						b4Posn = 0;
+						if (sbiCrop == '=') {
+							break;
+						}
+					}
+				}
+			} else {
+				return null;
+			}
+		}
+		byte[] out = new byte[outBuffPosn];
+		System.arraycopy(outBuff, 0, out, 0, outBuffPosn);
+		return out;
+	}
+
+	private static int decode4to3(byte[] source, byte[] destination, int destOffset) {
+		if (source[2] == '=') {
+			int outBuff = ((DECODABET[source[0]] & 0xFF) << 18) | ((DECODABET[source[1]] & 0xFF) << 12);
+			destination[destOffset] = (byte) (outBuff >>> 16);
+			return 1;
+		} else if (source[3] == '=') {
+			int outBuff = ((DECODABET[source[0]] & 0xFF) << 18) | ((DECODABET[source[1]] & 0xFF) << 12)
+					| ((DECODABET[source[2]] & 0xFF) << 6);
+			destination[destOffset] = (byte) (outBuff >>> 16);
+			destination[destOffset + 1] = (byte) (outBuff >>> 8);
+			return 2;
+		}
+		int outBuff = ((DECODABET[source[0]] & 0xFF) << 18) | ((DECODABET[source[1]] & 0xFF) << 12)
+				| ((DECODABET[source[2]] & 0xFF) << 6) | ((DECODABET[source[3]] & 0xFF));
+		destination[destOffset] = (byte) (outBuff >> 16);
+		destination[destOffset + 1] = (byte) (outBuff >> 8);
+		destination[destOffset + 2] = (byte) (outBuff);
+		return 3;
+	}
+
+	private interface Task {
+		int run() throws Exception;
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.coul.common.utils.crypt;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.Test;
+
+/**
+ * Base64Codec与commons-codec结果一致性测试
+ */
+public class Base64CodecTest {
+
+	@Test
+	public void testEncodeMatchesCommonsCodec() {
+		Random random = new Random(7);
+		Base64 mime = new Base64(76, new byte[] { '\r', '\n' });
+		for (int len = 0; len < 400; len++) {
+			byte[] data = new byte[len];
+			random.nextBytes(data);
+			String standard = Base64.encodeBase64String(data);
+			assertEquals(standard, Base64Codec.STANDARD.encodeToString(data));
+			assertEquals(standard, new String(Base64Codec.STANDARD.encode(data)));
+			assertEquals(Base64.encodeBase64URLSafeString(data), Base64Codec.URL_SAFE.encodeToString(data));
+			// commons-codec在最后一行后面也输出换行符
+			String expected = mime.encodeToString(data);
+			assertEquals(expected, len == 0 ? "" : Base64Codec.MIME.encodeToString(data) + "\r\n");
+			assertEquals(Base64Codec.MIME.encodedLength(len), Base64Codec.MIME.encodeToString(data).length());
+
+			assertArrayEquals(data, Base64Codec.STANDARD.decode(standard));
+			assertArrayEquals(data, Base64Codec.STANDARD.decode(Base64.encodeBase64URLSafeString(data)));
+			assertArrayEquals(data, Base64Codec.MIME.decode(expected));
+			assertArrayEquals(data, Base64Codec.STANDARD.decode(expected.getBytes()));
+		}
+	}
+
+	@Test
+	public void testLegacyLineBreaks() {
+		byte[] data = new byte[57 * 2];
+		new Random(3).nextBytes(data);
+		String encoded = Base64Cryption.encodeBytes(data);
+		assertEquals(152 + 2, encoded.length());
+		assertEquals('\n', encoded.charAt(76));
+		assertTrue(encoded.endsWith("\n"));
+		assertEquals(Base64Codec.STANDARD.encodeToString(data), encoded.replace("\n", ""));
+		assertEquals(Base64Codec.STANDARD.encodeToString(data, 0, 58), Base64Cryption.encodeBytes(data, 0, 58).replace("\n", ""));
+		assertArrayEquals(data, Base64Cryption.decode(encoded));
+		assertNull(Base64Cryption.decode("ab*d"));
+	}
+
+	@Test
+	public void testInvalid() {
+		for (String s : new String[] { "a", "ab=c", "abc==", "a===", "abcd*", "ab=", "ab==c", "中abc" }) {
+			try {
+				Base64Codec.STANDARD.decode(s);
+				fail(s);
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+		assertArrayEquals("ab".getBytes(), Base64Codec.STANDARD.decode("YWI = \r\n"));
+		assertArrayEquals("ab".getBytes(), Base64Codec.STANDARD.decode("YWI"));
+	}
+
+	@Test
+	public void testByteBuffer() {
+		byte[] data = "hello base64 buffer".getBytes();
+		ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+		direct.put(data).flip();
+		ByteBuffer encoded = Base64Codec.STANDARD.encode(direct);
+		assertEquals(0, direct.remaining());
+		assertEquals(Base64.encodeBase64String(data), new String(encoded.array(), 0, encoded.limit()));
+		ByteBuffer decoded = Base64Codec.STANDARD.decode(encoded);
+		assertEquals(data.length, decoded.remaining());
+		byte[] bytes = new byte[decoded.remaining()];
+		decoded.get(bytes);
+		assertArrayEquals(data, bytes);
+	}
+
+	@Test
+	public void testStreams() throws IOException {
+		Random random = new Random(11);
+		for (Base64Codec codec : new Base64Codec[] { Base64Codec.STANDARD, Base64Codec.URL_SAFE, Base64Codec.MIME }) {
+			for (int len : new int[] { 0, 1, 2, 3, 56, 57, 58, 3021, 3022, 100000 }) {
+				byte[] data = new byte[len];
+				random.nextBytes(data);
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				OutputStream out = codec.wrap(bytes);
+				for (int off = 0; off < len;) {
+					int n = Math.min(len - off, random.nextInt(5000));
+					if (n == 1) {
+						out.write(data[off]);
+					} else {
+						out.write(data, off, n);
+					}
+					off += n;
+				}
+				out.close();
+				assertEquals(codec.encodeToString(data), new String(bytes.toByteArray()));
+
+				InputStream in = codec.wrap(new ByteArrayInputStream(bytes.toByteArray()));
+				ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+				byte[] buffer = new byte[777];
+				int n;
+				while ((n = in.read(buffer)) != -1) {
+					decoded.write(buffer, 0, n);
+				}
+				assertEquals(-1, in.read());
+				assertArrayEquals(data, decoded.toByteArray());
+			}
+		}
+	}
+
+}
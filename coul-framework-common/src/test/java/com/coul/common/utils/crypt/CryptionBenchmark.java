@@ -0,0 +1,123 @@
+package com.coul.common.utils.crypt;
+
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import com.coul.common.utils.type.RandomUtils;
+
+/**
+ * 不同线程数下，每次新建MessageDigest与线程内复用、共享Random与ThreadLocalRandom的吞吐量对比.
+ *
+ * 直接运行main方法，不参与单元测试.
+ */
+public class CryptionBenchmark {
+
+	private static final int[] THREADS = { 1, 2, 4, 8 };
+
+	/** 每个线程每轮的调用次数 */
+	private static final int ITERATIONS = 200000;
+
+	private static final Random SHARED = new Random();
+
+	/** 防止JIT消除无用计算 */
+	private static volatile long sink;
+
+	public static void main(String[] args) throws Exception {
+		for (int round = 0; round < 2; round++) {
+			for (int threads : THREADS) {
+				run("legacy md5      ", threads, new Task() {
+					public int run(int i) throws Exception {
+						return legacyMd5("user" + i + ":password").length();
+					}
+				});
+				run("cached md5      ", threads, new Task() {
+					public int run(int i) throws Exception {
+						return Md5Cryption.encrypt("user" + i + ":password").length();
+					}
+				});
+				run("legacy random   ", threads, new Task() {
+					public int run(int i) throws Exception {
+						return legacyRandomNumber(6).length();
+					}
+				});
+				run("thread random   ", threads, new Task() {
+					public int run(int i) throws Exception {
+						return RandomUtils.getRandomNumberString(6).length();
+					}
+				});
+				run("legacy uuid     ", threads, new Task() {
+					public int run(int i) throws Exception {
+						return UUID.randomUUID().toString().replaceAll("-", "").length();
+					}
+				});
+				run("formatted uuid  ", threads, new Task() {
+					public int run(int i) throws Exception {
+						return RandomUtils.genUUID().length();
+					}
+				});
+			}
+			System.out.println();
+		}
+		System.out.println(sink);
+	}
+
+	private static void run(String name, int threads, final Task task) throws Exception {
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			new Thread(new Runnable() {
+				public void run() {
+					try {
+						long local = 0;
+						for (int i = 0; i < ITERATIONS / 10; i++) {
+							local += task.run(i);
+						}
+						start.await();
+						for (int i = 0; i < ITERATIONS; i++) {
+							local += task.run(i);
+						}
+						sink += local;
+					} catch (Exception e) {
+						e.printStackTrace();
+					} finally {
+						done.countDown();
+					}
+				}
+			}).start();
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		done.await();
+		long nanos = System.nanoTime() - begin;
+		System.out.printf("%s %d threads: %8.0f kops/s%n", name, threads, (double) ITERATIONS * threads * 1e6 / nanos);
+	}
+
+	private static String legacyMd5(String s) throws Exception {
+		byte[] buff = MessageDigest.getInstance("MD5").digest(s.getBytes());
+		StringBuilder hexStr = new StringBuilder();
+		for (int n = 0; n < buff.length; n++) {
+			String tmpStr = Integer.toHexString(buff[n] & 0XFF);
+			if (tmpStr.length() == 1) {
+				hexStr.append("0");
+			}
+			hexStr.append(tmpStr);
+		}
+		return hexStr.toString().toUpperCase();
+	}
+
+	private static String legacyRandomNumber(int strLen) {
+		String ss = "0123456789";
+		String s = "";
+		for (int i = 0; i < strLen; i++) {
+			s = s + ss.charAt(SHARED.nextInt(ss.length()));
+		}
+		return s;
+	}
+
+	private interface Task {
+		int run(int i) throws Exception;
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.coul.common.utils.crypt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.security.MessageDigest;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.coul.common.utils.type.RandomUtils;
+import com.coul.common.utils.type.StringUtils;
+
+/**
+ * 摘要、十六进制编码和随机字符串测试
+ */
+public class CryptionTest {
+
+	@Test
+	public void testMd5() {
+		assertEquals("900150983CD24FB0D6963F7D28E17F72", Md5Cryption.encrypt("abc"));
+		assertEquals("D41D8CD98F00B204E9800998ECF8427E", Md5Cryption.encrypt(""));
+		// 同一线程重复计算结果不变
+		assertEquals("900150983CD24FB0D6963F7D28E17F72", Md5Cryption.encrypt("abc"));
+	}
+
+	@Test
+	public void testSha() throws Exception {
+		byte[] key = "key".getBytes();
+		MessageDigest digest = MessageDigest.getInstance("SHA-1");
+		digest.update(key);
+		digest.update("password".getBytes());
+		digest.update(key);
+		byte[] expected = digest.digest();
+		assertEquals(StringUtils.byte2hex(expected), SHACryption.encrypt("password", key));
+		assertEquals(Base64Cryption.encodeBytes(expected), SHACryption.encrypt("password", "key"));
+		// 中途失败残留的数据不影响下次计算
+		ThreadLocalDigest.SHA1.get().update(key);
+		assertEquals(StringUtils.byte2hex(expected), SHACryption.encrypt("password", key));
+	}
+
+	@Test
+	public void testByte2hex() {
+		assertEquals("", StringUtils.byte2hex(new byte[0]));
+		assertEquals("000F10A0FF7F80", StringUtils.byte2hex(new byte[] { 0, 15, 16, (byte) 0xA0, -1, 127, -128 }));
+	}
+
+	@Test
+	public void testRandomUtils() {
+		String uuid = RandomUtils.genUUID();
+		assertEquals(32, uuid.length());
+		UUID parsed = UUID.fromString(uuid.replaceFirst("(.{8})(.{4})(.{4})(.{4})(.{12})", "$1-$2-$3-$4-$5"));
+		assertEquals(uuid, parsed.toString().replace("-", ""));
+		assertTrue(RandomUtils.getRandomNumberString(20).matches("[0-9]{20}"));
+		assertTrue(RandomUtils.getRandomAlphaString(20).matches("[a-zA-Z]{20}"));
+		assertTrue(RandomUtils.getRandomMixString(20).matches("[a-zA-Z0-9]{20}"));
+		assertEquals("", RandomUtils.getRandomMixString(0));
+		assertEquals(10, RandomUtils.genRandomString(10).length());
+		assertEquals(5, RandomUtils.getRandomArray(5).length);
+	}
+
+}
@@ -0,0 +1,247 @@
+package com.coul.common.utils.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.core.convert.converter.Converter;
+
+import com.coul.common.utils.JsonUtil;
+import com.coul.common.utils.ObjectUtil;
+import com.coul.common.utils.type.ConversionRegistry;
+
+/**
+ * Bean/Map直接转换测试
+ */
+public class BeanConverterTest {
+
+	@Test
+	public void testMapToBeanWithJdbcValues() {
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put("ID", new BigDecimal("42"));
+		row.put("name", "tom");
+		row.put("createTime", new Timestamp(1396400000000L));
+		row.put("enabled", Integer.valueOf(1));
+		row.put("amount", "12.50");
+		row.put("status", "DISABLED");
+		row.put("unknown", "ignored");
+		Child child = ObjectUtil.toBean(row, Child.class);
+		assertEquals(Long.valueOf(42), child.getId());
+		assertEquals("tom", child.getName());
+		assertEquals(Date.class, child.getCreateTime().getClass());
+		assertEquals(1396400000000L, child.getCreateTime().getTime());
+		assertTrue(child.isEnabled());
+		assertEquals(new BigDecimal("12.50"), child.getAmount());
+		assertEquals(Status.DISABLED, child.getStatus());
+	}
+
+	@Test
+	public void testStringValuesUseConverters() {
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put("createTime", "2014-04-03");
+		row.put("id", "");
+		Map<String, Object> address = new HashMap<String, Object>();
+		address.put("city", "fuzhou");
+		row.put("address", address);
+		row.put("tags", Arrays.asList("a", "b"));
+		Child child = BeanConverter.convert(row, Child.class);
+		assertNotNull(child.getCreateTime());
+		assertNull(child.getId());
+		assertEquals("fuzhou", child.getAddress().getCity());
+		assertEquals(Arrays.asList("a", "b"), child.getTags());
+	}
+
+	@Test
+	public void testBeanToBeanIsDeepAndCaseInsensitive() {
+		Child source = new Child();
+		source.setId(7L);
+		source.setName("jerry");
+		source.setCreateTime(new Date(1000L));
+		Address address = new Address();
+		address.setCity("xiamen");
+		source.setAddress(address);
+		Summary summary = JsonUtil.convert(source, Summary.class);
+		assertEquals("7", summary.getID());
+		assertEquals("jerry", summary.getName());
+
+		Child copy = BeanConverter.convert(source, Child.class);
+		assertEquals(Long.valueOf(7), copy.getId());
+		assertEquals(new Date(1000L), copy.getCreateTime());
+		assertNotSame(source.getCreateTime(), copy.getCreateTime());
+		assertNotSame(source.getAddress(), copy.getAddress());
+		assertEquals("xiamen", copy.getAddress().getCity());
+	}
+
+	public enum Status {
+		ENABLED, DISABLED
+	}
+
+	@Test
+	public void testConverterRegisteredAfterCompile() {
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put("code", "A1");
+		assertNull(BeanConverter.convert(row, CodeHolder.class).getCode());
+		Converter<String, Code> converter = new Converter<String, Code>() {
+			@Override
+			public Code convert(String source) {
+				Code code = new Code();
+				code.setValue(source);
+				return code;
+			}
+		};
+		ConversionRegistry.CONVERTERS.add(converter);
+		try {
+			assertEquals("A1", BeanConverter.convert(row, CodeHolder.class).getCode().getValue());
+		} finally {
+			ConversionRegistry.CONVERTERS.remove(converter);
+		}
+		assertNull(BeanConverter.convert(row, CodeHolder.class).getCode());
+	}
+
+	public static class Code {
+		private String value;
+
+		public String getValue() {
+			return value;
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+		}
+	}
+
+	public static class CodeHolder {
+		private Code code;
+
+		public Code getCode() {
+			return code;
+		}
+
+		public void setCode(Code code) {
+			this.code = code;
+		}
+	}
+
+	public static class Base {
+		private Long id;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+	}
+
+	public static class Address {
+		private String city;
+
+		public String getCity() {
+			return city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+
+	public static class Child extends Base {
+		private String name;
+		private Date createTime;
+		private boolean enabled;
+		private BigDecimal amount;
+		private Status status;
+		private Address address;
+		private List<String> tags;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Date getCreateTime() {
+			return createTime;
+		}
+
+		public void setCreateTime(Date createTime) {
+			this.createTime = createTime;
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public BigDecimal getAmount() {
+			return amount;
+		}
+
+		public void setAmount(BigDecimal amount) {
+			this.amount = amount;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public void setStatus(Status status) {
+			this.status = status;
+		}
+
+		public Address getAddress() {
+			return address;
+		}
+
+		public void setAddress(Address address) {
+			this.address = address;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+	}
+
+	public static class Summary {
+		private String ID;
+		private String name;
+
+		public String getID() {
+			return ID;
+		}
+
+		public void setID(String iD) {
+			ID = iD;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
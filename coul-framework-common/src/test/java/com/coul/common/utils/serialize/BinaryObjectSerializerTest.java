@@ -0,0 +1,178 @@
+package com.coul.common.utils.serialize;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.coul.common.utils.ObjectUtil;
+
+/**
+ * 二进制序列化和深层复制测试
+ */
+public class BinaryObjectSerializerTest {
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		Order order = Order.sample();
+		BinaryObjectSerializer serializer = new BinaryObjectSerializer();
+		byte[] data = serializer.serialize(order);
+		Order copy = (Order) serializer.deserialize(data);
+		assertOrder(order, copy);
+		assertTrue(data.length < new JavaObjectSerializer().serialize(order).length);
+
+		serializer.setSchemaEvolution(false);
+		assertOrder(order, (Order) serializer.deserialize(serializer.serialize(order)));
+		assertNull(serializer.deserialize(serializer.serialize(null)));
+		assertEquals(Arrays.asList("a", 1, 2L), serializer.deserialize(serializer.serialize(new ArrayList<Object>(Arrays.asList("a", 1, 2L)))));
+	}
+
+	@Test
+	public void testSchemaEvolution() throws Exception {
+		OrderV1 v1 = new OrderV1();
+		v1.id = 7;
+		v1.name = "旧版本";
+		v1.removed = "x";
+		byte[] data = new BinaryObjectSerializer(new ClassRegistry().register(OrderV1.class, 1)).serialize(v1);
+		OrderV2 v2 = (OrderV2) new BinaryObjectSerializer(new ClassRegistry().register(OrderV2.class, 1)).deserialize(data);
+		assertEquals(7L, v2.id);
+		assertEquals("旧版本", v2.name);
+		assertEquals("default", v2.added);
+	}
+
+	@Test
+	public void testRejectDisallowedClasses() throws Exception {
+		ClassRegistry jdkOnly = new ClassRegistry();
+		jdkOnly.setAllowedPackages("java.lang.,java.util.");
+		BinaryObjectSerializer reader = new BinaryObjectSerializer(jdkOnly);
+		BinaryObjectSerializer writer = new BinaryObjectSerializer();
+		assertRejected(reader, writer.serialize(Order.sample()));
+
+		// 未注册且未实现Serializable
+		assertRejected(writer, writer.serialize(new OrderV1()));
+
+		// 嵌入的Java序列化字节同样过滤
+		TreeMap<String, Item> sorted = new TreeMap<String, Item>(String.CASE_INSENSITIVE_ORDER);
+		sorted.put("a", new Item());
+		assertEquals(1, ((Map<?, ?>) writer.deserialize(writer.serialize(sorted))).size());
+		assertRejected(reader, writer.serialize(sorted));
+	}
+
+	private static void assertRejected(ObjectSerializer serializer, byte[] data) {
+		try {
+			serializer.deserialize(data);
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testDeepClone() {
+		Order order = Order.sample();
+		Order copy = ObjectUtil.deepCopy(order);
+		assertNotSame(order, copy);
+		assertNotSame(order.items, copy.items);
+		assertNotSame(order.items.get(0), copy.items.get(0));
+		assertOrder(order, copy);
+	}
+
+	private static void assertOrder(Order expected, Order actual) {
+		assertEquals(expected.id, actual.id);
+		assertEquals(expected.name, actual.name);
+		assertEquals(expected.amount, actual.amount);
+		assertEquals(expected.created, actual.created);
+		assertEquals(expected.created.getNanos(), actual.created.getNanos());
+		assertEquals(expected.unit, actual.unit);
+		assertEquals(expected.enabled, actual.enabled);
+		assertArrayEquals(expected.codes, actual.codes);
+		assertEquals(expected.attributes, actual.attributes);
+		assertEquals(expected.items.size(), actual.items.size());
+		for (int i = 0; i < expected.items.size(); i++) {
+			assertEquals(expected.items.get(i).sku, actual.items.get(i).sku);
+			assertEquals(expected.items.get(i).quantity, actual.items.get(i).quantity);
+			assertSame(actual, actual.items.get(i).order);
+		}
+		assertSame(actual.items.get(0), actual.first);
+		assertNull(actual.cache);
+	}
+
+	@SuppressWarnings("serial")
+	static class Order implements Serializable {
+		long id;
+		String name;
+		BigDecimal amount;
+		Timestamp created;
+		TimeUnit unit;
+		boolean enabled;
+		int[] codes;
+		Map<String, Object> attributes;
+		List<Item> items;
+		Item first;
+		transient Object cache;
+
+		static Order sample() {
+			Order order = new Order();
+			order.id = 1234567890123L;
+			order.name = "订单-A";
+			order.amount = new BigDecimal("99.50");
+			order.created = new Timestamp(1396491630123L);
+			order.created.setNanos(123456789);
+			order.unit = TimeUnit.SECONDS;
+			order.enabled = true;
+			order.codes = new int[] { 1, -2, 300000 };
+			order.attributes = new LinkedHashMap<String, Object>();
+			order.attributes.put("k", "v");
+			order.attributes.put("n", 3.5d);
+			order.items = new ArrayList<Item>();
+			for (int i = 0; i < 3; i++) {
+				Item item = new Item();
+				item.sku = "SKU" + i;
+				item.quantity = i;
+				item.order = order;
+				order.items.add(item);
+			}
+			order.first = order.items.get(0);
+			order.cache = new Object();
+			return order;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	static class Item implements Serializable {
+		String sku;
+		int quantity;
+		Order order;
+	}
+
+	static class OrderV1 {
+		int id;
+		String name;
+		String removed;
+	}
+
+	static class OrderV2 {
+		long id;
+		String name;
+		String added = "default";
+	}
+
+}
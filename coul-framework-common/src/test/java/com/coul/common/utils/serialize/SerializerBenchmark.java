@@ -0,0 +1,60 @@
+package com.coul.common.utils.serialize;
+
+import com.coul.common.utils.serialize.BinaryObjectSerializerTest.Order;
+
+/**
+ * 对比Java序列化与二进制序列化、序列化复制与DeepCloner的耗时和数据大小.
+ *
+ * 直接运行main方法，不参与单元测试.
+ */
+public class SerializerBenchmark {
+
+	private static final int ITERATIONS = 200000;
+
+	/** 防止JIT消除无用计算 */
+	private static long sink;
+
+	public static void main(String[] args) throws Exception {
+		final Order order = Order.sample();
+		final ObjectSerializer java = new JavaObjectSerializer();
+		final ObjectSerializer binary = new BinaryObjectSerializer();
+		System.out.println("java   size: " + java.serialize(order).length + " bytes");
+		System.out.println("binary size: " + binary.serialize(order).length + " bytes");
+		for (int round = 0; round < 2; round++) {
+			run("java   round trip", new Task() {
+				public Object run() throws Exception {
+					return java.deserialize(java.serialize(order));
+				}
+			});
+			run("binary round trip", new Task() {
+				public Object run() throws Exception {
+					return binary.deserialize(binary.serialize(order));
+				}
+			});
+			run("DeepCloner.clone ", new Task() {
+				public Object run() throws Exception {
+					return DeepCloner.clone(order);
+				}
+			});
+			System.out.println();
+		}
+		System.out.println(sink);
+	}
+
+	private static void run(String name, Task task) throws Exception {
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			sink += task.run().hashCode();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink += task.run().hashCode();
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%s: %10.0f ops/s, %8.2f us/op%n", name, ITERATIONS * 1e9 / nanos, nanos / 1000.0 / ITERATIONS);
+	}
+
+	private interface Task {
+		Object run() throws Exception;
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.coul.common.utils.type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.lang.reflect.Type;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.springframework.core.convert.converter.Converter;
+
+import com.coul.common.utils.ObjectUtil;
+
+/**
+ * ConversionRegistry类型转换测试
+ */
+public class ConversionRegistryTest {
+
+	@Test
+	public void testBuiltInConverters() throws Exception {
+		assertEquals(Integer.valueOf(12), ConversionRegistry.parse(" 12 ", int.class));
+		assertEquals(Long.valueOf(12), ConversionRegistry.parse("12", Long.class));
+		assertEquals(new BigDecimal("1.50"), ConversionRegistry.parse("1.50", BigDecimal.class));
+		assertEquals(Boolean.TRUE, ConversionRegistry.parse("true", boolean.class));
+		assertEquals(Character.valueOf('a'), ConversionRegistry.parse("ab", Character.class));
+		assertEquals(TimeUnit.SECONDS, ConversionRegistry.parse("SECONDS", TimeUnit.class));
+		assertNull(ConversionRegistry.parse("", Integer.class));
+		assertEquals(new SimpleDateFormat("yyyy-MM-dd").parse("2014-04-03"), ConversionRegistry.parse("2014-04-03", Date.class));
+		assertSame(ConversionRegistry.getConverter(Integer.class), ConversionRegistry.getConverter(int.class));
+	}
+
+	@Test
+	public void testObjectUtilConvert() throws Exception {
+		assertEquals(Integer.valueOf(3), ObjectUtil.convert("3", Integer.class));
+		assertEquals(Integer.valueOf(3), ObjectUtil.convert("3", int.class));
+		assertEquals("x", ObjectUtil.convert("x", Integer.class));
+		Type type = ConversionRegistryTest.class.getDeclaredField("longs").getGenericType();
+		assertEquals(Arrays.asList(1L, 2L), ObjectUtil.convert(Arrays.asList("1", "2"), type));
+	}
+
+	@Test
+	public void testRegisteredConverterTakesPrecedence() {
+		// 测试方法并行执行，使用其他方法没有用到的类型
+		Converter<String, Short> converter = new Converter<String, Short>() {
+			@Override
+			public Short convert(String source) {
+				return -1;
+			}
+		};
+		assertEquals(Short.valueOf((short) 3), ObjectUtil.convert("3", Short.class));
+		ConversionRegistry.CONVERTERS.add(converter);
+		try {
+			assertEquals(Short.valueOf((short) -1), ObjectUtil.convert("3", short.class));
+		} finally {
+			ConversionRegistry.CONVERTERS.remove(converter);
+		}
+		assertEquals(Short.valueOf((short) 3), ObjectUtil.convert("3", Short.class));
+	}
+
+	@Test
+	public void testSubListChangeInvalidatesCache() {
+		Converter<String, Byte> converter = new Converter<String, Byte>() {
+			@Override
+			public Byte convert(String source) {
+				return -1;
+			}
+		};
+		assertEquals(Byte.valueOf((byte) 3), ObjectUtil.convert("3", Byte.class));
+		List<Converter<String, ? extends Object>> view = ConversionRegistry.CONVERTERS
+				.subList(0, ConversionRegistry.CONVERTERS.size());
+		view.add(converter);
+		try {
+			assertEquals(Byte.valueOf((byte) -1), ObjectUtil.convert("3", byte.class));
+		} finally {
+			ListIterator<Converter<String, ? extends Object>> it = ConversionRegistry.CONVERTERS.listIterator();
+			while (it.hasNext()) {
+				if(it.next() == converter) {
+					it.remove();
+				}
+			}
+		}
+		assertEquals(Byte.valueOf((byte) 3), ObjectUtil.convert("3", Byte.class));
+	}
+
+	List<Long> longs;
+
+}
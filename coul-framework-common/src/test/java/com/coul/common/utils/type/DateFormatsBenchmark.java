@@ -0,0 +1,80 @@
+package com.coul.common.utils.type;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.apache.commons.lang.time.DateUtils;
+
+/**
+ * 对比每次新建SimpleDateFormat与DateFormats的格式化、解析吞吐量.
+ *
+ * 直接运行main方法，不参与单元测试.
+ */
+public class DateFormatsBenchmark {
+
+	private static final int ITERATIONS = 1000000;
+
+	private static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+	private static final String TEXT = "2014-04-03 10:20:30";
+
+	private static final String[] PATTERNS = { "yyyy-MM", "yyyy-MM-dd", "yyyy-MM-dd HH:mm", "yyyy-MM-dd HH:mm:ss" };
+
+	/** 防止JIT消除无用计算 */
+	private static long sink;
+
+	public static void main(String[] args) throws Exception {
+		final Date date = new Date(1396491630123L);
+		for (int round = 0; round < 2; round++) {
+			run("new SimpleDateFormat format", new Task() {
+				public Object run() {
+					return new SimpleDateFormat(PATTERN).format(date);
+				}
+			});
+			run("DateFormats.format          ", new Task() {
+				public Object run() {
+					return DateFormats.format(date, PATTERN);
+				}
+			});
+			run("new SimpleDateFormat parse  ", new Task() {
+				public Object run() throws Exception {
+					return new SimpleDateFormat(PATTERN).parse(TEXT);
+				}
+			});
+			run("DateFormats.parse           ", new Task() {
+				public Object run() throws Exception {
+					return DateFormats.parse(TEXT, PATTERN);
+				}
+			});
+			run("lang DateUtils.parseDate    ", new Task() {
+				public Object run() throws Exception {
+					return DateUtils.parseDate(TEXT, PATTERNS);
+				}
+			});
+			run("DateFormats.parse(patterns) ", new Task() {
+				public Object run() throws Exception {
+					return DateFormats.parse(TEXT, PATTERNS);
+				}
+			});
+			System.out.println();
+		}
+		System.out.println(sink);
+	}
+
+	private static void run(String name, Task task) throws Exception {
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			sink += task.run().hashCode();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink += task.run().hashCode();
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%s: %10.0f ops/s, %7.1f ns/op%n", name, ITERATIONS * 1e9 / nanos, (double) nanos / ITERATIONS);
+	}
+
+	private interface Task {
+		Object run() throws Exception;
+	}
+
+}
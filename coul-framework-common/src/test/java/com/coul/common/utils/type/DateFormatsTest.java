@@ -0,0 +1,50 @@
+package com.coul.common.utils.type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+
+import org.junit.Test;
+
+/**
+ * DateFormats与SimpleDateFormat结果一致性测试
+ */
+public class DateFormatsTest {
+
+	@Test
+	public void testFixedShapesMatchSimpleDateFormat() throws ParseException {
+		String[][] cases = { { "2014-04-03 10:20:30", "yyyy-MM-dd HH:mm:ss" }, { "2014-04-03 10:20", "yyyy-MM-dd HH:mm" },
+				{ "2014-04-03", "yyyy-MM-dd" }, { "2014-04", "yyyy-MM" }, { "2014-13-32 25:61:61", "yyyy-MM-dd HH:mm:ss" },
+				{ "2014-4-3", "yyyy-MM-dd" }, { "2014-04-03 10:20:30", "yyyy-MM-dd" }, { "20140403102030", "yyyyMMddHHmmss" } };
+		for (String[] item : cases) {
+			assertEquals(item[0], new SimpleDateFormat(item[1]).parse(item[0]), DateFormats.parse(item[0], item[1]));
+		}
+	}
+
+	@Test
+	public void testFormat() {
+		Date date = new Date(1396491630123L);
+		for (String pattern : new String[] { "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd", "yyyyMMddHHmmssSSS", "yyyy年MM月dd日 HH:mm" }) {
+			assertEquals(new SimpleDateFormat(pattern).format(date), DateFormats.format(date, pattern));
+		}
+	}
+
+	@Test
+	public void testConverter() throws ParseException {
+		StringToDateConverter converter = new StringToDateConverter();
+		assertEquals(new SimpleDateFormat("yyyy-MM-dd HH:mm").parse("2014-04-03 10:20"), converter.convert("2014-04-03 10:20"));
+		assertEquals(new SimpleDateFormat("yyyy-MM-dd").parse("2014-4-3"), converter.convert("2014-4-3"));
+		assertEquals(new Date(1396491630123L), converter.convert("1396491630123"));
+		assertNull(converter.convert("2014-04-03 10"));
+
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(new SimpleDateFormat("yyyyMMddHHmmssSSS").parse("20140403102030123"));
+		calendar.add(Calendar.MILLISECOND, calendar.getTimeZone().getRawOffset());
+		assertEquals(calendar.getTime(), converter.convert("2014-04-03T10:20:30.123Z"));
+	}
+
+}
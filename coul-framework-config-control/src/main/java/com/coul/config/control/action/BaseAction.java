@@ -14,7 +14,7 @@ import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.multiaction.MultiActionController;
 
-import com.coul.config.control.utils.HtmlUtil;
+import com.coul.config.control.utils.JsonResponseWriter;
 import com.coul.config.control.utils.MyEditor;
 import com.coul.config.control.utils.URLUtils;
 
@@ -72,7 +72,7 @@ public class BaseAction extends MultiActionController{
 	 */
 	public void writerSuccess(HttpServletResponse response){
 		Map map = new HashMap();
-		HtmlUtil.writerJson(response, map);
+		JsonResponseWriter.write(response, map);
 	}
 	
 	/**
@@ -81,6 +81,6 @@ public class BaseAction extends MultiActionController{
 	 */
 	public void writerError(HttpServletResponse response,String errMsg){
 		Map map = new HashMap();
-		HtmlUtil.writerJson(response, map);
+		JsonResponseWriter.write(response, map);
 	}
 }
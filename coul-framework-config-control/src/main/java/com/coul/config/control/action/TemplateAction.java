@@ -11,7 +11,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import com.coul.common.model.ResultVo;
-import com.coul.config.control.utils.HtmlUtil;
+import com.coul.config.control.utils.JsonResponseWriter;
 import com.coul.config.entity.Template;
 import com.coul.config.service.ITemplateService;
 import com.coul.core.base.condition.SimpleCondition;
@@ -49,7 +49,7 @@ public class TemplateAction extends BaseAction {
 			throws Exception {
 		PagingGridData<Template> temp = templateServieImpl.queryTemplateDate(page);
 		// 设置页面数据
-		HtmlUtil.writerJson(response, temp);
+		JsonResponseWriter.write(response, temp);
 	}
 	
 	
@@ -64,7 +64,7 @@ public class TemplateAction extends BaseAction {
 			throws Exception {
 		PagingGridData<Template> temp = templateServieImpl.queryTemplate(page);
 		// 设置页面数据
-		HtmlUtil.writerJson(response, temp);
+		JsonResponseWriter.write(response, temp);
 	}
 
 	/**
@@ -87,13 +87,13 @@ public class TemplateAction extends BaseAction {
 		if (operation != null && operation.length() > 0
 				&& operation.equals("add")) {
 			ResultVo res = templateServieImpl.save(model);
-			HtmlUtil.writerJson(response, res);
+			JsonResponseWriter.write(response, res);
 		} else if (operation.equals("edit")) {
 			ResultVo res = templateServieImpl.update(model);
-			HtmlUtil.writerJson(response, res);
+			JsonResponseWriter.write(response, res);
 		} else if (operation.equals("del")) {
 			ResultVo res = templateServieImpl.delete((long)model.getId());
-			HtmlUtil.writerJson(response, res);
+			JsonResponseWriter.write(response, res);
 		}
 	}
 	
@@ -5,7 +5,9 @@ import java.io.PrintWriter;
 
 import javax.servlet.http.HttpServletResponse;
 
-import org.json.JSONException;
+import com.coul.core.control.monitor.RequestProfiler;
+import com.coul.core.control.monitor.RequestStage;
+import com.coul.core.control.monitor.RequestTimeline;
 
 /**
  * <br>
@@ -32,12 +34,17 @@ public class HtmlUtil {
 			writer(response,jsonStr);
 	}
 	
+	/**
+	 * 
+	 * <br>
+	 * <b>功能：</b>以流的方式输出对象的json格式，不再先生成完整的字符串<br>
+	 * <b>作者：</b>agent<br>
+	 * <b>日期：</b> 2026-10-18 <br>
+	 * @param response
+	 * @param object
+	 */
 	public static void writerJson(HttpServletResponse response,Object object){
-			try {
-				writer(response,JSONUtil.toJSONString(object));
-			} catch (JSONException e) {
-				e.printStackTrace();
-			}
+			JsonResponseWriter.write(response, object);
 	}
 	
 	/**
@@ -55,6 +62,15 @@ public class HtmlUtil {
 	}
 	
 	private static void writer(HttpServletResponse response,String str){
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.RENDER);
+		try {
+			print(response, str);
+		} finally {
+			RequestProfiler.stop(timeline);
+		}
+	}
+
+	private static void print(HttpServletResponse response,String str){
 		try {
 			StringBuffer result = new StringBuffer();
 			//设置页面不缓存
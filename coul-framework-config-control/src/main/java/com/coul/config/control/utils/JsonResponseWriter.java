@@ -0,0 +1,178 @@
+package com.coul.config.control.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.log4j.Logger;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.coul.common.mapper.JsonMapper;
+import com.coul.core.control.monitor.RequestProfiler;
+import com.coul.core.control.monitor.RequestStage;
+import com.coul.core.control.monitor.RequestTimeline;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.NullSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * <br>
+ * <b>功能：</b>以流的方式把对象序列化为JSON直接写入响应<br>
+ * 共享一个预先配置好的ObjectWriter，Jackson按类型缓存序列化器；不设置Content-Length，
+ * 由容器分块传输；客户端支持gzip时压缩输出；调用方未设置Content-Type时设置为application/json;charset=UTF-8。输出格式与JSONUtil保持一致：
+ * null输出为null，日期输出为包含time、year等属性的对象。输出耗时计入请求耗时统计的响应输出阶段。<br>
+ * <b>作者：</b>agent<br>
+ * <b>日期：</b> 2026-10-18 <br>
+ */
+public final class JsonResponseWriter {
+
+	protected static final Logger logger = Logger.getLogger(JsonResponseWriter.class);
+
+	/** 调用方未设置时使用的Content-Type */
+	public static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+	/** 共享的JSON输出器 */
+	private static final ObjectWriter WRITER;
+
+	/** 客户端支持时是否启用gzip压缩 */
+	private static volatile boolean gzipEnabled = true;
+
+	static {
+		JsonMapper mapper = new JsonMapper(Include.ALWAYS);
+		// JsonMapper默认把null写成空串，这里恢复为null，与JSONUtil一致
+		mapper.getSerializerProvider().setNullValueSerializer(NullSerializer.instance);
+		mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+		mapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		SimpleModule module = new SimpleModule("JsonResponseWriter");
+		module.addSerializer(Date.class, new LegacyDateSerializer());
+		mapper.registerModule(module);
+		WRITER = mapper.writer();
+	}
+
+	private JsonResponseWriter() {
+	}
+
+	/**
+	 * 设置客户端支持时是否启用gzip压缩，默认启用
+	 */
+	public static void setGzipEnabled(boolean enabled) {
+		gzipEnabled = enabled;
+	}
+
+	/**
+	 * <br>
+	 * <b>功能：</b>把对象以JSON格式写入当前请求的响应<br>
+	 * @param response
+	 * @param object
+	 */
+	public static void write(HttpServletResponse response, Object object) {
+		write(currentRequest(), response, object);
+	}
+
+	/**
+	 * <br>
+	 * <b>功能：</b>把对象以JSON格式写入响应，request的Accept-Encoding包含gzip时压缩输出<br>
+	 * @param request 可为null，为null时不压缩
+	 * @param response
+	 * @param object
+	 */
+	public static void write(HttpServletRequest request, HttpServletResponse response, Object object) {
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.RENDER);
+		try {
+			writeValue(request, response, object);
+		} finally {
+			RequestProfiler.stop(timeline);
+		}
+	}
+
+	private static void writeValue(HttpServletRequest request, HttpServletResponse response, Object object) {
+		//设置页面不缓存
+		response.setHeader("Pragma", "No-cache");
+		response.setHeader("Cache-Control", "no-cache");
+		if (response.getContentType() == null) {
+			response.setContentType(CONTENT_TYPE);
+		}
+		response.setCharacterEncoding("UTF-8");
+		boolean gzip = gzipEnabled && acceptsGzip(request);
+		if (gzip) {
+			response.setHeader("Content-Encoding", "gzip");
+			response.addHeader("Vary", "Accept-Encoding");
+		}
+		OutputStream out = null;
+		try {
+			out = response.getOutputStream();
+			if (gzip) {
+				out = new GZIPOutputStream(out, 8192);
+			}
+			WRITER.writeValue(out, object);
+		} catch (IOException e) {
+			logger.error("输出JSON失败", e);
+		} finally {
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException e) {
+					logger.debug("关闭响应输出流失败", e);
+				}
+			}
+		}
+	}
+
+	private static boolean acceptsGzip(HttpServletRequest request) {
+		if (request == null) {
+			return false;
+		}
+		String acceptEncoding = request.getHeader("Accept-Encoding");
+		return acceptEncoding != null && acceptEncoding.toLowerCase().indexOf("gzip") >= 0;
+	}
+
+	private static HttpServletRequest currentRequest() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes instanceof ServletRequestAttributes) {
+			return ((ServletRequestAttributes) attributes).getRequest();
+		}
+		return null;
+	}
+
+	/**
+	 * 按JSONUtil反射Date各个getter的格式输出日期
+	 */
+	private static final class LegacyDateSerializer extends StdSerializer<Date> {
+
+		LegacyDateSerializer() {
+			super(Date.class);
+		}
+
+		@SuppressWarnings("deprecation")
+		@Override
+		public void serialize(Date value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+			jgen.writeStartObject();
+			jgen.writeNumberField("date", value.getDate());
+			jgen.writeNumberField("day", value.getDay());
+			jgen.writeNumberField("hours", value.getHours());
+			jgen.writeNumberField("minutes", value.getMinutes());
+			jgen.writeNumberField("month", value.getMonth());
+			if (value instanceof Timestamp) {
+				jgen.writeNumberField("nanos", ((Timestamp) value).getNanos());
+			}
+			jgen.writeNumberField("seconds", value.getSeconds());
+			jgen.writeNumberField("time", value.getTime());
+			jgen.writeNumberField("timezoneOffset", value.getTimezoneOffset());
+			jgen.writeNumberField("year", value.getYear());
+			jgen.writeEndObject();
+		}
+	}
+
+}
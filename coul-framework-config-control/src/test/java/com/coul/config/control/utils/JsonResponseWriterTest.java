@@ -0,0 +1,132 @@
+package com.coul.config.control.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.coul.core.control.action.PagingGridData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 流式JSON输出测试，输出内容应与JSONUtil一致
+ */
+public class JsonResponseWriterTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void testSameDocumentAsJSONUtil() throws Exception {
+		PagingGridData<Map<String, Object>> grid = createGrid(3);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		JsonResponseWriter.write(new MockHttpServletRequest(), response, grid);
+
+		assertNull(response.getHeader("Content-Encoding"));
+		assertEquals(JsonResponseWriter.CONTENT_TYPE, response.getContentType());
+		assertEquals("no-cache", response.getHeader("Cache-Control"));
+		JsonNode expected = mapper.readTree(JSONUtil.toJSONString(grid));
+		assertEquals(expected, mapper.readTree(response.getContentAsByteArray()));
+	}
+
+	@Test
+	public void testGzipWhenAccepted() throws Exception {
+		PagingGridData<Map<String, Object>> grid = createGrid(100);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Accept-Encoding", "gzip, deflate");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		JsonResponseWriter.write(request, response, grid);
+
+		assertEquals("gzip", response.getHeader("Content-Encoding"));
+		JsonNode actual = mapper.readTree(new GZIPInputStream(new ByteArrayInputStream(response
+				.getContentAsByteArray())));
+		assertEquals(100, actual.get("rows").size());
+		assertEquals(mapper.readTree(JSONUtil.toJSONString(grid)), actual);
+	}
+
+	@Test
+	public void testBeanRowsSameAsJSONUtil() throws Exception {
+		List<Row> rows = new ArrayList<Row>();
+		for (int i = 0; i < 3; i++) {
+			Row row = new Row();
+			row.setId(Long.valueOf(i));
+			row.setName("name-\"" + i + "\"");
+			row.setCreateTime(new Date(1396400000000L + i));
+			rows.add(row);
+		}
+		PagingGridData<Row> grid = new PagingGridData<Row>(1, 1, rows.size(), rows);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setContentType("text/plain;charset=UTF-8");
+		JsonResponseWriter.write(new MockHttpServletRequest(), response, grid);
+
+		assertEquals("text/plain;charset=UTF-8", response.getContentType());
+		assertEquals(mapper.readTree(JSONUtil.toJSONString(grid)), mapper.readTree(response.getContentAsByteArray()));
+	}
+
+	private PagingGridData<Map<String, Object>> createGrid(int size) {
+		List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+		for (int i = 0; i < size; i++) {
+			Map<String, Object> row = new LinkedHashMap<String, Object>();
+			row.put("id", i);
+			row.put("name", "name-\"" + i + "\"");
+			row.put("remark", null);
+			row.put("createTime", new Date(1396400000000L + i));
+			rows.add(row);
+		}
+		return new PagingGridData<Map<String, Object>>(1, 1, size, rows);
+	}
+
+	public static class Row {
+
+		private Long id;
+
+		private String name;
+
+		private String remark;
+
+		private Date createTime;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getRemark() {
+			return remark;
+		}
+
+		public void setRemark(String remark) {
+			this.remark = remark;
+		}
+
+		public Date getCreateTime() {
+			return createTime;
+		}
+
+		public void setCreateTime(Date createTime) {
+			this.createTime = createTime;
+		}
+	}
+
+}
@@ -0,0 +1,487 @@
+package com.coul.core.control.action;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import com.coul.common.utils.ObjectUtil;
+import com.coul.common.utils.type.ConversionRegistry;
+import com.coul.common.utils.type.StringToStringURLConverter;
+
+/**
+ * 编译后的请求参数绑定器
+ *
+ * 每个目标类型只分析一次：可写属性、写方法、读方法、值转换器和嵌套类型的绑定器都缓存下来，
+ * 绑定时逐个遍历请求参数名，不使用正则，按user.address.city或user[address][city]
+ * 形式拆分后直接通过缓存的写方法设置到目标对象，不再构造中间Map和做JSON往返。
+ * 级联参数名与属性名区分大小写；Map、接口、抽象类等不能直接创建的目标类型仍按原来的方式
+ * 构造中间Map后由ObjectUtil.parse转换，Map类型直接返回该Map。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class CascadeParamBinder {
+	/** 绑定器缓存，key：目标类型 */
+	private static final ConcurrentMap<Class<?>, CascadeParamBinder> BINDERS =
+			new ConcurrentHashMap<Class<?>, CascadeParamBinder>();
+	/** URL解码转换器，无状态，可共享 */
+	private static final StringToStringURLConverter URL_CONVERTER = new StringToStringURLConverter();
+	/** 级联参数分隔符 */
+	private static final char CASCADE_SEPARATOR = '.';
+
+	/** 目标类型 */
+	private final Class<?> type;
+	/** 目标类型的构造方法，无公共无参构造方法时为null */
+	private final Constructor<?> constructor;
+	/** 属性名和属性绑定信息的映射 */
+	private final Map<String, Property> properties;
+	/** 小写属性名和属性绑定信息的映射，bindProperties兼容原来PagingRequestData忽略大小写的绑定 */
+	private final Map<String, Property> lowerCaseProperties;
+
+	/**
+	 * 构造方法
+	 * @param type 目标类型
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private CascadeParamBinder(Class<?> type) {
+		this.type = type;
+		Constructor<?> ctor = null;
+		try {
+			ctor = type.getConstructor();
+		} catch (NoSuchMethodException e) {
+			// 接口、抽象类或没有无参构造方法的类型只能作为叶子值转换
+		}
+		this.constructor = ctor;
+		Map<String, Property> props = new HashMap<String, Property>();
+		Map<String, Property> lowerCaseProps = new HashMap<String, Property>();
+		for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(type)) {
+			Method writeMethod = pd.getWriteMethod();
+			if(writeMethod == null) {
+				continue;
+			}
+			Property property = new Property(pd.getName(), writeMethod, pd.getReadMethod());
+			props.put(property.name, property);
+			lowerCaseProps.put(property.name.toLowerCase(Locale.ENGLISH), property);
+		}
+		this.properties = props;
+		this.lowerCaseProperties = lowerCaseProps;
+	}
+
+	/**
+	 * 获得指定类型的绑定器，首次调用时分析类型并缓存
+	 *
+	 * @param type 目标类型
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static CascadeParamBinder forType(Class<?> type) {
+		CascadeParamBinder binder = BINDERS.get(type);
+		if(binder == null) {
+			binder = new CascadeParamBinder(type);
+			CascadeParamBinder existing = BINDERS.putIfAbsent(type, binder);
+			if(existing != null) {
+				binder = existing;
+			}
+		}
+		return binder;
+	}
+
+	/**
+	 * 将参数名以paramName开头的级联参数绑定到新建的目标对象，没有匹配的参数时返回null
+	 *
+	 * @param paramName 参数名前缀，如user匹配user.name和user[name]
+	 * @param request
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public Object bindCascade(String paramName, NativeWebRequest request) {
+		if(constructor == null || Map.class.isAssignableFrom(type)) {
+			return parseCascade(paramName, request);
+		}
+		Object target = null;
+		for (Iterator<String> it = request.getParameterNames(); it.hasNext();) {
+			String rawName = it.next();
+			String[] path = splitCascadeName(URL_CONVERTER.convert(rawName), paramName);
+			if(path == null) {
+				continue;
+			}
+			if(target == null) {
+				target = newInstance();
+			}
+			bindPath(target, path, 1, request.getParameterValues(rawName));
+		}
+		return target;
+	}
+
+	/**
+	 * 将与目标对象属性同名的请求参数直接绑定到target上，不匹配的参数忽略
+	 *
+	 * @param target 目标对象
+	 * @param request
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public void bindProperties(Object target, NativeWebRequest request) {
+		for (Iterator<String> it = request.getParameterNames(); it.hasNext();) {
+			String rawName = it.next();
+			String name = URL_CONVERTER.convert(rawName);
+			Property property = properties.get(name);
+			if(property == null) {
+				property = lowerCaseProperties.get(name.toLowerCase(Locale.ENGLISH));
+			}
+			if(property != null) {
+				property.setValue(target, request.getParameterValues(rawName));
+			}
+		}
+	}
+
+	/**
+	 * 创建目标类型的实例
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	Object newInstance() {
+		if(constructor == null) {
+			throw new IllegalStateException(type.getName() + "没有公共的无参构造方法，不能绑定级联参数");
+		}
+		return BeanUtils.instantiateClass(constructor);
+	}
+
+	/**
+	 * 不能直接创建的目标类型：按原来的方式构造中间Map，Map类型直接返回，其他类型由ObjectUtil.parse转换
+	 */
+	private Object parseCascade(String paramName, NativeWebRequest request) {
+		Map<String, Object> map = null;
+		for (Iterator<String> it = request.getParameterNames(); it.hasNext();) {
+			String rawName = it.next();
+			String[] path = splitCascadeName(URL_CONVERTER.convert(rawName), paramName);
+			if(path == null) {
+				continue;
+			}
+			if(map == null) {
+				map = new HashMap<String, Object>();
+			}
+			putMapPath(map, path, 1, request.getParameterValues(rawName));
+		}
+		if(map == null) {
+			return null;
+		}
+		if(type.isInstance(map)) {
+			return map;
+		}
+		return ObjectUtil.parse(map, type);
+	}
+
+	/**
+	 * 按path[index..]设置值，中间节点不存在时创建
+	 */
+	private void bindPath(Object target, String[] path, int index, String[] values) {
+		Property property = properties.get(path[index]);
+		if(property == null) {
+			return;
+		}
+		if(index == path.length - 1) {
+			property.setValue(target, values);
+		} else {
+			property.setNested(target, path, index + 1, values);
+		}
+	}
+
+	/**
+	 * 拆分级联参数名，支持prefix.a.b和prefix[a][b]两种形式，
+	 * 前缀不是paramName或格式不符时返回null
+	 *
+	 * @param name 参数名
+	 * @param paramName 前缀
+	 * @return 包含前缀在内的各级名称
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	static String[] splitCascadeName(String name, String paramName) {
+		int prefixLength = paramName.length();
+		if(name.length() <= prefixLength + 1 || !name.startsWith(paramName)) {
+			return null;
+		}
+		char separator = name.charAt(prefixLength);
+		List<String> parts = new ArrayList<String>(4);
+		parts.add(paramName);
+		if(separator == '[') {
+			int start = prefixLength;
+			int length = name.length();
+			while (start < length) {
+				if(name.charAt(start) != '[') {
+					return null;
+				}
+				int end = name.indexOf(']', start + 1);
+				if(end < 0 || end == start + 1 || !isWord(name, start + 1, end)) {
+					return null;
+				}
+				parts.add(name.substring(start + 1, end));
+				start = end + 1;
+			}
+		} else if(separator == CASCADE_SEPARATOR) {
+			int start = prefixLength + 1;
+			int end;
+			while ((end = name.indexOf(CASCADE_SEPARATOR, start)) >= 0) {
+				parts.add(name.substring(start, end));
+				start = end + 1;
+			}
+			parts.add(name.substring(start));
+		} else {
+			return null;
+		}
+		return parts.toArray(new String[parts.size()]);
+	}
+
+	private static boolean isWord(String s, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = s.charAt(i);
+			if(!Character.isLetterOrDigit(c) && c != '_') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 目标类型的一个可写属性
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private static final class Property {
+		/** 属性名 */
+		final String name;
+		/** 写方法 */
+		final Method writeMethod;
+		/** 读方法，可能为null */
+		final Method readMethod;
+		/** 属性声明类型 */
+		final Class<?> rawType;
+		/** 属性泛型类型 */
+		final Type genericType;
+		/** 单值转换器 */
+		final ValueConverter converter;
+		/** 集合或数组的元素转换器，非集合属性为null */
+		final ValueConverter elementConverter;
+		/** 嵌套对象的绑定器，延迟创建以支持自引用类型 */
+		volatile CascadeParamBinder nestedBinder;
+
+		Property(String name, Method writeMethod, Method readMethod) {
+			this.name = name;
+			this.writeMethod = writeMethod;
+			this.readMethod = readMethod;
+			this.rawType = writeMethod.getParameterTypes()[0];
+			this.genericType = writeMethod.getGenericParameterTypes()[0];
+			this.converter = ValueConverter.forType(rawType, genericType);
+			if(rawType.isArray()) {
+				this.elementConverter = ValueConverter.forType(rawType.getComponentType(),
+						rawType.getComponentType());
+			} else if(Collection.class.isAssignableFrom(rawType)) {
+				Type elementType = elementType(genericType);
+				this.elementConverter = ValueConverter.forType(rawClass(elementType), elementType);
+			} else {
+				this.elementConverter = null;
+			}
+		}
+
+		/**
+		 * 把请求参数值转换成属性类型后写入target
+		 */
+		void setValue(Object target, String[] values) {
+			Object value;
+			if(elementConverter != null) {
+				value = convertElements(values);
+			} else {
+				if(values == null || values.length == 0) {
+					return;
+				}
+				if(values.length == 1) {
+					value = converter.convert(URL_CONVERTER.convert(values[0]));
+				} else {
+					List<String> list = new ArrayList<String>(values.length);
+					for (String item : values) {
+						list.add(URL_CONVERTER.convert(item));
+					}
+					value = ObjectUtil.convert(list, genericType);
+				}
+			}
+			if(value == null && rawType.isPrimitive()) {
+				return;
+			}
+			invoke(writeMethod, target, value);
+		}
+
+		/**
+		 * 写入嵌套属性，中间对象不存在时创建并回写
+		 */
+		@SuppressWarnings("unchecked")
+		void setNested(Object target, String[] path, int index, String[] values) {
+			Object nested = readMethod == null ? null : invoke(readMethod, target);
+			if(Map.class.isAssignableFrom(rawType)) {
+				Map<String, Object> map = (Map<String, Object>) nested;
+				if(map == null) {
+					map = new HashMap<String, Object>();
+					invoke(writeMethod, target, map);
+				}
+				putMapPath(map, path, index, values);
+				return;
+			}
+			CascadeParamBinder binder = nestedBinder;
+			if(binder == null) {
+				binder = forType(rawType);
+				nestedBinder = binder;
+			}
+			if(binder.constructor == null && nested == null) {
+				return;
+			}
+			if(nested == null) {
+				nested = binder.newInstance();
+				invoke(writeMethod, target, nested);
+			}
+			binder.bindPath(nested, path, index, values);
+		}
+
+		private Object convertElements(String[] values) {
+			int length = values == null ? 0 : values.length;
+			if(rawType.isArray()) {
+				Object array = Array.newInstance(rawType.getComponentType(), length);
+				for (int i = 0; i < length; i++) {
+					Object item = elementConverter.convert(URL_CONVERTER.convert(values[i]));
+					if(item != null || !rawType.getComponentType().isPrimitive()) {
+						Array.set(array, i, item);
+					}
+				}
+				return array;
+			}
+			Collection<Object> collection = Set.class.isAssignableFrom(rawType)
+					? new LinkedHashSet<Object>(length) : new ArrayList<Object>(length);
+			for (int i = 0; i < length; i++) {
+				collection.add(elementConverter.convert(URL_CONVERTER.convert(values[i])));
+			}
+			return collection;
+		}
+	}
+
+	/**
+	 * 按path[index..]把值放入嵌套的Map中，与原来构造中间Map的行为一致
+	 */
+	@SuppressWarnings("unchecked")
+	private static void putMapPath(Map<String, Object> map, String[] path, int index, String[] values) {
+		Map<String, Object> current = map;
+		for (int i = index; i < path.length - 1; i++) {
+			Object child = current.get(path[i]);
+			if(!(child instanceof Map)) {
+				child = new HashMap<String, Object>();
+				current.put(path[i], child);
+			}
+			current = (Map<String, Object>) child;
+		}
+		Object value;
+		if(values.length == 1) {
+			value = URL_CONVERTER.convert(values[0]);
+		} else {
+			List<String> list = new ArrayList<String>(values.length);
+			for (String item : values) {
+				list.add(URL_CONVERTER.convert(item));
+			}
+			value = list;
+		}
+		current.put(path[path.length - 1], value);
+	}
+
+	private static Object invoke(Method method, Object target, Object... args) {
+		try {
+			return method.invoke(target, args);
+		} catch (Exception e) {
+			throw new IllegalArgumentException("绑定属性失败: " + method, e);
+		}
+	}
+
+	private static Type elementType(Type collectionType) {
+		if(collectionType instanceof ParameterizedType) {
+			return ((ParameterizedType)collectionType).getActualTypeArguments()[0];
+		}
+		return Object.class;
+	}
+
+	private static Class<?> rawClass(Type type) {
+		if(type instanceof Class) {
+			return (Class<?>)type;
+		}
+		if(type instanceof ParameterizedType) {
+			return (Class<?>)((ParameterizedType)type).getRawType();
+		}
+		return Object.class;
+	}
+
+	/**
+	 * 预先确定的字符串到属性类型的转换器
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private abstract static class ValueConverter {
+
+		abstract Object convert(String value);
+
+		static ValueConverter forType(final Class<?> type, final Type genericType) {
+			if(type == String.class || type == Object.class) {
+				return IDENTITY;
+			}
+			final Converter<String, ? extends Object> converter = ConversionRegistry.getConverter(type);
+			if(converter != null) {
+				return new ValueConverter() {
+					@Override
+					Object convert(String value) {
+						return value == null ? null : converter.convert(value);
+					}
+				};
+			}
+			return new ValueConverter() {
+				@Override
+				Object convert(String value) {
+					Object converted = ObjectUtil.convert(value, genericType);
+					return type.isInstance(converted) ? converted : null;
+				}
+			};
+		}
+
+		static final ValueConverter IDENTITY = new ValueConverter() {
+			@Override
+			Object convert(String value) {
+				return value;
+			}
+		};
+	}
+
+}
@@ -1,10 +1,5 @@
 package com.coul.core.control.action;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import javax.servlet.ServletException;
 
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -13,8 +8,9 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.annotation.AbstractNamedValueMethodArgumentResolver;
 
-import com.coul.common.utils.ObjectUtil;
-import com.coul.common.utils.type.StringToStringURLConverter;
+import com.coul.core.control.monitor.RequestProfiler;
+import com.coul.core.control.monitor.RequestStage;
+import com.coul.core.control.monitor.RequestTimeline;
 
 /**
  * 级联参数解析器
@@ -23,8 +19,6 @@ import com.coul.common.utils.type.StringToStringURLConverter;
  * @author wangk
  */
 public class CascadeParamMethodArgumentResolver extends AbstractNamedValueMethodArgumentResolver {
-	/** 级联参数分隔符 */
-	private static final String cascadeParamSeparator = ".";
 	
 	/**
 	 * 构造方法
@@ -76,65 +70,24 @@ public class CascadeParamMethodArgumentResolver extends AbstractNamedValueMethod
 	 *      java.lang.String, org.springframework.core.MethodParameter,
 	 *      org.springframework.web.context.request.NativeWebRequest)
 	 * 创建日期：2013-2-20
-	 * 修改说明：
+	 * 修改说明：2026-10-18 agent 改为使用按类型缓存的CascadeParamBinder绑定，不再构造中间Map
+	 *         2026-10-18 agent 记录参数绑定阶段耗时
 	 * @author wangk
 	 */
 	@Override
 	protected Object resolveName(String name, MethodParameter parameter,
 			NativeWebRequest nativeWebRequest) throws Exception {
-		String paramName = parameter.getParameterAnnotation(CascadeParam.class).value();
-		if("".equals(paramName)) {
-			paramName = name;
-		}
-		StringToStringURLConverter stringToStringURLConverter = new StringToStringURLConverter();
-		Map<String, Object> requestDataMap = new HashMap<String, Object>();
-		for (String param : nativeWebRequest.getParameterMap().keySet()) {
-			param = stringToStringURLConverter.convert(param);
-			String[] cascadeParam = null;
-			if(param.matches("^\\w+(\\[\\w+\\])+$")) {
-				String[] paramComponents = param.split("\\[");
-				cascadeParam = new String[paramComponents.length];
-				if(!paramName.equals(paramComponents[0])) {
-					continue;
-				} else {
-					cascadeParam[0] = paramComponents[0];
-				}
-				for (int i = 1; i < cascadeParam.length; i++) {
-					cascadeParam[i] = paramComponents[i].substring(0, paramComponents[i].length()-1);
-				}
-			} else {
-				cascadeParam = param.split("\\" + cascadeParamSeparator);
-				if(cascadeParam.length < 2 || !paramName.equals(cascadeParam[0])) {
-					continue;
-				}
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.BINDING);
+		try {
+			String paramName = parameter.getParameterAnnotation(CascadeParam.class).value();
+			if("".equals(paramName)) {
+				paramName = name;
 			}
-			Object value = null;
-			String[] values = nativeWebRequest.getParameterValues(param);
-			if(values.length == 1) {
-				value = stringToStringURLConverter.convert(values[0]);
-			} else {
-				List<String> valueList = new ArrayList<String>();
-				for (String item : values) {
-					valueList.add(stringToStringURLConverter.convert(item));
-				}
-				value = valueList;
-			}
-			Map<String, Object> cascadeParamMap = requestDataMap;
-			for (int i = 1; i < cascadeParam.length-1; i++) {
-				@SuppressWarnings("unchecked")
-				Map<String, Object> indexMap = (Map<String, Object>)cascadeParamMap.get(cascadeParam[i]);
-				if(indexMap == null) {
-					indexMap = new HashMap<String, Object>();
-					cascadeParamMap.put(cascadeParam[i], indexMap);
-				}
-				cascadeParamMap = indexMap;
-			}
-			cascadeParamMap.put(cascadeParam[cascadeParam.length-1], value);
-		}
-		if(requestDataMap.isEmpty()) {
-			return null;
+			//按参数类型缓存的绑定器，一次遍历请求参数直接写入目标对象
+			return CascadeParamBinder.forType(parameter.getParameterType()).bindCascade(paramName, nativeWebRequest);
+		} finally {
+			RequestProfiler.stop(timeline);
 		}
-		return ObjectUtil.parse(requestDataMap, parameter.getParameterType());
 	}
 	
 	/**
@@ -44,6 +44,8 @@ public class PagingRequestData extends BaseDomain {
 	
 	private String searchJsonData; //查询条件数据
 	
+	private transient RequestData searchRequestData; //searchJsonData解析后的请求数据，只解析一次
+	
 	
 
 	public String getSearchJsonData() {
@@ -52,6 +54,7 @@ public class PagingRequestData extends BaseDomain {
 
 	public void setSearchJsonData(String searchJsonData) {
 		this.searchJsonData = searchJsonData;
+		this.searchRequestData = null;
 	}
 
 	public static long getSerialversionuid() {
@@ -74,7 +77,10 @@ public class PagingRequestData extends BaseDomain {
 	 */
 	public RequestData getRequestData() {
 		if(this.getSearchJsonData() != null && this.getSearchJsonData().length() > 0){
-			return  new  RequestData(this.getSearchJsonData());
+			if(searchRequestData == null) {
+				searchRequestData = new RequestData(this.getSearchJsonData());
+			}
+			return searchRequestData;
 		}
 		return requestData;
 	}
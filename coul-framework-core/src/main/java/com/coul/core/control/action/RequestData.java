@@ -1,5 +1,7 @@
 package com.coul.core.control.action;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
@@ -9,8 +11,9 @@ import java.util.Map;
 
 import com.coul.common.utils.JsonUtil;
 import com.coul.common.utils.ObjectUtil;
-import com.coul.common.utils.type.StringToDateConverter;
+import com.coul.common.utils.type.ConversionRegistry;
 import com.coul.core.domain.model.BaseDomain;
+import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * 请求数据模型，用于封装JSON格式的字符串数据
@@ -23,8 +26,14 @@ public class RequestData extends BaseDomain {
 
 	/** JSON字符串格式的请求数据 */
 	private String requestData;
-	/** 请求数据的Map对象，对象创建后requestMap不能为null */
+	/** 请求数据的Map对象，首次使用时从JSON树生成，生成后以它为准 */
 	private Map<String, Object> requestMap;
+	/** 请求数据是否为数组 */
+	private boolean array;
+	/** 请求数据解析后的JSON树，最多解析一次 */
+	private transient JsonNode tree;
+	/** tree是否已解析 */
+	private transient boolean parsed;
 
 	/**
 	 * 构造方法
@@ -45,7 +54,7 @@ public class RequestData extends BaseDomain {
 	 */
 	public RequestData(String requestData) {
 		setRequestData(requestData);
-		setRequestMap(parseRequestMap(requestData));
+		this.array = RequestDataBinder.isJsonArray(requestData);
 	}
 
 	/**
@@ -65,6 +74,19 @@ public class RequestData extends BaseDomain {
 		setRequestMap(requestMap);
 	}
 
+	/**
+	 * 构造方法，使用已解析的JSON树
+	 * @param tree JSON对象或数组节点
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private RequestData(JsonNode tree) {
+		this.tree = tree;
+		this.parsed = true;
+		this.array = tree != null && tree.isArray();
+	}
+
 	/**
 	 * @description 将数据转换成Map对象
 	 * @author zengshl
@@ -72,6 +94,9 @@ public class RequestData extends BaseDomain {
 	 * @create 2012-7-4 下午05:20:43
 	 */
 	public Map<String, Object> toMap() {
+		if(requestMap == null) {
+			requestMap = RequestDataBinder.toMap(tree());
+		}
 		return requestMap;
 	}
 	
@@ -80,12 +105,12 @@ public class RequestData extends BaseDomain {
 	 *
 	 * @return
 	 * 创建日期：2012-10-15
-	 * 修改说明：
+	 * 修改说明：2026-10-18 agent 每次从已解析的JSON树生成新的List，调用方修改结果不影响其他调用方
 	 * @author zengshl
 	 */
 	public List<Object> toList() {
 		if(isList()) {
-			return JsonUtil.parseList(requestData);
+			return RequestDataBinder.toList(tree());
 		}
 		List<Object> list = new ArrayList<Object>();
 		list.add(toMap());
@@ -121,7 +146,8 @@ public class RequestData extends BaseDomain {
 	 * @create 2012-7-4 下午05:21:06
 	 */
 	public <T> T toBean(Class<T> clazz) {
-		return ObjectUtil.parse(requestMap, clazz);
+		return RequestDataBinder.bind(requestMap != null ? RequestDataBinder.toTree(requestMap) : objectTree(),
+				clazz);
 	}
 
 	/**
@@ -135,7 +161,7 @@ public class RequestData extends BaseDomain {
 	 * @author zengshl
 	 */
 	public <T extends Enum<T>> T toEnum(Class<T> clazz) {
-		Object obj = requestMap.get("name");
+		Object obj = toMap().get("name");
 		if(obj == null) {
 			return null;
 		}
@@ -152,7 +178,7 @@ public class RequestData extends BaseDomain {
 	 */
 	public List<String> getNames() {
 		List<String> names = new ArrayList<String>();
-		for (String name : requestMap.keySet()) {
+		for (String name : toMap().keySet()) {
 			names.add(name);
 		}
 		return names;
@@ -168,7 +194,7 @@ public class RequestData extends BaseDomain {
 	 * @author zengshl
 	 */
 	public Object get(String name) {
-		return requestMap.get(name);
+		return toMap().get(name);
 	}
 	
 	/**
@@ -183,7 +209,13 @@ public class RequestData extends BaseDomain {
 	 * @author zengshl
 	 */
 	public <T> T get(String name, Class<T> clazz) {
-		return ObjectUtil.parse(getMap(name), clazz);
+		if(requestMap == null) {
+			JsonNode node = objectTree().get(name);
+			if(node != null && node.isObject()) {
+				return RequestDataBinder.bind(node, clazz);
+			}
+		}
+		return RequestDataBinder.bind(RequestDataBinder.toTree(getMap(name)), clazz);
 	}
 	
 	public <T extends Enum<T>> T getEnum(String name, Class<T> clazz) {
@@ -320,7 +352,7 @@ public class RequestData extends BaseDomain {
 		if(value == null) {
 			return null;
 		}
-		return new StringToDateConverter().convert(value);
+		return ConversionRegistry.parse(value, Date.class);
 	}
 	
 	/**
@@ -413,8 +445,16 @@ public class RequestData extends BaseDomain {
 	 * @author zengshl
 	 */
 	public RequestData getComponent(String name) {
+		if(requestMap == null && tree() != null && tree().isObject()) {
+			JsonNode node = tree().get(name);
+			if(node != null && node.isArray()) {
+				return new RequestData(node);
+			}
+		}
 		if(isList(name)) {
-			return new RequestData(JsonUtil.obj2json(get(name)));
+			Object value = get(name);
+			return new RequestData(value instanceof String ? RequestDataBinder.parse((String)value)
+					: RequestDataBinder.toTree(value));
 		}
 		return new RequestData(getMap(name));
 	}
@@ -449,7 +489,8 @@ public class RequestData extends BaseDomain {
 	 * @author zengshl
 	 */
 	public boolean isList(String name) {
-		return JsonUtil.isJsonArrayString(getString(name));
+		Object value = get(name);
+		return value instanceof List || (value instanceof String && RequestDataBinder.isJsonArray((String)value));
 	}
 	
 	/**
@@ -461,7 +502,7 @@ public class RequestData extends BaseDomain {
 	 * @author zengshl
 	 */
 	public boolean isList() {
-		return JsonUtil.isJsonArrayString(requestData);
+		return array;
 	}
 
 	/**
@@ -476,7 +517,10 @@ public class RequestData extends BaseDomain {
 	 * @author zengshl
 	 */
 	public boolean hasData() {
-		return !requestMap.isEmpty() || isList();
+		if(isList()) {
+			return true;
+		}
+		return requestMap != null ? !requestMap.isEmpty() : objectTree().size() > 0;
 	}
 
 	/**
@@ -488,7 +532,10 @@ public class RequestData extends BaseDomain {
 	 */
 	@Override
 	public String toString() {
-		return isList()?requestData:JsonUtil.obj2json(requestMap);
+		if(isList()) {
+			return requestData != null ? requestData : tree().toString();
+		}
+		return JsonUtil.obj2json(toMap());
 	}
 
 	private void setRequestData(String requestData) {
@@ -500,19 +547,52 @@ public class RequestData extends BaseDomain {
 	}
 
 	/**
-	 * 将JSON字符串格式的数据解析成requestMap
+	 * 获得解析后的JSON树，JSON字符串只在第一次调用时解析
+	 *
+	 * @return 非JSON对象或数组格式的请求数据返回null
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private JsonNode tree() {
+		if(!parsed) {
+			tree = RequestDataBinder.parse(requestData);
+			parsed = true;
+		}
+		return tree;
+	}
+
+	/**
+	 * 获得JSON对象形式的树，请求数据不是JSON对象时返回空对象节点
 	 *
-	 * @param requestData
 	 * @return
-	 * 创建日期：2012-12-27
+	 * 创建日期：2026-10-18
 	 * 修改说明：
-	 * @author zengshl
+	 * @author agent
 	 */
-	private Map<String, Object> parseRequestMap(String requestData) {
-		if(!JsonUtil.isJsonObjectString(requestData)) {
-			return new HashMap<String, Object>();
+	private JsonNode objectTree() {
+		JsonNode node = tree();
+		if(node == null || !node.isObject()) {
+			return RequestDataBinder.toTree(new HashMap<String, Object>());
+		}
+		return node;
+	}
+
+	/**
+	 * 序列化前生成Map视图和数组的JSON字符串，反序列化后不再依赖JSON树
+	 *
+	 * @param out
+	 * @throws IOException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		toMap();
+		if(array && requestData == null) {
+			requestData = tree().toString();
 		}
-		return JsonUtil.parseMap(requestData);
+		out.defaultWriteObject();
 	}
 
 }
@@ -0,0 +1,215 @@
+package com.coul.core.control.action;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.coul.common.utils.ObjectUtil;
+import com.coul.common.utils.type.StringToDateConverter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * RequestData使用的JSON解析和绑定工具
+ *
+ * JSON字符串只解析一次成为Jackson树，Map/List视图和目标对象都从树直接生成；
+ * 每个目标类型的ObjectReader和忽略大小写的属性名映射只创建一次并缓存。
+ * 日期属性沿用StringToDateConverter支持的格式。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class RequestDataBinder {
+	/** 共享的ObjectMapper，只用于读取 */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	/** 绑定信息缓存，key：目标类型 */
+	private static final ConcurrentMap<Class<?>, Binding> BINDINGS = new ConcurrentHashMap<Class<?>, Binding>();
+
+	static {
+		MAPPER.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		SimpleModule module = new SimpleModule("RequestDataModule");
+		module.addDeserializer(Date.class, new DateDeserializer());
+		MAPPER.registerModule(module);
+	}
+
+	private RequestDataBinder() {
+	}
+
+	/**
+	 * 解析JSON对象或数组字符串，其他格式返回null
+	 *
+	 * @param json
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	static JsonNode parse(String json) {
+		if(!isJsonObject(json) && !isJsonArray(json)) {
+			return null;
+		}
+		try {
+			return MAPPER.readTree(json);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("解析json错误: " + json, e);
+		}
+	}
+
+	/**
+	 * 把Map/List等对象转换成Jackson树
+	 */
+	static JsonNode toTree(Object value) {
+		return MAPPER.valueToTree(value);
+	}
+
+	static boolean isJsonObject(String str) {
+		return str != null && str.length() > 1 && str.charAt(0) == '{' && str.charAt(str.length() - 1) == '}';
+	}
+
+	static boolean isJsonArray(String str) {
+		return str != null && str.length() > 1 && str.charAt(0) == '[' && str.charAt(str.length() - 1) == ']';
+	}
+
+	/**
+	 * 把对象节点转换成Map，叶子值统一为字符串，与原JsonUtil.parseMap的结果一致
+	 */
+	static Map<String, Object> toMap(JsonNode node) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		if(node == null || !node.isObject()) {
+			return map;
+		}
+		for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext();) {
+			Map.Entry<String, JsonNode> entry = it.next();
+			map.put(entry.getKey(), toValue(entry.getValue()));
+		}
+		return map;
+	}
+
+	/**
+	 * 把数组节点转换成List，叶子值统一为字符串，与原JsonUtil.parseList的结果一致
+	 */
+	static List<Object> toList(JsonNode node) {
+		List<Object> list = new ArrayList<Object>(node.size());
+		for (JsonNode item : node) {
+			list.add(toValue(item));
+		}
+		return list;
+	}
+
+	private static Object toValue(JsonNode node) {
+		if(node.isObject()) {
+			return toMap(node);
+		}
+		if(node.isArray()) {
+			return toList(node);
+		}
+		return node.asText();
+	}
+
+	/**
+	 * 把树节点绑定成clazz类型的对象，属性名不区分大小写
+	 *
+	 * @param node
+	 * @param clazz
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	static <T> T bind(JsonNode node, Class<T> clazz) {
+		Binding binding = BINDINGS.get(clazz);
+		if(binding == null) {
+			binding = new Binding(clazz);
+			Binding existing = BINDINGS.putIfAbsent(clazz, binding);
+			if(existing != null) {
+				binding = existing;
+			}
+		}
+		try {
+			return binding.reader.readValue(binding.normalize(node));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("请求数据不能转换为" + clazz.getName(), e);
+		}
+	}
+
+	/**
+	 * 目标类型的绑定信息
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private static final class Binding {
+		/** 目标类型的ObjectReader */
+		final ObjectReader reader;
+		/** 小写属性名和属性名的映射 */
+		final Map<String, String> fieldNames = new HashMap<String, String>();
+
+		Binding(Class<?> clazz) {
+			this.reader = MAPPER.reader(clazz);
+			for (String fieldName : ObjectUtil.getAllFieldNames(clazz)) {
+				fieldNames.put(fieldName.toLowerCase(Locale.ENGLISH), fieldName);
+			}
+		}
+
+		/**
+		 * 属性名大小写与字段名不一致时复制一份改名后的节点，否则原样返回
+		 */
+		JsonNode normalize(JsonNode node) {
+			if(node == null || !node.isObject()) {
+				return node;
+			}
+			ObjectNode renamed = null;
+			for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext();) {
+				Map.Entry<String, JsonNode> entry = it.next();
+				String key = entry.getKey();
+				String fieldName = fieldNames.get(key.toLowerCase(Locale.ENGLISH));
+				if(fieldName != null && !fieldName.equals(key)) {
+					if(renamed == null) {
+						renamed = ((ObjectNode) node).deepCopy();
+					}
+					renamed.remove(key);
+					if(!node.has(fieldName)) {
+						renamed.set(fieldName, entry.getValue());
+					}
+				}
+			}
+			return renamed == null ? node : renamed;
+		}
+	}
+
+	/**
+	 * 使用StringToDateConverter解析日期，支持毫秒数和常用的日期格式
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private static final class DateDeserializer extends JsonDeserializer<Date> {
+		private final StringToDateConverter converter = new StringToDateConverter();
+
+		@Override
+		public Date deserialize(JsonParser parser, DeserializationContext context) throws IOException,
+				JsonProcessingException {
+			if(parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+				return new Date(parser.getLongValue());
+			}
+			return converter.convert(parser.getText());
+		}
+	}
+
+}
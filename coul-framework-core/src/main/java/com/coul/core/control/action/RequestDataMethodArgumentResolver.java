@@ -2,9 +2,9 @@ package com.coul.core.control.action;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import javax.servlet.ServletException;
 
@@ -16,6 +16,9 @@ import org.springframework.web.method.annotation.AbstractNamedValueMethodArgumen
 
 import com.coul.common.utils.JsonUtil;
 import com.coul.common.utils.type.StringToStringURLConverter;
+import com.coul.core.control.monitor.RequestProfiler;
+import com.coul.core.control.monitor.RequestStage;
+import com.coul.core.control.monitor.RequestTimeline;
 
 /**
  * 请求数据RequestData参数解析器
@@ -24,6 +27,9 @@ import com.coul.common.utils.type.StringToStringURLConverter;
  * @author wangk
  */
 public class RequestDataMethodArgumentResolver extends AbstractNamedValueMethodArgumentResolver {	
+	/** URL解码转换器，无状态，可共享 */
+	private static final StringToStringURLConverter URL_CONVERTER = new StringToStringURLConverter();
+	
 	/** 参数名称  */
 	private String parameterName;
 	
@@ -70,43 +76,76 @@ public class RequestDataMethodArgumentResolver extends AbstractNamedValueMethodA
 	@Override
 	protected Object resolveName(String name, MethodParameter parameter,
 			NativeWebRequest nativeWebRequest) throws Exception {
-		Set<String> names = nativeWebRequest.getParameterMap().keySet();
-		StringToStringURLConverter stringToStringURLConverter = new StringToStringURLConverter();
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.BINDING);
+		try {
+			return bind(parameter, nativeWebRequest);
+		} finally {
+			RequestProfiler.stop(timeline);
+		}
+	}
+
+	/**
+	 * 创建RequestData或PagingRequestData对象
+	 *
+	 * @param parameter
+	 * @param nativeWebRequest
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private Object bind(MethodParameter parameter, NativeWebRequest nativeWebRequest) {
 		Class<?> parameterType = parameter.getParameterType();
-		if(parameterType == RequestData.class && names.contains(parameterName)) {
-			return new RequestData(stringToStringURLConverter.convert(
-					nativeWebRequest.getParameter(parameterName)));
+		String requestDataParam = parameterName == null ? null : nativeWebRequest.getParameter(parameterName);
+		if(parameterType == RequestData.class && requestDataParam != null) {
+			return new RequestData(URL_CONVERTER.convert(requestDataParam));
+		}
+		if(parameterType == RequestData.class) {
+			return new RequestData(JsonUtil.obj2json(toParameterMap(nativeWebRequest)));
 		}
+		//创建PagingRequestData对象，分页属性直接从请求参数绑定
+		PagingRequestData pagingRequestData = new PagingRequestData();
+		CascadeParamBinder.forType(PagingRequestData.class).bindProperties(pagingRequestData, nativeWebRequest);
+		if(requestDataParam != null) {
+			pagingRequestData.setRequestData(new RequestData(URL_CONVERTER.convert(requestDataParam)));
+		} else {
+			pagingRequestData.setRequestData(new RequestData(JsonUtil.obj2json(toParameterMap(nativeWebRequest))));
+		}
+		return pagingRequestData;
+	}
+
+	/**
+	 * 将请求参数整理成参数名和值的映射，多值参数转换成JSON数组字符串
+	 *
+	 * @param nativeWebRequest
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private Map<String, String> toParameterMap(NativeWebRequest nativeWebRequest) {
 		Map<String, String> requestDataMap = new HashMap<String, String>();
-		for (String param : names) {
+		for (Iterator<String> it = nativeWebRequest.getParameterNames(); it.hasNext();) {
+			String param = it.next();
 			String[] values = nativeWebRequest.getParameterValues(param);
 			//处理转义字符
-			param = stringToStringURLConverter.convert(param).replaceAll("^\\\\", "");
+			param = URL_CONVERTER.convert(param);
+			if(param.length() > 0 && param.charAt(0) == '\\') {
+				param = param.substring(1);
+			}
 			if(values==null || values.length==0) {
 				requestDataMap.put(param, null);
 			} else if(values.length == 1) {
-				requestDataMap.put(param, stringToStringURLConverter.convert(values[0]));
+				requestDataMap.put(param, URL_CONVERTER.convert(values[0]));
 			} else {
-				List<String> valueList = new ArrayList<String>();
+				List<String> valueList = new ArrayList<String>(values.length);
 				for (String value : values) {
-					valueList.add(stringToStringURLConverter.convert(value));
+					valueList.add(URL_CONVERTER.convert(value));
 				}
 				requestDataMap.put(param, JsonUtil.obj2json(valueList));
 			}
 		}
-		RequestData requestData = new RequestData(JsonUtil.obj2json(requestDataMap));
-		if(parameterType == RequestData.class) {
-			return requestData;
-		}
-		//创建PagingRequestData对象
-		requestDataMap.remove(parameterName);
-		PagingRequestData pagingRequestData = JsonUtil.convert(requestDataMap, PagingRequestData.class);
-		if(names.contains(parameterName)) {
-			pagingRequestData.setRequestData(requestData.getComponent(parameterName));
-		} else {
-			pagingRequestData.setRequestData(requestData);
-		}
-		return pagingRequestData;
+		return requestDataMap;
 	}
 
 	@Override
@@ -0,0 +1,87 @@
+package com.coul.core.control.monitor;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 诊断接口的基类，只允许白名单中的客户端地址访问
+ *
+ * 诊断数据包含请求地址、SQL语句等内部信息，并且可以清空统计，不能对外开放。
+ * 白名单通过init-param allowedAddresses配置，多个地址以逗号分隔，默认只允许本机；
+ * 地址取自request.getRemoteAddr()，不信任X-Forwarded-For等请求头，经过反向代理时需要在代理上限制访问。
+ * 不在白名单中的请求返回403。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public abstract class DiagnosticsServlet extends HttpServlet {
+
+	private static final long serialVersionUID = -6185226365402153071L;
+
+	/** 默认白名单：IPv4和IPv6的本机地址 */
+	public static final String DEFAULT_ALLOWED_ADDRESSES = "127.0.0.1,0:0:0:0:0:0:0:1,::1";
+
+	/** 共享的ObjectMapper，只用于输出 */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private volatile Set<String> allowedAddresses = parseAddresses(DEFAULT_ALLOWED_ADDRESSES);
+
+	@Override
+	public void init() throws ServletException {
+		String addresses = getInitParameter("allowedAddresses");
+		if(addresses != null) {
+			setAllowedAddresses(addresses);
+		}
+	}
+
+	/**
+	 * 设置允许访问的客户端地址，多个地址以逗号分隔，为空时拒绝所有访问
+	 */
+	public void setAllowedAddresses(String addresses) {
+		this.allowedAddresses = parseAddresses(addresses);
+	}
+
+	@Override
+	protected void service(HttpServletRequest request, HttpServletResponse response)
+			throws ServletException, IOException {
+		if(!allowedAddresses.contains(request.getRemoteAddr())) {
+			response.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
+		super.service(request, response);
+	}
+
+	static void write(HttpServletResponse response, Object result) throws IOException {
+		//设置页面不缓存
+		response.setHeader("Pragma", "No-cache");
+		response.setHeader("Cache-Control", "no-cache");
+		response.setCharacterEncoding("UTF-8");
+		response.setContentType("application/json;charset=UTF-8");
+		MAPPER.writeValue(response.getOutputStream(), result);
+	}
+
+	private static Set<String> parseAddresses(String addresses) {
+		if(StringUtils.isBlank(addresses)) {
+			return Collections.emptySet();
+		}
+		Set<String> result = new HashSet<String>();
+		for (String address : addresses.split(",")) {
+			if(StringUtils.isNotBlank(address)) {
+				result.add(address.trim());
+			}
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+}
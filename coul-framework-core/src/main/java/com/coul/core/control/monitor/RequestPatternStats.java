@@ -0,0 +1,119 @@
+package com.coul.core.control.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.coul.core.domain.db.stats.LatencyHistogram;
+
+/**
+ * 一种URL模式的请求耗时统计
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class RequestPatternStats {
+	private static final RequestStage[] STAGES = RequestStage.values();
+
+	/** URL模式 */
+	private final String pattern;
+	/** 请求次数 */
+	private final AtomicLong count = new AtomicLong();
+	/** 抛出异常的请求次数 */
+	private final AtomicLong errors = new AtomicLong();
+	/** 总耗时（纳秒） */
+	private final AtomicLong totalNanos = new AtomicLong();
+	/** 最大耗时（纳秒） */
+	private final AtomicLong maxNanos = new AtomicLong();
+	/** 慢请求次数 */
+	private final AtomicLong slowCount = new AtomicLong();
+	/** 请求耗时直方图 */
+	private final LatencyHistogram histogram = new LatencyHistogram();
+	/** 各阶段总耗时（纳秒） */
+	private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES.length);
+	/** 各阶段总次数 */
+	private final AtomicLongArray stageCounts = new AtomicLongArray(STAGES.length);
+
+	RequestPatternStats(String pattern) {
+		this.pattern = pattern;
+	}
+
+	void record(RequestTimeline timeline, boolean error, boolean slow) {
+		long elapsed = timeline.getTotalNanos();
+		count.incrementAndGet();
+		totalNanos.addAndGet(elapsed);
+		histogram.recordNanos(elapsed);
+		for (RequestStage stage : STAGES) {
+			int stageCount = timeline.getStageCount(stage);
+			if(stageCount > 0) {
+				stageCounts.addAndGet(stage.ordinal(), stageCount);
+				stageNanos.addAndGet(stage.ordinal(), timeline.getStageNanos(stage));
+			}
+		}
+		if(error) {
+			errors.incrementAndGet();
+		}
+		if(slow) {
+			slowCount.incrementAndGet();
+		}
+		long max = maxNanos.get();
+		while (elapsed > max && !maxNanos.compareAndSet(max, elapsed)) {
+			max = maxNanos.get();
+		}
+	}
+
+	void reset() {
+		count.set(0);
+		errors.set(0);
+		totalNanos.set(0);
+		maxNanos.set(0);
+		slowCount.set(0);
+		histogram.reset();
+		for (int i = 0; i < STAGES.length; i++) {
+			stageNanos.set(i, 0);
+			stageCounts.set(i, 0);
+		}
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getErrors() {
+		return errors.get();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.get();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	public long getSlowCount() {
+		return slowCount.get();
+	}
+
+	public LatencyHistogram getHistogram() {
+		return histogram;
+	}
+
+	/**
+	 * 获得阶段的总耗时（纳秒）
+	 */
+	public long getStageNanos(RequestStage stage) {
+		return stageNanos.get(stage.ordinal());
+	}
+
+	/**
+	 * 获得阶段的总次数
+	 */
+	public long getStageCount(RequestStage stage) {
+		return stageCounts.get(stage.ordinal());
+	}
+
+}
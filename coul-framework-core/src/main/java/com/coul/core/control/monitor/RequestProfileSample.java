@@ -0,0 +1,96 @@
+package com.coul.core.control.monitor;
+
+/**
+ * 慢请求样本，包含各阶段耗时
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class RequestProfileSample {
+	/** 记录时间 */
+	private final long timestamp;
+	/** 请求方法 */
+	private final String method;
+	/** 请求URI */
+	private final String uri;
+	/** URL模式 */
+	private final String pattern;
+	/** 是否抛出异常 */
+	private final boolean error;
+	/** 总耗时（纳秒） */
+	private final long totalNanos;
+	/** 不属于任何阶段的耗时（纳秒） */
+	private final long otherNanos;
+	/** 各阶段耗时（纳秒），下标为RequestStage的ordinal */
+	private final long[] stageNanos;
+	/** 各阶段次数 */
+	private final int[] stageCounts;
+	/** 处理线程 */
+	private final String thread;
+
+	RequestProfileSample(long timestamp, String method, String uri, String pattern, boolean error,
+			RequestTimeline timeline, String thread) {
+		this.timestamp = timestamp;
+		this.method = method;
+		this.uri = uri;
+		this.pattern = pattern;
+		this.error = error;
+		this.totalNanos = timeline.getTotalNanos();
+		this.otherNanos = timeline.getOtherNanos();
+		this.stageNanos = timeline.stageNanos();
+		this.stageCounts = timeline.stageCounts();
+		this.thread = thread;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	public boolean isError() {
+		return error;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	public long getOtherNanos() {
+		return otherNanos;
+	}
+
+	public long getStageNanos(RequestStage stage) {
+		return stageNanos[stage.ordinal()];
+	}
+
+	public int getStageCount(RequestStage stage) {
+		return stageCounts[stage.ordinal()];
+	}
+
+	public String getThread() {
+		return thread;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(totalNanos / 1000000L).append("ms ").append(method).append(' ').append(uri);
+		for (RequestStage stage : RequestStage.values()) {
+			sb.append(' ').append(stage.getCode()).append('=').append(stageNanos[stage.ordinal()] / 1000000L)
+					.append("ms/").append(stageCounts[stage.ordinal()]);
+		}
+		return sb.append(" other=").append(otherNanos / 1000000L).append("ms").toString();
+	}
+
+}
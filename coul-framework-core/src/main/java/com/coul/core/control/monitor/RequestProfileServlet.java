@@ -0,0 +1,61 @@
+package com.coul.core.control.monitor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * 请求耗时统计的诊断接口
+ *
+ * GET输出JSON格式的统计：按总耗时倒序的URL模式（limit参数指定条数，默认50），包含耗时百分位和各阶段平均耗时，
+ * 以及最近的慢请求时间线；POST带参数reset=true时清空统计。只允许白名单中的地址访问，见DiagnosticsServlet。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class RequestProfileServlet extends DiagnosticsServlet {
+
+	private static final long serialVersionUID = -2417350611260541284L;
+
+	@Override
+	protected void doGet(HttpServletRequest request, HttpServletResponse response)
+			throws ServletException, IOException {
+		RequestProfileStatistics statistics = RequestProfileStatistics.getDefault();
+		int limit = NumberUtils.toInt(request.getParameter("limit"), 50);
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		result.put("enabled", statistics.isEnabled());
+		result.put("slowThresholdMillis", statistics.getSlowThresholdMillis());
+		List<Map<String, Object>> patterns = new ArrayList<Map<String, Object>>();
+		for (RequestPatternStats stats : statistics.getPatterns()) {
+			if(patterns.size() >= limit) {
+				break;
+			}
+			patterns.add(RequestProfileStatistics.toMap(stats));
+		}
+		result.put("patterns", patterns);
+		List<Map<String, Object>> slowRequests = new ArrayList<Map<String, Object>>();
+		for (RequestProfileSample sample : statistics.getSlowSamples()) {
+			slowRequests.add(RequestProfileStatistics.toMap(sample));
+		}
+		result.put("slowRequests", slowRequests);
+		write(response, result);
+	}
+
+	@Override
+	protected void doPost(HttpServletRequest request, HttpServletResponse response)
+			throws ServletException, IOException {
+		if("true".equalsIgnoreCase(request.getParameter("reset"))) {
+			RequestProfileStatistics.getDefault().reset();
+		}
+		doGet(request, response);
+	}
+
+}
@@ -0,0 +1,264 @@
+package com.coul.core.control.monitor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.log4j.Logger;
+
+/**
+ * 请求耗时统计
+ *
+ * 按URL模式汇总请求耗时直方图和各阶段耗时，慢请求的时间线保存在固定大小的环形缓冲区中，新样本覆盖最旧的样本。
+ * 可通过以下系统属性配置：coul.profiler.enabled（默认true）、coul.profiler.slowMillis（默认1000）、
+ * coul.profiler.maxPatterns（默认500）。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class RequestProfileStatistics {
+	/** 日志对象 */
+	private static final Logger log = Logger.getLogger(RequestProfileStatistics.class);
+
+	/** URL模式数超过上限后，新的模式都计入该模式 */
+	public static final String OTHER = "[other]";
+	/** 保留的慢请求样本数，必须是2的幂 */
+	static final int SAMPLES = 64;
+
+	private static final RequestProfileStatistics DEFAULT = new RequestProfileStatistics();
+
+	/** URL模式和统计 */
+	private final ConcurrentMap<String, RequestPatternStats> patterns =
+			new ConcurrentHashMap<String, RequestPatternStats>();
+	/** URL模式数上限 */
+	private final int maxPatterns;
+	/** 最近的慢请求样本 */
+	private final AtomicReferenceArray<RequestProfileSample> samples =
+			new AtomicReferenceArray<RequestProfileSample>(SAMPLES);
+	private final AtomicInteger sampleIndex = new AtomicInteger();
+
+	private volatile boolean enabled;
+	private volatile long slowThresholdNanos;
+
+	/**
+	 * 使用系统属性配置创建
+	 */
+	public RequestProfileStatistics() {
+		this(!"false".equalsIgnoreCase(System.getProperty("coul.profiler.enabled")),
+				Long.getLong("coul.profiler.slowMillis", 1000L),
+				Integer.getInteger("coul.profiler.maxPatterns", 500));
+	}
+
+	public RequestProfileStatistics(boolean enabled, long slowThresholdMillis, int maxPatterns) {
+		this.enabled = enabled;
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+		this.maxPatterns = Math.max(1, maxPatterns);
+	}
+
+	public static RequestProfileStatistics getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * 记录一次请求
+	 *
+	 * @param pattern  URL模式
+	 * @param method   请求方法
+	 * @param uri      请求URI
+	 * @param error    是否抛出异常
+	 * @param timeline 已结束的请求时间线
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public RequestPatternStats record(String pattern, String method, String uri, boolean error,
+			RequestTimeline timeline) {
+		RequestPatternStats stats = patternFor(pattern);
+		boolean slow = timeline.getTotalNanos() >= slowThresholdNanos;
+		stats.record(timeline, error, slow);
+		if(slow) {
+			RequestProfileSample sample = new RequestProfileSample(System.currentTimeMillis(), method, uri,
+					pattern, error, timeline, Thread.currentThread().getName());
+			samples.set(sampleIndex.getAndIncrement() & (SAMPLES - 1), sample);
+			if(log.isInfoEnabled()) {
+				log.info("Slow request: " + sample);
+			}
+		}
+		return stats;
+	}
+
+	private RequestPatternStats patternFor(String pattern) {
+		RequestPatternStats stats = patterns.get(pattern);
+		if(stats != null) {
+			return stats;
+		}
+		if(patterns.size() >= maxPatterns) {
+			pattern = OTHER;
+			stats = patterns.get(pattern);
+			if(stats != null) {
+				return stats;
+			}
+		}
+		stats = new RequestPatternStats(pattern);
+		RequestPatternStats previous = patterns.putIfAbsent(pattern, stats);
+		return previous == null ? stats : previous;
+	}
+
+	/**
+	 * 获得指定URL模式的统计，没有时返回null
+	 */
+	public RequestPatternStats getPattern(String pattern) {
+		return patterns.get(pattern);
+	}
+
+	/**
+	 * 获得所有URL模式的统计，按总耗时倒序排列
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public List<RequestPatternStats> getPatterns() {
+		List<RequestPatternStats> list = new ArrayList<RequestPatternStats>(patterns.values());
+		Collections.sort(list, new Comparator<RequestPatternStats>() {
+			@Override
+			public int compare(RequestPatternStats o1, RequestPatternStats o2) {
+				long t1 = o1.getTotalNanos();
+				long t2 = o2.getTotalNanos();
+				return t1 < t2 ? 1 : (t1 == t2 ? 0 : -1);
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * 获得慢请求样本，最新的在前
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public List<RequestProfileSample> getSlowSamples() {
+		List<RequestProfileSample> list = new ArrayList<RequestProfileSample>(SAMPLES);
+		int end = sampleIndex.get();
+		for (int i = end - 1; i >= end - SAMPLES; i--) {
+			RequestProfileSample sample = samples.get(i & (SAMPLES - 1));
+			if(sample != null && !list.contains(sample)) {
+				list.add(sample);
+			}
+		}
+		return list;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getSlowThresholdMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+	}
+
+	public void setSlowThresholdMillis(long slowThresholdMillis) {
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+	}
+
+	/**
+	 * 清空统计和慢请求样本
+	 */
+	public void reset() {
+		for (RequestPatternStats stats : patterns.values()) {
+			stats.reset();
+		}
+		for (int i = 0; i < SAMPLES; i++) {
+			samples.set(i, null);
+		}
+	}
+
+	/**
+	 * 转换为诊断接口输出的Map对象
+	 *
+	 * @param stats
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Map<String, Object> toMap(RequestPatternStats stats) {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		long count = stats.getCount();
+		long[] percentiles = stats.getHistogram().getValuesAtPercentiles(50D, 90D, 99D, 99.9D);
+		map.put("pattern", stats.getPattern());
+		map.put("count", count);
+		map.put("errors", stats.getErrors());
+		map.put("slowCount", stats.getSlowCount());
+		map.put("meanMillis", count == 0 ? 0D : stats.getTotalNanos() / 1000000D / count);
+		map.put("p50Millis", percentiles[0] / 1000D);
+		map.put("p90Millis", percentiles[1] / 1000D);
+		map.put("p99Millis", percentiles[2] / 1000D);
+		map.put("p999Millis", percentiles[3] / 1000D);
+		map.put("maxMillis", stats.getMaxNanos() / 1000000D);
+		Map<String, Object> stages = new LinkedHashMap<String, Object>();
+		long staged = 0;
+		for (RequestStage stage : RequestStage.values()) {
+			long nanos = stats.getStageNanos(stage);
+			staged += nanos;
+			Map<String, Object> stageMap = new LinkedHashMap<String, Object>();
+			stageMap.put("meanMillis", count == 0 ? 0D : nanos / 1000000D / count);
+			stageMap.put("count", stats.getStageCount(stage));
+			stages.put(stage.getCode(), stageMap);
+		}
+		Map<String, Object> other = new LinkedHashMap<String, Object>();
+		other.put("meanMillis", count == 0 ? 0D : Math.max(0L, stats.getTotalNanos() - staged) / 1000000D / count);
+		stages.put("other", other);
+		map.put("stages", stages);
+		return map;
+	}
+
+	/**
+	 * 转换为诊断接口输出的Map对象
+	 *
+	 * @param sample
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Map<String, Object> toMap(RequestProfileSample sample) {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("timestamp", sample.getTimestamp());
+		map.put("method", sample.getMethod());
+		map.put("uri", sample.getUri());
+		map.put("pattern", sample.getPattern());
+		map.put("error", sample.isError());
+		map.put("thread", sample.getThread());
+		map.put("totalMillis", sample.getTotalNanos() / 1000000D);
+		Map<String, Object> stages = new LinkedHashMap<String, Object>();
+		for (RequestStage stage : RequestStage.values()) {
+			Map<String, Object> stageMap = new LinkedHashMap<String, Object>();
+			stageMap.put("millis", sample.getStageNanos(stage) / 1000000D);
+			stageMap.put("count", sample.getStageCount(stage));
+			stages.put(stage.getCode(), stageMap);
+		}
+		Map<String, Object> other = new LinkedHashMap<String, Object>();
+		other.put("millis", sample.getOtherNanos() / 1000000D);
+		stages.put("other", other);
+		map.put("stages", stages);
+		return map;
+	}
+
+}
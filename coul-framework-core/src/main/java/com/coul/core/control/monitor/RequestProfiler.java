@@ -0,0 +1,100 @@
+package com.coul.core.control.monitor;
+
+/**
+ * 请求阶段计时入口
+ *
+ * RequestProfilerFilter在请求开始时创建当前线程的RequestTimeline，各阶段的钩子按以下方式计时：
+ * <pre>
+ * RequestTimeline timeline = RequestProfiler.start(RequestStage.SQL);
+ * try {
+ *     ...
+ * } finally {
+ *     RequestProfiler.stop(timeline);
+ * }
+ * </pre>
+ * 没有经过过滤器的线程（如定时任务）start返回null，stop(null)不做任何事，开销只有一次ThreadLocal读取。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class RequestProfiler {
+
+	private static final ThreadLocal<RequestTimeline> CURRENT = new ThreadLocal<RequestTimeline>();
+
+	private RequestProfiler() {
+	}
+
+	/**
+	 * 开始当前线程的请求计时，已经开始时返回null，由外层负责结束
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static RequestTimeline begin() {
+		if(CURRENT.get() != null) {
+			return null;
+		}
+		RequestTimeline timeline = new RequestTimeline(System.nanoTime());
+		CURRENT.set(timeline);
+		return timeline;
+	}
+
+	/**
+	 * 结束请求计时
+	 *
+	 * @param timeline begin返回的对象
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static void end(RequestTimeline timeline) {
+		if(timeline == null) {
+			return;
+		}
+		if(CURRENT.get() == timeline) {
+			CURRENT.remove();
+		}
+		timeline.finish();
+	}
+
+	/**
+	 * 获得当前线程的请求计时，没有开始时返回null
+	 */
+	public static RequestTimeline current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * 进入阶段，当前线程没有请求计时时返回null
+	 *
+	 * @param stage
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static RequestTimeline start(RequestStage stage) {
+		RequestTimeline timeline = CURRENT.get();
+		if(timeline != null) {
+			timeline.push(stage);
+		}
+		return timeline;
+	}
+
+	/**
+	 * 退出阶段
+	 *
+	 * @param timeline start返回的对象，可为null
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static void stop(RequestTimeline timeline) {
+		if(timeline != null) {
+			timeline.pop();
+		}
+	}
+
+}
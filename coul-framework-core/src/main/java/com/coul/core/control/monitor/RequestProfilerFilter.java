@@ -0,0 +1,119 @@
+package com.coul.core.control.monitor;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 请求耗时分阶段统计过滤器
+ *
+ * 请求开始时创建当前线程的RequestTimeline，参数绑定、服务调用、SQL执行和响应输出的钩子在其中分阶段计时，
+ * 请求结束时按URL模式汇总到RequestProfileStatistics。URL模式优先使用Spring MVC匹配到的映射，
+ * 没有时使用去掉上下文路径的URI，纯数字的路径段替换为{id}。
+ * 过滤器参数slowThresholdMillis可设置慢请求阈值。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class RequestProfilerFilter extends OncePerRequestFilter {
+
+	/** 统计对象 */
+	private RequestProfileStatistics statistics = RequestProfileStatistics.getDefault();
+
+	public void setStatistics(RequestProfileStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * 设置慢请求阈值（毫秒）
+	 */
+	public void setSlowThresholdMillis(long slowThresholdMillis) {
+		statistics.setSlowThresholdMillis(slowThresholdMillis);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+			FilterChain filterChain) throws ServletException, IOException {
+		RequestTimeline timeline = statistics.isEnabled() ? RequestProfiler.begin() : null;
+		if(timeline == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		boolean error = true;
+		try {
+			filterChain.doFilter(request, response);
+			error = false;
+		} finally {
+			RequestProfiler.end(timeline);
+			statistics.record(patternOf(request), request.getMethod(), request.getRequestURI(), error, timeline);
+		}
+	}
+
+	/**
+	 * 获得请求的URL模式
+	 *
+	 * @param request
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	static String patternOf(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if(pattern instanceof String) {
+			return (String) pattern;
+		}
+		String uri = request.getRequestURI();
+		if(uri == null) {
+			return "";
+		}
+		int semicolon = uri.indexOf(';');
+		if(semicolon >= 0) {
+			uri = uri.substring(0, semicolon);
+		}
+		String contextPath = request.getContextPath();
+		if(contextPath != null && contextPath.length() > 0 && uri.startsWith(contextPath)) {
+			uri = uri.substring(contextPath.length());
+		}
+		return normalizePath(uri);
+	}
+
+	/**
+	 * 纯数字的路径段替换为{id}
+	 */
+	static String normalizePath(String path) {
+		StringBuilder sb = null;
+		int length = path.length();
+		int segmentStart = 0;
+		for (int i = 0; i <= length; i++) {
+			if(i < length && path.charAt(i) != '/') {
+				continue;
+			}
+			boolean numeric = i > segmentStart;
+			for (int j = segmentStart; j < i && numeric; j++) {
+				char c = path.charAt(j);
+				numeric = c >= '0' && c <= '9';
+			}
+			if(numeric) {
+				if(sb == null) {
+					sb = new StringBuilder(length).append(path, 0, segmentStart);
+				}
+				sb.append("{id}");
+			} else if(sb != null) {
+				sb.append(path, segmentStart, i);
+			}
+			if(sb != null && i < length) {
+				sb.append('/');
+			}
+			segmentStart = i + 1;
+		}
+		return sb == null ? path : sb.toString();
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.coul.core.control.monitor;
+
+/**
+ * 请求处理阶段
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public enum RequestStage {
+	/** 请求参数绑定，如RequestDataMethodArgumentResolver */
+	BINDING("binding"),
+	/** 业务服务调用，由ServiceStageInterceptor记录 */
+	SERVICE("service"),
+	/** SQL执行，由InstrumentedJdbcTemplate和InstrumentedHibernateTemplate记录 */
+	SQL("sql"),
+	/** 响应输出，如JsonResponseWriter */
+	RENDER("render");
+
+	/** 阶段编码 */
+	private final String code;
+
+	private RequestStage(String code) {
+		this.code = code;
+	}
+
+	public String getCode() {
+		return code;
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.coul.core.control.monitor;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * 记录服务调用阶段耗时的拦截器
+ *
+ * 通过Spring AOP应用到服务层，例如：
+ * <pre>
+ * &lt;bean id="serviceStageInterceptor" class="com.coul.core.control.monitor.ServiceStageInterceptor"/&gt;
+ * &lt;aop:config&gt;
+ *     &lt;aop:advisor advice-ref="serviceStageInterceptor" pointcut="execution(* com.coul..service..*(..))"/&gt;
+ * &lt;/aop:config&gt;
+ * </pre>
+ * applicationContext-common.xml中已应用到com.coul.config.service.impl的服务。
+ * 服务之间的调用只计一次服务阶段，服务中执行的SQL计入SQL阶段。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class ServiceStageInterceptor implements MethodInterceptor {
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.SERVICE);
+		try {
+			return invocation.proceed();
+		} finally {
+			RequestProfiler.stop(timeline);
+		}
+	}
+
+}
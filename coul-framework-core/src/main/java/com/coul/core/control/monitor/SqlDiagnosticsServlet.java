@@ -0,0 +1,78 @@
+package com.coul.core.control.monitor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.coul.core.domain.db.stats.SlowQuerySample;
+import com.coul.core.domain.db.stats.SqlStatementStats;
+import com.coul.core.domain.db.stats.SqlStatistics;
+
+/**
+ * SQL执行统计的诊断接口
+ *
+ * GET输出JSON格式的统计：按总耗时倒序的语句形态（limit参数指定条数，默认50）和慢查询样本；
+ * POST带参数reset=true时清空统计。只允许白名单中的地址访问，见DiagnosticsServlet；
+ * SqlStatistics开启captureParameters时慢查询样本包含绑定参数。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class SqlDiagnosticsServlet extends DiagnosticsServlet {
+
+	private static final long serialVersionUID = 4270356128379617905L;
+
+	@Override
+	protected void doGet(HttpServletRequest request, HttpServletResponse response)
+			throws ServletException, IOException {
+		SqlStatistics statistics = SqlStatistics.getDefault();
+		int limit = NumberUtils.toInt(request.getParameter("limit"), 50);
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		result.put("enabled", statistics.isEnabled());
+		result.put("captureParameters", statistics.isCaptureParameters());
+		result.put("slowThresholdMillis", statistics.getSlowThresholdMillis());
+		result.put("nPlusOneThreshold", statistics.getNPlusOneThreshold());
+		result.put("statementCount", statistics.getStatementCount());
+		result.put("executionCount", statistics.getExecutionCount());
+		List<Map<String, Object>> statements = new ArrayList<Map<String, Object>>();
+		for (SqlStatementStats stats : statistics.getStatements()) {
+			if(statements.size() >= limit) {
+				break;
+			}
+			statements.add(SqlStatistics.toMap(stats));
+		}
+		result.put("statements", statements);
+		List<Map<String, Object>> slowQueries = new ArrayList<Map<String, Object>>();
+		for (SlowQuerySample sample : statistics.getSlowSamples()) {
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			map.put("timestamp", sample.getTimestamp());
+			map.put("elapsedMillis", sample.getElapsedNanos() / 1000000D);
+			map.put("fetchMillis", sample.getFetchNanos() / 1000000D);
+			map.put("rows", sample.getRows());
+			map.put("thread", sample.getThread());
+			map.put("sql", sample.getSql());
+			map.put("parameters", sample.getParameters());
+			slowQueries.add(map);
+		}
+		result.put("slowQueries", slowQueries);
+		write(response, result);
+	}
+
+	@Override
+	protected void doPost(HttpServletRequest request, HttpServletResponse response)
+			throws ServletException, IOException {
+		if("true".equalsIgnoreCase(request.getParameter("reset"))) {
+			SqlStatistics.getDefault().reset();
+		}
+		doGet(request, response);
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.coul.core.control.monitor;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.coul.core.domain.db.stats.SqlRequestScope;
+
+/**
+ * 按请求统计SQL执行次数的过滤器
+ *
+ * 请求开始时开启SqlRequestScope，请求结束时检查同一形态语句的执行次数，达到阈值的记为疑似N+1查询，
+ * 阈值见SqlStatistics的nPlusOneThreshold。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+			FilterChain filterChain) throws ServletException, IOException {
+		SqlRequestScope scope = SqlRequestScope.begin(request.getMethod() + " " + request.getRequestURI());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			if(scope != null) {
+				scope.end();
+			}
+		}
+	}
+
+}
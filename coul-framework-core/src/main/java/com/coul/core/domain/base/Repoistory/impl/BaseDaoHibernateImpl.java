@@ -21,18 +21,21 @@ import org.apache.commons.logging.LogFactory;
 import org.hibernate.HibernateException;
 import org.hibernate.Query;
 import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Example;
 import org.hibernate.criterion.MatchMode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.ObjectRetrievalFailureException;
 import org.springframework.orm.hibernate3.HibernateCallback;
+import org.springframework.orm.hibernate3.HibernateTemplate;
 import org.springframework.orm.hibernate3.support.HibernateDaoSupport;
 
 import com.coul.common.pagehelper.PageInfo;
 import com.coul.common.utils.spring.ApplicationContextUtil;
 import com.coul.common.utils.type.StringUtil;
 import com.coul.core.domain.base.Repoistory.BaseDaoHibernate;
+import com.coul.core.domain.db.stats.InstrumentedHibernateTemplate;
 
 /**
  * @版权：福富软件 版权所有 (c) 2007
@@ -82,6 +85,20 @@ public class BaseDaoHibernateImpl extends HibernateDaoSupport implements BaseDao
 //        return this.jdbcTemplate;
 //    }
     
+    /**
+     * 使用记录执行统计的HibernateTemplate，统计结果见SqlStatistics
+     * 
+     * @param sessionFactory
+     * @return HibernateTemplate
+     * @修改记录： ==============================================================<br>
+     *        日期:2026-10-18 agent 创建方法
+     *        ==============================================================<br>
+     */
+    @Override
+    protected HibernateTemplate createHibernateTemplate(SessionFactory sessionFactory) {
+        return new InstrumentedHibernateTemplate(sessionFactory);
+    }
+    
     /**
      * @param o
      *            Object
@@ -621,7 +638,9 @@ public class BaseDaoHibernateImpl extends HibernateDaoSupport implements BaseDao
     	            new HibernateCallback() {
     	                public Object doInHibernate(final Session session)
     	                    throws HibernateException, SQLException {
-    	                	logger.debug("sql:"+sql);
+    	                	if (logger.isDebugEnabled()) {
+    	                		logger.debug("sql:"+sql);
+    	                	}
     	                	 final Query query = session.createSQLQuery(sql);
     	                	 // 判断是否有传入参数
     	                     if (params != null) {
@@ -1852,7 +1871,9 @@ public class BaseDaoHibernateImpl extends HibernateDaoSupport implements BaseDao
 			//组分页的Sql
 			sqlStr = "select * from (select src.*,rownum rn from (" + sqlStr;
 			sqlStr = sqlStr + ") src ) where rn > " +firstNum+ " and rn <= " + lastNum ;
-			logger.debug("sqlStr:"+sqlStr);
+			if (logger.isDebugEnabled()) {
+				logger.debug("sqlStr:"+sqlStr);
+			}
 			
 			pStmt = conn.prepareStatement(sqlStr);
 			//2.创建参数条件
@@ -1973,7 +1994,9 @@ public class BaseDaoHibernateImpl extends HibernateDaoSupport implements BaseDao
 	                public Object doInHibernate(final Session session)
 	                    throws HibernateException, SQLException {
 	                	//打印日志
-	                	logger.debug("sql:"+sql);
+	                	if (logger.isDebugEnabled()) {
+	                		logger.debug("sql:"+sql);
+	                	}
 	                	List list = null;
 	            		Connection conn = null;
 	            		Statement stmt = null;
@@ -18,6 +18,7 @@ import com.coul.core.domain.base.Repoistory.BaseDaoSpringJdbc;
 import com.coul.core.domain.db.Entity;
 import com.coul.core.domain.db.PagingSqlBuilder;
 import com.coul.core.domain.db.SimpleSqlBuilder;
+import com.coul.core.domain.db.stats.InstrumentedNamedParameterJdbcTemplate;
 import com.coul.core.domain.model.DataStore;
 import com.coul.core.domain.model.MapRowMapper;
 import com.coul.core.domain.model.PagingParameter;
@@ -88,8 +89,8 @@ public abstract class BaseDaoSpringJdbcImpl implements BaseDaoSpringJdbc, Initia
 	 */
 	@Override
 	public void afterPropertiesSet() throws Exception {
-		//初始化namedParameterJdbcTemplate
-		namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate.getDataSource());
+		//初始化namedParameterJdbcTemplate，与jdbcTemplate共用同一个模版，jdbcTemplate记录执行统计时命名参数语句也一并记录
+		namedParameterJdbcTemplate = InstrumentedNamedParameterJdbcTemplate.of(jdbcTemplate);
 	   //初始化pagingSqlBuilder  ---跟数据配置的数据驱动存在关系
 		pagingSqlBuilder = new PagingSqlBuilder(((DriverManagerDataSource)
 				jdbcTemplate.getDataSource()).getUrl().replaceAll("://.*$", ""));
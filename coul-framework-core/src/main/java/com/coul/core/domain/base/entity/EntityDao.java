@@ -10,6 +10,7 @@ import com.coul.core.domain.db.Association;
 import com.coul.core.domain.db.Entity;
 import com.coul.core.domain.model.DataStore;
 import com.coul.core.domain.model.PagingParameter;
+import com.google.common.base.Optional;
 
 /**
  * 实体类DAO接口
@@ -35,6 +36,16 @@ public interface EntityDao<E extends Entity> extends BaseDaoSpringJdbc {
 	 */
 	public <K extends Number> E get(K id, Class<?>... associationLink) throws DaoAccessException;
 	
+	/**
+	 * 根据ID值获得实体对象，参数说明请参考get(id, associationLink)
+	 * 记录不存在是预期内的结果，返回Optional.absent()，不创建也不记录任何异常
+	 *
+	 * @param id
+	 * @param associationLink
+	 * @return Optional<E>     实体对象
+	 */
+	public <K extends Number> Optional<E> find(K id, Class<?>... associationLink) throws DaoAccessException;
+	
 	/**
 	 * 根据SQL语句获得实体对象，
 	 *
@@ -68,6 +79,16 @@ public interface EntityDao<E extends Entity> extends BaseDaoSpringJdbc {
 	 */
 	public E get(Condition condition, Class<?>... associationLink) throws DaoAccessException;
 	
+	/**
+	 * 根据Condition对象获得实体对象，参数说明请参考get(condition, associationLink)
+	 * 没有记录时返回Optional.absent()
+	 *
+	 * @param condition
+	 * @param associationLink
+	 * @return Optional<E>
+	 */
+	public Optional<E> find(Condition condition, Class<?>... associationLink) throws DaoAccessException;
+	
 	/**
 	 * 通过ID值删除记录
 	 *
@@ -177,6 +198,20 @@ public interface EntityDao<E extends Entity> extends BaseDaoSpringJdbc {
 	public DataStore<E> query(Condition condition, PagingParameter paging, Class<?>... associationLink) throws DaoAccessException;
 	public DataStore<E> query(Condition condition, String orders, PagingParameter paging, Class<?>... associationLink) throws DaoAccessException;
 	
+	/**
+	 * 根据Condition对象和分页参数查询一页记录，不统计总记录数
+	 * 用于逐页读取全部数据（如导出），每页省去一次COUNT查询
+	 *
+	 * @param condition   参数说明请参考get(condition, associationLink)
+	 * @param orders      排序，为null时按ID排序
+	 * @param paging      分页参数，为null或参数不正确时查询全部记录
+	 * @return List<E>    当前页的记录，少于paging.getLimit()条表示没有更多记录
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public List<E> queryPage(Condition condition, String orders, PagingParameter paging, Class<?>... associationLink) throws DaoAccessException;
+	
 	/**
 	 * 查询表里的所有记录
 	 *
@@ -0,0 +1,47 @@
+package com.coul.core.domain.base.entity;
+
+import java.util.List;
+
+import com.coul.common.excel.ExcelPageSource;
+import com.coul.core.base.condition.Condition;
+import com.coul.core.domain.db.Entity;
+import com.coul.core.domain.model.PagingParameter;
+
+/**
+ * 按EntityDao分页查询读取导出数据，用于ParallelExportExcel
+ *
+ * 每页通过queryPage(condition, orders, paging, associationLink)查询，不统计总记录数，
+ * 各页可以并发读取，orders为null时按ID排序，保证分页结果稳定。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class EntityPageSource<E extends Entity> implements ExcelPageSource<E> {
+
+	private final EntityDao<E> dao;
+
+	private final Condition condition;
+
+	private final String orders;
+
+	private final Class<?>[] associationLink;
+
+	/**
+	 * @param dao              实体DAO
+	 * @param condition        查询条件，为null时查询全部记录
+	 * @param orders           排序，为null时按ID排序
+	 * @param associationLink  参数说明请参考EntityDao.get(condition, associationLink)
+	 */
+	public EntityPageSource(EntityDao<E> dao, Condition condition, String orders, Class<?>... associationLink) {
+		this.dao = dao;
+		this.condition = condition;
+		this.orders = orders;
+		this.associationLink = associationLink;
+	}
+
+	@Override
+	public List<E> getPage(int offset, int limit) throws Exception {
+		return dao.queryPage(condition, orders, new PagingParameter(offset, limit), associationLink);
+	}
+
+}
@@ -1,6 +1,8 @@
 package com.coul.core.domain.base.entity.impl;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -13,7 +15,6 @@ import java.util.Stack;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.log4j.Logger;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -33,8 +34,10 @@ import com.coul.core.domain.base.entity.EntityDao;
 import com.coul.core.domain.db.Association;
 import com.coul.core.domain.db.Entity;
 import com.coul.core.domain.db.SimpleSqlBuilder;
+import com.coul.core.domain.id.IdGenerator;
 import com.coul.core.domain.model.DataStore;
 import com.coul.core.domain.model.PagingParameter;
+import com.google.common.base.Optional;
 
 /**
  * 实体Dao支持类
@@ -80,6 +83,8 @@ public abstract class EntityDaoSupport<E extends Entity> extends BaseDaoSpringJd
 	protected SimpleSqlBuilder<E> simpleSqlBuilder;
 	/** 实体类类型 */
 	private Class<E> entityClass;
+	/** ID生成器，设置后新增记录时预先分配ID，不使用数据库生成的主键 */
+	private IdGenerator idGenerator;
 
 	/**
 	 * 构造方法  通过反射初始化entityClass
@@ -140,16 +145,30 @@ public abstract class EntityDaoSupport<E extends Entity> extends BaseDaoSpringJd
 		return simpleSqlBuilder;
 	}
 
+	public IdGenerator getIdGenerator() {
+		return idGenerator;
+	}
+
+	/**
+	 * 设置ID生成器，save和saves不指定ID时由生成器分配ID并设置到实体对象，
+	 * 批量新增不再依赖数据库生成的主键
+	 *
+	 * @param idGenerator
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public void setIdGenerator(IdGenerator idGenerator) {
+		this.idGenerator = idGenerator;
+	}
+
 	@Override
 	public <K extends Number> E get(K id, Class<?>... associationLink) throws DaoAccessException {
 		if(associationLink != null && associationLink.length == 0) {
 			try {
-				return jdbcTemplate.queryForObject(simpleSqlBuilder.getQuerySimpleSql(), 
-						simpleSqlBuilder.getRowMapper(), id);
-			} catch (EmptyResultDataAccessException e) {
-				//只处理空结果异常，表示没有对应的记录，返回null
-				logger.warn(e);
-				return null;
+				//没有对应的记录返回null，不再通过EmptyResultDataAccessException判断
+				return getUniqueEntity(jdbcTemplate.query(simpleSqlBuilder.getQuerySimpleSql(), 
+						simpleSqlBuilder.getRowMapper(), id));
 			} catch (Exception e) {
 				throw new DaoAccessException(e);
 			}
@@ -158,6 +177,16 @@ public abstract class EntityDaoSupport<E extends Entity> extends BaseDaoSpringJd
 				simpleSqlBuilder.getIdField()), id), associationLink);
 	}
 	
+	@Override
+	public <K extends Number> Optional<E> find(K id, Class<?>... associationLink) throws DaoAccessException {
+		return Optional.fromNullable(get(id, associationLink));
+	}
+	
+	@Override
+	public Optional<E> find(Condition condition, Class<?>... associationLink) throws DaoAccessException {
+		return Optional.fromNullable(get(condition, associationLink));
+	}
+	
 	@Override
 	public E get(String sql, Object... params) throws DaoAccessException {
 		return getUniqueEntity(query(sql, params));
@@ -271,19 +300,25 @@ public abstract class EntityDaoSupport<E extends Entity> extends BaseDaoSpringJd
 			params = condition.getParameters();
 		}
 		if(associationLink != null && associationLink.length == 0) {
-			String sql = condition==null?"":condition.toSqlString();
-			if(orders == null) {
-				orders = simpleSqlBuilder.getFieldColumnMapping().get(simpleSqlBuilder.getIdField());
-			}
-			if(!sql.equals("")) {
-				sql += " ";
-			}
- 			sql += "ORDER BY " + orders;
-			return query(sql, paging, params);
+			return query(buildSimpleSql(condition, orders), paging, params);
 		}
 		return queryDataStore(buildAssociationSql(condition, orders, associationLink), params, 
 				simpleSqlBuilder.getRowMapper(associationLink), paging);
 	}
+
+	@Override
+	public List<E> queryPage(Condition condition, String orders, PagingParameter paging, Class<?>... associationLink) throws DaoAccessException {
+		Object[] params = new Object[0];
+		if(condition != null) {
+			params = condition.getParameters();
+		}
+		if(associationLink != null && associationLink.length == 0) {
+			String sql = handleSimpleSql(buildSimpleSql(condition, orders));
+			return queryPageList(sql, params, getRowMapperBySql(sql), paging);
+		}
+		return queryPageList(buildAssociationSql(condition, orders, associationLink), params, 
+				simpleSqlBuilder.getRowMapper(associationLink), paging);
+	}
 	
 	@Override
 	public List<E> queryAll(Class<?>... associationLink) throws DaoAccessException {
@@ -369,7 +404,9 @@ public abstract class EntityDaoSupport<E extends Entity> extends BaseDaoSpringJd
 				}
 				namedParameterJdbcTemplate.batchUpdate(simpleSqlBuilder.getIncludeIdFieldInsertSql(), batchArgs);
 			}
-			if(CollectionUtils.isNotEmpty(withoutIdEntitys)) {
+			if(CollectionUtils.isNotEmpty(withoutIdEntitys) && idGenerator != null) {
+				savesWithGeneratedId(withoutIdEntitys);
+			} else if(CollectionUtils.isNotEmpty(withoutIdEntitys)) {
 				@SuppressWarnings("unchecked")
 				Map<String, Object>[] batchArgs = new Map[withoutIdEntitys.size()];
 				for (int i = 0; i < batchArgs.length; i++) {
@@ -898,6 +935,9 @@ public abstract class EntityDaoSupport<E extends Entity> extends BaseDaoSpringJd
 			}
 			@SuppressWarnings("unchecked")
 			Class<K> idFieldType = (Class<K>)new PropertyDescriptor(simpleSqlBuilder.getIdField(), entityClass).getPropertyType();
+			if(id == null && idGenerator != null) {
+				id = idFieldType.getConstructor(String.class).newInstance(String.valueOf(idGenerator.nextId()));
+			}
 			Map<String, Object> params = simpleSqlBuilder.getSqlParameters(entity);
 			if(id == null) {
 				String sql = simpleSqlBuilder.getInsertSql(params.keySet());
@@ -917,6 +957,37 @@ public abstract class EntityDaoSupport<E extends Entity> extends BaseDaoSpringJd
 		}
 	}
 	
+	/**
+	 * 使用ID生成器分配ID后批量新增，新增成功后设置实体对象的ID值
+	 *
+	 * @param entitys  实体集合，各个对象的ID值必须为空
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private void savesWithGeneratedId(List<E> entitys) throws Exception {
+		PropertyDescriptor idProperty = new PropertyDescriptor(simpleSqlBuilder.getIdField(), entityClass);
+		Constructor<?> idConstructor = idProperty.getPropertyType().getConstructor(String.class);
+		Object[] ids = new Object[entitys.size()];
+		@SuppressWarnings("unchecked")
+		Map<String, Object>[] batchArgs = new Map[entitys.size()];
+		for (int i = 0; i < batchArgs.length; i++) {
+			E entity = entitys.get(i);
+			if(!entity.isTransient()) {
+				throw new DuplicateRecordException(ErrorCode.DUPLICATE_RECORDE_AS_SAVE_ENTITY, 
+						"The record that whoes id equals " + entity.identityString() + " is already exist!");
+			}
+			ids[i] = idConstructor.newInstance(String.valueOf(idGenerator.nextId()));
+			batchArgs[i] = simpleSqlBuilder.getAllSqlParameter(entity);
+			batchArgs[i].put(simpleSqlBuilder.getIdField(), ids[i]);
+		}
+		namedParameterJdbcTemplate.batchUpdate(simpleSqlBuilder.getIncludeIdFieldInsertSql(), batchArgs);
+		Method writeMethod = idProperty.getWriteMethod();
+		for (int i = 0; i < ids.length; i++) {
+			writeMethod.invoke(entitys.get(i), ids[i]);
+		}
+	}
+	
 	/**
 	 * 处理单表查询的SQL语句，SQL为null或空字符串或只指定WHERE子句时处理成查询全部记录
 	 *
@@ -961,6 +1032,52 @@ public abstract class EntityDaoSupport<E extends Entity> extends BaseDaoSpringJd
 		return simpleSqlBuilder.getRowMapper(columns);
 	}
 
+	/**
+	 * 构造不关联查询的条件和排序子句，orders为null时按ID排序
+	 *
+	 * @param condition  查询条件，可为null
+	 * @param orders     排序
+	 * @return String    条件和排序子句
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private String buildSimpleSql(Condition condition, String orders) {
+		String sql = condition==null?"":condition.toSqlString();
+		if(orders == null) {
+			orders = simpleSqlBuilder.getFieldColumnMapping().get(simpleSqlBuilder.getIdField());
+		}
+		if(!sql.equals("")) {
+			sql += " ";
+		}
+		return sql + "ORDER BY " + orders;
+	}
+
+	/**
+	 * 查询一页数据，不统计总记录数，如果指定的paging为null或参数不正确则查询出全部的数据
+	 *
+	 * @param sql           SQL语句
+	 * @param params        SQL参数
+	 * @param rowMapper     记录映射对象
+	 * @param paging        分页参数
+	 * @return List<S>      当前页的数据
+	 * @throws DaoAccessException DAO访问异常
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private <S extends Entity> List<S> queryPageList(
+			String sql, Object[] params, RowMapper<S> rowMapper, PagingParameter paging) throws DaoAccessException {
+		try {
+			if(paging != null && !paging.isInvalid()) {
+				sql = pagingSqlBuilder.getPagingSql(sql, paging);
+			}
+			return jdbcTemplate.query(sql, rowMapper, params);
+		} catch (Exception e) {
+			throw new DaoAccessException(e);
+		}
+	}
+
 	/**
 	 * 查询分页数据，如果指定的paging为null或参数不正确则查询出全部的数据
 	 *
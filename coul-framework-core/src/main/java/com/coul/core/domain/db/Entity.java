@@ -1,16 +1,13 @@
 package com.coul.core.domain.db;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.coul.common.exception.AnnotationNotFoundException;
 import com.coul.common.exception.ErrorCode;
 import com.coul.common.exception.FieldColumnMappingException;
-import com.coul.common.utils.ObjectUtil;
+import com.coul.core.domain.db.EntityMetadata.ColumnAccessor;
 import com.coul.core.domain.model.BaseDomain;
 
 /**
@@ -45,8 +42,7 @@ public abstract class Entity extends BaseDomain implements Comparable<Entity> {
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
-		String idstr = identityString();
-		Long id = idstr == null ? 0 : Long.valueOf(idstr);
+		long id = longValue(identityValue());
 		result = prime * result + (int) (id ^ (id >>> 32));
 		return result;
 	}
@@ -60,31 +56,39 @@ public abstract class Entity extends BaseDomain implements Comparable<Entity> {
 			return false;
 		}
 		Entity other = (Entity) obj;
-		String idstr = identityString();
-		String oidstr = other.identityString();
-		if(idstr == oidstr) {
-			return true;
-		}
-		if(idstr == null) {
-			return false;
+		Object id = identityValue();
+		Object oid = other.identityValue();
+		if(id == null || oid == null) {
+			return id == oid;
 		}
-		return idstr.equals(oidstr);
+		//同一类型的ID值类型相同，equals和比较字符串形式的结果一致
+		return id.equals(oid);
 	}
 
 	@Override
 	public int compareTo(Entity other) {
-		String idstr = identityString();
-		String oidstr = other.identityString();
-		if(idstr == null && oidstr == null) {
+		Object id = identityValue();
+		Object oid = other.identityValue();
+		if(id == null && oid == null) {
 			return 0;
 		}
-		if(idstr == null) {
+		if(id == null) {
 			return 1;
 		}
-		if(oidstr == null) {
+		if(oid == null) {
 			return -1;
 		}
-		return new BigDecimal(idstr).compareTo(new BigDecimal(oidstr));
+		if(isIntegral(id) && isIntegral(oid)) {
+			long value = ((Number) id).longValue();
+			long otherValue = ((Number) oid).longValue();
+			return value < otherValue ? -1 : (value == otherValue ? 0 : 1);
+		}
+		if(id.getClass() == oid.getClass() && (id instanceof BigDecimal || id instanceof BigInteger)) {
+			@SuppressWarnings("unchecked")
+			Comparable<Object> comparable = (Comparable<Object>) id;
+			return comparable.compareTo(oid);
+		}
+		return new BigDecimal(id.toString()).compareTo(new BigDecimal(oid.toString()));
 	}
 
 	/**
@@ -93,21 +97,32 @@ public abstract class Entity extends BaseDomain implements Comparable<Entity> {
 	 * @return
 	 */
 	public String identityString() {
-		Class<? extends Entity> clazz = getClass();
-		for (Field field : ObjectUtil.getAllField(clazz)) {
-			Id id = field.getAnnotation(Id.class);
-			if(id != null) {
-				try {
-					Object value = new PropertyDescriptor(
-							field.getName(), clazz).getReadMethod().invoke(this);
-					return value == null ? null : value.toString();
-				} catch (Exception e) {
-					throw new RuntimeException(e);
-				}
-			}
+		Object value = identityValue();
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * 获得实体对象的ID值，ID属性的读取方法按类缓存，见EntityMetadata
+	 */
+	private Object identityValue() {
+		return EntityMetadata.of(getClass()).getId(this);
+	}
+
+	private static boolean isIntegral(Object value) {
+		return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+	}
+
+	/**
+	 * hashCode使用的ID值，与原来Long.valueOf(identityString())的结果一致
+	 */
+	private static long longValue(Object id) {
+		if(id == null) {
+			return 0;
+		}
+		if(isIntegral(id)) {
+			return ((Number) id).longValue();
 		}
-		throw new AnnotationNotFoundException(ErrorCode.ANNOTATION_NOT_FOUND_AS_ID, 
-				"Annotation " + Id.class.getName() + " not found for " + clazz.getName());
+		return Long.valueOf(id.toString());
 	}
 
 	/**
@@ -118,27 +133,11 @@ public abstract class Entity extends BaseDomain implements Comparable<Entity> {
 	 */
 	public List<String> getDifferentColumns(Entity other) {
 		List<String> differentColumns = new ArrayList<String>();
-		Class<? extends Entity> clazz = getClass();
-		for (Field field  : ObjectUtil.getAllField(clazz)) {
-			Column column = field.getAnnotation(Column.class);
-			if(column == null) {
-				continue;
-			}
-			String name = column.value();
-			if(name.equals(COLUMN_NAME_DEFAULT)) {
-				name = field.getName().toUpperCase();
-			}
-			Object value = null;
-			Object otherValue = null;
-			try {
-				Method method = new PropertyDescriptor(field.getName(), clazz).getReadMethod();
-				value = method.invoke(this);
-				otherValue = method.invoke(other);
-			} catch (Exception e) {
-				throw new RuntimeException(e);
-			}
+		for (ColumnAccessor column : EntityMetadata.of(getClass()).columns) {
+			Object value = column.get(this);
+			Object otherValue = column.get(other);
 			if(value==null && otherValue!=null || value!=null && !value.equals(otherValue)) {
-				differentColumns.add(name);
+				differentColumns.add(column.column);
 			}
 		}
 		return differentColumns;
@@ -154,23 +153,11 @@ public abstract class Entity extends BaseDomain implements Comparable<Entity> {
 	 */
 	public <T> T getFieldValue(String columnName) {
 		Class<? extends Entity> clazz = getClass();
-		for (Field field  : ObjectUtil.getAllField(clazz)) {
-			Column column = field.getAnnotation(Column.class);
-			if(column == null) {
-				continue;
-			}
-			String name = column.value();
-			if(name.equals(COLUMN_NAME_DEFAULT)) {
-				name = field.getName().toUpperCase();
-			}
-			if(name.equalsIgnoreCase(columnName)) {
-				try {
-					@SuppressWarnings("unchecked")
-					T value = (T)new PropertyDescriptor(field.getName(), clazz).getReadMethod().invoke(this);
-					return value;
-				} catch (Exception e) {
-					throw new RuntimeException(e);
-				}
+		for (ColumnAccessor column : EntityMetadata.of(clazz).columns) {
+			if(column.column.equalsIgnoreCase(columnName)) {
+				@SuppressWarnings("unchecked")
+				T value = (T)column.get(this);
+				return value;
 			}
 		}
 		throw new FieldColumnMappingException(ErrorCode.FIELD_COLUMN_MAPPING_AS_NOT_EXIST_COLUMN, 
@@ -183,7 +170,7 @@ public abstract class Entity extends BaseDomain implements Comparable<Entity> {
 	 * @return
 	 */
 	public boolean isTransient() {
-		return identityString() == null;
+		return identityValue() == null;
 	}
 
 }
@@ -0,0 +1,140 @@
+package com.coul.core.domain.db;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.coul.common.exception.AnnotationNotFoundException;
+import com.coul.common.exception.ErrorCode;
+import com.coul.common.utils.ObjectUtil;
+
+/**
+ * 实体类的ID和列元数据，每个实体类只分析一次
+ *
+ * Entity的identityString、hashCode、equals、compareTo、isTransient都依赖ID值，
+ * 原来每次调用都要遍历字段查找@Id注解并创建PropertyDescriptor，现在按类缓存读取方法。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class EntityMetadata {
+
+	private static final ClassValue<EntityMetadata> METADATA = new ClassValue<EntityMetadata>() {
+		@Override
+		protected EntityMetadata computeValue(Class<?> type) {
+			return new EntityMetadata(type);
+		}
+	};
+
+	private final Class<?> type;
+
+	/** ID属性的读取方法 */
+	private final Method idReader;
+
+	/** 获取ID属性读取方法时的异常，使用时抛出 */
+	private final RuntimeException idError;
+
+	/** @Column注解的属性，顺序与ObjectUtil.getAllField一致 */
+	final List<ColumnAccessor> columns;
+
+	static EntityMetadata of(Class<?> type) {
+		return METADATA.get(type);
+	}
+
+	private EntityMetadata(Class<?> type) {
+		this.type = type;
+		Method reader = null;
+		RuntimeException error = null;
+		List<ColumnAccessor> accessors = new ArrayList<ColumnAccessor>();
+		boolean idFound = false;
+		for (Field field : ObjectUtil.getAllField(type)) {
+			if(!idFound && field.getAnnotation(Id.class) != null) {
+				idFound = true;
+				try {
+					reader = readMethod(field.getName(), type);
+				} catch (RuntimeException e) {
+					error = e;
+				}
+			}
+			Column column = field.getAnnotation(Column.class);
+			if(column != null) {
+				String name = column.value();
+				if(name.equals(Entity.COLUMN_NAME_DEFAULT)) {
+					name = field.getName().toUpperCase();
+				}
+				accessors.add(new ColumnAccessor(name, field.getName(), type));
+			}
+		}
+		this.idReader = reader;
+		this.idError = error;
+		this.columns = Collections.unmodifiableList(accessors);
+	}
+
+	/**
+	 * 获得实体对象的ID值
+	 */
+	Object getId(Object entity) {
+		if(idReader == null) {
+			if(idError != null) {
+				throw idError;
+			}
+			throw new AnnotationNotFoundException(ErrorCode.ANNOTATION_NOT_FOUND_AS_ID,
+					"Annotation " + Id.class.getName() + " not found for " + type.getName());
+		}
+		return invoke(idReader, entity);
+	}
+
+	static Object invoke(Method method, Object target) {
+		try {
+			return method.invoke(target);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static Method readMethod(String name, Class<?> type) {
+		try {
+			Method method = new PropertyDescriptor(name, type).getReadMethod();
+			method.setAccessible(true);
+			return method;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @Column注解的属性
+	 */
+	static final class ColumnAccessor {
+		/** 列名 */
+		final String column;
+
+		private final Method reader;
+
+		private final RuntimeException error;
+
+		ColumnAccessor(String column, String field, Class<?> type) {
+			this.column = column;
+			Method method = null;
+			RuntimeException e = null;
+			try {
+				method = readMethod(field, type);
+			} catch (RuntimeException ex) {
+				e = ex;
+			}
+			this.reader = method;
+			this.error = e;
+		}
+
+		Object get(Object entity) {
+			if(reader == null) {
+				throw error;
+			}
+			return invoke(reader, entity);
+		}
+	}
+
+}
@@ -22,6 +22,7 @@ import com.coul.common.exception.ErrorCode;
 import com.coul.common.exception.FieldColumnMappingException;
 import com.coul.common.exception.IllegalRecordException;
 import com.coul.common.utils.ObjectUtil;
+import com.coul.common.utils.type.ConversionRegistry;
 import com.coul.core.domain.model.MapRowMapper;
 import com.coul.core.domain.model.TreeNode;
 
@@ -42,6 +43,8 @@ public class SimpleSqlBuilder<E extends Entity> {
 	private Map<String, String> fieldColumnMapping;
 	/** 实体类类型  */
 	private Class<E> entityClass;
+	/** 结果集映射到实体时各属性的写入信息，首次映射时创建 */
+	private volatile List<ColumnSetter> columnSetters;
 
 	/**
 	 * 构造方法
@@ -594,7 +597,7 @@ public class SimpleSqlBuilder<E extends Entity> {
 	 * @param entity 实体对象
 	 * @param resultSet 结果集
 	 * 创建日期：2012-8-1
-	 * 修改说明：
+	 * 修改说明：2026-10-18 agent 写方法和属性类型在首次映射时解析并缓存，不再每个单元格创建PropertyDescriptor
 	 * @author zengshl
 	 * @throws Exception 
 	 * 
@@ -603,27 +606,32 @@ public class SimpleSqlBuilder<E extends Entity> {
 	 * 就是将查询的结果映射到实体对象里面去
 	 */
 	private void setEntityField(E entity, ResultSet resultSet) throws Exception {
-		for (String field  : fieldColumnMapping.keySet()) {
-			Method writeMethod = new PropertyDescriptor(
-					field, entityClass).getWriteMethod();
-			Object value = resultSet.getObject(fieldColumnMapping.get(field));
-			Class<?> type = entityClass.getDeclaredField(field).getType();
-			if(value == null) {
-				Object _null = null;
-				writeMethod.invoke(entity, _null);
-			} else if(type.isPrimitive() || type.isInstance(value)) {
-				writeMethod.invoke(entity, value);
-			} else if(type.isEnum()) {
-				Class<?> codeFieldType = type.getDeclaredMethod("getCode").getReturnType();
-				writeMethod.invoke(entity, type.getDeclaredMethod("getByCode", codeFieldType).invoke(
-						null, codeFieldType.isPrimitive()? value : codeFieldType.getConstructor(String.class).newInstance(value.toString())));
-			} else {
-				writeMethod.invoke(entity, type.getConstructor(String.class)
-						.newInstance(value.toString()));
-			}	
+		for (ColumnSetter setter : getColumnSetters()) {
+			setter.set(entity, resultSet);
 		}
 	}
 
+	/**
+	 * 获得各属性的写入信息，首次调用时解析，解析失败时不缓存，由调用方按原来的方式转换
+	 *
+	 * @return
+	 * @throws Exception
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	private List<ColumnSetter> getColumnSetters() throws Exception {
+		List<ColumnSetter> setters = columnSetters;
+		if(setters == null) {
+			setters = new ArrayList<ColumnSetter>(fieldColumnMapping.size());
+			for (Map.Entry<String, String> entry : fieldColumnMapping.entrySet()) {
+				setters.add(new ColumnSetter(entityClass, entry.getKey(), entry.getValue()));
+			}
+			columnSetters = setters;
+		}
+		return setters;
+	}
+
 	/**
 	 * 将ResultSet转换成实体对象
 	 *
@@ -973,4 +981,62 @@ public class SimpleSqlBuilder<E extends Entity> {
 		};
 	}
 
+	/**
+	 * 把结果集的一列写入实体属性，写方法、属性类型和枚举的转换方法只解析一次
+	 *
+	 * 创建日期：2026-10-18
+	 * @author agent
+	 */
+	private static final class ColumnSetter {
+		/** 数据表字段名 */
+		private final String column;
+		/** 属性写方法 */
+		private final Method writeMethod;
+		/** 属性类型 */
+		private final Class<?> type;
+		/** 属性类型的包装类型 */
+		private final Class<?> wrappedType;
+		/** 枚举属性的getByCode方法，非枚举或没有该方法时为null */
+		private final Method getByCode;
+		/** 枚举编码的类型 */
+		private final Class<?> codeType;
+
+		ColumnSetter(Class<?> entityClass, String field, String column) throws Exception {
+			this.column = column;
+			this.writeMethod = new PropertyDescriptor(field, entityClass).getWriteMethod();
+			this.type = entityClass.getDeclaredField(field).getType();
+			this.wrappedType = ConversionRegistry.wrap(type);
+			Method byCode = null;
+			Class<?> code = null;
+			if(type.isEnum()) {
+				try {
+					code = type.getDeclaredMethod("getCode").getReturnType();
+					byCode = type.getDeclaredMethod("getByCode", code);
+				} catch (NoSuchMethodException e) {
+					byCode = null;
+				}
+			}
+			this.getByCode = byCode;
+			this.codeType = code;
+		}
+
+		void set(Object entity, ResultSet resultSet) throws Exception {
+			Object value = resultSet.getObject(column);
+			if(value == null) {
+				Object _null = null;
+				writeMethod.invoke(entity, _null);
+			} else if(wrappedType.isInstance(value)) {
+				writeMethod.invoke(entity, value);
+			} else if(type.isEnum()) {
+				if(getByCode == null) {
+					throw new NoSuchMethodException(type.getName() + ".getByCode");
+				}
+				writeMethod.invoke(entity, getByCode.invoke(null,
+						codeType.isPrimitive()? value : ConversionRegistry.parse(value.toString(), codeType)));
+			} else {
+				writeMethod.invoke(entity, ConversionRegistry.parse(value.toString(), type));
+			}
+		}
+	}
+
 }
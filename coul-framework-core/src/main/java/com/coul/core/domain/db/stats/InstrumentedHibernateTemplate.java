@@ -0,0 +1,119 @@
+package com.coul.core.domain.db.stats;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.hibernate3.HibernateCallback;
+import org.springframework.orm.hibernate3.HibernateTemplate;
+
+import com.coul.core.control.monitor.RequestProfiler;
+import com.coul.core.control.monitor.RequestStage;
+import com.coul.core.control.monitor.RequestTimeline;
+
+/**
+ * 记录执行统计的Hibernate模版
+ *
+ * HibernateTemplate的所有操作都经过doExecute，在这里计时。
+ * find、findByNamedParam、findByNamedQuery、bulkUpdate按HQL语句形态统计，形态前加“[hql] ”；
+ * 其他操作和自定义的HibernateCallback拿不到语句，按回调类统计，形态为“[hibernate] 回调类名”。
+ * 执行时间同时计入请求耗时统计的SQL阶段。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class InstrumentedHibernateTemplate extends HibernateTemplate {
+
+	/** 当前线程下一次执行的HQL和参数 */
+	private static final ThreadLocal<Object[]> PENDING_QUERY = new ThreadLocal<Object[]>();
+
+	/** 统计对象 */
+	private SqlStatistics statistics = SqlStatistics.getDefault();
+
+	public InstrumentedHibernateTemplate() {
+	}
+
+	public InstrumentedHibernateTemplate(SessionFactory sessionFactory) {
+		super(sessionFactory);
+	}
+
+	public SqlStatistics getStatistics() {
+		return statistics;
+	}
+
+	public void setStatistics(SqlStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List find(String queryString, Object... values) throws DataAccessException {
+		bindQuery(queryString, values);
+		return super.find(queryString, values);
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List findByNamedParam(String queryString, String[] paramNames, Object[] values)
+			throws DataAccessException {
+		bindQuery(queryString, values);
+		return super.findByNamedParam(queryString, paramNames, values);
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List findByNamedQuery(String queryName, Object... values) throws DataAccessException {
+		bindQuery(queryName, values);
+		return super.findByNamedQuery(queryName, values);
+	}
+
+	@Override
+	public int bulkUpdate(String queryString, Object... values) throws DataAccessException {
+		bindQuery(queryString, values);
+		return super.bulkUpdate(queryString, values);
+	}
+
+	private void bindQuery(String queryString, Object[] values) {
+		if(statistics.isEnabled()) {
+			PENDING_QUERY.set(new Object[] { queryString, values });
+		}
+	}
+
+	@Override
+	protected <T> T doExecute(HibernateCallback<T> action, boolean enforceNewSession, boolean enforceNativeSession)
+			throws DataAccessException {
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.SQL);
+		if(!statistics.isEnabled()) {
+			try {
+				return super.doExecute(action, enforceNewSession, enforceNativeSession);
+			} finally {
+				RequestProfiler.stop(timeline);
+			}
+		}
+		Object[] query = PENDING_QUERY.get();
+		if(query != null) {
+			PENDING_QUERY.remove();
+		}
+		long start = System.nanoTime();
+		boolean error = true;
+		T result = null;
+		try {
+			result = super.doExecute(action, enforceNewSession, enforceNativeSession);
+			error = false;
+			return result;
+		} finally {
+			RequestProfiler.stop(timeline);
+			long elapsed = System.nanoTime() - start;
+			long rows = query != null && result instanceof Integer ? ((Integer) result).longValue() :
+					InstrumentedJdbcTemplate.rowsOf(result);
+			if(query != null) {
+				String hql = (String) query[0];
+				statistics.record("[hql] " + SqlShapes.normalize(hql), hql, query[1], elapsed, 0, rows, error);
+			} else {
+				String name = action.getClass().getName();
+				statistics.record("[hibernate] " + name, name, null, elapsed, 0, rows, error);
+			}
+		}
+	}
+
+}
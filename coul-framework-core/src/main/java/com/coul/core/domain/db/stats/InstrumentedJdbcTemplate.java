@@ -0,0 +1,257 @@
+package com.coul.core.domain.db.stats;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.CallableStatementCreator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.StatementCallback;
+
+import com.coul.core.control.monitor.RequestProfiler;
+import com.coul.core.control.monitor.RequestStage;
+import com.coul.core.control.monitor.RequestTimeline;
+
+/**
+ * 记录SQL执行统计的JDBC模版
+ *
+ * JdbcTemplate的查询、更新和批量更新最终都经过三个execute方法，在这里计时并记录到SqlStatistics。
+ * 绑定参数在创建PreparedStatementSetter时暂存，读取结果集的耗时和行数通过包装ResultSetExtractor获得，
+ * 都保存在当前线程中，execute结束时取出。执行时间同时计入请求耗时统计的SQL阶段（见RequestProfiler）。applicationContext-common.xml中的jdbcTemplate即为本类，
+ * BaseDaoSpringJdbcImpl的namedParameterJdbcTemplate会共用该模版。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class InstrumentedJdbcTemplate extends JdbcTemplate {
+
+	private static final ThreadLocal<Execution> EXECUTION = new ThreadLocal<Execution>() {
+		@Override
+		protected Execution initialValue() {
+			return new Execution();
+		}
+	};
+
+	/** 统计对象 */
+	private SqlStatistics statistics = SqlStatistics.getDefault();
+
+	public InstrumentedJdbcTemplate() {
+	}
+
+	public InstrumentedJdbcTemplate(DataSource dataSource) {
+		super(dataSource);
+	}
+
+	public InstrumentedJdbcTemplate(DataSource dataSource, boolean lazyInit) {
+		super(dataSource, lazyInit);
+	}
+
+	public SqlStatistics getStatistics() {
+		return statistics;
+	}
+
+	public void setStatistics(SqlStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	@Override
+	public <T> T execute(StatementCallback<T> action) throws DataAccessException {
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.SQL);
+		Execution execution = statistics.isEnabled() ? EXECUTION.get().begin() : null;
+		long start = System.nanoTime();
+		boolean error = true;
+		T result = null;
+		try {
+			result = super.execute(action);
+			error = false;
+			return result;
+		} finally {
+			RequestProfiler.stop(timeline);
+			if(execution != null) {
+				execution.end(statistics, sqlOf(action), System.nanoTime() - start, result, error);
+			}
+		}
+	}
+
+	@Override
+	public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
+			throws DataAccessException {
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.SQL);
+		Execution execution = statistics.isEnabled() ? EXECUTION.get().begin() : null;
+		long start = System.nanoTime();
+		boolean error = true;
+		T result = null;
+		try {
+			result = super.execute(psc, action);
+			error = false;
+			return result;
+		} finally {
+			RequestProfiler.stop(timeline);
+			if(execution != null) {
+				execution.end(statistics, sqlOf(psc), System.nanoTime() - start, result, error);
+			}
+		}
+	}
+
+	@Override
+	public <T> T execute(CallableStatementCreator csc, CallableStatementCallback<T> action)
+			throws DataAccessException {
+		RequestTimeline timeline = RequestProfiler.start(RequestStage.SQL);
+		Execution execution = statistics.isEnabled() ? EXECUTION.get().begin() : null;
+		long start = System.nanoTime();
+		boolean error = true;
+		T result = null;
+		try {
+			result = super.execute(csc, action);
+			error = false;
+			return result;
+		} finally {
+			RequestProfiler.stop(timeline);
+			if(execution != null) {
+				execution.end(statistics, sqlOf(csc), System.nanoTime() - start, null, error);
+			}
+		}
+	}
+
+	@Override
+	public <T> T query(String sql, ResultSetExtractor<T> rse) throws DataAccessException {
+		return super.query(sql, statistics.isEnabled() ? new TimedResultSetExtractor<T>(rse) : rse);
+	}
+
+	@Override
+	public <T> T query(PreparedStatementCreator psc, PreparedStatementSetter pss, ResultSetExtractor<T> rse)
+			throws DataAccessException {
+		return super.query(psc, pss, statistics.isEnabled() ? new TimedResultSetExtractor<T>(rse) : rse);
+	}
+
+	@Override
+	protected PreparedStatementSetter newArgPreparedStatementSetter(Object[] args) {
+		if(statistics.isEnabled() && statistics.isCaptureParameters()) {
+			bindParameters(args);
+		}
+		return super.newArgPreparedStatementSetter(args);
+	}
+
+	@Override
+	protected PreparedStatementSetter newArgTypePreparedStatementSetter(Object[] args, int[] argTypes) {
+		if(statistics.isEnabled() && statistics.isCaptureParameters()) {
+			bindParameters(args);
+		}
+		return super.newArgTypePreparedStatementSetter(args, argTypes);
+	}
+
+	/**
+	 * 暂存下一次执行的绑定参数
+	 */
+	static void bindParameters(Object parameters) {
+		EXECUTION.get().pendingParameters = parameters;
+	}
+
+	private static String sqlOf(Object target) {
+		if(target instanceof SqlProvider) {
+			return ((SqlProvider) target).getSql();
+		}
+		return target == null ? null : target.getClass().getName();
+	}
+
+	/**
+	 * 计算返回或影响的行数
+	 */
+	static long rowsOf(Object result) {
+		if(result == null) {
+			return 0;
+		}
+		if(result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		if(result instanceof Map) {
+			return 1;
+		}
+		if(result instanceof int[]) {
+			long rows = 0;
+			for (int count : (int[]) result) {
+				if(count > 0) {
+					rows += count;
+				}
+			}
+			return rows;
+		}
+		return -1;
+	}
+
+	/**
+	 * 当前线程的执行上下文
+	 */
+	private static final class Execution {
+		/** 下一次执行的绑定参数 */
+		Object pendingParameters;
+		/** 正在执行的语句层数，只记录最外层的读取耗时 */
+		int depth;
+		Object parameters;
+		long fetchNanos;
+		long rows = -1;
+
+		Execution begin() {
+			if(depth++ == 0) {
+				parameters = pendingParameters;
+				pendingParameters = null;
+				fetchNanos = 0;
+				rows = -1;
+			}
+			return this;
+		}
+
+		void fetched(long nanos, long rows) {
+			if(depth == 1) {
+				this.fetchNanos += nanos;
+				this.rows = rows;
+			}
+		}
+
+		void end(SqlStatistics statistics, String sql, long elapsedNanos, Object result, boolean error) {
+			boolean outer = --depth == 0;
+			long count = outer ? rows : -1;
+			if(count < 0) {
+				count = result instanceof Number ? ((Number) result).longValue() : rowsOf(result);
+			}
+			Object boundParameters = null;
+			long fetch = 0;
+			if(outer) {
+				boundParameters = parameters;
+				fetch = fetchNanos;
+				parameters = null;
+			}
+			statistics.record(sql, boundParameters, elapsedNanos, fetch, count, error);
+		}
+	}
+
+	/**
+	 * 记录读取结果集耗时的ResultSetExtractor
+	 */
+	private static final class TimedResultSetExtractor<T> implements ResultSetExtractor<T> {
+		private final ResultSetExtractor<T> target;
+
+		TimedResultSetExtractor(ResultSetExtractor<T> target) {
+			this.target = target;
+		}
+
+		@Override
+		public T extractData(ResultSet rs) throws SQLException, DataAccessException {
+			long start = System.nanoTime();
+			T result = target.extractData(rs);
+			EXECUTION.get().fetched(System.nanoTime() - start, rowsOf(result));
+			return result;
+		}
+	}
+
+}
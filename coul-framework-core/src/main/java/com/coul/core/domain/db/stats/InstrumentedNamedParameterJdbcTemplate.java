@@ -0,0 +1,51 @@
+package com.coul.core.domain.db.stats;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * 记录绑定参数的命名参数JDBC模版
+ *
+ * 命名参数的语句由InstrumentedJdbcTemplate计时，本类只在创建PreparedStatementCreator时暂存参数，
+ * 慢查询样本中的参数为参数名和值，而不是展开后的?参数列表。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class InstrumentedNamedParameterJdbcTemplate extends NamedParameterJdbcTemplate {
+
+	private final InstrumentedJdbcTemplate instrumented;
+
+	public InstrumentedNamedParameterJdbcTemplate(InstrumentedJdbcTemplate jdbcTemplate) {
+		super(jdbcTemplate);
+		this.instrumented = jdbcTemplate;
+	}
+
+	/**
+	 * 创建命名参数JDBC模版，jdbcTemplate是InstrumentedJdbcTemplate时同时记录绑定参数
+	 *
+	 * @param jdbcTemplate
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static NamedParameterJdbcTemplate of(JdbcOperations jdbcTemplate) {
+		if(jdbcTemplate instanceof InstrumentedJdbcTemplate) {
+			return new InstrumentedNamedParameterJdbcTemplate((InstrumentedJdbcTemplate) jdbcTemplate);
+		}
+		return new NamedParameterJdbcTemplate(jdbcTemplate);
+	}
+
+	@Override
+	protected PreparedStatementCreator getPreparedStatementCreator(String sql, SqlParameterSource paramSource) {
+		SqlStatistics statistics = instrumented.getStatistics();
+		if(statistics.isEnabled() && statistics.isCaptureParameters()) {
+			InstrumentedJdbcTemplate.bindParameters(paramSource);
+		}
+		return super.getPreparedStatementCreator(sql, paramSource);
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.coul.core.domain.db.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 耗时直方图，以微秒为单位记录
+ *
+ * 桶按2的幂分段，每段再线性划分16个子桶，相对误差不超过1/16，与HdrHistogram两位有效数字的记录方式类似。
+ * 桶数固定，记录时只做一次原子自增，不加锁，可在多个线程中并发记录。
+ * 超过2^36微秒（约19小时）的值计入最后一个桶。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class LatencyHistogram {
+	/** 子桶位数 */
+	private static final int SUB_BITS = 5;
+	/** 线性记录的上限，小于该值的每个值一个桶 */
+	private static final int LINEAR = 1 << SUB_BITS;
+	/** 每段的子桶数 */
+	private static final int HALF = LINEAR >>> 1;
+	/** 最大的2的幂 */
+	private static final int MAX_EXPONENT = 36;
+	/** 桶数 */
+	static final int BUCKETS = LINEAR + (MAX_EXPONENT - SUB_BITS + 1) * HALF;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * 记录一次耗时
+	 *
+	 * @param nanos 纳秒
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public void recordNanos(long nanos) {
+		record(nanos / 1000L);
+	}
+
+	/**
+	 * 记录一个值
+	 *
+	 * @param micros 微秒
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public void record(long micros) {
+		counts.incrementAndGet(indexOf(micros < 0 ? 0 : micros));
+	}
+
+	static int indexOf(long value) {
+		if(value < LINEAR) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if(exponent > MAX_EXPONENT) {
+			return BUCKETS - 1;
+		}
+		int shift = exponent - SUB_BITS + 1;
+		return LINEAR + (exponent - SUB_BITS) * HALF + (int) ((value >>> shift) - HALF);
+	}
+
+	/**
+	 * 桶内的最大值
+	 */
+	static long highestValueOf(int index) {
+		if(index < LINEAR) {
+			return index;
+		}
+		int exponent = (index - LINEAR) / HALF + SUB_BITS;
+		int sub = (index - LINEAR) % HALF + HALF;
+		int shift = exponent - SUB_BITS + 1;
+		return ((long) (sub + 1) << shift) - 1;
+	}
+
+	/**
+	 * 获得记录次数
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += counts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * 获得百分位数（微秒），没有记录时返回0
+	 *
+	 * @param percentile 百分位，如99.9
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public long getValueAtPercentile(double percentile) {
+		return getValuesAtPercentiles(percentile)[0];
+	}
+
+	/**
+	 * 一次遍历获得多个百分位数（微秒），百分位需要从小到大排列
+	 *
+	 * @param percentiles
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public long[] getValuesAtPercentiles(double... percentiles) {
+		long[] snapshot = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		long[] values = new long[percentiles.length];
+		if(total == 0) {
+			return values;
+		}
+		int index = 0;
+		long seen = 0;
+		for (int i = 0; i < percentiles.length; i++) {
+			double percentile = Math.min(100D, Math.max(0D, percentiles[i]));
+			long target = Math.max(1L, (long) Math.ceil(total * percentile / 100D));
+			while (index < BUCKETS - 1 && seen + snapshot[index] < target) {
+				seen += snapshot[index++];
+			}
+			values[i] = highestValueOf(index);
+		}
+		return values;
+	}
+
+	/**
+	 * 清空记录
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+	}
+
+}
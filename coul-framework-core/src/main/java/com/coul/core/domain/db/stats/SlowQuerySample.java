@@ -0,0 +1,69 @@
+package com.coul.core.domain.db.stats;
+
+/**
+ * 慢查询样本，包含原始SQL和绑定参数
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class SlowQuerySample {
+	/** 记录时间 */
+	private final long timestamp;
+	/** 原始SQL语句 */
+	private final String sql;
+	/** 绑定参数 */
+	private final String parameters;
+	/** 耗时（纳秒） */
+	private final long elapsedNanos;
+	/** 读取结果集耗时（纳秒） */
+	private final long fetchNanos;
+	/** 返回或影响的行数，未知时为-1 */
+	private final long rows;
+	/** 执行线程 */
+	private final String thread;
+
+	SlowQuerySample(long timestamp, String sql, String parameters, long elapsedNanos,
+			long fetchNanos, long rows, String thread) {
+		this.timestamp = timestamp;
+		this.sql = sql;
+		this.parameters = parameters;
+		this.elapsedNanos = elapsedNanos;
+		this.fetchNanos = fetchNanos;
+		this.rows = rows;
+		this.thread = thread;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public String getParameters() {
+		return parameters;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public long getFetchNanos() {
+		return fetchNanos;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public String getThread() {
+		return thread;
+	}
+
+	@Override
+	public String toString() {
+		return (elapsedNanos / 1000000L) + "ms rows=" + rows + " [" + thread + "] " + sql + " " + parameters;
+	}
+
+}
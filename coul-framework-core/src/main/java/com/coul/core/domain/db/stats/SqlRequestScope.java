@@ -0,0 +1,123 @@
+package com.coul.core.domain.db.stats;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+
+/**
+ * 一次请求内的SQL执行计数，用于发现N+1查询
+ *
+ * 同一形态的语句在一次请求中执行次数达到阈值时，通常是在循环中逐条查询关联记录。
+ * 请求结束时对这类语句计数并记录warn日志。计数只在当前线程中进行，不需要同步。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class SqlRequestScope {
+	/** 日志对象 */
+	private static final Logger log = Logger.getLogger(SqlRequestScope.class);
+
+	private static final ThreadLocal<SqlRequestScope> CURRENT = new ThreadLocal<SqlRequestScope>();
+
+	/** 请求名称，一般为请求URI */
+	private final String name;
+	/** 语句形态和执行次数 */
+	private final Map<SqlStatementStats, Counter> counters = new IdentityHashMap<SqlStatementStats, Counter>();
+
+	private SqlRequestScope(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * 开始当前线程的请求计数，已经开始时返回null，由外层负责结束
+	 *
+	 * @param name 请求名称
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static SqlRequestScope begin(String name) {
+		if(CURRENT.get() != null) {
+			return null;
+		}
+		SqlRequestScope scope = new SqlRequestScope(name);
+		CURRENT.set(scope);
+		return scope;
+	}
+
+	/**
+	 * 获得当前线程的请求计数，没有开始时返回null
+	 */
+	public static SqlRequestScope current() {
+		return CURRENT.get();
+	}
+
+	static void recorded(SqlStatistics statistics, SqlStatementStats stats) {
+		SqlRequestScope scope = CURRENT.get();
+		if(scope == null) {
+			return;
+		}
+		Counter counter = scope.counters.get(stats);
+		if(counter == null) {
+			counter = new Counter(statistics);
+			scope.counters.put(stats, counter);
+		}
+		counter.count++;
+	}
+
+	/**
+	 * 结束请求计数，返回疑似N+1查询的语句形态
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public List<String> end() {
+		if(CURRENT.get() == this) {
+			CURRENT.remove();
+		}
+		List<String> suspects = new ArrayList<String>(0);
+		for (Map.Entry<SqlStatementStats, Counter> entry : counters.entrySet()) {
+			Counter counter = entry.getValue();
+			int threshold = counter.statistics.getNPlusOneThreshold();
+			if(threshold <= 0 || counter.count < threshold) {
+				continue;
+			}
+			SqlStatementStats stats = entry.getKey();
+			stats.markNPlusOne();
+			suspects.add(stats.getShape());
+			log.warn("Possible N+1 query in " + name + ": executed " + counter.count + " times: " + stats.getShape());
+		}
+		return suspects;
+	}
+
+	/**
+	 * 获得请求中执行的语句数
+	 */
+	public int getExecutionCount() {
+		int total = 0;
+		for (Counter counter : counters.values()) {
+			total += counter.count;
+		}
+		return total;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private static final class Counter {
+		final SqlStatistics statistics;
+		int count;
+
+		Counter(SqlStatistics statistics) {
+			this.statistics = statistics;
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.coul.core.domain.db.stats;
+
+/**
+ * SQL语句形态的归一化
+ *
+ * 条件SQL中经常直接拼接字符串和数字常量，按原始SQL统计时同一条语句会分散成很多条。
+ * 归一化时将字符串和数字常量替换为?，连续的?列表（如IN (?, ?, ?)）合并为一个?，多个空白合并为一个空格，
+ * 标识符中的数字（如T_1、ROW_NUM2）保持不变。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class SqlShapes {
+
+	private SqlShapes() {
+	}
+
+	/**
+	 * 获得SQL语句的形态
+	 *
+	 * @param sql
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static String normalize(String sql) {
+		if(sql == null) {
+			return "";
+		}
+		int length = sql.length();
+		StringBuilder sb = new StringBuilder(length);
+		int i = 0;
+		while (i < length) {
+			char c = sql.charAt(i);
+			if(Character.isWhitespace(c)) {
+				while (i < length && Character.isWhitespace(sql.charAt(i))) {
+					i++;
+				}
+				if(sb.length() > 0 && i < length) {
+					sb.append(' ');
+				}
+				continue;
+			}
+			if(c == '\'') {
+				//字符串常量，''为转义的单引号
+				i++;
+				while (i < length) {
+					if(sql.charAt(i) == '\'') {
+						if(i + 1 < length && sql.charAt(i + 1) == '\'') {
+							i += 2;
+							continue;
+						}
+						break;
+					}
+					i++;
+				}
+				i++;
+				appendPlaceholder(sb);
+				continue;
+			}
+			if(isDigit(c) && !isIdentifierEnd(sb)) {
+				while (i < length && (isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+					i++;
+				}
+				appendPlaceholder(sb);
+				continue;
+			}
+			if(c == '?') {
+				i++;
+				appendPlaceholder(sb);
+				continue;
+			}
+			sb.append(c);
+			i++;
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 追加占位符，前面是“?,”或“?, ”时不再追加，使参数列表合并为一个?
+	 */
+	private static void appendPlaceholder(StringBuilder sb) {
+		int end = sb.length();
+		if(end > 0 && sb.charAt(end - 1) == ' ') {
+			end--;
+		}
+		if(end > 1 && sb.charAt(end - 1) == ',' && sb.charAt(end - 2) == '?') {
+			sb.setLength(end - 1);
+			return;
+		}
+		sb.append('?');
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * 前一个字符是否为标识符的一部分
+	 */
+	private static boolean isIdentifierEnd(StringBuilder sb) {
+		if(sb.length() == 0) {
+			return false;
+		}
+		char c = sb.charAt(sb.length() - 1);
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.coul.core.domain.db.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 一种SQL语句形态的执行统计
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class SqlStatementStats {
+	/** 保留的慢查询样本数，必须是2的幂 */
+	static final int SAMPLES = 8;
+
+	/** SQL语句形态 */
+	private final String shape;
+	/** 执行次数 */
+	private final AtomicLong count = new AtomicLong();
+	/** 执行失败次数 */
+	private final AtomicLong errors = new AtomicLong();
+	/** 返回或影响的总行数 */
+	private final AtomicLong rows = new AtomicLong();
+	/** 总耗时（纳秒） */
+	private final AtomicLong totalNanos = new AtomicLong();
+	/** 读取结果集的总耗时（纳秒） */
+	private final AtomicLong fetchNanos = new AtomicLong();
+	/** 最大耗时（纳秒） */
+	private final AtomicLong maxNanos = new AtomicLong();
+	/** 慢查询次数 */
+	private final AtomicLong slowCount = new AtomicLong();
+	/** 被判定为N+1查询的请求数 */
+	private final AtomicLong nPlusOneCount = new AtomicLong();
+	/** 耗时直方图 */
+	private final LatencyHistogram histogram = new LatencyHistogram();
+	/** 最近的慢查询样本 */
+	private final AtomicReferenceArray<SlowQuerySample> samples =
+			new AtomicReferenceArray<SlowQuerySample>(SAMPLES);
+	private final AtomicInteger sampleIndex = new AtomicInteger();
+
+	SqlStatementStats(String shape) {
+		this.shape = shape;
+	}
+
+	void record(long elapsedNanos, long fetchNanos, long rows, boolean error) {
+		count.incrementAndGet();
+		totalNanos.addAndGet(elapsedNanos);
+		histogram.recordNanos(elapsedNanos);
+		if(fetchNanos > 0) {
+			this.fetchNanos.addAndGet(fetchNanos);
+		}
+		if(rows > 0) {
+			this.rows.addAndGet(rows);
+		}
+		if(error) {
+			errors.incrementAndGet();
+		}
+		long max = maxNanos.get();
+		while (elapsedNanos > max && !maxNanos.compareAndSet(max, elapsedNanos)) {
+			max = maxNanos.get();
+		}
+	}
+
+	void addSample(SlowQuerySample sample) {
+		slowCount.incrementAndGet();
+		samples.set(sampleIndex.getAndIncrement() & (SAMPLES - 1), sample);
+	}
+
+	void markNPlusOne() {
+		nPlusOneCount.incrementAndGet();
+	}
+
+	void reset() {
+		count.set(0);
+		errors.set(0);
+		rows.set(0);
+		totalNanos.set(0);
+		fetchNanos.set(0);
+		maxNanos.set(0);
+		slowCount.set(0);
+		nPlusOneCount.set(0);
+		histogram.reset();
+		for (int i = 0; i < SAMPLES; i++) {
+			samples.set(i, null);
+		}
+	}
+
+	public String getShape() {
+		return shape;
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getErrors() {
+		return errors.get();
+	}
+
+	public long getRows() {
+		return rows.get();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.get();
+	}
+
+	public long getFetchNanos() {
+		return fetchNanos.get();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	public long getSlowCount() {
+		return slowCount.get();
+	}
+
+	public long getNPlusOneCount() {
+		return nPlusOneCount.get();
+	}
+
+	public LatencyHistogram getHistogram() {
+		return histogram;
+	}
+
+	/**
+	 * 获得最近的慢查询样本，按记录时间排列
+	 */
+	public List<SlowQuerySample> getSamples() {
+		List<SlowQuerySample> list = new ArrayList<SlowQuerySample>(SAMPLES);
+		int end = sampleIndex.get();
+		for (int i = end - SAMPLES; i < end; i++) {
+			SlowQuerySample sample = samples.get(i & (SAMPLES - 1));
+			if(sample != null && !list.contains(sample)) {
+				list.add(sample);
+			}
+		}
+		return list;
+	}
+
+}
@@ -0,0 +1,400 @@
+package com.coul.core.domain.db.stats;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * SQL执行统计
+ *
+ * 按SQL语句形态（见SqlShapes）记录执行次数、耗时直方图、返回行数、读取结果集耗时和慢查询样本，
+ * 请求中开启了SqlRequestScope时同时统计N+1查询。
+ * 绑定参数可能包含口令等敏感数据，默认不采集，慢查询样本只记录去掉字面量的语句形态；
+ * 开启captureParameters后样本记录原始语句和绑定参数，参数只在慢查询时才格式化。
+ * 默认实例注册为JMX MBean（com.coul.core:type=SqlStatistics），可通过以下系统属性配置：
+ * coul.sql.stats.enabled（默认true）、coul.sql.slowMillis（默认500）、
+ * coul.sql.nPlusOneThreshold（默认10，0为不检测）、coul.sql.maxStatements（默认1000）、
+ * coul.sql.captureParameters（默认false）。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class SqlStatistics implements SqlStatisticsMBean {
+	/** 日志对象 */
+	private static final Logger log = Logger.getLogger(SqlStatistics.class);
+
+	/** JMX注册名 */
+	public static final String OBJECT_NAME = "com.coul.core:type=SqlStatistics";
+	/** 语句形态数超过上限后，新的语句都计入该形态 */
+	public static final String OTHER = "[other]";
+	/** 慢查询参数的最大长度 */
+	private static final int MAX_PARAMETER_LENGTH = 512;
+	/** JMX中返回的语句数 */
+	private static final int TOP_STATEMENTS = 20;
+
+	private static volatile SqlStatistics defaultInstance;
+
+	/** 语句形态和统计 */
+	private final ConcurrentMap<String, SqlStatementStats> statements =
+			new ConcurrentHashMap<String, SqlStatementStats>();
+	/** 语句形态数上限 */
+	private final int maxStatements;
+
+	private volatile boolean enabled;
+	/** 是否在慢查询样本中记录原始语句和绑定参数 */
+	private volatile boolean captureParameters;
+	private volatile long slowThresholdNanos;
+	private volatile int nPlusOneThreshold;
+
+	/**
+	 * 使用系统属性配置创建
+	 */
+	public SqlStatistics() {
+		this(!"false".equalsIgnoreCase(System.getProperty("coul.sql.stats.enabled")),
+				Long.getLong("coul.sql.slowMillis", 500L),
+				Integer.getInteger("coul.sql.nPlusOneThreshold", 10),
+				Integer.getInteger("coul.sql.maxStatements", 1000));
+		this.captureParameters = Boolean.getBoolean("coul.sql.captureParameters");
+	}
+
+	public SqlStatistics(boolean enabled, long slowThresholdMillis, int nPlusOneThreshold, int maxStatements) {
+		this.enabled = enabled;
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+		this.nPlusOneThreshold = nPlusOneThreshold;
+		this.maxStatements = Math.max(1, maxStatements);
+	}
+
+	/**
+	 * 获得默认实例，第一次获取时注册JMX MBean
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static SqlStatistics getDefault() {
+		SqlStatistics statistics = defaultInstance;
+		if(statistics == null) {
+			synchronized (SqlStatistics.class) {
+				statistics = defaultInstance;
+				if(statistics == null) {
+					statistics = new SqlStatistics();
+					register(statistics);
+					defaultInstance = statistics;
+				}
+			}
+		}
+		return statistics;
+	}
+
+	private static void register(SqlStatistics statistics) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if(!server.isRegistered(name)) {
+				server.registerMBean(statistics, name);
+			}
+		} catch (Exception e) {
+			log.warn("Register " + OBJECT_NAME + " failed", e);
+		}
+	}
+
+	/**
+	 * 记录一次SQL语句执行
+	 *
+	 * @param sql          原始SQL语句
+	 * @param parameters   绑定参数（Object[]、Map、SqlParameterSource等），只在慢查询时格式化
+	 * @param elapsedNanos 执行耗时
+	 * @param fetchNanos   读取结果集耗时，没有时为0
+	 * @param rows         返回或影响的行数，未知时为-1
+	 * @param error        是否执行失败
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public SqlStatementStats record(String sql, Object parameters, long elapsedNanos, long fetchNanos,
+			long rows, boolean error) {
+		return record(SqlShapes.normalize(sql), sql, parameters, elapsedNanos, fetchNanos, rows, error);
+	}
+
+	/**
+	 * 记录一次已知形态的执行，如Hibernate回调
+	 *
+	 * @param shape        语句形态
+	 * @param sql          原始语句，用于慢查询样本
+	 * @param parameters   绑定参数
+	 * @param elapsedNanos 执行耗时
+	 * @param fetchNanos   读取结果集耗时，没有时为0
+	 * @param rows         返回或影响的行数，未知时为-1
+	 * @param error        是否执行失败
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public SqlStatementStats record(String shape, String sql, Object parameters, long elapsedNanos,
+			long fetchNanos, long rows, boolean error) {
+		SqlStatementStats stats = statementsFor(shape);
+		stats.record(elapsedNanos, fetchNanos, rows, error);
+		if(elapsedNanos >= slowThresholdNanos) {
+			boolean capture = captureParameters;
+			SlowQuerySample sample = new SlowQuerySample(System.currentTimeMillis(), capture ? sql : stats.getShape(),
+					capture ? formatParameters(parameters) : null, elapsedNanos, fetchNanos, rows,
+					Thread.currentThread().getName());
+			stats.addSample(sample);
+			log.warn("Slow SQL: " + sample);
+		}
+		SqlRequestScope.recorded(this, stats);
+		return stats;
+	}
+
+	private SqlStatementStats statementsFor(String shape) {
+		SqlStatementStats stats = statements.get(shape);
+		if(stats != null) {
+			return stats;
+		}
+		if(statements.size() >= maxStatements) {
+			shape = OTHER;
+			stats = statements.get(shape);
+			if(stats != null) {
+				return stats;
+			}
+		}
+		stats = new SqlStatementStats(shape);
+		SqlStatementStats previous = statements.putIfAbsent(shape, stats);
+		return previous == null ? stats : previous;
+	}
+
+	/**
+	 * 格式化绑定参数
+	 */
+	static String formatParameters(Object parameters) {
+		if(parameters == null) {
+			return "[]";
+		}
+		String text;
+		if(parameters instanceof Object[]) {
+			text = Arrays.deepToString((Object[]) parameters);
+		} else if(parameters instanceof MapSqlParameterSource) {
+			text = String.valueOf(((MapSqlParameterSource) parameters).getValues());
+		} else if(parameters instanceof BeanPropertySqlParameterSource) {
+			BeanPropertySqlParameterSource source = (BeanPropertySqlParameterSource) parameters;
+			StringBuilder sb = new StringBuilder("{");
+			for (String name : source.getReadablePropertyNames()) {
+				if(sb.length() > 1) {
+					sb.append(", ");
+				}
+				sb.append(name).append('=').append(source.getValue(name));
+			}
+			text = sb.append('}').toString();
+		} else {
+			text = String.valueOf(parameters);
+		}
+		if(text.length() > MAX_PARAMETER_LENGTH) {
+			text = text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+		}
+		return text;
+	}
+
+	/**
+	 * 获得指定形态的统计，没有时返回null
+	 */
+	public SqlStatementStats getStatement(String shape) {
+		return statements.get(shape);
+	}
+
+	/**
+	 * 获得所有语句统计，按总耗时倒序排列
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public List<SqlStatementStats> getStatements() {
+		List<SqlStatementStats> list = new ArrayList<SqlStatementStats>(statements.values());
+		Collections.sort(list, new Comparator<SqlStatementStats>() {
+			@Override
+			public int compare(SqlStatementStats o1, SqlStatementStats o2) {
+				long t1 = o1.getTotalNanos();
+				long t2 = o2.getTotalNanos();
+				return t1 < t2 ? 1 : (t1 == t2 ? 0 : -1);
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * 获得所有慢查询样本，按耗时倒序排列
+	 *
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public List<SlowQuerySample> getSlowSamples() {
+		List<SlowQuerySample> list = new ArrayList<SlowQuerySample>();
+		for (SqlStatementStats stats : statements.values()) {
+			list.addAll(stats.getSamples());
+		}
+		Collections.sort(list, new Comparator<SlowQuerySample>() {
+			@Override
+			public int compare(SlowQuerySample o1, SlowQuerySample o2) {
+				long t1 = o1.getElapsedNanos();
+				long t2 = o2.getElapsedNanos();
+				return t1 < t2 ? 1 : (t1 == t2 ? 0 : -1);
+			}
+		});
+		return list;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Override
+	public boolean isCaptureParameters() {
+		return captureParameters;
+	}
+
+	@Override
+	public void setCaptureParameters(boolean captureParameters) {
+		this.captureParameters = captureParameters;
+	}
+
+	@Override
+	public long getSlowThresholdMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+	}
+
+	@Override
+	public void setSlowThresholdMillis(long slowThresholdMillis) {
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+	}
+
+	@Override
+	public int getNPlusOneThreshold() {
+		return nPlusOneThreshold;
+	}
+
+	@Override
+	public void setNPlusOneThreshold(int nPlusOneThreshold) {
+		this.nPlusOneThreshold = nPlusOneThreshold;
+	}
+
+	@Override
+	public int getStatementCount() {
+		return statements.size();
+	}
+
+	@Override
+	public long getExecutionCount() {
+		long count = 0;
+		for (SqlStatementStats stats : statements.values()) {
+			count += stats.getCount();
+		}
+		return count;
+	}
+
+	@Override
+	public String[] getTopStatements() {
+		List<SqlStatementStats> list = getStatements();
+		int size = Math.min(TOP_STATEMENTS, list.size());
+		String[] result = new String[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = describe(list.get(i));
+		}
+		return result;
+	}
+
+	@Override
+	public String[] getSlowQueries() {
+		Collection<SlowQuerySample> samples = getSlowSamples();
+		String[] result = new String[samples.size()];
+		int i = 0;
+		for (SlowQuerySample sample : samples) {
+			result[i++] = sample.toString();
+		}
+		return result;
+	}
+
+	/**
+	 * 清空统计，已有的语句形态保留，计数归零
+	 */
+	@Override
+	public void reset() {
+		for (SqlStatementStats stats : statements.values()) {
+			stats.reset();
+		}
+	}
+
+	/**
+	 * 清空所有语句形态
+	 */
+	public void clear() {
+		statements.clear();
+	}
+
+	private static String describe(SqlStatementStats stats) {
+		long[] percentiles = stats.getHistogram().getValuesAtPercentiles(50D, 99D);
+		return "count=" + stats.getCount() + " total=" + TimeUnit.NANOSECONDS.toMillis(stats.getTotalNanos()) +
+				"ms p50=" + percentiles[0] / 1000D + "ms p99=" + percentiles[1] / 1000D +
+				"ms max=" + TimeUnit.NANOSECONDS.toMillis(stats.getMaxNanos()) + "ms rows=" + stats.getRows() +
+				" fetch=" + TimeUnit.NANOSECONDS.toMillis(stats.getFetchNanos()) + "ms errors=" + stats.getErrors() +
+				" n+1=" + stats.getNPlusOneCount() + " | " + stats.getShape();
+	}
+
+	/**
+	 * 转换为诊断接口输出的Map对象
+	 *
+	 * @param stats
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public static Map<String, Object> toMap(SqlStatementStats stats) {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		long count = stats.getCount();
+		long[] percentiles = stats.getHistogram().getValuesAtPercentiles(50D, 90D, 99D, 99.9D);
+		map.put("shape", stats.getShape());
+		map.put("count", count);
+		map.put("errors", stats.getErrors());
+		map.put("rows", stats.getRows());
+		map.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(stats.getTotalNanos()));
+		map.put("meanMillis", count == 0 ? 0D : stats.getTotalNanos() / 1000000D / count);
+		map.put("fetchMillis", TimeUnit.NANOSECONDS.toMillis(stats.getFetchNanos()));
+		map.put("p50Millis", percentiles[0] / 1000D);
+		map.put("p90Millis", percentiles[1] / 1000D);
+		map.put("p99Millis", percentiles[2] / 1000D);
+		map.put("p999Millis", percentiles[3] / 1000D);
+		map.put("maxMillis", stats.getMaxNanos() / 1000000D);
+		map.put("slowCount", stats.getSlowCount());
+		map.put("nPlusOneCount", stats.getNPlusOneCount());
+		return map;
+	}
+
+}
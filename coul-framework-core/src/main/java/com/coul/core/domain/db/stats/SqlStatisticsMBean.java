@@ -0,0 +1,55 @@
+package com.coul.core.domain.db.stats;
+
+/**
+ * SQL执行统计的JMX接口，注册名为com.coul.core:type=SqlStatistics
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public interface SqlStatisticsMBean {
+
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	/**
+	 * 慢查询样本是否记录原始语句和绑定参数，默认不记录
+	 */
+	boolean isCaptureParameters();
+
+	void setCaptureParameters(boolean captureParameters);
+
+	long getSlowThresholdMillis();
+
+	void setSlowThresholdMillis(long slowThresholdMillis);
+
+	int getNPlusOneThreshold();
+
+	void setNPlusOneThreshold(int nPlusOneThreshold);
+
+	/**
+	 * 统计的SQL语句形态数
+	 */
+	int getStatementCount();
+
+	/**
+	 * 所有语句的执行次数
+	 */
+	long getExecutionCount();
+
+	/**
+	 * 按总耗时倒序的前20条语句统计
+	 */
+	String[] getTopStatements();
+
+	/**
+	 * 最近的慢查询样本
+	 */
+	String[] getSlowQueries();
+
+	/**
+	 * 清空统计
+	 */
+	void reset();
+
+}
@@ -0,0 +1,26 @@
+package com.coul.core.domain.id;
+
+import com.coul.common.exception.DaoAccessException;
+
+/**
+ * ID生成器，EntityDaoSupport设置后新增记录时预先分配ID
+ *
+ * 实现类必须线程安全，生成的ID在同一个生成器内不重复。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public interface IdGenerator {
+
+	/**
+	 * 获得下一个ID
+	 *
+	 * @return
+	 * @throws DaoAccessException 从数据库分配ID段失败
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public long nextId() throws DaoAccessException;
+
+}
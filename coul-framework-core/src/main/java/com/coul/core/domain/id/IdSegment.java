@@ -0,0 +1,42 @@
+package com.coul.core.domain.id;
+
+/**
+ * 预留的连续ID段[start, end)
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public final class IdSegment {
+
+	/** 第一个ID */
+	private final long start;
+
+	/** 最后一个ID加1 */
+	private final long end;
+
+	public IdSegment(long start, long end) {
+		if(end <= start) {
+			throw new IllegalArgumentException("Empty id segment [" + start + ", " + end + ")");
+		}
+		this.start = start;
+		this.end = end;
+	}
+
+	public long getStart() {
+		return start;
+	}
+
+	public long getEnd() {
+		return end;
+	}
+
+	public long size() {
+		return end - start;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + start + ", " + end + ")";
+	}
+
+}
@@ -0,0 +1,167 @@
+package com.coul.core.domain.id;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.log4j.Logger;
+
+import com.coul.common.exception.DaoAccessException;
+
+/**
+ * 按段分配ID的生成器
+ *
+ * 从SegmentSource预留一段ID后在内存中递增分配，分配时只有一次CAS，不加锁也不访问数据库。
+ * 当前段用掉prefetchRatio（默认90%）时异步预留下一段，当前段用完时切换到下一段；
+ * 预留失败或还没有完成时在切换的线程中同步预留，只有切换时加锁。
+ * 进程重启后未用完的ID被丢弃，ID不连续但不重复。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class SegmentIdGenerator implements IdGenerator {
+
+	private static final Logger logger = Logger.getLogger(SegmentIdGenerator.class);
+
+	/** 默认的预留线程，所有生成器共用一个守护线程 */
+	private static final ExecutorService DEFAULT_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "id-segment-prefetch");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private final SegmentSource source;
+
+	private final Executor executor;
+
+	/** 当前段用掉的比例达到该值时预留下一段 */
+	private final double prefetchRatio;
+
+	private volatile Range current;
+
+	/** 预留中或已预留的下一段 */
+	private final AtomicReference<Future<IdSegment>> next = new AtomicReference<Future<IdSegment>>();
+
+	/**
+	 * 使用默认的预留线程，当前段用掉90%时预留下一段
+	 */
+	public SegmentIdGenerator(SegmentSource source) {
+		this(source, DEFAULT_EXECUTOR, 0.9);
+	}
+
+	/**
+	 * @param source         ID段来源
+	 * @param executor       异步预留下一段的线程池
+	 * @param prefetchRatio  当前段用掉的比例达到该值时预留下一段，取值(0, 1]
+	 */
+	public SegmentIdGenerator(SegmentSource source, Executor executor, double prefetchRatio) {
+		if(prefetchRatio <= 0 || prefetchRatio > 1) {
+			throw new IllegalArgumentException("prefetchRatio must be in (0, 1]");
+		}
+		this.source = source;
+		this.executor = executor;
+		this.prefetchRatio = prefetchRatio;
+	}
+
+	@Override
+	public long nextId() throws DaoAccessException {
+		while (true) {
+			Range range = current;
+			if(range != null) {
+				long id = range.cursor.getAndIncrement();
+				if(id < range.end) {
+					if(id == range.prefetchAt) {
+						prefetch();
+					}
+					return id;
+				}
+			}
+			switchRange(range);
+		}
+	}
+
+	/**
+	 * 当前段剩余的ID个数
+	 */
+	public long getRemaining() {
+		Range range = current;
+		return range == null ? 0 : Math.max(0, range.end - range.cursor.get());
+	}
+
+	/**
+	 * 当前段用完后切换到下一段，其他线程已经切换时直接返回
+	 */
+	private synchronized void switchRange(Range exhausted) throws DaoAccessException {
+		if(current != exhausted) {
+			return;
+		}
+		IdSegment segment = null;
+		Future<IdSegment> future = next.getAndSet(null);
+		if(future != null) {
+			try {
+				segment = future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				logger.warn("Prefetch id segment error, allocate synchronously", e.getCause());
+			}
+		}
+		if(segment == null) {
+			segment = source.allocate();
+		}
+		current = new Range(segment, prefetchRatio);
+		if(logger.isDebugEnabled()) {
+			logger.debug("Switch to id segment " + segment);
+		}
+	}
+
+	/**
+	 * 异步预留下一段
+	 */
+	private void prefetch() {
+		FutureTask<IdSegment> task = new FutureTask<IdSegment>(new Callable<IdSegment>() {
+			@Override
+			public IdSegment call() throws Exception {
+				return source.allocate();
+			}
+		});
+		if(!next.compareAndSet(null, task)) {
+			return;
+		}
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			next.compareAndSet(task, null);
+			logger.warn("Prefetch id segment rejected", e);
+		}
+	}
+
+	/**
+	 * 正在分配的段
+	 */
+	private static final class Range {
+		final AtomicLong cursor;
+		final long end;
+		/** 分配到该ID时预留下一段 */
+		final long prefetchAt;
+
+		Range(IdSegment segment, double prefetchRatio) {
+			this.cursor = new AtomicLong(segment.getStart());
+			this.end = segment.getEnd();
+			long offset = (long) (segment.size() * prefetchRatio);
+			this.prefetchAt = segment.getStart() + Math.min(Math.max(offset, 0), segment.size() - 1);
+		}
+	}
+
+}
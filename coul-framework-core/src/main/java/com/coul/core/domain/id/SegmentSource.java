@@ -0,0 +1,24 @@
+package com.coul.core.domain.id;
+
+import com.coul.common.exception.DaoAccessException;
+
+/**
+ * ID段来源，每次调用预留一段新的ID，不同调用（包括不同的进程）预留的ID段不重叠
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public interface SegmentSource {
+
+	/**
+	 * 预留一段ID
+	 *
+	 * @return
+	 * @throws DaoAccessException
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public IdSegment allocate() throws DaoAccessException;
+
+}
@@ -0,0 +1,111 @@
+package com.coul.core.domain.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按时间生成ID（Snowflake），不访问数据库
+ *
+ * ID由41位毫秒时间戳（从2014-01-01开始）、10位机器号、12位序号组成，每个机器号每毫秒最多4096个ID，
+ * 同一机器号的ID单调递增。分配只有一次CAS，不加锁；一毫秒内的序号用完时借用下一毫秒，
+ * 借用超过当前时间MAX_BORROW_MILLIS或系统时钟回拨时休眠等待时钟追上，
+ * 需要等待超过MAX_WAIT_MILLIS（时钟回拨过多）时抛出IllegalStateException。
+ * 不同进程必须使用不同的机器号。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+	/** 时间戳起点 2014-01-01 00:00:00 UTC */
+	public static final long EPOCH = 1388534400000L;
+
+	/** 最大机器号 */
+	public static final int MAX_WORKER_ID = 1023;
+
+	private static final int SEQUENCE_BITS = 12;
+
+	private static final int WORKER_BITS = 10;
+
+	private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_BITS;
+
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	/** 序号用完时最多借用的毫秒数 */
+	private static final long MAX_BORROW_MILLIS = 5;
+
+	/** 等待时钟追上的最长毫秒数 */
+	private static final long MAX_WAIT_MILLIS = 100;
+
+	private final long worker;
+
+	/** 最近生成的ID */
+	private final AtomicLong last = new AtomicLong();
+
+	/**
+	 * @param workerId 机器号，0到1023
+	 */
+	public SnowflakeIdGenerator(int workerId) {
+		if(workerId < 0 || workerId > MAX_WORKER_ID) {
+			throw new IllegalArgumentException("workerId must be between 0 and " + MAX_WORKER_ID);
+		}
+		this.worker = (long) workerId << SEQUENCE_BITS;
+	}
+
+	@Override
+	public long nextId() {
+		while (true) {
+			long prev = last.get();
+			long prevTime = prev >>> TIMESTAMP_SHIFT;
+			long now = currentTimeMillis() - EPOCH;
+			long id;
+			if(now > prevTime) {
+				id = (now << TIMESTAMP_SHIFT) | worker;
+			} else if((prev & SEQUENCE_MASK) < SEQUENCE_MASK) {
+				id = prev + 1;
+			} else if(prevTime + 1 - now <= MAX_BORROW_MILLIS) {
+				id = ((prevTime + 1) << TIMESTAMP_SHIFT) | worker;
+			} else {
+				// 时钟回拨或借用过多，等待时钟追上
+				waitFor(prevTime + 1 - now);
+				continue;
+			}
+			if(last.compareAndSet(prev, id)) {
+				return id;
+			}
+		}
+	}
+
+	private static void waitFor(long millis) {
+		if(millis > MAX_WAIT_MILLIS) {
+			throw new IllegalStateException("Clock moved backwards, refusing to generate id for " + millis + " ms");
+		}
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for clock", e);
+		}
+	}
+
+	/**
+	 * 当前时间（毫秒）
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * 从ID中取出生成时间（毫秒）
+	 */
+	public static long getTimestamp(long id) {
+		return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+	}
+
+	/**
+	 * 从ID中取出机器号
+	 */
+	public static int getWorkerId(long id) {
+		return (int) ((id >>> SEQUENCE_BITS) & MAX_WORKER_ID);
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.coul.core.domain.id;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.apache.log4j.Logger;
+
+import com.coul.common.exception.DaoAccessException;
+
+/**
+ * 按号段表预留ID段，用于MySQL等没有序列的数据库
+ *
+ * 号段表结构（表名可以指定）：
+ * CREATE TABLE ID_SEGMENT (BIZ_TAG VARCHAR(64) PRIMARY KEY, MAX_ID BIGINT NOT NULL, STEP INT NOT NULL)
+ * 每次预留在独立的连接和事务中把MAX_ID增加STEP，预留(MAX_ID - STEP, MAX_ID]，
+ * 不参与调用方的事务，调用方回滚不会重复分配。STEP可以随时在表中调整。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+public class TableSegmentSource implements SegmentSource {
+
+	private static final Logger logger = Logger.getLogger(TableSegmentSource.class);
+
+	/** 默认号段表名 */
+	public static final String DEFAULT_TABLE = "ID_SEGMENT";
+
+	private final DataSource dataSource;
+
+	private final String bizTag;
+
+	private final String updateSql;
+
+	private final String selectSql;
+
+	/**
+	 * 使用默认号段表ID_SEGMENT
+	 *
+	 * @param dataSource
+	 * @param bizTag  业务标识，号段表中的一行
+	 */
+	public TableSegmentSource(DataSource dataSource, String bizTag) {
+		this(dataSource, DEFAULT_TABLE, bizTag);
+	}
+
+	/**
+	 * @param dataSource
+	 * @param table   号段表名
+	 * @param bizTag  业务标识，号段表中的一行
+	 */
+	public TableSegmentSource(DataSource dataSource, String table, String bizTag) {
+		this.dataSource = dataSource;
+		this.bizTag = bizTag;
+		this.updateSql = "UPDATE " + table + " SET MAX_ID = MAX_ID + STEP WHERE BIZ_TAG = ?";
+		this.selectSql = "SELECT MAX_ID, STEP FROM " + table + " WHERE BIZ_TAG = ?";
+	}
+
+	@Override
+	public IdSegment allocate() throws DaoAccessException {
+		Connection conn = null;
+		try {
+			conn = dataSource.getConnection();
+			conn.setAutoCommit(false);
+			try {
+				IdSegment segment = allocate(conn);
+				conn.commit();
+				return segment;
+			} catch (Exception e) {
+				conn.rollback();
+				throw e;
+			}
+		} catch (DaoAccessException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new DaoAccessException(e);
+		} finally {
+			close(conn);
+		}
+	}
+
+	private IdSegment allocate(Connection conn) throws SQLException, DaoAccessException {
+		PreparedStatement ps = conn.prepareStatement(updateSql);
+		try {
+			ps.setString(1, bizTag);
+			if(ps.executeUpdate() != 1) {
+				throw new DaoAccessException("Id segment " + bizTag + " not found");
+			}
+		} finally {
+			ps.close();
+		}
+		ps = conn.prepareStatement(selectSql);
+		try {
+			ps.setString(1, bizTag);
+			ResultSet rs = ps.executeQuery();
+			try {
+				rs.next();
+				long maxId = rs.getLong(1);
+				int step = rs.getInt(2);
+				if(step <= 0) {
+					throw new DaoAccessException("Id segment " + bizTag + " step must be positive");
+				}
+				return new IdSegment(maxId - step + 1, maxId + 1);
+			} finally {
+				rs.close();
+			}
+		} finally {
+			ps.close();
+		}
+	}
+
+	private static void close(Connection conn) {
+		if(conn == null) {
+			return;
+		}
+		try {
+			conn.setAutoCommit(true);
+			conn.close();
+		} catch (SQLException e) {
+			logger.warn("Close connection error", e);
+		}
+	}
+
+}
@@ -1,17 +1,13 @@
 package com.coul.core.domain.model;
 
-import java.beans.PropertyDescriptor;
 import java.io.Serializable;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang.builder.ToStringBuilder;
 
-import com.coul.common.utils.ObjectUtil;
+import com.coul.common.utils.serialize.DeepCloner;
 
 /**
  * 数据模型基础类
@@ -23,14 +19,17 @@ public abstract class BaseDomain implements Cloneable, Serializable {
 	private static final long serialVersionUID = -3707046914855595598L;
 
 	/**
+	 * 输出格式与ToStringBuilder.reflectionToString一致，字段按类缓存；
+	 * 元素个数较多的集合、Map、数组只输出前面的部分元素和总数；类上注解了@SimpleToString时只输出类名和identityHashCode
+	 *
 	 * @see java.lang.Object#toString()
 	 * 创建日期：2012-11-13
-	 * 修改说明：
+	 * 修改说明：2026-10-18 使用缓存的字段，不再每次反射 agent
 	 * @author wangk
 	 */
 	@Override
 	public String toString() {
-		return ToStringBuilder.reflectionToString(this);
+		return DomainMetadata.of(getClass()).toString(this);
 	}
 
 	/**
@@ -52,6 +51,21 @@ public abstract class BaseDomain implements Cloneable, Serializable {
 		}
 	}
 
+	/**
+	 * 深层复制当前对象，引用类型的属性也复制一份，不经过序列化
+	 *
+	 * @param <T>
+	 * @return
+	 * 创建日期：2026-10-18
+	 * 修改说明：
+	 * @author agent
+	 */
+	public <T> T deepClone() {
+		@SuppressWarnings("unchecked")
+		T ret = (T) DeepCloner.clone(this);
+		return ret;
+	}
+
 	/**
 	 * 获取指定属性的值集合
 	 * @description
@@ -64,9 +78,12 @@ public abstract class BaseDomain implements Cloneable, Serializable {
 	public List<Object> getFieldValues(List<String> fieldNames) {
 		List<Object> list = new ArrayList<Object>();
 		if(CollectionUtils.isNotEmpty(fieldNames)){
+			DomainMetadata metadata = DomainMetadata.of(getClass());
 			for (String fieldName : fieldNames) {
 				try {
-					list.add(new PropertyDescriptor(fieldName, getClass()).getReadMethod().invoke(this));
+					list.add(metadata.propertyReader(fieldName).invoke(this));
+				} catch (RuntimeException e) {
+					throw e;
 				} catch (Exception e) {
 					throw new RuntimeException(e);
 				} 
@@ -84,16 +101,7 @@ public abstract class BaseDomain implements Cloneable, Serializable {
 	 * @author wangk
 	 */
 	public Map<String, Object> toFieldMapping() {
-		Map<String, Object> entrys = new HashMap<String, Object>();
-		Map<String, Method> readMethodMapping = ObjectUtil.getReadMethodMapping(getClass());
-		for (String field : readMethodMapping.keySet()) {
-			try {
-				entrys.put(field, readMethodMapping.get(field).invoke(this));
-			} catch (Exception e) {
-				throw new RuntimeException(e);
-			}
-		}
-		return entrys;
+		return DomainMetadata.of(getClass()).toFieldMapping(this);
 	}
 
 }
@@ -0,0 +1,313 @@
+package com.coul.core.domain.model;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.coul.common.utils.ObjectUtil;
+
+/**
+ * BaseDomain子类的属性访问元数据，每个类只分析一次
+ *
+ * toString的输出格式与ToStringBuilder.reflectionToString相同：类名@identityHashCode[属性=值,...]，
+ * 但字段数组按类缓存，不再每次反射获取；元素个数超过MAX_ELEMENTS的集合、Map和数组只输出前面的元素和总数。
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+final class DomainMetadata {
+	/** toString中集合、Map、数组最多输出的元素个数 */
+	static final int MAX_ELEMENTS = 100;
+
+	/** toString中的null值 */
+	private static final String NULL_TEXT = "<null>";
+
+	private static final ClassValue<DomainMetadata> METADATA = new ClassValue<DomainMetadata>() {
+		@Override
+		protected DomainMetadata computeValue(Class<?> type) {
+			return new DomainMetadata(type);
+		}
+	};
+
+	/** 当前线程正在输出的对象，避免循环引用时无限递归 */
+	private static final ThreadLocal<IdentityHashMap<Object, Object>> REGISTRY = new ThreadLocal<IdentityHashMap<Object, Object>>() {
+		@Override
+		protected IdentityHashMap<Object, Object> initialValue() {
+			return new IdentityHashMap<Object, Object>();
+		}
+	};
+
+	private final Class<?> type;
+
+	/** 是否只输出类名和identityHashCode */
+	private final boolean simple;
+
+	/** toString输出的字段，子类字段在前，不包括static、transient字段 */
+	private final Field[] fields;
+
+	/** toFieldMapping的属性名 */
+	private final String[] readNames;
+
+	/** toFieldMapping的读取方法 */
+	private final Method[] readMethods;
+
+	/** getFieldValues按属性名缓存的读取方法 */
+	private final ConcurrentMap<String, Method> propertyReaders = new ConcurrentHashMap<String, Method>();
+
+	static DomainMetadata of(Class<?> type) {
+		return METADATA.get(type);
+	}
+
+	private DomainMetadata(Class<?> type) {
+		this.type = type;
+		this.simple = type.isAnnotationPresent(SimpleToString.class);
+		List<Field> list = new ArrayList<Field>();
+		for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if(field.getName().indexOf('$') >= 0 || Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+					continue;
+				}
+				field.setAccessible(true);
+				list.add(field);
+			}
+		}
+		this.fields = list.toArray(new Field[list.size()]);
+		Map<String, Method> mapping = ObjectUtil.getReadMethodMapping(type);
+		this.readNames = new String[mapping.size()];
+		this.readMethods = new Method[mapping.size()];
+		int i = 0;
+		for (Map.Entry<String, Method> entry : mapping.entrySet()) {
+			readNames[i] = entry.getKey();
+			readMethods[i] = entry.getValue();
+			i++;
+		}
+	}
+
+	/**
+	 * 输出对象的属性值
+	 */
+	String toString(Object obj) {
+		StringBuilder sb = new StringBuilder(16 + fields.length * 16);
+		appendIdentity(sb, obj);
+		if(simple) {
+			return sb.toString();
+		}
+		IdentityHashMap<Object, Object> registry = REGISTRY.get();
+		boolean registered = registry.put(obj, obj) == null;
+		try {
+			sb.append('[');
+			for (int i = 0; i < fields.length; i++) {
+				if(i > 0) {
+					sb.append(',');
+				}
+				Object value;
+				try {
+					value = fields[i].get(obj);
+				} catch (IllegalAccessException e) {
+					throw new IllegalStateException(e);
+				}
+				sb.append(fields[i].getName()).append('=');
+				appendValue(sb, value, registry);
+			}
+			sb.append(']');
+		} finally {
+			if(registered) {
+				registry.remove(obj);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 属性名和值的映射
+	 */
+	Map<String, Object> toFieldMapping(Object obj) {
+		Map<String, Object> entrys = new HashMap<String, Object>(readNames.length * 4 / 3 + 1);
+		for (int i = 0; i < readNames.length; i++) {
+			try {
+				entrys.put(readNames[i], readMethods[i].invoke(obj));
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return entrys;
+	}
+
+	/**
+	 * 获得属性的读取方法，属性不存在时抛出RuntimeException
+	 */
+	Method propertyReader(String name) {
+		Method method = propertyReaders.get(name);
+		if(method == null) {
+			try {
+				method = new PropertyDescriptor(name, type).getReadMethod();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+			propertyReaders.putIfAbsent(name, method);
+		}
+		return method;
+	}
+
+	private static void appendIdentity(StringBuilder sb, Object obj) {
+		sb.append(obj.getClass().getName()).append('@').append(Integer.toHexString(System.identityHashCode(obj)));
+	}
+
+	private static void appendValue(StringBuilder sb, Object value, IdentityHashMap<Object, Object> registry) {
+		if(value == null) {
+			sb.append(NULL_TEXT);
+			return;
+		}
+		if(registry.containsKey(value)
+				&& !(value instanceof Number || value instanceof Boolean || value instanceof Character)) {
+			// 循环引用
+			appendIdentity(sb, value);
+			return;
+		}
+		Class<?> type = value.getClass();
+		if(type.isArray() && type.getComponentType().isPrimitive()) {
+			appendPrimitiveArray(sb, value);
+			return;
+		}
+		boolean container = value instanceof Collection || value instanceof Map || type.isArray();
+		if(!container) {
+			sb.append(value);
+			return;
+		}
+		registry.put(value, value);
+		try {
+			if(value instanceof Collection) {
+				appendCollection(sb, (Collection<?>) value);
+			} else if(value instanceof Map) {
+				appendMap(sb, (Map<?, ?>) value);
+			} else {
+				appendArray(sb, value, registry);
+			}
+		} finally {
+			registry.remove(value);
+		}
+	}
+
+	/**
+	 * 元素个数不超过MAX_ELEMENTS时使用集合本身的toString
+	 */
+	private static void appendCollection(StringBuilder sb, Collection<?> collection) {
+		int size = collection.size();
+		if(size <= MAX_ELEMENTS) {
+			sb.append(collection);
+			return;
+		}
+		sb.append('[');
+		Iterator<?> it = collection.iterator();
+		for (int i = 0; i < MAX_ELEMENTS && it.hasNext(); i++) {
+			Object e = it.next();
+			sb.append(e == collection ? "(this Collection)" : String.valueOf(e)).append(", ");
+		}
+		sb.append("...(size=").append(size).append(")]");
+	}
+
+	private static void appendMap(StringBuilder sb, Map<?, ?> map) {
+		int size = map.size();
+		if(size <= MAX_ELEMENTS) {
+			sb.append(map);
+			return;
+		}
+		sb.append('{');
+		Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+		for (int i = 0; i < MAX_ELEMENTS && it.hasNext(); i++) {
+			Map.Entry<?, ?> e = it.next();
+			Object key = e.getKey();
+			Object value = e.getValue();
+			sb.append(key == map ? "(this Map)" : String.valueOf(key)).append('=');
+			sb.append(value == map ? "(this Map)" : String.valueOf(value)).append(", ");
+		}
+		sb.append("...(size=").append(size).append(")}");
+	}
+
+	/**
+	 * 与ToStringStyle相同的数组格式：{a,b,c}
+	 */
+	private static void appendArray(StringBuilder sb, Object array, IdentityHashMap<Object, Object> registry) {
+		Object[] values = (Object[]) array;
+		int length = values.length;
+		int count = Math.min(length, MAX_ELEMENTS);
+		sb.append('{');
+		for (int i = 0; i < count; i++) {
+			if(i > 0) {
+				sb.append(',');
+			}
+			appendValue(sb, values[i], registry);
+		}
+		appendArrayEnd(sb, length, count);
+	}
+
+	/**
+	 * 基本类型数组，int[]、long[]、byte[]、char[]直接遍历，不经过Array.get装箱
+	 */
+	private static void appendPrimitiveArray(StringBuilder sb, Object array) {
+		int length = Array.getLength(array);
+		int count = Math.min(length, MAX_ELEMENTS);
+		sb.append('{');
+		if(array instanceof int[]) {
+			int[] values = (int[]) array;
+			for (int i = 0; i < count; i++) {
+				if(i > 0) {
+					sb.append(',');
+				}
+				sb.append(values[i]);
+			}
+		} else if(array instanceof long[]) {
+			long[] values = (long[]) array;
+			for (int i = 0; i < count; i++) {
+				if(i > 0) {
+					sb.append(',');
+				}
+				sb.append(values[i]);
+			}
+		} else if(array instanceof byte[]) {
+			byte[] values = (byte[]) array;
+			for (int i = 0; i < count; i++) {
+				if(i > 0) {
+					sb.append(',');
+				}
+				sb.append(values[i]);
+			}
+		} else if(array instanceof char[]) {
+			char[] values = (char[]) array;
+			for (int i = 0; i < count; i++) {
+				if(i > 0) {
+					sb.append(',');
+				}
+				sb.append(values[i]);
+			}
+		} else {
+			for (int i = 0; i < count; i++) {
+				if(i > 0) {
+					sb.append(',');
+				}
+				sb.append(Array.get(array, i));
+			}
+		}
+		appendArrayEnd(sb, length, count);
+	}
+
+	private static void appendArrayEnd(StringBuilder sb, int length, int count) {
+		if(length > count) {
+			sb.append(",...(size=").append(length).append(')');
+		}
+		sb.append('}');
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.coul.core.domain.model;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 简单toString注解
+ * 	  注解在BaseDomain的子类上，toString只输出类名和identityHashCode，不输出属性值，
+ * 	  用于在日志等热点路径上频繁拼接的对象
+ *
+ * 创建日期：2026-10-18
+ * @author agent
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface SimpleToString {
+
+}
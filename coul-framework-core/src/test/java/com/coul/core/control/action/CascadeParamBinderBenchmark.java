@@ -0,0 +1,142 @@
+package com.coul.core.control.action;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import com.coul.common.utils.ObjectUtil;
+import com.coul.common.utils.type.StringToStringURLConverter;
+import com.coul.core.control.action.CascadeParamBinderTest.User;
+
+/**
+ * 通过MockMvc对比编译绑定器与原来“正则拆分 + 中间Map + ObjectUtil.parse”方式的请求吞吐量.
+ *
+ * 直接运行main方法，不参与单元测试.
+ */
+public class CascadeParamBinderBenchmark {
+
+	private static final int ITERATIONS = 50000;
+
+	public static void main(String[] args) throws Exception {
+		RequestDataMethodArgumentResolver requestDataResolver = new RequestDataMethodArgumentResolver();
+		requestDataResolver.setParameterName("requestData");
+		MockMvc compiled = MockMvcBuilders.standaloneSetup(new BenchmarkController())
+				.setCustomArgumentResolvers(new CascadeParamMethodArgumentResolver(), requestDataResolver).build();
+		MockMvc legacy = MockMvcBuilders.standaloneSetup(new BenchmarkController())
+				.setCustomArgumentResolvers(new LegacyCascadeParamMethodArgumentResolver(), requestDataResolver)
+				.build();
+		MockHttpServletRequestBuilder cascade = get("/user").param("user.name", "%E5%BC%A0%E4%B8%89")
+				.param("user[age]", "30").param("user.birthday", "2014-04-02")
+				.param("user[address][city]", "fuzhou").param("user.address.zip", "350000")
+				.param("user.tags", "a", "b", "c").param("user.status", "ENABLED").param("_", "1396400000000");
+		MockHttpServletRequestBuilder paging = get("/paging").param("page", "2").param("rows", "20")
+				.param("sidx", "name").param("sord", "asc").param("name", "x").param("code", "y");
+
+		run("legacy   cascade", legacy, cascade);
+		run("compiled cascade", compiled, cascade);
+		run("compiled paging ", compiled, paging);
+	}
+
+	private static void run(String name, MockMvc mockMvc, MockHttpServletRequestBuilder request) throws Exception {
+		// 预热
+		for (int i = 0; i < ITERATIONS / 5; i++) {
+			mockMvc.perform(request);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			mockMvc.perform(request);
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%s: %8.0f req/s, %6.2f us/req%n", name, ITERATIONS * 1e9 / nanos,
+				nanos / 1000.0 / ITERATIONS);
+	}
+
+	@Controller
+	public static class BenchmarkController {
+
+		@RequestMapping("/user")
+		@ResponseBody
+		public String user(@CascadeParam("user") User user) {
+			return user.getName();
+		}
+
+		@RequestMapping("/paging")
+		@ResponseBody
+		public String paging(PagingRequestData paging) {
+			return paging.getString();
+		}
+	}
+
+	/**
+	 * 原来的级联参数解析实现，仅用于对比
+	 */
+	static class LegacyCascadeParamMethodArgumentResolver extends CascadeParamMethodArgumentResolver {
+
+		@Override
+		protected Object resolveName(String name, MethodParameter parameter, NativeWebRequest nativeWebRequest)
+				throws Exception {
+			String paramName = parameter.getParameterAnnotation(CascadeParam.class).value();
+			StringToStringURLConverter converter = new StringToStringURLConverter();
+			Map<String, Object> requestDataMap = new HashMap<String, Object>();
+			for (String param : nativeWebRequest.getParameterMap().keySet()) {
+				param = converter.convert(param);
+				String[] cascadeParam = null;
+				if(param.matches("^\\w+(\\[\\w+\\])+$")) {
+					String[] paramComponents = param.split("\\[");
+					cascadeParam = new String[paramComponents.length];
+					if(!paramName.equals(paramComponents[0])) {
+						continue;
+					}
+					cascadeParam[0] = paramComponents[0];
+					for (int i = 1; i < cascadeParam.length; i++) {
+						cascadeParam[i] = paramComponents[i].substring(0, paramComponents[i].length() - 1);
+					}
+				} else {
+					cascadeParam = param.split("\\.");
+					if(cascadeParam.length < 2 || !paramName.equals(cascadeParam[0])) {
+						continue;
+					}
+				}
+				Object value = null;
+				String[] values = nativeWebRequest.getParameterValues(param);
+				if(values.length == 1) {
+					value = converter.convert(values[0]);
+				} else {
+					List<String> valueList = new ArrayList<String>();
+					for (String item : values) {
+						valueList.add(converter.convert(item));
+					}
+					value = valueList;
+				}
+				Map<String, Object> cascadeParamMap = requestDataMap;
+				for (int i = 1; i < cascadeParam.length - 1; i++) {
+					@SuppressWarnings("unchecked")
+					Map<String, Object> indexMap = (Map<String, Object>) cascadeParamMap.get(cascadeParam[i]);
+					if(indexMap == null) {
+						indexMap = new HashMap<String, Object>();
+						cascadeParamMap.put(cascadeParam[i], indexMap);
+					}
+					cascadeParamMap = indexMap;
+				}
+				cascadeParamMap.put(cascadeParam[cascadeParam.length - 1], value);
+			}
+			if(requestDataMap.isEmpty()) {
+				return null;
+			}
+			return ObjectUtil.parse(requestDataMap, parameter.getParameterType());
+		}
+	}
+
+}
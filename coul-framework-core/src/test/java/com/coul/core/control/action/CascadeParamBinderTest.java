@@ -0,0 +1,205 @@
+package com.coul.core.control.action;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 级联参数绑定器测试
+ */
+public class CascadeParamBinderTest {
+
+	@Test
+	public void testBindDotAndBracketNames() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter("user.name", "%E5%BC%A0%E4%B8%89");
+		request.addParameter("user[age]", "30");
+		request.addParameter("user.birthday", "2014-04-02");
+		request.addParameter("user[address][city]", "fuzhou");
+		request.addParameter("user.address.zip", "350000");
+		request.addParameter("user.tags", new String[] { "a", "b" });
+		request.addParameter("user.scores", new String[] { "1", "2" });
+		request.addParameter("user.status", "ENABLED");
+		request.addParameter("username", "ignored");
+		request.addParameter("other.name", "ignored");
+
+		User user = (User) CascadeParamBinder.forType(User.class).bindCascade("user",
+				new ServletWebRequest(request));
+
+		assertEquals("张三", user.getName());
+		assertEquals(30, user.getAge());
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(user.getBirthday());
+		assertEquals(2014, calendar.get(Calendar.YEAR));
+		assertEquals(Calendar.APRIL, calendar.get(Calendar.MONTH));
+		assertNotNull(user.getAddress());
+		assertEquals("fuzhou", user.getAddress().getCity());
+		assertEquals(Integer.valueOf(350000), user.getAddress().getZip());
+		assertEquals(Arrays.asList("a", "b"), user.getTags());
+		assertArrayEquals(new int[] { 1, 2 }, user.getScores());
+		assertEquals(Status.ENABLED, user.getStatus());
+	}
+
+	@Test
+	public void testNoMatchingParameterReturnsNull() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter("name", "x");
+		request.addParameter("user", "x");
+		assertNull(CascadeParamBinder.forType(User.class).bindCascade("user", new ServletWebRequest(request)));
+	}
+
+	@Test
+	public void testNamesAreCaseSensitive() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter("user.Name", "upper");
+		request.addParameter("user.age", "30");
+		User user = (User) CascadeParamBinder.forType(User.class).bindCascade("user",
+				new ServletWebRequest(request));
+		assertNull(user.getName());
+		assertEquals(30, user.getAge());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testBindMapParameter() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter("query.name", "coul");
+		request.addParameter("query[range][from]", "1");
+		request.addParameter("query.ids", new String[] { "1", "2" });
+		Map<String, Object> query = (Map<String, Object>) CascadeParamBinder.forType(Map.class)
+				.bindCascade("query", new ServletWebRequest(request));
+		assertEquals("coul", query.get("name"));
+		assertEquals("1", ((Map<String, Object>) query.get("range")).get("from"));
+		assertEquals(Arrays.asList("1", "2"), query.get("ids"));
+	}
+
+	@Test
+	public void testSplitCascadeName() {
+		assertArrayEquals(new String[] { "user", "address", "city" },
+				CascadeParamBinder.splitCascadeName("user[address][city]", "user"));
+		assertArrayEquals(new String[] { "user", "address", "city" },
+				CascadeParamBinder.splitCascadeName("user.address.city", "user"));
+		assertNull(CascadeParamBinder.splitCascadeName("user[address", "user"));
+		assertNull(CascadeParamBinder.splitCascadeName("user[a-b]", "user"));
+		assertNull(CascadeParamBinder.splitCascadeName("user.", "user"));
+		assertNull(CascadeParamBinder.splitCascadeName("users.name", "user"));
+	}
+
+	@Test
+	public void testBindPagingProperties() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter("page", "3");
+		request.addParameter("rows", "20");
+		request.addParameter("sidx", "name");
+		request.addParameter("sord", "desc");
+		request.addParameter("requestData", "{\"name\":\"x\"}");
+		PagingRequestData paging = new PagingRequestData();
+		CascadeParamBinder.forType(PagingRequestData.class).bindProperties(paging, new ServletWebRequest(request));
+		assertEquals(3, paging.getPage());
+		assertEquals(20, paging.getRows());
+		assertEquals("name desc", paging.getString());
+	}
+
+	public enum Status {
+		ENABLED, DISABLED
+	}
+
+	public static class Address {
+		private String city;
+		private Integer zip;
+
+		public String getCity() {
+			return city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+
+		public Integer getZip() {
+			return zip;
+		}
+
+		public void setZip(Integer zip) {
+			this.zip = zip;
+		}
+	}
+
+	public static class User {
+		private String name;
+		private int age;
+		private Date birthday;
+		private Address address;
+		private List<String> tags;
+		private int[] scores;
+		private Status status;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public Date getBirthday() {
+			return birthday;
+		}
+
+		public void setBirthday(Date birthday) {
+			this.birthday = birthday;
+		}
+
+		public Address getAddress() {
+			return address;
+		}
+
+		public void setAddress(Address address) {
+			this.address = address;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+
+		public int[] getScores() {
+			return scores;
+		}
+
+		public void setScores(int[] scores) {
+			this.scores = scores;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public void setStatus(Status status) {
+			this.status = status;
+		}
+	}
+
+}
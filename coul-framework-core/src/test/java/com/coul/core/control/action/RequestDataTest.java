@@ -0,0 +1,89 @@
+package com.coul.core.control.action;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.coul.common.utils.ObjectUtil;
+import com.coul.core.control.action.CascadeParamBinderTest.User;
+
+/**
+ * RequestData懒解析测试
+ */
+public class RequestDataTest {
+
+	private static final String JSON = "{\"name\":\"tom\",\"AGE\":18,\"birthday\":\"2014-04-03 10:20:30\","
+			+ "\"address\":{\"city\":\"fuzhou\",\"zip\":350000},\"tags\":[\"a\",\"b\"],\"rows\":[{\"id\":1},{\"id\":2}]}";
+
+	@Test
+	public void testMapViewKeepsStringLeaves() {
+		RequestData requestData = new RequestData(JSON);
+		assertEquals("tom", requestData.getString("name"));
+		assertEquals(18, requestData.getInt("AGE"));
+		assertEquals("350000", requestData.getMap("address").get("zip"));
+		assertEquals(Arrays.asList("a", "b"), requestData.getList("tags"));
+		assertTrue(requestData.hasData());
+		assertFalse(requestData.isList());
+	}
+
+	@Test
+	public void testToBeanFromTree() {
+		User user = new RequestData(JSON).toBean(User.class);
+		assertEquals("tom", user.getName());
+		assertEquals(18, user.getAge());
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(user.getBirthday());
+		assertEquals(10, calendar.get(Calendar.HOUR_OF_DAY));
+		assertEquals("fuzhou", user.getAddress().getCity());
+		assertEquals(Integer.valueOf(350000), user.getAddress().getZip());
+		assertEquals(Arrays.asList("a", "b"), user.getTags());
+	}
+
+	@Test
+	public void testToBeanAfterMapChanged() {
+		RequestData requestData = new RequestData(JSON);
+		requestData.toMap().put("name", "jerry");
+		assertEquals("jerry", requestData.toBean(User.class).getName());
+	}
+
+	@Test
+	public void testListViewsAreIndependent() {
+		RequestData requestData = new RequestData("[{\"id\":1},{\"id\":2}]");
+		assertTrue(requestData.isList());
+		List<Object> list = requestData.toList();
+		assertEquals(2, list.size());
+		assertEquals("1", ((Map<?, ?>) list.get(0)).get("id"));
+		//调用方修改结果不影响之后的调用
+		list.clear();
+		assertEquals(2, requestData.toList().size());
+
+		RequestData rows = new RequestData(JSON).getComponent("rows");
+		assertTrue(rows.isList());
+		assertEquals(2, rows.toList().size());
+		assertEquals("[{\"id\":1},{\"id\":2}]", rows.toString());
+		RequestData copy = ObjectUtil.clone(rows);
+		assertEquals(2, copy.toList().size());
+	}
+
+	@Test
+	public void testPagingRequestDataParsesSearchDataOnce() {
+		PagingRequestData paging = new PagingRequestData();
+		paging.setSearchJsonData("{\"name\":\"tom\"}");
+		RequestData requestData = paging.getRequestData();
+		assertNotNull(requestData);
+		assertSame(requestData, paging.getRequestData());
+		assertEquals("tom", requestData.getString("name"));
+		paging.setSearchJsonData("{\"name\":\"jerry\"}");
+		assertEquals("jerry", paging.getRequestData().getString("name"));
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.coul.core.control.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestProfilerTest {
+
+	@Test
+	public void testNormalizePath() {
+		assertEquals("/user/{id}/edit.html", RequestProfilerFilter.normalizePath("/user/12/edit.html"));
+		assertEquals("/user/{id}", RequestProfilerFilter.normalizePath("/user/12"));
+		assertEquals("/user/list.html", RequestProfilerFilter.normalizePath("/user/list.html"));
+		assertEquals("/v2/{id}/", RequestProfilerFilter.normalizePath("/v2/3/"));
+	}
+
+	@Test
+	public void testNestedStages() throws Exception {
+		RequestTimeline timeline = RequestProfiler.begin();
+		RequestTimeline service = RequestProfiler.start(RequestStage.SERVICE);
+		sleep(5);
+		RequestTimeline sql = RequestProfiler.start(RequestStage.SQL);
+		//同一阶段直接嵌套只计一次
+		RequestTimeline inner = RequestProfiler.start(RequestStage.SQL);
+		sleep(30);
+		RequestProfiler.stop(inner);
+		RequestProfiler.stop(sql);
+		RequestProfiler.stop(service);
+		RequestProfiler.end(timeline);
+		assertNull(RequestProfiler.current());
+		assertNull(RequestProfiler.start(RequestStage.SQL));
+
+		assertEquals(1, timeline.getStageCount(RequestStage.SERVICE));
+		assertEquals(1, timeline.getStageCount(RequestStage.SQL));
+		assertTrue(timeline.getStageNanos(RequestStage.SQL) >= TimeUnit.MILLISECONDS.toNanos(30));
+		assertTrue(timeline.getStageNanos(RequestStage.SERVICE) >= TimeUnit.MILLISECONDS.toNanos(5));
+		long staged = 0;
+		for (RequestStage stage : RequestStage.values()) {
+			staged += timeline.getStageNanos(stage);
+		}
+		assertTrue(staged <= timeline.getTotalNanos());
+		assertEquals(timeline.getTotalNanos() - staged, timeline.getOtherNanos());
+	}
+
+	@Test
+	public void testFilter() throws Exception {
+		RequestProfileStatistics statistics = new RequestProfileStatistics(true, 10, 100);
+		RequestProfilerFilter filter = new RequestProfilerFilter();
+		filter.setStatistics(statistics);
+		FilterChain chain = new FilterChain() {
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+					throws IOException, ServletException {
+				RequestTimeline binding = RequestProfiler.start(RequestStage.BINDING);
+				RequestProfiler.stop(binding);
+				RequestTimeline render = RequestProfiler.start(RequestStage.RENDER);
+				sleep(15);
+				RequestProfiler.stop(render);
+			}
+		};
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/user/12/edit.html");
+		request.setContextPath("/app");
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+		filter.doFilter(new MockHttpServletRequest("GET", "/user/13/edit.html"), new MockHttpServletResponse(), chain);
+		assertNull(RequestProfiler.current());
+
+		RequestPatternStats stats = statistics.getPattern("/user/{id}/edit.html");
+		assertEquals(2, stats.getCount());
+		assertEquals(2, stats.getStageCount(RequestStage.BINDING));
+		assertEquals(2, stats.getStageCount(RequestStage.RENDER));
+		assertTrue(stats.getStageNanos(RequestStage.RENDER) >= TimeUnit.MILLISECONDS.toNanos(30));
+		assertTrue(stats.getHistogram().getValueAtPercentile(50) >= 15000);
+		List<RequestProfileSample> samples = statistics.getSlowSamples();
+		assertEquals(2, samples.size());
+		assertEquals("/user/13/edit.html", samples.get(0).getUri());
+		assertEquals(1, samples.get(0).getStageCount(RequestStage.RENDER));
+	}
+
+	@Test
+	public void testDiagnosticsOnlyForAllowedAddresses() throws Exception {
+		RequestProfileServlet servlet = new RequestProfileServlet();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/diagnostics/requests");
+		request.setRemoteAddr("192.168.1.20");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertEquals(403, response.getStatus());
+
+		servlet.setAllowedAddresses("192.168.1.20");
+		response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertEquals(200, response.getStatus());
+		assertTrue(response.getContentAsString().startsWith("{\"enabled\""));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.coul.core.control.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class SqlDiagnosticsServletTest {
+
+	@Test
+	public void testOnlyAllowedAddresses() throws Exception {
+		SqlDiagnosticsServlet servlet = new SqlDiagnosticsServlet();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/diagnostics/sql");
+		request.setRemoteAddr("10.0.0.8");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertEquals(403, response.getStatus());
+
+		request.setRemoteAddr("127.0.0.1");
+		response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertEquals(200, response.getStatus());
+		assertTrue(response.getContentAsString().contains("\"captureParameters\":false"));
+
+		servlet.setAllowedAddresses("10.0.0.8");
+		request = new MockHttpServletRequest("POST", "/diagnostics/sql");
+		request.setRemoteAddr("127.0.0.1");
+		request.addParameter("reset", "true");
+		response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertEquals(403, response.getStatus());
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.coul.core.domain.db;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import com.coul.common.utils.ObjectUtil;
+import com.coul.core.domain.db.EntityTest.SampleEntity;
+
+/**
+ * 排序100万个实体，对比原来每次比较都扫描@Id注解并创建BigDecimal的方式和按类缓存ID读取方法的方式.
+ *
+ * 直接运行main方法，不参与单元测试.
+ */
+public class EntitySortBenchmark {
+
+	private static final int SIZE = 1000000;
+
+	public static void main(String[] args) {
+		List<SampleEntity> entities = new ArrayList<SampleEntity>(SIZE);
+		Random random = new Random(42);
+		for (int i = 0; i < SIZE; i++) {
+			entities.add(new SampleEntity((long) random.nextInt(Integer.MAX_VALUE), null));
+		}
+		for (int round = 0; round < 3; round++) {
+			List<SampleEntity> copy = new ArrayList<SampleEntity>(entities);
+			long start = System.nanoTime();
+			Collections.sort(copy, LEGACY);
+			long legacy = System.nanoTime() - start;
+
+			copy = new ArrayList<SampleEntity>(entities);
+			start = System.nanoTime();
+			Collections.sort(copy);
+			long cached = System.nanoTime() - start;
+			System.out.printf("legacy: %6d ms, cached: %5d ms%n", legacy / 1000000, cached / 1000000);
+		}
+	}
+
+	/** 原来的compareTo实现 */
+	private static final Comparator<Entity> LEGACY = new Comparator<Entity>() {
+		@Override
+		public int compare(Entity o1, Entity o2) {
+			String idstr = legacyIdentityString(o1);
+			String oidstr = legacyIdentityString(o2);
+			if(idstr == null && oidstr == null) {
+				return 0;
+			}
+			if(idstr == null) {
+				return 1;
+			}
+			if(oidstr == null) {
+				return -1;
+			}
+			return new BigDecimal(idstr).compareTo(new BigDecimal(oidstr));
+		}
+	};
+
+	private static String legacyIdentityString(Entity entity) {
+		Class<? extends Entity> clazz = entity.getClass();
+		for (Field field : ObjectUtil.getAllField(clazz)) {
+			if(field.getAnnotation(Id.class) != null) {
+				try {
+					Object value = new PropertyDescriptor(field.getName(), clazz).getReadMethod().invoke(entity);
+					return value == null ? null : value.toString();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.coul.core.domain.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.coul.common.exception.AnnotationNotFoundException;
+
+/**
+ * 实体ID和列元数据测试
+ */
+public class EntityTest {
+
+	@Test
+	public void testIdentity() {
+		SampleEntity a = new SampleEntity(12L, "a");
+		SampleEntity b = new SampleEntity(12L, "b");
+		SampleEntity empty = new SampleEntity(null, "c");
+		assertEquals("12", a.identityString());
+		assertTrue(a.equals(b));
+		assertFalse(a.equals(empty));
+		assertTrue(empty.equals(new SampleEntity(null, "d")));
+		assertTrue(empty.isTransient());
+		assertFalse(a.isTransient());
+		assertNull(empty.identityString());
+	}
+
+	@Test
+	public void testCompareTo() {
+		List<SampleEntity> list = new ArrayList<SampleEntity>();
+		for (long id : new long[] { 3, -1, 10, 2 }) {
+			list.add(new SampleEntity(id, null));
+		}
+		list.add(new SampleEntity(null, null));
+		Collections.sort(list);
+		List<String> ids = new ArrayList<String>();
+		for (SampleEntity entity : list) {
+			ids.add(entity.identityString());
+		}
+		assertEquals(Arrays.asList("-1", "2", "3", "10", null), ids);
+		assertEquals(0, new DecimalEntity(new BigDecimal("1.0")).compareTo(new DecimalEntity(new BigDecimal("1.00"))));
+		assertTrue(new DecimalEntity(new BigDecimal("2")).compareTo(new DecimalEntity(new BigDecimal("10"))) < 0);
+	}
+
+	@Test
+	public void testColumns() {
+		SampleEntity a = new SampleEntity(1L, "a");
+		SampleEntity b = new SampleEntity(1L, "b");
+		assertEquals("a", a.<String> getFieldValue("username"));
+		assertEquals(Arrays.asList("USERNAME"), a.getDifferentColumns(b));
+	}
+
+	@Test(expected = AnnotationNotFoundException.class)
+	public void testMissingId() {
+		new NoIdEntity().identityString();
+	}
+
+	@SuppressWarnings("serial")
+	public static class SampleEntity extends Entity {
+		@Id
+		private Long id;
+		@Column
+		private String userName;
+
+		public SampleEntity() {
+		}
+
+		public SampleEntity(Long id, String userName) {
+			this.id = id;
+			this.userName = userName;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getUserName() {
+			return userName;
+		}
+
+		public void setUserName(String userName) {
+			this.userName = userName;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	public static class DecimalEntity extends Entity {
+		@Id
+		private BigDecimal id;
+
+		public DecimalEntity(BigDecimal id) {
+			this.id = id;
+		}
+
+		public BigDecimal getId() {
+			return id;
+		}
+
+		public void setId(BigDecimal id) {
+			this.id = id;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	public static class NoIdEntity extends Entity {
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.coul.core.domain.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * 结果集映射到实体测试
+ */
+public class SimpleSqlBuilderTest {
+
+	@Test
+	public void testRowMapper() throws Exception {
+		RowMapper<UserEntity> rowMapper = new SimpleSqlBuilder<UserEntity>(UserEntity.class).getRowMapper();
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put("ID", new BigDecimal("5"));
+		row.put("USERNAME", "tom");
+		row.put("AGE", null);
+		UserEntity user = rowMapper.mapRow(resultSet(row), 0);
+		assertEquals(Long.valueOf(5), user.getId());
+		assertEquals("tom", user.getUserName());
+		assertNull(user.getAge());
+
+		row.put("ID", 6L);
+		row.put("AGE", "30");
+		user = rowMapper.mapRow(resultSet(row), 1);
+		assertEquals(Long.valueOf(6), user.getId());
+		assertEquals(Integer.valueOf(30), user.getAge());
+	}
+
+	private static ResultSet resultSet(final Map<String, Object> row) {
+		return (ResultSet) Proxy.newProxyInstance(SimpleSqlBuilderTest.class.getClassLoader(),
+				new Class<?>[] { ResultSet.class }, new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ("getObject".equals(method.getName()) && args[0] instanceof String) {
+							return row.get(args[0]);
+						}
+						throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+
+	@SuppressWarnings("serial")
+	@Relation("T_USER")
+	public static class UserEntity extends Entity {
+		@Id
+		@Column
+		private Long id;
+		@Column
+		private String userName;
+		@Column
+		private Integer age;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getUserName() {
+			return userName;
+		}
+
+		public void setUserName(String userName) {
+			this.userName = userName;
+		}
+
+		public Integer getAge() {
+			return age;
+		}
+
+		public void setAge(Integer age) {
+			this.age = age;
+		}
+	}
+
+}
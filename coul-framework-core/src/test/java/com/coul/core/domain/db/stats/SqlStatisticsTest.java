@@ -0,0 +1,212 @@
+package com.coul.core.domain.db.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+public class SqlStatisticsTest {
+
+	@Test
+	public void testNormalize() {
+		assertEquals("SELECT * FROM T_USER WHERE ID = ? AND NAME = ?",
+				SqlShapes.normalize("SELECT *  FROM T_USER\n WHERE ID = 12 AND NAME = 'it''s'"));
+		assertEquals("SELECT * FROM T_1 WHERE ID IN (?)",
+				SqlShapes.normalize("SELECT * FROM T_1 WHERE ID IN (1, 2, 3)"));
+		assertEquals("UPDATE T SET A = ? WHERE B IN (?)",
+				SqlShapes.normalize("UPDATE T SET A = ? WHERE B IN (?,?,?)"));
+	}
+
+	@Test
+	public void testHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		assertEquals(1000, histogram.getCount());
+		long[] values = histogram.getValuesAtPercentiles(50D, 99D, 100D);
+		assertTrue(Math.abs(values[0] - 500) <= 500 / 16);
+		assertTrue(Math.abs(values[1] - 990) <= 990 / 16);
+		assertTrue(values[2] >= 1000 && values[2] <= 1000 + 1000 / 16);
+		for (long v = 0; v < 1L << 36; v = v * 3 + 1) {
+			int index = LatencyHistogram.indexOf(v);
+			assertTrue(LatencyHistogram.highestValueOf(index) >= v);
+			assertTrue(index == 0 || LatencyHistogram.highestValueOf(index - 1) < v);
+		}
+	}
+
+	@Test
+	public void testSlowSampleAndNPlusOne() {
+		SqlStatistics statistics = new SqlStatistics(true, 5, 3, 100);
+		statistics.setCaptureParameters(true);
+		SqlRequestScope scope = SqlRequestScope.begin("GET /test");
+		assertNotNull(scope);
+		for (int i = 0; i < 3; i++) {
+			statistics.record("SELECT * FROM T WHERE ID = " + i, null, 1000000L, 0, 1, false);
+		}
+		statistics.record("SELECT * FROM T2 WHERE ID = ?", new Object[] { 7 }, 6000000L, 2000000L, 1, false);
+		List<String> suspects = scope.end();
+		assertEquals(Collections.singletonList("SELECT * FROM T WHERE ID = ?"), suspects);
+		assertEquals(null, SqlRequestScope.current());
+
+		SqlStatementStats stats = statistics.getStatement("SELECT * FROM T WHERE ID = ?");
+		assertEquals(3, stats.getCount());
+		assertEquals(1, stats.getNPlusOneCount());
+		List<SlowQuerySample> samples = statistics.getSlowSamples();
+		assertEquals(1, samples.size());
+		assertEquals("[7]", samples.get(0).getParameters());
+		assertEquals(2, statistics.getStatementCount());
+		assertEquals(4, statistics.getExecutionCount());
+	}
+
+	@Test
+	public void testParametersNotCapturedByDefault() {
+		SqlStatistics statistics = new SqlStatistics(true, 0, 0, 100);
+		assertFalse(statistics.isCaptureParameters());
+		statistics.record("SELECT * FROM USERS WHERE NAME = 'admin' AND PASSWORD = ?", new Object[] { "secret" },
+				1000L, 0, 1, false);
+		SlowQuerySample sample = statistics.getSlowSamples().get(0);
+		assertNull(sample.getParameters());
+		assertEquals("SELECT * FROM USERS WHERE NAME = ? AND PASSWORD = ?", sample.getSql());
+	}
+
+	@Test
+	public void testStatementLimit() {
+		SqlStatistics statistics = new SqlStatistics(true, 1000, 0, 2);
+		statistics.record("SELECT A FROM T", null, 1000L, 0, 0, false);
+		statistics.record("SELECT B FROM T", null, 1000L, 0, 0, false);
+		statistics.record("SELECT C FROM T", null, 1000L, 0, 0, false);
+		statistics.record("SELECT D FROM T", null, 1000L, 0, 0, false);
+		assertEquals(2, statistics.getStatement(SqlStatistics.OTHER).getCount());
+	}
+
+	@Test
+	public void testInstrumentedJdbcTemplate() {
+		SqlStatistics statistics = new SqlStatistics(true, 0, 0, 100);
+		statistics.setCaptureParameters(true);
+		InstrumentedJdbcTemplate jdbcTemplate = new InstrumentedJdbcTemplate(stubDataSource(3, 2));
+		jdbcTemplate.setStatistics(statistics);
+		NamedParameterJdbcTemplate namedTemplate = InstrumentedNamedParameterJdbcTemplate.of(jdbcTemplate);
+
+		List<Map<String, Object>> list = jdbcTemplate.queryForList("SELECT NAME FROM T WHERE ID > ?", 5);
+		assertEquals(3, list.size());
+		jdbcTemplate.update("UPDATE T SET NAME = ? WHERE ID = 1", "a");
+		namedTemplate.queryForList("SELECT NAME FROM T WHERE ID = :id", new MapSqlParameterSource("id", 9));
+
+		SqlStatementStats query = statistics.getStatement("SELECT NAME FROM T WHERE ID > ?");
+		assertEquals(1, query.getCount());
+		assertEquals(3, query.getRows());
+		assertEquals("[5]", query.getSamples().get(0).getParameters());
+		SqlStatementStats update = statistics.getStatement("UPDATE T SET NAME = ? WHERE ID = ?");
+		assertEquals(2, update.getRows());
+		SqlStatementStats named = statistics.getStatement("SELECT NAME FROM T WHERE ID = ?");
+		assertEquals(1, named.getCount());
+		assertEquals("{id=9}", named.getSamples().get(0).getParameters());
+	}
+
+	/**
+	 * 查询返回rows行单列数据、更新返回updated的DataSource
+	 */
+	private static DataSource stubDataSource(final int rows, final int updated) {
+		final ResultSetMetaData metaData = stub(ResultSetMetaData.class, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				String name = method.getName();
+				if(name.equals("getColumnCount")) {
+					return 1;
+				}
+				if(name.equals("getColumnLabel") || name.equals("getColumnName")) {
+					return "NAME";
+				}
+				return defaultValue(method);
+			}
+		});
+		final InvocationHandler resultSet = new InvocationHandler() {
+			private int index;
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				String name = method.getName();
+				if(name.equals("next")) {
+					return ++index <= rows;
+				}
+				if(name.equals("getMetaData")) {
+					return metaData;
+				}
+				if(name.equals("getObject")) {
+					return "name" + index;
+				}
+				return defaultValue(method);
+			}
+		};
+		final InvocationHandler statement = new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				String name = method.getName();
+				if(name.equals("executeQuery")) {
+					return stub(ResultSet.class, resultSet);
+				}
+				if(name.equals("executeUpdate")) {
+					return updated;
+				}
+				return defaultValue(method);
+			}
+		};
+		final InvocationHandler connection = new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				if(method.getName().equals("prepareStatement")) {
+					return stub(PreparedStatement.class, statement);
+				}
+				return defaultValue(method);
+			}
+		};
+		return stub(DataSource.class, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				if(method.getName().equals("getConnection")) {
+					return stub(Connection.class, connection);
+				}
+				return defaultValue(method);
+			}
+		});
+	}
+
+	private static <T> T stub(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(SqlStatisticsTest.class.getClassLoader(),
+				new Class<?>[] { type }, handler));
+	}
+
+	private static Object defaultValue(Method method) {
+		Class<?> type = method.getReturnType();
+		if(type == boolean.class) {
+			return false;
+		}
+		if(type == int.class) {
+			return 0;
+		}
+		if(type == long.class) {
+			return 0L;
+		}
+		return null;
+	}
+
+}
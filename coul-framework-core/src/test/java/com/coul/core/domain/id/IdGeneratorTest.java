@@ -0,0 +1,135 @@
+package com.coul.core.domain.id;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * ID生成器测试
+ */
+public class IdGeneratorTest {
+
+	@Test
+	public void testSegmentUnique() throws Exception {
+		final MemorySegmentSource source = new MemorySegmentSource(100);
+		final SegmentIdGenerator generator = new SegmentIdGenerator(source);
+		final Set<Long> ids = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+		final int threads = 8;
+		final int perThread = 5000;
+		final CountDownLatch done = new CountDownLatch(threads);
+		final AtomicInteger errors = new AtomicInteger();
+		for (int t = 0; t < threads; t++) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < perThread; i++) {
+							ids.add(generator.nextId());
+						}
+					} catch (Exception e) {
+						errors.incrementAndGet();
+					} finally {
+						done.countDown();
+					}
+				}
+			}).start();
+		}
+		done.await();
+		assertEquals(0, errors.get());
+		assertEquals(threads * perThread, ids.size());
+		assertTrue(source.count.get() >= threads * perThread / 100);
+	}
+
+	@Test
+	public void testSegmentPrefetch() throws Exception {
+		MemorySegmentSource source = new MemorySegmentSource(10);
+		final AtomicInteger prefetches = new AtomicInteger();
+		SegmentIdGenerator generator = new SegmentIdGenerator(source, new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				prefetches.incrementAndGet();
+				command.run();
+			}
+		}, 0.5);
+		for (long i = 1; i <= 35; i++) {
+			assertEquals(i, generator.nextId());
+		}
+		assertEquals(3, prefetches.get());
+		assertEquals(4, source.count.get());
+		assertEquals(5, generator.getRemaining());
+	}
+
+	@Test
+	public void testSnowflake() {
+		SnowflakeIdGenerator generator = new SnowflakeIdGenerator(37);
+		long begin = System.currentTimeMillis();
+		long last = 0;
+		for (int i = 0; i < 100000; i++) {
+			long id = generator.nextId();
+			assertTrue(id > last);
+			last = id;
+		}
+		assertEquals(37, SnowflakeIdGenerator.getWorkerId(last));
+		assertTrue(SnowflakeIdGenerator.getTimestamp(last) >= begin);
+	}
+
+	@Test
+	public void testSnowflakeClockRollback() {
+		final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+		SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1) {
+			@Override
+			protected long currentTimeMillis() {
+				return clock.get();
+			}
+		};
+		long last = generator.nextId();
+		clock.addAndGet(-10000);
+		// 回拨后先用完当前毫秒的序号，之后不再等待时钟而是失败
+		int count = 0;
+		try {
+			while (true) {
+				long id = generator.nextId();
+				assertTrue(id > last);
+				last = id;
+				count++;
+			}
+		} catch (IllegalStateException e) {
+			assertEquals(4095, count);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSnowflakeWorkerId() {
+		new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1);
+	}
+
+	/**
+	 * 内存中的ID段来源，从1开始
+	 */
+	private static class MemorySegmentSource implements SegmentSource {
+		final AtomicLong max = new AtomicLong(1);
+		final AtomicInteger count = new AtomicInteger();
+		final int step;
+
+		MemorySegmentSource(int step) {
+			this.step = step;
+		}
+
+		@Override
+		public IdSegment allocate() {
+			count.incrementAndGet();
+			long start = max.getAndAdd(step);
+			return new IdSegment(start, start + step);
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.coul.core.domain.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.junit.Test;
+
+/**
+ * BaseDomain的toString、toFieldMapping、getFieldValues测试
+ */
+public class BaseDomainTest {
+
+	@Test
+	public void testToStringCompatible() {
+		Child child = new Child();
+		child.setName("a");
+		child.setTags(new ArrayList<String>(Arrays.asList("x", "y")));
+		child.codes = new int[] { 1, 2 };
+		child.items = new String[] { "p", null };
+		child.extra = new HashMap<String, Object>();
+		child.extra.put("k", 1);
+		assertEquals(ToStringBuilder.reflectionToString(child), child.toString());
+		Child empty = new Child();
+		assertEquals(ToStringBuilder.reflectionToString(empty), empty.toString());
+	}
+
+	@Test
+	public void testToStringCycle() {
+		Child parent = new Child();
+		Child child = new Child();
+		parent.self = child;
+		child.self = parent;
+		String parentId = Child.class.getName() + "@" + Integer.toHexString(System.identityHashCode(parent));
+		String childId = Child.class.getName() + "@" + Integer.toHexString(System.identityHashCode(child));
+		assertEquals(parentId + "[tags=<null>,codes=<null>,items=<null>,extra=<null>,self=" + childId
+				+ "[tags=<null>,codes=<null>,items=<null>,extra=<null>,self=" + parentId + ",name=<null>],name=<null>]",
+				parent.toString());
+	}
+
+	@Test
+	public void testToStringTruncated() {
+		Child child = new Child();
+		List<String> tags = new ArrayList<String>();
+		for (int i = 0; i < 1000; i++) {
+			tags.add("t" + i);
+		}
+		child.setTags(tags);
+		child.codes = new int[1000];
+		String text = child.toString();
+		assertTrue(text, text.contains("t99, ...(size=1000)]"));
+		assertTrue(text, !text.contains("t100"));
+		assertTrue(text, text.contains(",...(size=1000)}"));
+	}
+
+	@Test
+	public void testSimpleToString() {
+		Quiet quiet = new Quiet();
+		assertEquals(Quiet.class.getName() + "@" + Integer.toHexString(System.identityHashCode(quiet)), quiet.toString());
+	}
+
+	@Test
+	public void testFieldValues() {
+		Child child = new Child();
+		child.setName("a");
+		List<String> tags = Arrays.asList("x");
+		child.setTags(tags);
+		assertEquals(Arrays.<Object> asList("a", tags, "a"), child.getFieldValues(Arrays.asList("name", "tags", "name")));
+		Map<String, Object> mapping = child.toFieldMapping();
+		assertEquals("a", mapping.get("name"));
+		assertEquals(tags, mapping.get("tags"));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testFieldValuesMissing() {
+		new Child().getFieldValues(Arrays.asList("missing"));
+	}
+
+	public static class Parent extends BaseDomain {
+		private static final long serialVersionUID = 1L;
+		private String name;
+		private transient String cache = "c";
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	public static class Child extends Parent {
+		private static final long serialVersionUID = 1L;
+		private List<String> tags;
+		int[] codes;
+		String[] items;
+		Map<String, Object> extra;
+		Child self;
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+	}
+
+	@SimpleToString
+	public static class Quiet extends Parent {
+		private static final long serialVersionUID = 1L;
+	}
+
+}
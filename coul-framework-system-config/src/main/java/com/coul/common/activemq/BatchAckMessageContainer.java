@@ -0,0 +1,443 @@
+package com.coul.common.activemq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+
+import org.apache.activemq.ActiveMQSession;
+import org.apache.activemq.command.ActiveMQMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.util.Assert;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 并发、批量确认的消息监听容器
+ *
+ *     concurrentConsumers个接收线程各持有一个会话，每次接收最多ackBatchSize条或等待ackIntervalMillis毫秒
+ *     组成一个批次，交给有界工作线程池并发处理。工作队列满时由接收线程自己执行任务，从而放慢接收（背压）；
+ *     停止时工作线程池拒绝的任务按处理失败计，停止后批次最多再等待shutdownTimeoutMillis毫秒，未完成的批次recover。
+ *     会话只能由一个线程使用，交给工作线程的是ActiveMQ消息的副本，确认和recover都在接收线程中执行；
+ *     其他JMS实现的消息无法脱离会话复制，整个批次在接收线程中依次处理。
+ *
+ *     acknowledgeMode决定失败时的投递语义：
+ *     CLIENT_ACKNOWLEDGE（默认）全部成功后只确认一次，有失败时recover整个批次，已成功的消息也会再次投递，
+ *     即至少一次投递，MessageHandler必须幂等；
+ *     ActiveMQSession.INDIVIDUAL_ACKNOWLEDGE逐条确认成功的消息，只有失败的消息重新投递，确认次数随消息数增加；
+ *     DUPS_OK_ACKNOWLEDGE由broker延迟批量确认，容器不再显式确认，有失败时recover，同样可能重复投递。
+ *     prefetchSize大于0时通过ActiveMQ目标参数consumer.prefetchSize设置预取数量。
+ *     消费指标见ConsumerMetrics，按目标注册为JMX MBean。
+ */
+public class BatchAckMessageContainer implements InitializingBean, DisposableBean {
+
+	private static Logger logger = LoggerFactory.getLogger(BatchAckMessageContainer.class);
+
+	private ConnectionFactory connectionFactory;
+
+	private String destinationName;
+
+	private boolean pubSubDomain = false;
+
+	private MessageHandler messageHandler;
+
+	private int concurrentConsumers = 1;
+
+	private int prefetchSize = 0;
+
+	private int acknowledgeMode = Session.CLIENT_ACKNOWLEDGE;
+
+	private int ackBatchSize = 50;
+
+	private long ackIntervalMillis = 200;
+
+	private long receiveTimeoutMillis = 1000;
+
+	private int workerThreads = Runtime.getRuntime().availableProcessors();
+
+	private int workerQueueCapacity = 1000;
+
+	private long shutdownTimeoutMillis = 10000;
+
+	private Connection connection;
+
+	private ThreadPoolExecutor workers;
+
+	private final List<Thread> consumerThreads = new ArrayList<Thread>();
+
+	private ConsumerMetrics metrics;
+
+	private volatile boolean running;
+
+	@Override
+	public void afterPropertiesSet() throws JMSException {
+		Assert.notNull(connectionFactory, "connectionFactory is required");
+		Assert.hasText(destinationName, "destinationName is required");
+		Assert.notNull(messageHandler, "messageHandler is required");
+		Assert.isTrue(acknowledgeMode == Session.CLIENT_ACKNOWLEDGE
+				|| acknowledgeMode == ActiveMQSession.INDIVIDUAL_ACKNOWLEDGE
+				|| acknowledgeMode == Session.DUPS_OK_ACKNOWLEDGE,
+				"acknowledgeMode must be CLIENT_ACKNOWLEDGE, INDIVIDUAL_ACKNOWLEDGE or DUPS_OK_ACKNOWLEDGE");
+		metrics = ConsumerMetrics.forDestination(destinationName);
+		workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(workerQueueCapacity), new NamedThreadFactory(destinationName
+						+ "-worker"), new CallerRunsUnlessShutdown());
+		connection = connectionFactory.createConnection();
+		running = true;
+		for (int i = 0; i < concurrentConsumers; i++) {
+			final Session session = connection.createSession(false, acknowledgeMode);
+			final MessageConsumer consumer = session.createConsumer(createDestination(session));
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					consumeLoop(session, consumer);
+				}
+			}, destinationName + "-consumer-" + i);
+			thread.setDaemon(true);
+			consumerThreads.add(thread);
+		}
+		connection.start();
+		for (Thread thread : consumerThreads) {
+			thread.start();
+		}
+	}
+
+	/**
+	 * 停止接收，处理完当前批次后关闭会话和连接
+	 */
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		for (Thread thread : consumerThreads) {
+			thread.join(shutdownTimeoutMillis);
+		}
+		consumerThreads.clear();
+		if (workers != null) {
+			workers.shutdown();
+			workers.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		JmsUtils.closeConnection(connection, true);
+	}
+
+	/**
+	 * 当前目标的消费指标
+	 */
+	public ConsumerMetrics getMetrics() {
+		return metrics;
+	}
+
+	private Destination createDestination(Session session) throws JMSException {
+		String name = prefetchSize > 0 ? destinationName + "?consumer.prefetchSize=" + prefetchSize
+				: destinationName;
+		return pubSubDomain ? session.createTopic(name) : session.createQueue(name);
+	}
+
+	private void consumeLoop(Session session, MessageConsumer consumer) {
+		List<Message> batch = new ArrayList<Message>(ackBatchSize);
+		try {
+			while (running) {
+				try {
+					receiveBatch(consumer, batch);
+					if (!batch.isEmpty()) {
+						processBatch(session, batch);
+					}
+				} catch (JMSException e) {
+					logger.error("接收消息失败: " + destinationName, e);
+					recoverQuietly(session);
+				} finally {
+					batch.clear();
+				}
+			}
+		} finally {
+			JmsUtils.closeMessageConsumer(consumer);
+			JmsUtils.closeSession(session);
+		}
+	}
+
+	/**
+	 * 等待第一条消息，然后在ackIntervalMillis内凑满ackBatchSize条
+	 */
+	private void receiveBatch(MessageConsumer consumer, List<Message> batch) throws JMSException {
+		Message first = consumer.receive(receiveTimeoutMillis);
+		if (first == null) {
+			return;
+		}
+		batch.add(first);
+		long deadline = System.currentTimeMillis() + ackIntervalMillis;
+		while (batch.size() < ackBatchSize && running) {
+			Message next = consumer.receiveNoWait();
+			if (next == null) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					break;
+				}
+				next = consumer.receive(remaining);
+				if (next == null) {
+					break;
+				}
+			}
+			batch.add(next);
+		}
+	}
+
+	private void processBatch(Session session, List<Message> batch) throws JMSException {
+		int size = batch.size();
+		final boolean[] succeeded = new boolean[size];
+		final CountDownLatch done = new CountDownLatch(size);
+		for (int i = 0; i < size; i++) {
+			Message message = batch.get(i);
+			metrics.recordReceived(message.getJMSTimestamp());
+			if (message instanceof ActiveMQMessage) {
+				// 工作线程只访问副本，不接触会话
+				Message copy = (Message) ((ActiveMQMessage) message).copy();
+				workers.execute(new HandleTask(copy, succeeded, i, done));
+			} else {
+				succeeded[i] = handle(message);
+				done.countDown();
+			}
+		}
+		// await建立happens-before，之后可以读取succeeded
+		if (!awaitBatch(done)) {
+			// 停止后仍有消息未处理完，整批recover，工作线程中未完成的处理结果不再使用
+			logger.warn("停止时批次未处理完，recover " + size + "条消息: " + destinationName);
+			recoverQuietly(session);
+			return;
+		}
+		acknowledge(session, batch, succeeded);
+	}
+
+	private boolean handle(Message message) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			messageHandler.handle(message);
+			success = true;
+		} catch (Exception e) {
+			logger.error("处理消息失败: " + destinationName, e);
+		} finally {
+			metrics.recordProcessed(System.nanoTime() - start, success);
+		}
+		return success;
+	}
+
+	/**
+	 * 在接收线程中按acknowledgeMode确认成功的消息，有失败时recover
+	 */
+	private void acknowledge(Session session, List<Message> batch, boolean[] succeeded) throws JMSException {
+		int acknowledged = 0;
+		boolean failed = false;
+		for (int i = 0; i < succeeded.length; i++) {
+			if (!succeeded[i]) {
+				failed = true;
+			} else if (acknowledgeMode == ActiveMQSession.INDIVIDUAL_ACKNOWLEDGE) {
+				batch.get(i).acknowledge();
+				acknowledged++;
+			}
+		}
+		if (acknowledgeMode == Session.CLIENT_ACKNOWLEDGE) {
+			if (failed) {
+				// 整批重新投递，已成功的消息也会再次处理
+				session.recover();
+				return;
+			}
+			// 确认最后一条即确认本会话已接收的全部消息
+			batch.get(batch.size() - 1).acknowledge();
+			acknowledged = batch.size();
+		} else if (acknowledgeMode == ActiveMQSession.INDIVIDUAL_ACKNOWLEDGE) {
+			if (failed) {
+				// 已确认的消息不在recover范围内，只有失败的消息重新投递
+				session.recover();
+			}
+		} else {
+			if (failed) {
+				session.recover();
+				return;
+			}
+			acknowledged = batch.size();
+		}
+		metrics.recordAcknowledged(acknowledged);
+	}
+
+	/**
+	 * 等待批次处理完成；运行中一直等待，停止后最多再等待shutdownTimeoutMillis毫秒
+	 *
+	 * @return 批次是否全部处理完成
+	 */
+	private boolean awaitBatch(CountDownLatch done) {
+		boolean interrupted = false;
+		long stopDeadline = 0;
+		try {
+			while (true) {
+				try {
+					if (done.await(receiveTimeoutMillis, TimeUnit.MILLISECONDS)) {
+						return true;
+					}
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+				if (!running) {
+					long now = System.currentTimeMillis();
+					if (stopDeadline == 0) {
+						stopDeadline = now + shutdownTimeoutMillis;
+					} else if (now >= stopDeadline) {
+						return false;
+					}
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void recoverQuietly(Session session) {
+		try {
+			session.recover();
+		} catch (JMSException e) {
+			logger.debug("recover failed", e);
+		}
+	}
+
+	public void setConnectionFactory(ConnectionFactory connectionFactory) {
+		this.connectionFactory = connectionFactory;
+	}
+
+	public void setDestinationName(String destinationName) {
+		this.destinationName = destinationName;
+	}
+
+	public void setPubSubDomain(boolean pubSubDomain) {
+		this.pubSubDomain = pubSubDomain;
+	}
+
+	public void setMessageHandler(MessageHandler messageHandler) {
+		this.messageHandler = messageHandler;
+	}
+
+	public void setConcurrentConsumers(int concurrentConsumers) {
+		this.concurrentConsumers = concurrentConsumers;
+	}
+
+	public void setPrefetchSize(int prefetchSize) {
+		this.prefetchSize = prefetchSize;
+	}
+
+	public void setAcknowledgeMode(int acknowledgeMode) {
+		this.acknowledgeMode = acknowledgeMode;
+	}
+
+	public void setAckBatchSize(int ackBatchSize) {
+		this.ackBatchSize = ackBatchSize;
+	}
+
+	public void setAckIntervalMillis(long ackIntervalMillis) {
+		this.ackIntervalMillis = ackIntervalMillis;
+	}
+
+	public void setReceiveTimeoutMillis(long receiveTimeoutMillis) {
+		this.receiveTimeoutMillis = receiveTimeoutMillis;
+	}
+
+	public void setWorkerThreads(int workerThreads) {
+		this.workerThreads = workerThreads;
+	}
+
+	public void setWorkerQueueCapacity(int workerQueueCapacity) {
+		this.workerQueueCapacity = workerQueueCapacity;
+	}
+
+	public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+		this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+	}
+
+	/**
+	 * 在工作线程中处理一条消息副本，结果写入批次的succeeded数组
+	 */
+	private final class HandleTask implements Runnable {
+
+		private final Message message;
+
+		private final boolean[] succeeded;
+
+		private final int index;
+
+		private final CountDownLatch done;
+
+		HandleTask(Message message, boolean[] succeeded, int index, CountDownLatch done) {
+			this.message = message;
+			this.succeeded = succeeded;
+			this.index = index;
+			this.done = done;
+		}
+
+		@Override
+		public void run() {
+			try {
+				succeeded[index] = handle(message);
+			} finally {
+				done.countDown();
+			}
+		}
+
+		/**
+		 * 工作线程池已停止，任务未执行，按处理失败计
+		 */
+		void reject() {
+			metrics.recordProcessed(0, false);
+			done.countDown();
+		}
+	}
+
+	/**
+	 * 工作队列满时由提交任务的接收线程执行（背压）；线程池停止后不再执行，直接按失败完成，批次不会一直等待
+	 */
+	private static final class CallerRunsUnlessShutdown implements RejectedExecutionHandler {
+
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			if (!executor.isShutdown()) {
+				task.run();
+			} else if (task instanceof HandleTask) {
+				((HandleTask) task).reject();
+			}
+		}
+	}
+
+	private static final class NamedThreadFactory implements ThreadFactory {
+
+		private final String prefix;
+
+		private final AtomicInteger sequence = new AtomicInteger();
+
+		NamedThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+}
@@ -0,0 +1,457 @@
+package com.coul.common.activemq;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.DeliveryMode;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.converter.SimpleMessageConverter;
+import org.springframework.util.Assert;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 批量异步发送消息到队列或主题
+ *
+ *     send方法只把消息放入有界环形缓冲区，由单独的发送线程按batchSize条或lingerMillis毫秒
+ *     （先到为准）组成一个批次，在同一个事务会话中发送后统一commit，避免每条消息一次会话往返。
+ *     缓冲区满时调用方最多阻塞offerTimeoutMillis毫秒，超时抛出JmsException（背压）。
+ *     默认同步发送：调用方阻塞到所在批次提交完成，发送失败时抛出异常，与JmsTemplate.send一致；
+ *     async为true时send入队后立即返回，发送结果只能通过SendCallback得知，未指定回调时失败只记录日志。
+ *     destroy之后或发送线程异常退出后send抛出IllegalStateException，未发送的消息按发送失败回调。
+ */
+public class BatchingMessageSender implements InitializingBean, DisposableBean {
+
+	private static Logger logger = LoggerFactory.getLogger(BatchingMessageSender.class);
+
+	/** 发送线程空闲时检查停止标志的间隔 */
+	private static final long IDLE_POLL_MILLIS = 100;
+
+	private ConnectionFactory connectionFactory;
+
+	private MessageConverter messageConverter = new SimpleMessageConverter();
+
+	private boolean pubSubDomain = false;
+
+	private boolean async = false;
+
+	private int bufferSize = 4096;
+
+	private int batchSize = 100;
+
+	private long lingerMillis = 10;
+
+	private long offerTimeoutMillis = 1000;
+
+	private long shutdownTimeoutMillis = 10000;
+
+	private int deliveryMode = DeliveryMode.PERSISTENT;
+
+	private BlockingQueue<PendingMessage> buffer;
+
+	private Thread flusher;
+
+	private volatile boolean running;
+
+	// 以下字段只在发送线程中访问
+	private Connection connection;
+
+	private Session session;
+
+	private MessageProducer producer;
+
+	private final Map<String, Destination> destinations = new HashMap<String, Destination>();
+
+	@Override
+	public void afterPropertiesSet() {
+		Assert.notNull(connectionFactory, "connectionFactory is required");
+		Assert.isTrue(bufferSize > 0 && batchSize > 0, "bufferSize and batchSize must be positive");
+		buffer = new ArrayBlockingQueue<PendingMessage>(bufferSize);
+		running = true;
+		flusher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				runFlusher();
+			}
+		}, "jms-batch-sender-" + (pubSubDomain ? "topic" : "queue"));
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	/**
+	 * 停止接收新消息，等待缓冲区中已有的消息发送完成后关闭连接；
+	 * shutdownTimeoutMillis内未发送的消息按失败回调，不会丢失回调或使同步调用方一直等待
+	 */
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		if (flusher != null) {
+			flusher.join(shutdownTimeoutMillis);
+		}
+		failRemaining("关闭超时");
+	}
+
+	/**
+	 *
+	 * 发送一条消息到指定的目标
+	 *
+	 * @param destinationName
+	 *            队列或主题名称
+	 *
+	 * @param message
+	 *            消息内容
+	 */
+	public void send(String destinationName, Object message) {
+		send(destinationName, message, null);
+	}
+
+	/**
+	 *
+	 * 发送一条消息到指定的目标，批次提交或回滚后回调callback
+	 *
+	 * @param destinationName
+	 *            队列或主题名称
+	 * @param message
+	 *            消息内容
+	 * @param callback
+	 *            完成回调，可为null
+	 */
+	public void send(String destinationName, Object message, SendCallback callback) {
+		if (async) {
+			enqueue(new PendingMessage(destinationName, message, callback));
+			return;
+		}
+		BlockingSendCallback waiter = new BlockingSendCallback(callback);
+		enqueue(new PendingMessage(destinationName, message, waiter));
+		waiter.await();
+	}
+
+	/**
+	 * 缓冲区中等待发送的消息数
+	 */
+	public int getPendingCount() {
+		return buffer == null ? 0 : buffer.size();
+	}
+
+	private void enqueue(PendingMessage pending) {
+		checkRunning();
+		boolean accepted;
+		try {
+			accepted = buffer.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			accepted = false;
+		}
+		if (!accepted) {
+			throw new UncategorizedJmsException("发送缓冲区已满，消息未能在" + offerTimeoutMillis
+					+ "ms内入队: " + pending.destinationName);
+		}
+		// 入队期间发送已停止：消息仍在缓冲区中就撤回，否则已由停止方取走并按失败回调
+		if (!running && buffer.remove(pending)) {
+			checkRunning();
+		}
+	}
+
+	private void checkRunning() {
+		if (!running) {
+			throw new IllegalStateException("BatchingMessageSender is not running");
+		}
+	}
+
+	private void runFlusher() {
+		List<PendingMessage> batch = new ArrayList<PendingMessage>(batchSize);
+		try {
+			while (running || !buffer.isEmpty()) {
+				collect(batch);
+				if (!batch.isEmpty()) {
+					flush(batch);
+					batch.clear();
+				}
+			}
+		} finally {
+			if (running) {
+				// 发送线程异常退出，停止接收新消息，已入队的消息按失败回调，同步调用方不会一直等待
+				running = false;
+				logger.error("发送线程异常退出");
+			}
+			IllegalStateException cause = new IllegalStateException("BatchingMessageSender flusher stopped");
+			for (PendingMessage pending : batch) {
+				pending.fail(cause);
+			}
+			failRemaining("发送线程退出");
+			closeSession();
+		}
+	}
+
+	/**
+	 * 取出缓冲区中未发送的消息按失败回调
+	 */
+	private void failRemaining(String reason) {
+		if (buffer == null) {
+			return;
+		}
+		List<PendingMessage> remaining = new ArrayList<PendingMessage>();
+		buffer.drainTo(remaining);
+		if (remaining.isEmpty()) {
+			return;
+		}
+		logger.error(reason + "，" + remaining.size() + "条消息未发送");
+		IllegalStateException cause = new IllegalStateException(
+				"BatchingMessageSender stopped before the message was sent");
+		for (PendingMessage pending : remaining) {
+			pending.fail(cause);
+		}
+	}
+
+	/**
+	 * 收集一个批次：等待第一条消息，然后在lingerMillis内凑满batchSize条
+	 */
+	private void collect(List<PendingMessage> batch) {
+		try {
+			PendingMessage first = buffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+			if (first == null) {
+				return;
+			}
+			batch.add(first);
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+			while (batch.size() < batchSize) {
+				if (buffer.drainTo(batch, batchSize - batch.size()) > 0) {
+					continue;
+				}
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					break;
+				}
+				PendingMessage next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+				if (next == null) {
+					break;
+				}
+				batch.add(next);
+			}
+		} catch (InterruptedException e) {
+			// 被中断时直接发送已收集的部分，循环由running标志控制
+		}
+	}
+
+	private void flush(List<PendingMessage> batch) {
+		try {
+			obtainSession();
+			for (PendingMessage pending : batch) {
+				Message message = messageConverter.toMessage(pending.message, session);
+				producer.send(resolveDestination(pending.destinationName), message, deliveryMode,
+						Message.DEFAULT_PRIORITY, Message.DEFAULT_TIME_TO_LIVE);
+			}
+			session.commit();
+		} catch (JMSException e) {
+			failBatch(batch, JmsUtils.convertJmsAccessException(e));
+			return;
+		} catch (RuntimeException e) {
+			failBatch(batch, e);
+			return;
+		}
+		for (PendingMessage pending : batch) {
+			pending.succeed();
+		}
+	}
+
+	private void failBatch(List<PendingMessage> batch, RuntimeException cause) {
+		logger.error("批量发送失败，回滚" + batch.size() + "条消息", cause);
+		if (session != null) {
+			try {
+				session.rollback();
+			} catch (JMSException e) {
+				logger.debug("rollback failed", e);
+			}
+		}
+		// 连接可能已失效，下一批次重新建立
+		closeSession();
+		for (PendingMessage pending : batch) {
+			pending.fail(cause);
+		}
+	}
+
+	private void obtainSession() throws JMSException {
+		if (session == null) {
+			connection = connectionFactory.createConnection();
+			session = connection.createSession(true, Session.SESSION_TRANSACTED);
+			producer = session.createProducer(null);
+		}
+	}
+
+	private Destination resolveDestination(String destinationName) throws JMSException {
+		Destination destination = destinations.get(destinationName);
+		if (destination == null) {
+			destination = pubSubDomain ? session.createTopic(destinationName) : session
+					.createQueue(destinationName);
+			destinations.put(destinationName, destination);
+		}
+		return destination;
+	}
+
+	private void closeSession() {
+		JmsUtils.closeMessageProducer(producer);
+		JmsUtils.closeSession(session);
+		JmsUtils.closeConnection(connection);
+		producer = null;
+		session = null;
+		connection = null;
+		destinations.clear();
+	}
+
+	public void setConnectionFactory(ConnectionFactory connectionFactory) {
+		this.connectionFactory = connectionFactory;
+	}
+
+	public void setMessageConverter(MessageConverter messageConverter) {
+		this.messageConverter = messageConverter;
+	}
+
+	public void setPubSubDomain(boolean pubSubDomain) {
+		this.pubSubDomain = pubSubDomain;
+	}
+
+	public void setAsync(boolean async) {
+		this.async = async;
+	}
+
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public void setLingerMillis(long lingerMillis) {
+		this.lingerMillis = lingerMillis;
+	}
+
+	public void setOfferTimeoutMillis(long offerTimeoutMillis) {
+		this.offerTimeoutMillis = offerTimeoutMillis;
+	}
+
+	public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+		this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+	}
+
+	public void setDeliveryMode(int deliveryMode) {
+		this.deliveryMode = deliveryMode;
+	}
+
+	/**
+	 * 缓冲区中的一条待发送消息
+	 */
+	private static final class PendingMessage {
+
+		final String destinationName;
+
+		final Object message;
+
+		final SendCallback callback;
+
+		PendingMessage(String destinationName, Object message, SendCallback callback) {
+			this.destinationName = destinationName;
+			this.message = message;
+			this.callback = callback;
+		}
+
+		void succeed() {
+			if (callback == null) {
+				return;
+			}
+			try {
+				callback.onSuccess(destinationName, message);
+			} catch (RuntimeException e) {
+				logger.warn("SendCallback.onSuccess error", e);
+			}
+		}
+
+		void fail(Throwable cause) {
+			if (callback == null) {
+				return;
+			}
+			try {
+				callback.onFailure(destinationName, message, cause);
+			} catch (RuntimeException e) {
+				logger.warn("SendCallback.onFailure error", e);
+			}
+		}
+	}
+
+	/**
+	 * 同步模式下阻塞调用方直到批次完成
+	 */
+	private static final class BlockingSendCallback implements SendCallback {
+
+		private final SendCallback delegate;
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		private volatile Throwable cause;
+
+		BlockingSendCallback(SendCallback delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void onSuccess(String destinationName, Object message) {
+			try {
+				if (delegate != null) {
+					delegate.onSuccess(destinationName, message);
+				}
+			} finally {
+				done.countDown();
+			}
+		}
+
+		@Override
+		public void onFailure(String destinationName, Object message, Throwable cause) {
+			this.cause = cause;
+			try {
+				if (delegate != null) {
+					delegate.onFailure(destinationName, message, cause);
+				}
+			} finally {
+				done.countDown();
+			}
+		}
+
+		void await() {
+			try {
+				done.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new UncategorizedJmsException("等待批次提交时被中断", e);
+			}
+			if (cause instanceof JmsException) {
+				throw (JmsException) cause;
+			}
+			if (cause != null) {
+				throw new UncategorizedJmsException("批量发送失败", cause);
+			}
+		}
+	}
+
+}
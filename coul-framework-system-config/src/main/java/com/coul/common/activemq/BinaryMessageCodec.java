@@ -0,0 +1,50 @@
+package com.coul.common.activemq;
+
+import java.io.IOException;
+
+import com.coul.common.utils.serialize.BinaryObjectSerializer;
+import com.coul.common.utils.serialize.ObjectSerializer;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 按字段读写的二进制编解码，比Java序列化体积小、速度快，对象类型由消息体自带
+ *
+ *     解码只加载序列化器ClassRegistry中注册或在允许的包中的类，需要接收其他包的类时注册或调整allowedPackages
+ */
+public class BinaryMessageCodec implements MessageCodec {
+
+	public static final String CONTENT_TYPE = "application/x-coul-binary";
+
+	private final ObjectSerializer serializer;
+
+	public BinaryMessageCodec() {
+		this(new BinaryObjectSerializer());
+	}
+
+	public BinaryMessageCodec(ObjectSerializer serializer) {
+		this.serializer = serializer;
+	}
+
+	@Override
+	public String getContentType() {
+		return CONTENT_TYPE;
+	}
+
+	@Override
+	public String getPayloadType(Object payload) {
+		return payload.getClass().getName();
+	}
+
+	@Override
+	public byte[] encode(Object payload) throws IOException {
+		return serializer.serialize(payload);
+	}
+
+	@Override
+	public Object decode(byte[] data, String payloadType) throws IOException {
+		return serializer.deserialize(data);
+	}
+
+}
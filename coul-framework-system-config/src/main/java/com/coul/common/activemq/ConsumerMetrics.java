@@ -0,0 +1,178 @@
+package com.coul.common.activemq;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 按目标统计的消费指标：吞吐量、处理耗时、失败数和消息滞后（当前时间 - JMSTimestamp）
+ *
+ *     每个目标的指标创建时注册为JMX MBean，见ConsumerMetricsMBean。
+ */
+public class ConsumerMetrics implements ConsumerMetricsMBean {
+
+	private static Logger logger = LoggerFactory.getLogger(ConsumerMetrics.class);
+
+	/** JMX注册名前缀 */
+	public static final String OBJECT_NAME_PREFIX = "com.coul.common.activemq:type=ConsumerMetrics,destination=";
+
+	private static final ConcurrentMap<String, ConsumerMetrics> REGISTRY = new ConcurrentHashMap<String, ConsumerMetrics>();
+
+	private final String destinationName;
+
+	private final long startMillis = System.currentTimeMillis();
+
+	private final AtomicLong received = new AtomicLong();
+
+	private final AtomicLong processed = new AtomicLong();
+
+	private final AtomicLong failed = new AtomicLong();
+
+	private final AtomicLong acknowledged = new AtomicLong();
+
+	private final AtomicLong processingNanos = new AtomicLong();
+
+	private volatile long lagMillis;
+
+	private volatile long maxLagMillis;
+
+	ConsumerMetrics(String destinationName) {
+		this.destinationName = destinationName;
+	}
+
+	/**
+	 * 取得目标对应的指标，不存在时创建
+	 */
+	public static ConsumerMetrics forDestination(String destinationName) {
+		ConsumerMetrics metrics = REGISTRY.get(destinationName);
+		if (metrics == null) {
+			ConsumerMetrics created = new ConsumerMetrics(destinationName);
+			metrics = REGISTRY.putIfAbsent(destinationName, created);
+			if (metrics == null) {
+				metrics = created;
+				register(created);
+			}
+		}
+		return metrics;
+	}
+
+	private static void register(ConsumerMetrics metrics) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(metrics.destinationName));
+			if (!server.isRegistered(name)) {
+				server.registerMBean(metrics, name);
+			}
+		} catch (Exception e) {
+			logger.warn("Register ConsumerMetrics failed: " + metrics.destinationName, e);
+		}
+	}
+
+	/**
+	 * 所有目标的指标
+	 */
+	public static Collection<ConsumerMetrics> all() {
+		return Collections.unmodifiableCollection(REGISTRY.values());
+	}
+
+	void recordReceived(long jmsTimestamp) {
+		received.incrementAndGet();
+		if (jmsTimestamp > 0) {
+			long lag = System.currentTimeMillis() - jmsTimestamp;
+			lagMillis = lag;
+			if (lag > maxLagMillis) {
+				maxLagMillis = lag;
+			}
+		}
+	}
+
+	void recordProcessed(long nanos, boolean success) {
+		processingNanos.addAndGet(nanos);
+		if (success) {
+			processed.incrementAndGet();
+		} else {
+			failed.incrementAndGet();
+		}
+	}
+
+	void recordAcknowledged(int count) {
+		acknowledged.addAndGet(count);
+	}
+
+	@Override
+	public String getDestinationName() {
+		return destinationName;
+	}
+
+	@Override
+	public long getReceived() {
+		return received.get();
+	}
+
+	@Override
+	public long getProcessed() {
+		return processed.get();
+	}
+
+	@Override
+	public long getFailed() {
+		return failed.get();
+	}
+
+	@Override
+	public long getAcknowledged() {
+		return acknowledged.get();
+	}
+
+	/**
+	 * 最近一条消息从发送到被接收的毫秒数
+	 */
+	@Override
+	public long getLagMillis() {
+		return lagMillis;
+	}
+
+	@Override
+	public long getMaxLagMillis() {
+		return maxLagMillis;
+	}
+
+	/**
+	 * 启动以来的平均吞吐量（条/秒）
+	 */
+	@Override
+	public double getThroughput() {
+		long elapsed = System.currentTimeMillis() - startMillis;
+		return elapsed <= 0 ? 0 : processed.get() * 1000.0 / elapsed;
+	}
+
+	/**
+	 * 平均处理耗时（毫秒）
+	 */
+	@Override
+	public double getAverageProcessingMillis() {
+		long count = processed.get() + failed.get();
+		return count == 0 ? 0 : (double) processingNanos.get() / count / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s received=%d processed=%d failed=%d acked=%d throughput=%.1f/s avg=%.2fms lag=%dms maxLag=%dms",
+				destinationName, getReceived(), getProcessed(), getFailed(), getAcknowledged(), getThroughput(),
+				getAverageProcessingMillis(), lagMillis, maxLagMillis);
+	}
+
+}
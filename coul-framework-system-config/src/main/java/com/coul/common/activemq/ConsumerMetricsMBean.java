@@ -0,0 +1,38 @@
+package com.coul.common.activemq;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 消费指标的JMX接口，注册名为com.coul.common.activemq:type=ConsumerMetrics,destination=目标名称
+ */
+public interface ConsumerMetricsMBean {
+
+	String getDestinationName();
+
+	long getReceived();
+
+	long getProcessed();
+
+	long getFailed();
+
+	long getAcknowledged();
+
+	/**
+	 * 最近一条消息从发送到被接收的毫秒数
+	 */
+	long getLagMillis();
+
+	long getMaxLagMillis();
+
+	/**
+	 * 启动以来的平均吞吐量（条/秒）
+	 */
+	double getThroughput();
+
+	/**
+	 * 平均处理耗时（毫秒）
+	 */
+	double getAverageProcessingMillis();
+
+}
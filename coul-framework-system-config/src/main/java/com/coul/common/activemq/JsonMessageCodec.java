@@ -0,0 +1,166 @@
+package com.coul.common.activemq;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.coul.common.mapper.JsonMapper;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 基于JsonMapper的UTF-8 JSON编解码，按消息头payloadType还原对象类型
+ *
+ *     payloadType为Jackson的规范类型名，元素类型一致的集合和Map带上元素类型，
+ *     List&lt;Foo&gt;解码后仍是Foo的列表而不是Map的列表。
+ *     payloadType由发送方指定，其中的每个类都必须在allowedPackages中才会加载，否则解码失败。
+ */
+public class JsonMessageCodec implements MessageCodec {
+
+	public static final String CONTENT_TYPE = "application/json";
+
+	/** 默认允许解码的类型所在的包 */
+	public static final String DEFAULT_ALLOWED_PACKAGES = "java.lang.,java.util.,java.math.,com.coul.";
+
+	private final JsonMapper mapper;
+
+	private volatile List<String> allowedPackages = parsePackages(DEFAULT_ALLOWED_PACKAGES);
+
+	public JsonMessageCodec() {
+		this(new JsonMapper(Include.NON_NULL));
+	}
+
+	public JsonMessageCodec(JsonMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	@Override
+	public String getContentType() {
+		return CONTENT_TYPE;
+	}
+
+	@Override
+	public String getPayloadType(Object payload) {
+		return payload == null ? null : typeOf(payload).toCanonical();
+	}
+
+	@Override
+	public byte[] encode(Object payload) throws IOException {
+		return mapper.writeValueAsBytes(payload);
+	}
+
+	@Override
+	public Object decode(byte[] data, String payloadType) throws IOException {
+		if (payloadType == null) {
+			return mapper.readValue(data, Object.class);
+		}
+		return mapper.readValue(data, resolveType(payloadType));
+	}
+
+	/**
+	 * 设置允许解码的类型所在的包，多个包以逗号分隔，需以.结尾，例如com.coul.
+	 */
+	public void setAllowedPackages(String packages) {
+		this.allowedPackages = parsePackages(packages);
+	}
+
+	/**
+	 * 检查payloadType中的类都在允许的包中，然后才加载类
+	 */
+	private JavaType resolveType(String payloadType) throws IOException {
+		for (String name : payloadType.split("[<>,\\s]+")) {
+			if (name.length() > 0 && !isAllowed(name)) {
+				throw new IOException("payloadType not allowed: " + payloadType);
+			}
+		}
+		try {
+			return mapper.getTypeFactory().constructFromCanonical(payloadType);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("unknown payloadType: " + payloadType, e);
+		}
+	}
+
+	private boolean isAllowed(String className) {
+		String name = className;
+		if (name.startsWith("[")) {
+			// 数组类型[Lcom.coul.Foo;，基本类型数组[I直接允许
+			name = StringUtils.stripStart(name, "[");
+			if (name.length() == 1) {
+				return true;
+			}
+			name = StringUtils.removeEnd(StringUtils.removeStart(name, "L"), ";");
+		}
+		for (String prefix : allowedPackages) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 对象的类型，元素类型一致的集合和Map带上元素类型
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private JavaType typeOf(Object value) {
+		TypeFactory typeFactory = mapper.getTypeFactory();
+		if (value instanceof Collection) {
+			Object element = sameClassElement((Collection<?>) value);
+			if (element != null) {
+				return typeFactory.constructCollectionType((Class<? extends Collection>) value.getClass(),
+						typeOf(element));
+			}
+		} else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			Object key = sameClassElement(map.keySet());
+			Object mapValue = sameClassElement(map.values());
+			if (key != null && mapValue != null) {
+				return typeFactory.constructMapType((Class<? extends Map>) value.getClass(), typeOf(key),
+						typeOf(mapValue));
+			}
+		}
+		return typeFactory.constructType(value.getClass());
+	}
+
+	/**
+	 * 所有元素都不为null且类型相同时返回第一个元素，否则返回null
+	 */
+	private static Object sameClassElement(Collection<?> values) {
+		Iterator<?> iterator = values.iterator();
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		Object first = iterator.next();
+		if (first == null) {
+			return null;
+		}
+		while (iterator.hasNext()) {
+			Object next = iterator.next();
+			if (next == null || next.getClass() != first.getClass()) {
+				return null;
+			}
+		}
+		return first;
+	}
+
+	private static List<String> parsePackages(String packages) {
+		List<String> result = new ArrayList<String>();
+		for (String name : StringUtils.split(StringUtils.defaultString(packages), ',')) {
+			if (StringUtils.isNotBlank(name)) {
+				result.add(name.trim());
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.coul.common.activemq;
+
+import java.io.IOException;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 消息体编解码器，由ObjectMessageConverter按contentType选择
+ */
+public interface MessageCodec {
+
+	/**
+	 * 编码格式标识，写入消息头contentType
+	 */
+	String getContentType();
+
+	/**
+	 * 对象的类型标识，写入消息头payloadType，解码时传给decode
+	 *
+	 * @param payload
+	 *            消息对象，不为null
+	 */
+	String getPayloadType(Object payload);
+
+	/**
+	 * 对象编码为字节数组
+	 *
+	 * @param payload
+	 *            消息对象
+	 */
+	byte[] encode(Object payload) throws IOException;
+
+	/**
+	 * 字节数组解码为对象
+	 *
+	 * @param data
+	 *            消息体
+	 * @param payloadType
+	 *            发送方对象的类型（消息头payloadType），由发送方指定，不可信，可为null
+	 */
+	Object decode(byte[] data, String payloadType) throws IOException;
+
+}
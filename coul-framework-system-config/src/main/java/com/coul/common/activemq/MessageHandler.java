@@ -0,0 +1,24 @@
+package com.coul.common.activemq;
+
+import javax.jms.Message;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 BatchAckMessageContainer的消息处理接口，在工作线程池中调用
+ *
+ *     抛出异常时按容器的acknowledgeMode重新投递，CLIENT_ACKNOWLEDGE下整个批次重新投递，实现需保证幂等；
+ *     ActiveMQ消息在工作线程中处理的是副本，不能用于确认
+ */
+public interface MessageHandler {
+
+	/**
+	 * 处理一条消息
+	 *
+	 * @param message
+	 *            消息
+	 */
+	void handle(Message message) throws Exception;
+
+}
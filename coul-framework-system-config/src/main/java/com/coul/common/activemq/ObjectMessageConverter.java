@@ -1,60 +1,87 @@
 package com.coul.common.activemq;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.ObjectMessage;
 import javax.jms.Session;
+import javax.jms.TextMessage;
 
 import org.springframework.jms.support.converter.MessageConversionException;
 import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 
+import com.coul.common.utils.compress.ZLibUtils;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 对象消息转换器
+ *
+ *     对象由MessageCodec编码后放入BytesMessage，消息头contentType记录编码格式，
+ *     payloadType记录对象类名；消息体不小于compressThreshold字节时压缩，
+ *     并在contentEncoding中标记。
+ *     解码只使用配置的codec，contentType与之不一致的消息拒绝，发送方不能借此选择Java序列化等解码方式。
+ *     旧格式（ObjectMessage包裹Java序列化byte[]）的消息会实例化任意Serializable类，
+ *     只有legacyFormatEnabled为true时才读取，仅在消息来源可信且需要兼容旧消息时开启。
+ */
 @Component
 public class ObjectMessageConverter implements MessageConverter {
 
+	public static final String CONTENT_TYPE = "contentType";
+
+	public static final String CONTENT_ENCODING = "contentEncoding";
+
+	public static final String PAYLOAD_TYPE = "payloadType";
+
+	public static final String ENCODING_DEFLATE = "deflate";
+
+	private final MessageCodec legacyCodec = new SerializableMessageCodec();
+
+	private MessageCodec codec = new JsonMessageCodec();
+
+	private int compressThreshold = 1024;
+
+	private boolean legacyFormatEnabled = false;
+
 	// 从消息中取出对象
 
 	@Override
 	public Object fromMessage(Message message) throws JMSException,
 			MessageConversionException {
 
-		Object object = null;
+		if (message instanceof BytesMessage) {
 
-		if (message instanceof ObjectMessage) {
-
-			// 两次强转，获得消息中的主体对象字节数组流
+			return readBytesMessage((BytesMessage) message);
 
-			byte[] obj = (byte[]) ((ObjectMessage) message).getObject();
+		}
 
-			// 读取字节数组中为字节数组流
+		if (message instanceof ObjectMessage) {
 
-			ByteArrayInputStream bis = new ByteArrayInputStream(obj);
+			if (!legacyFormatEnabled) {
 
-			try {
+				throw new MessageConversionException("未开启旧格式消息的读取: " + message.getClass().getName());
 
-				// 读字节数组流为对象输出流
+			}
 
-				ObjectInputStream ois = new ObjectInputStream(bis);
+			// 旧格式：ObjectMessage中包裹Java序列化后的字节数组
 
-				// 从对象输出流中取出对象 并强转
+			Object body = ((ObjectMessage) message).getObject();
 
-				object = ois.readObject();
+			return body instanceof byte[] ? decode(legacyCodec, (byte[]) body, null) : body;
 
-			} catch (Exception e) {
+		}
 
-				e.printStackTrace();
+		if (message instanceof TextMessage) {
 
-			}
+			return ((TextMessage) message).getText();
 
 		}
 
-		return object;
+		throw new MessageConversionException("不支持的消息类型: " + message.getClass().getName());
 
 	}
 
@@ -64,28 +91,115 @@ public class ObjectMessageConverter implements MessageConverter {
 	public Message toMessage(Object object, Session session)
 			throws JMSException, MessageConversionException {
 
-		ObjectMessage objectMessage = session.createObjectMessage();
+		String payloadType = object == null ? null : codec.getPayloadType(object);
 
-		ByteArrayOutputStream bos = new ByteArrayOutputStream();// 字节数组输出流
+		byte[] data;
 
 		try {
 
-			ObjectOutputStream oos = new ObjectOutputStream(bos);// 对象输出流
+			data = codec.encode(object);
+
+		} catch (IOException e) {
+
+			throw new MessageConversionException("消息编码失败: " + payloadType, e);
+
+		}
+
+		BytesMessage bytesMessage = session.createBytesMessage();
+
+		bytesMessage.setStringProperty(CONTENT_TYPE, codec.getContentType());
+
+		if (payloadType != null) {
+
+			bytesMessage.setStringProperty(PAYLOAD_TYPE, payloadType);
 
-			oos.writeObject(object);// 写入对象
+		}
+
+		if (compressThreshold > 0 && data.length >= compressThreshold) {
+
+			byte[] compressed = ZLibUtils.compress(data);
+
+			// 压缩失败时ZLibUtils返回原数据，不标记编码
+			if (compressed.length < data.length) {
 
-			byte[] objMessage = bos.toByteArray();// 字节数组输出流转成字节数组
+				data = compressed;
 
-			objectMessage.setObject(objMessage);// 将字节数组填充到消息中作为消息主体
+				bytesMessage.setStringProperty(CONTENT_ENCODING, ENCODING_DEFLATE);
+
+			}
+
+		}
+
+		bytesMessage.writeBytes(data);
+
+		return bytesMessage;
+
+	}
+
+	private Object readBytesMessage(BytesMessage message) throws JMSException {
+
+		byte[] data = new byte[(int) message.getBodyLength()];
+
+		message.readBytes(data);
+
+		String encoding = message.getStringProperty(CONTENT_ENCODING);
+
+		if (ENCODING_DEFLATE.equals(encoding)) {
+
+			data = ZLibUtils.decompress(data);
+
+		} else if (encoding != null) {
+
+			throw new MessageConversionException("不支持的contentEncoding: " + encoding);
+
+		}
+
+		String contentType = message.getStringProperty(CONTENT_TYPE);
+
+		if (contentType != null && !contentType.equals(codec.getContentType())) {
+
+			throw new MessageConversionException("contentType与配置的编解码器不一致: " + contentType);
+
+		}
+
+		return decode(codec, data, message.getStringProperty(PAYLOAD_TYPE));
+
+	}
+
+	private Object decode(MessageCodec messageCodec, byte[] data, String payloadType) {
+
+		try {
+
+			return messageCodec.decode(data, payloadType);
 
 		} catch (IOException e) {
 
-			e.printStackTrace();
+			throw new MessageConversionException("消息解码失败: " + messageCodec.getContentType()
+					+ " " + payloadType, e);
 
 		}
 
-		return objectMessage;
+	}
+
+	/**
+	 * 设置编解码器，发送和接收双方需要配置相同的编解码器
+	 */
+	public void setCodec(MessageCodec codec) {
+		this.codec = codec;
+	}
+
+	/**
+	 * 是否读取旧格式的ObjectMessage，默认不读取
+	 */
+	public void setLegacyFormatEnabled(boolean legacyFormatEnabled) {
+		this.legacyFormatEnabled = legacyFormatEnabled;
+	}
 
+	/**
+	 * 消息体达到该字节数时压缩，小于等于0时不压缩
+	 */
+	public void setCompressThreshold(int compressThreshold) {
+		this.compressThreshold = compressThreshold;
 	}
 
 }
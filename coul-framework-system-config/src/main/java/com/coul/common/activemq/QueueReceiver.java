@@ -4,6 +4,9 @@ import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageListener;
 import javax.jms.TextMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,19 +17,31 @@ import org.springframework.stereotype.Component;
  */
 
 @Component
-public class QueueReceiver implements MessageListener {
+public class QueueReceiver implements MessageListener, MessageHandler {
+
+	private static Logger logger = LoggerFactory.getLogger(QueueReceiver.class);
 
 	@Override
 	public void onMessage(Message message) {
 
 		try {
 
-			System.out.println("QueueReceiver1接收到消息:"
-					+ ((TextMessage) message).getText());
+			handle(message);
 
 		} catch (JMSException e) {
 
-			e.printStackTrace();
+			logger.error("QueueReceiver1处理消息失败", e);
+
+		}
+
+	}
+
+	@Override
+	public void handle(Message message) throws JMSException {
+
+		if (logger.isDebugEnabled()) {
+
+			logger.debug("QueueReceiver1接收到消息:" + ((TextMessage) message).getText());
 
 		}
 
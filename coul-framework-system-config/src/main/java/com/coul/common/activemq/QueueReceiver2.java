@@ -4,6 +4,9 @@ import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageListener;
 import javax.jms.TextMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
  
@@ -20,9 +23,9 @@ import org.springframework.stereotype.Component;
 
 @Component
 
-public class QueueReceiver2 implements MessageListener {
+public class QueueReceiver2 implements MessageListener, MessageHandler {
 
- 
+    private static Logger logger = LoggerFactory.getLogger(QueueReceiver2.class);
 
     @Override
 
@@ -30,11 +33,23 @@ public class QueueReceiver2 implements MessageListener {
 
         try {
 
-            System.out.println("QueueReceiver2接收到消息:"+((TextMessage)message).getText());
+            handle(message);
 
         } catch (JMSException e) {
 
-            e.printStackTrace();
+            logger.error("QueueReceiver2处理消息失败", e);
+
+        }
+
+    }
+
+    @Override
+
+    public void handle(Message message) throws JMSException {
+
+        if (logger.isDebugEnabled()) {
+
+            logger.debug("QueueReceiver2接收到消息:"+((TextMessage)message).getText());
 
         }
 
@@ -22,6 +22,11 @@ public class QueueSender {
 	@Autowired
 	@Qualifier("jmsQueueTemplate")
 	private JmsTemplate jmsTemplate;// 通过@Qualifier修饰符来注入对应的bean
+
+	// 配置了批量发送器时按批次在事务会话中发送（默认等待批次提交，失败抛出异常），否则每条消息单独发送
+	@Autowired(required = false)
+	@Qualifier("queueBatchingSender")
+	private BatchingMessageSender batchingSender;
 	/**
 	 * 
 	 * 发送一条消息到指定的队列（目标）
@@ -34,6 +39,11 @@ public class QueueSender {
 	 */
 	public void send(String queueName, final String message) {
 
+		if (batchingSender != null) {
+			batchingSender.send(queueName, message);
+			return;
+		}
+
 		jmsTemplate.send(queueName, new MessageCreator() {
 			@Override
 			public Message createMessage(Session session) throws JMSException {
@@ -0,0 +1,33 @@
+package com.coul.common.activemq;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 异步发送完成回调，在消息所在批次提交或回滚后由发送线程调用
+ */
+public interface SendCallback {
+
+	/**
+	 * 消息所在批次已提交到broker
+	 *
+	 * @param destinationName
+	 *            目标名称
+	 * @param message
+	 *            消息内容
+	 */
+	void onSuccess(String destinationName, Object message);
+
+	/**
+	 * 消息发送失败（批次回滚或缓冲区已满）
+	 *
+	 * @param destinationName
+	 *            目标名称
+	 * @param message
+	 *            消息内容
+	 * @param cause
+	 *            失败原因
+	 */
+	void onFailure(String destinationName, Object message, Throwable cause);
+
+}
@@ -0,0 +1,55 @@
+package com.coul.common.activemq;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ *
+ * @日期 2026-10-18
+ *
+ * @描述 Java序列化编解码，只用于兼容必须保持Serializable语义的消息
+ *
+ *     解码时会实例化消息体中任意的Serializable类，只能用于可信的消息来源
+ */
+public class SerializableMessageCodec implements MessageCodec {
+
+	public static final String CONTENT_TYPE = "application/x-java-serialized-object";
+
+	@Override
+	public String getContentType() {
+		return CONTENT_TYPE;
+	}
+
+	@Override
+	public String getPayloadType(Object payload) {
+		return payload.getClass().getName();
+	}
+
+	@Override
+	public byte[] encode(Object payload) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(512);
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		try {
+			oos.writeObject(payload);
+		} finally {
+			oos.close();
+		}
+		return bos.toByteArray();
+	}
+
+	@Override
+	public Object decode(byte[] data, String payloadType) throws IOException {
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
+		try {
+			return ois.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("unknown payloadType: " + payloadType, e);
+		} finally {
+			ois.close();
+		}
+	}
+
+}
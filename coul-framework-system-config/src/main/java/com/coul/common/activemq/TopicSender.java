@@ -24,6 +24,11 @@ public class TopicSender {
 	@Qualifier("jmsTopicTemplate")
 	private JmsTemplate jmsTemplate;
 
+	// 配置了批量发送器时按批次在事务会话中发送（默认等待批次提交，失败抛出异常），否则每条消息单独发送
+	@Autowired(required = false)
+	@Qualifier("topicBatchingSender")
+	private BatchingMessageSender batchingSender;
+
 	/**
 	 * 
 	 * 发送一条消息到指定的队列（目标）
@@ -37,6 +42,11 @@ public class TopicSender {
 
 	public void send(String topicName, final String message) {
 
+		if (batchingSender != null) {
+			batchingSender.send(topicName, message);
+			return;
+		}
+
 		jmsTemplate.send(topicName, new MessageCreator() {
 			@Override
 			public Message createMessage(Session session) throws JMSException {
@@ -7,6 +7,8 @@ import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.InitializingBean;
+
+import com.coul.common.utils.serialize.ObjectSerializer;
 /**
  * 
  * <b>function:</b> 缓存方法拦截器核心代码
@@ -23,9 +25,16 @@ public class MethodCacheInterceptor implements MethodInterceptor,
 
 	private Cache cache;
 
+	/** 设置后缓存中保存序列化后的字节，每次读取得到一份新的对象 */
+	private ObjectSerializer serializer;
+
 	public void setCache(Cache cache) {
 		this.cache = cache;
 	}
+
+	public void setSerializer(ObjectSerializer serializer) {
+		this.serializer = serializer;
+	}
 	public void afterPropertiesSet() throws Exception {
 		log.info(cache
 				+ " A cache is required. Use setCache(Cache) to provide one.");
@@ -44,13 +53,24 @@ public class MethodCacheInterceptor implements MethodInterceptor,
 				log.info(cacheKey + "加入到缓存： " + cache.getName());
 				// 调用实际的方法
 				result = invocation.proceed();
-				element = new Element(cacheKey, (Serializable) result);
+				if (serializer == null) {
+					element = new Element(cacheKey, (Serializable) result);
+				} else {
+					element = new Element(cacheKey, serializer.serialize(result));
+				}
 				cache.put(element);
+				if (serializer != null) {
+					return result;
+				}
 			} else {
 				log.info(cacheKey + "使用缓存： " + cache.getName());
 			}
 		}
-		return element.getValue();
+		Object value = element.getValue();
+		if (serializer != null && value instanceof byte[]) {
+			return serializer.deserialize((byte[]) value);
+		}
+		return value;
 
 	}
 
@@ -0,0 +1,234 @@
+package com.coul.common.activemq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Connection;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import javax.management.ObjectName;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.ActiveMQSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 基于内嵌vm://broker的批量确认消费测试
+ */
+public class BatchAckMessageContainerTest {
+
+	private ActiveMQConnectionFactory connectionFactory;
+
+	// 保持一个连接，避免最后一个连接关闭时内嵌broker停止
+	private Connection brokerHolder;
+
+	@Before
+	public void setUp() throws Exception {
+		connectionFactory = new ActiveMQConnectionFactory(
+				"vm://container-test?broker.persistent=false&broker.useJmx=false");
+		brokerHolder = connectionFactory.createConnection();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		brokerHolder.close();
+	}
+
+	@Test
+	public void testConcurrentConsumeAndBatchAck() throws Exception {
+		String queue = "test.container.queue";
+		int total = 300;
+		send(queue, total);
+
+		final CountDownLatch handled = new CountDownLatch(total);
+		BatchAckMessageContainer container = createContainer(queue, new MessageHandler() {
+			@Override
+			public void handle(Message message) {
+				handled.countDown();
+			}
+		});
+		try {
+			assertTrue(handled.await(10, TimeUnit.SECONDS));
+		} finally {
+			container.destroy();
+		}
+		assertEquals(total, container.getMetrics().getAcknowledged());
+		assertNothingLeft(queue);
+		ObjectName name = new ObjectName(ConsumerMetrics.OBJECT_NAME_PREFIX + ObjectName.quote(queue));
+		assertEquals((long) total, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Acknowledged"));
+	}
+
+	@Test
+	public void testDestroyWhileHandlersBlocked() throws Exception {
+		String queue = "test.container.shutdown";
+		int total = 20;
+		send(queue, total);
+
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		BatchAckMessageContainer container = new BatchAckMessageContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.setDestinationName(queue);
+		container.setMessageHandler(new MessageHandler() {
+			@Override
+			public void handle(Message message) throws Exception {
+				entered.countDown();
+				release.await(10, TimeUnit.SECONDS);
+			}
+		});
+		container.setAckBatchSize(total);
+		container.setReceiveTimeoutMillis(100);
+		container.setWorkerThreads(1);
+		container.setWorkerQueueCapacity(1);
+		container.setShutdownTimeoutMillis(300);
+		container.afterPropertiesSet();
+		try {
+			assertTrue(entered.await(5, TimeUnit.SECONDS));
+			long start = System.currentTimeMillis();
+			container.destroy();
+			assertTrue(System.currentTimeMillis() - start < 5000);
+		} finally {
+			release.countDown();
+		}
+		// 未处理完的批次没有确认，全部重新投递
+		Connection connection = connectionFactory.createConnection();
+		try {
+			connection.start();
+			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			MessageConsumer consumer = session.createConsumer(session.createQueue(queue));
+			int redelivered = 0;
+			while (consumer.receive(1000) != null) {
+				redelivered++;
+			}
+			assertEquals(total, redelivered);
+		} finally {
+			connection.close();
+		}
+	}
+
+	@Test
+	public void testFailedBatchIsRedelivered() throws Exception {
+		String queue = "test.container.redelivery";
+		send(queue, 10);
+
+		final AtomicBoolean failedOnce = new AtomicBoolean();
+		final Set<String> seen = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		final CountDownLatch handled = new CountDownLatch(10);
+		BatchAckMessageContainer container = createContainer(queue, new MessageHandler() {
+			@Override
+			public void handle(Message message) throws Exception {
+				if (failedOnce.compareAndSet(false, true)) {
+					throw new IllegalStateException("first attempt fails");
+				}
+				if (seen.add(((TextMessage) message).getText())) {
+					handled.countDown();
+				}
+			}
+		});
+		try {
+			assertTrue(handled.await(10, TimeUnit.SECONDS));
+		} finally {
+			container.destroy();
+		}
+		assertTrue(container.getMetrics().getFailed() > 0);
+		assertNothingLeft(queue);
+	}
+
+	@Test
+	public void testIndividualAckRedeliversOnlyFailures() throws Exception {
+		String queue = "test.container.individual";
+		send(queue, 10);
+
+		final AtomicBoolean failedOnce = new AtomicBoolean();
+		final ConcurrentHashMap<String, AtomicInteger> handledCounts = new ConcurrentHashMap<String, AtomicInteger>();
+		final CountDownLatch handled = new CountDownLatch(10);
+		BatchAckMessageContainer container = createContainer(queue, new MessageHandler() {
+			@Override
+			public void handle(Message message) throws Exception {
+				String text = ((TextMessage) message).getText();
+				if ("message-3".equals(text) && failedOnce.compareAndSet(false, true)) {
+					throw new IllegalStateException("first attempt fails");
+				}
+				AtomicInteger count = new AtomicInteger();
+				AtomicInteger existing = handledCounts.putIfAbsent(text, count);
+				(existing == null ? count : existing).incrementAndGet();
+				handled.countDown();
+			}
+		}, ActiveMQSession.INDIVIDUAL_ACKNOWLEDGE);
+		try {
+			assertTrue(handled.await(10, TimeUnit.SECONDS));
+		} finally {
+			container.destroy();
+		}
+		assertEquals(10, handledCounts.size());
+		for (AtomicInteger count : handledCounts.values()) {
+			assertEquals(1, count.get());
+		}
+		assertEquals(1, container.getMetrics().getFailed());
+		assertEquals(10, container.getMetrics().getAcknowledged());
+		assertNothingLeft(queue);
+	}
+
+	private BatchAckMessageContainer createContainer(String queue, MessageHandler handler) throws Exception {
+		return createContainer(queue, handler, Session.CLIENT_ACKNOWLEDGE);
+	}
+
+	private BatchAckMessageContainer createContainer(String queue, MessageHandler handler, int acknowledgeMode)
+			throws Exception {
+		BatchAckMessageContainer container = new BatchAckMessageContainer();
+		container.setAcknowledgeMode(acknowledgeMode);
+		container.setConnectionFactory(connectionFactory);
+		container.setDestinationName(queue);
+		container.setMessageHandler(handler);
+		container.setConcurrentConsumers(2);
+		container.setPrefetchSize(20);
+		container.setAckBatchSize(20);
+		container.setAckIntervalMillis(50);
+		container.setReceiveTimeoutMillis(100);
+		container.setWorkerThreads(4);
+		container.setWorkerQueueCapacity(8);
+		container.afterPropertiesSet();
+		return container;
+	}
+
+	private void send(String queue, int count) throws Exception {
+		Connection connection = connectionFactory.createConnection();
+		try {
+			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			MessageProducer producer = session.createProducer(session.createQueue(queue));
+			for (int i = 0; i < count; i++) {
+				producer.send(session.createTextMessage("message-" + i));
+			}
+		} finally {
+			connection.close();
+		}
+	}
+
+	private void assertNothingLeft(String queue) throws Exception {
+		Connection connection = connectionFactory.createConnection();
+		try {
+			connection.start();
+			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			MessageConsumer consumer = session.createConsumer(session.createQueue(queue));
+			assertNull(consumer.receive(500));
+		} finally {
+			connection.close();
+		}
+	}
+
+}
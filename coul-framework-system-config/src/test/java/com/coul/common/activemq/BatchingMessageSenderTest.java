@@ -0,0 +1,203 @@
+package com.coul.common.activemq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+
+/**
+ * 基于内嵌vm://broker的批量发送测试
+ */
+public class BatchingMessageSenderTest {
+
+	private static final String QUEUE = "test.batch.queue";
+
+	private ActiveMQConnectionFactory connectionFactory;
+
+	private BatchingMessageSender sender;
+
+	@Before
+	public void setUp() {
+		connectionFactory = new ActiveMQConnectionFactory(
+				"vm://batch-test?broker.persistent=false&broker.useJmx=false");
+		sender = new BatchingMessageSender();
+		sender.setConnectionFactory(connectionFactory);
+		sender.setBatchSize(50);
+		sender.setLingerMillis(5);
+		sender.setAsync(true);
+		sender.afterPropertiesSet();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		sender.destroy();
+	}
+
+	@Test
+	public void testAsyncSendWithCallback() throws Exception {
+		int total = 500;
+		final CountDownLatch committed = new CountDownLatch(total);
+		final AtomicInteger failures = new AtomicInteger();
+		SendCallback callback = new SendCallback() {
+			@Override
+			public void onSuccess(String destinationName, Object message) {
+				committed.countDown();
+			}
+
+			@Override
+			public void onFailure(String destinationName, Object message, Throwable cause) {
+				failures.incrementAndGet();
+			}
+		};
+		for (int i = 0; i < total; i++) {
+			sender.send(QUEUE, "message-" + i, callback);
+		}
+		committed.await(10, TimeUnit.SECONDS);
+		assertEquals(0, failures.get());
+		assertEquals(0, committed.getCount());
+
+		Connection connection = connectionFactory.createConnection();
+		try {
+			connection.start();
+			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			MessageConsumer consumer = session.createConsumer(session.createQueue(QUEUE));
+			for (int i = 0; i < total; i++) {
+				TextMessage message = (TextMessage) consumer.receive(5000);
+				assertNotNull(message);
+				assertEquals("message-" + i, message.getText());
+			}
+		} finally {
+			connection.close();
+		}
+	}
+
+	@Test
+	public void testSyncSendWaitsForCommit() throws Exception {
+		sender.destroy();
+		sender = new BatchingMessageSender();
+		sender.setConnectionFactory(connectionFactory);
+		sender.setAsync(false);
+		sender.afterPropertiesSet();
+
+		sender.send(QUEUE + ".sync", "hello");
+		assertEquals(0, sender.getPendingCount());
+
+		Connection connection = connectionFactory.createConnection();
+		try {
+			connection.start();
+			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			MessageConsumer consumer = session.createConsumer(session.createQueue(QUEUE + ".sync"));
+			TextMessage message = (TextMessage) consumer.receive(5000);
+			assertNotNull(message);
+			assertEquals("hello", message.getText());
+		} finally {
+			connection.close();
+		}
+	}
+
+	@Test
+	public void testDestroyFailsUnsentMessages() throws Exception {
+		sender.destroy();
+		// 建立连接时阻塞，使发送线程停在第一个批次上
+		final CountDownLatch release = new CountDownLatch(1);
+		ConnectionFactory blocking = (ConnectionFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { ConnectionFactory.class }, new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						release.await(10, TimeUnit.SECONDS);
+						return method.invoke(connectionFactory, args);
+					}
+				});
+		sender = new BatchingMessageSender();
+		sender.setConnectionFactory(blocking);
+		sender.setBatchSize(1);
+		sender.setShutdownTimeoutMillis(50);
+		sender.setAsync(true);
+		sender.afterPropertiesSet();
+
+		final AtomicInteger failures = new AtomicInteger();
+		SendCallback callback = new SendCallback() {
+			@Override
+			public void onSuccess(String destinationName, Object message) {
+			}
+
+			@Override
+			public void onFailure(String destinationName, Object message, Throwable cause) {
+				failures.incrementAndGet();
+			}
+		};
+		for (int i = 0; i < 5; i++) {
+			sender.send(QUEUE + ".stopped", "message-" + i, callback);
+		}
+		try {
+			sender.destroy();
+			assertEquals(0, sender.getPendingCount());
+			assertTrue(failures.get() >= 3);
+			try {
+				sender.send(QUEUE + ".stopped", "late", callback);
+				fail("send after destroy");
+			} catch (IllegalStateException e) {
+				// 停止后不再接收消息
+			}
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void testFlusherDeathFailsWaiters() throws Exception {
+		sender.destroy();
+		sender = new BatchingMessageSender();
+		sender.setConnectionFactory(connectionFactory);
+		sender.setMessageConverter(new MessageConverter() {
+			@Override
+			public Message toMessage(Object object, Session session) throws JMSException,
+					MessageConversionException {
+				throw new AssertionError("flusher killed");
+			}
+
+			@Override
+			public Object fromMessage(Message message) throws JMSException, MessageConversionException {
+				return null;
+			}
+		});
+		sender.afterPropertiesSet();
+		try {
+			sender.send(QUEUE + ".dead", "hello");
+			fail("flusher died");
+		} catch (UncategorizedJmsException e) {
+			// 同步调用方收到失败，不会一直等待
+		}
+		try {
+			sender.send(QUEUE + ".dead", "again");
+			fail("send after flusher died");
+		} catch (IllegalStateException e) {
+			// 发送线程退出后不再接收消息
+		}
+	}
+
+}
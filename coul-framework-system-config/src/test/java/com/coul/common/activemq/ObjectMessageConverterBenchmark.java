@@ -0,0 +1,156 @@
+package com.coul.common.activemq;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.jms.BytesMessage;
+import javax.jms.Connection;
+import javax.jms.Message;
+import javax.jms.ObjectMessage;
+import javax.jms.Session;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQMessage;
+
+/**
+ * 对比旧的双重Java序列化与MessageCodec编码的消息大小和编解码耗时.
+ *
+ * 直接运行main方法，不参与单元测试.
+ */
+public class ObjectMessageConverterBenchmark {
+
+	private static final int ITERATIONS = 20000;
+
+	public static void main(String[] args) throws Exception {
+		Connection connection = new ActiveMQConnectionFactory(
+				"vm://benchmark?broker.persistent=false&broker.useJmx=false").createConnection();
+		Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+		try {
+			for (int items : new int[] { 1, 20, 500 }) {
+				Notice payload = Notice.create(items);
+				run("legacy", session, payload, null);
+				ObjectMessageConverter json = new ObjectMessageConverter();
+				json.setCompressThreshold(0);
+				run("json", session, payload, json);
+				run("json+deflate", session, payload, new ObjectMessageConverter());
+			}
+		} finally {
+			connection.close();
+		}
+	}
+
+	private static void run(String name, Session session, Notice payload,
+			ObjectMessageConverter converter) throws Exception {
+		// 预热
+		for (int i = 0; i < ITERATIONS / 4; i++) {
+			decode(converter, encode(converter, session, payload));
+		}
+		long size = 0;
+		long encodeNanos = 0;
+		long decodeNanos = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			Message message = encode(converter, session, payload);
+			long encoded = System.nanoTime();
+			decode(converter, message);
+			decodeNanos += System.nanoTime() - encoded;
+			encodeNanos += encoded - start;
+			size = ((ActiveMQMessage) message).getContent().getLength();
+		}
+		System.out.println(String.format("%-14s items=%-4d body=%-7d encode=%6.2fus decode=%6.2fus",
+				name, payload.getItems().size(), size, encodeNanos / 1000.0 / ITERATIONS,
+				decodeNanos / 1000.0 / ITERATIONS));
+	}
+
+	private static Message encode(ObjectMessageConverter converter, Session session,
+			Notice payload) throws Exception {
+		if (converter != null) {
+			Message message = converter.toMessage(payload, session);
+			((ActiveMQBytesMessage) message).reset();
+			return message;
+		}
+		// 旧实现：Java序列化为byte[]后再放入ObjectMessage
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(payload);
+		ObjectMessage message = session.createObjectMessage();
+		message.setObject(bos.toByteArray());
+		((ActiveMQMessage) message).beforeMarshall(null);
+		return message;
+	}
+
+	private static Object decode(ObjectMessageConverter converter, Message message) throws Exception {
+		if (converter != null) {
+			((BytesMessage) message).reset();
+			return converter.fromMessage(message);
+		}
+		byte[] body = (byte[]) ((ObjectMessage) message).getObject();
+		return new ObjectInputStream(new ByteArrayInputStream(body)).readObject();
+	}
+
+	public static class Notice implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private Long id;
+
+		private String title;
+
+		private Date createDate;
+
+		private List<String> items;
+
+		static Notice create(int count) {
+			Notice notice = new Notice();
+			notice.setId(10001L);
+			notice.setTitle("month-end settlement notice");
+			notice.setCreateDate(new Date());
+			List<String> items = new ArrayList<String>(count);
+			for (int i = 0; i < count; i++) {
+				items.add("item-" + i + "-amount-" + (i * 37));
+			}
+			notice.setItems(items);
+			return notice;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+
+		public Date getCreateDate() {
+			return createDate;
+		}
+
+		public void setCreateDate(Date createDate) {
+			this.createDate = createDate;
+		}
+
+		public List<String> getItems() {
+			return items;
+		}
+
+		public void setItems(List<String> items) {
+			this.items = items;
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+package com.coul.common.activemq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jms.BytesMessage;
+import javax.jms.Connection;
+import javax.jms.ObjectMessage;
+import javax.jms.Session;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jms.support.converter.MessageConversionException;
+
+public class ObjectMessageConverterTest {
+
+	private Connection connection;
+
+	private Session session;
+
+	private ObjectMessageConverter converter = new ObjectMessageConverter();
+
+	@Before
+	public void setUp() throws Exception {
+		connection = new ActiveMQConnectionFactory(
+				"vm://converter-test?broker.persistent=false&broker.useJmx=false").createConnection();
+		session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		connection.close();
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		Map<String, Object> payload = new HashMap<String, Object>();
+		payload.put("id", 1);
+		payload.put("name", "coul");
+		BytesMessage message = (BytesMessage) converter.toMessage(payload, session);
+		assertEquals(JsonMessageCodec.CONTENT_TYPE, message.getStringProperty(ObjectMessageConverter.CONTENT_TYPE));
+		((ActiveMQBytesMessage) message).reset();
+		assertEquals(payload, converter.fromMessage(message));
+	}
+
+	@Test
+	public void testCompressLargePayload() throws Exception {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			text.append("repeated text ");
+		}
+		BytesMessage message = (BytesMessage) converter.toMessage(text.toString(), session);
+		assertEquals(ObjectMessageConverter.ENCODING_DEFLATE,
+				message.getStringProperty(ObjectMessageConverter.CONTENT_ENCODING));
+		((ActiveMQBytesMessage) message).reset();
+		assertEquals(text.toString(), converter.fromMessage(message));
+	}
+
+	@Test
+	public void testReadLegacyObjectMessage() throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject("legacy");
+		oos.close();
+		ObjectMessage message = session.createObjectMessage(bos.toByteArray());
+		try {
+			converter.fromMessage(message);
+			fail("legacy format is disabled by default");
+		} catch (MessageConversionException e) {
+			// 默认不读取旧格式
+		}
+		converter.setLegacyFormatEnabled(true);
+		assertEquals("legacy", converter.fromMessage(message));
+	}
+
+	@Test
+	public void testGenericListRoundTrip() throws Exception {
+		List<Item> payload = new ArrayList<Item>();
+		payload.add(new Item("a", 1));
+		payload.add(new Item("b", 2));
+		BytesMessage message = (BytesMessage) converter.toMessage(payload, session);
+		((ActiveMQBytesMessage) message).reset();
+		List<?> result = (List<?>) converter.fromMessage(message);
+		assertEquals(2, result.size());
+		assertTrue(result.get(0) instanceof Item);
+		assertEquals("b", ((Item) result.get(1)).getName());
+	}
+
+	@Test
+	public void testRejectOtherContentType() throws Exception {
+		BytesMessage message = session.createBytesMessage();
+		message.setStringProperty(ObjectMessageConverter.CONTENT_TYPE, SerializableMessageCodec.CONTENT_TYPE);
+		message.writeBytes(new SerializableMessageCodec().encode("payload"));
+		((ActiveMQBytesMessage) message).reset();
+		try {
+			converter.fromMessage(message);
+			fail("contentType chosen by the sender");
+		} catch (MessageConversionException e) {
+			// 只用配置的编解码器解码
+		}
+	}
+
+	@Test
+	public void testRejectPayloadTypeOutsideAllowedPackages() throws Exception {
+		BytesMessage message = session.createBytesMessage();
+		message.setStringProperty(ObjectMessageConverter.CONTENT_TYPE, JsonMessageCodec.CONTENT_TYPE);
+		message.setStringProperty(ObjectMessageConverter.PAYLOAD_TYPE,
+				"java.util.ArrayList<javax.management.loading.MLet>");
+		message.writeBytes("[{}]".getBytes("UTF-8"));
+		((ActiveMQBytesMessage) message).reset();
+		try {
+			converter.fromMessage(message);
+			fail("payloadType outside the allowed packages");
+		} catch (MessageConversionException e) {
+			assertTrue(e.getCause().getMessage().startsWith("payloadType not allowed"));
+		}
+	}
+
+	public static class Item {
+
+		private String name;
+
+		private int count;
+
+		public Item() {
+		}
+
+		Item(String name, int count) {
+			this.name = name;
+			this.count = count;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+	}
+
+}